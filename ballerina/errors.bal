@@ -34,4 +34,17 @@ public type ConversionError distinct error<record {|
         # The column number of the conversion error
         int column;
     |} position?;
+
+    # The members of an array which can't be converted
+    ElementError[] errors?;
 |}>;
+
+# Describes a member of an array which can't be converted.
+public type ElementError record {|
+
+    # The index of the member
+    int index;
+
+    # The reason for the conversion error
+    string reason;
+|};
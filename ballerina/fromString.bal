@@ -25,3 +25,12 @@ type ConversionType ()|boolean|string|int|decimal|float;
 # + return - On success, value with type t, else returns an error
 public isolated function fromStringWithType(string data, typedesc<ConversionType> t = <>)
         returns t|ConversionError = @java:Method {'class: "io.ballerina.stdlib.data.FromString"} external;
+
+# Convert each member of a string array to ConversionType.
+#
+# + data - Source string values
+# + t - Target array type
+# + return - On success, an array with type t, else returns an error with the indexes of the members which can't be
+# converted
+public isolated function fromStringsWithType(string[] data, typedesc<ConversionType[]> t = <>)
+        returns t|ConversionError = @java:Method {'class: "io.ballerina.stdlib.data.FromString"} external;
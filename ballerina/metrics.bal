@@ -0,0 +1,63 @@
+// Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# Describes the conversions of an entry point, such as `json:fromJsonStringWithType`, or of a target type.
+public type ConversionStats record {|
+
+    # The number of conversions, including the failed ones
+    int documents;
+
+    # The number of bytes or characters consumed, depending on the input of the entry point
+    int inputSize;
+
+    # The number of values produced, i.e. the members of a list or a table, and 1 for any other value
+    int values;
+
+    # The number of fields of the input which are not a part of the target type, recorded for the target types
+    int skippedFields;
+
+    # The number of failed conversions by the category of the error, `conversion`, `io` or `internal`
+    map<int> errors;
+
+    # The median latency of the conversions in microseconds
+    int p50LatencyMicros;
+
+    # The 99th percentile latency of the conversions in microseconds
+    int p99LatencyMicros;
+|};
+
+# Describes the metrics of the conversions.
+public type ConversionMetrics record {|
+
+    # Whether the metrics are recorded, which is enabled with the `ballerina.data.metrics.enabled` system property
+    boolean enabled;
+
+    # The statistics of each entry point
+    map<ConversionStats> entryPoints;
+
+    # The statistics of each target type. The target type of a CSV data set is the type of a row.
+    map<ConversionStats> targetTypes;
+|};
+
+# Returns a snapshot of the metrics of the conversions. The same statistics are available as MXBeans in the
+# `io.ballerina.stdlib.data` JMX domain.
+#
+# + return - The statistics recorded since the start of the program, which are empty if the metrics are not enabled
+public isolated function getConversionMetrics() returns ConversionMetrics = @java:Method {
+    'class: "io.ballerina.stdlib.data.metrics.ConversionMetrics"
+} external;
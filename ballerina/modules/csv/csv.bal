@@ -45,8 +45,17 @@ public type MappingDataSet RowMapping[];
 # Represent a CSV DataSet including the headers as a table
 public type TableDataSet table<RowMapping>;
 
+# Represent a CSV DataSet as columns
+#
+# Each field is a column of the CSV content, named by its header.
+# e.g. `record {| int[] units; string[] product; |}`
+# `int`, `float`, `boolean` and `string` columns are stored without creating a value per cell.
+public type ColumnarDataSet record {|
+    Cell[]...;
+|};
+
 # Represent a any CSV DataSet representation
-public type Csv DataSet|MappingDataSet|TableDataSet;
+public type Csv DataSet|MappingDataSet|TableDataSet|ColumnarDataSet;
 
 
 type Options record {|
@@ -22,8 +22,70 @@ public isolated function fromCsvStringWithType(string data, FromOptions options
 public isolated function fromCsvBytesWithType(byte[] data, FromOptions options = {},typedesc<Csv> typed = <>)
         returns typed|ConversionError = @java:Method {'class: "io.ballerina.stdlib.data.csv.Native"} external;
 
-public isolated function fromCsvByteSteamWithType(stream<byte[],error> data, FromOptions options = {}, typedesc<Csv> typed = <>)
+# Parse a CSV file into a CSV data set.
+#
+# The file is memory mapped, and large files are split into regions of complete rows which are parsed in parallel.
+#
+# + path - Path of the CSV file
+# + options - Options to be used for the conversion
+# + typed - Target data set type
+# + return - On success, a CSV data set with the given target type, else returns a `csv:ConversionError`
+public isolated function fromCsvFileWithType(string path, FromOptions options = {}, typedesc<Csv> typed = <>)
         returns typed|ConversionError = @java:Method {'class: "io.ballerina.stdlib.data.csv.Native"} external;
 
+# Parse a page of rows of a CSV file into a CSV data set.
+#
+# The start offsets of the rows are indexed on the first call, and only the rows of the page are parsed. When the
+# file has grown since the last call, only the new content is indexed.
+#
+# + path - Path of the CSV file
+# + startRow - Index of the first row of the page, the header rows are not counted
+# + rowCount - Maximum number of rows in the page
+# + options - Options to be used for the conversion
+# + persistIndex - Whether the index is written next to the file as `<path>.idx`, to be reused by later runs
+# + typed - Target data set type
+# + return - On success, a CSV data set with the given target type, else returns a `csv:ConversionError`
+public isolated function fromCsvFilePageWithType(string path, int startRow, int rowCount, FromOptions options = {},
+        boolean persistIndex = false, typedesc<Csv> typed = <>)
+        returns typed|ConversionError = @java:Method {'class: "io.ballerina.stdlib.data.csv.Native"} external;
+
+public isolated function fromCsvByteSteamWithType(stream<byte[], error?> data, FromOptions options = {}, typedesc<Csv> typed = <>)
+        returns typed|ConversionError = @java:Method {'class: "io.ballerina.stdlib.data.csv.Native"} external;
+
+# Parse a CSV byte stream lazily, one row at a time.
+#
+# The source stream is read only when the next row is requested, and only the rows of the current chunk are kept
+# in memory. Quoted fields spanning multiple chunks are supported.
+#
+# + data - Byte stream of CSV content
+# + options - Options to be used for the conversion
+# + t - Target row type
+# + return - On success, a stream of rows with the given target type, else returns a `csv:ConversionError`
+public isolated function fromCsvStreamWithRowType(stream<byte[], error?> data, FromOptions options = {},
+        typedesc<RowMapping|Row> t = <>) returns stream<t, ConversionError?>|ConversionError
+        = @java:Method {'class: "io.ballerina.stdlib.data.csv.Native"} external;
+
 public isolated function toString(Csv csv, ToOptions options = {}) 
-    returns string|ConversionError = @java:Method {'class: "io.ballerina.stdlib.data.csv.Native"} external;
\ No newline at end of file
+    returns string|ConversionError = @java:Method {'class: "io.ballerina.stdlib.data.csv.Native"} external;
+
+# Converts a CSV data set to CSV content encoded with the `encoding` given in the options.
+#
+# + csv - CSV data set
+# + options - Options to be used for the conversion
+# + return - On success, the encoded CSV content, else returns a `csv:ConversionError`
+public isolated function toCsvBytes(Csv csv, ToOptions options = {}) returns byte[]|ConversionError
+        = @java:Method {'class: "io.ballerina.stdlib.data.csv.Native"} external;
+
+# Converts a CSV data set to a stream of encoded CSV content.
+#
+# The rows are written only when the next chunk is requested, and a chunk contains complete rows of about 64KB.
+# Therefore, the complete CSV content is never kept in memory.
+#
+# + csv - CSV data set
+# + options - Options to be used for the conversion
+# + return - On success, a stream of the encoded CSV content, else returns a `csv:ConversionError`
+public isolated function toCsvStream(Csv csv, ToOptions options = {})
+        returns stream<byte[], ConversionError?>|ConversionError {
+    CsvChunkStream chunkStream = check new (csv, options);
+    return new (chunkStream);
+}
@@ -0,0 +1,97 @@
+// Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# Iterator of the stream returned by `fromCsvStreamWithRowType`.
+#
+# The native state machine and the rows read from the current chunk are kept as native data of the object.
+class RowStream {
+    private final stream<byte[], error?> data;
+    private boolean isEndOfData = false;
+
+    isolated function init(stream<byte[], error?> data) {
+        self.data = data;
+    }
+
+    public isolated function next() returns record {|RowMapping|Row value;|}|ConversionError? {
+        RowMapping|Row? row = nextRow(self);
+        while row is () && !self.isEndOfData {
+            record {|byte[] value;|}|error? chunk = self.data.next();
+            if chunk !is record {|byte[] value;|} {
+                self.isEndOfData = true;
+            }
+            ConversionError? err = readChunk(self, chunk);
+            if err is ConversionError {
+                self.isEndOfData = true;
+                return err;
+            }
+            row = nextRow(self);
+        }
+        if row is () {
+            return ();
+        }
+        return {value: row};
+    }
+
+    public isolated function close() returns ConversionError? {
+        self.isEndOfData = true;
+        error? err = self.data.close();
+        if err is error {
+            return error ConversionError(err.message(), reason = err.message(), line = 0, column = 0);
+        }
+    }
+}
+
+isolated function nextRow(RowStream rowStream) returns RowMapping|Row? = @java:Method {
+    'class: "io.ballerina.stdlib.data.csv.Native"
+} external;
+
+isolated function readChunk(RowStream rowStream, record {|byte[] value;|}|error? chunk) returns ConversionError? =
+    @java:Method {'class: "io.ballerina.stdlib.data.csv.Native"} external;
+
+# Iterator of the stream returned by `toCsvStream`.
+#
+# The native writer, which keeps the next row to be written, is kept as native data of the object.
+class CsvChunkStream {
+    private boolean isEndOfData = false;
+
+    isolated function init(Csv csv, ToOptions options) returns ConversionError? {
+        return initWriter(self, csv, options);
+    }
+
+    public isolated function next() returns record {|byte[] value;|}|ConversionError? {
+        if self.isEndOfData {
+            return ();
+        }
+        byte[]? chunk = nextChunk(self);
+        if chunk is () {
+            self.isEndOfData = true;
+            return ();
+        }
+        return {value: chunk};
+    }
+
+    public isolated function close() returns ConversionError? {
+        self.isEndOfData = true;
+    }
+}
+
+isolated function initWriter(CsvChunkStream chunkStream, Csv csv, ToOptions options) returns ConversionError? =
+    @java:Method {'class: "io.ballerina.stdlib.data.csv.Native"} external;
+
+isolated function nextChunk(CsvChunkStream chunkStream) returns byte[]? =
+    @java:Method {'class: "io.ballerina.stdlib.data.csv.Native"} external;
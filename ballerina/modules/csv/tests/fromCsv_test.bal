@@ -0,0 +1,305 @@
+// Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+// Possitive tests for fromCsvStringWithType() function.
+
+@test:Config
+isolated function testCsvStringToDataSet() returns error? {
+    string csv = string `John,Smith,35
+Jane,Doe,28`;
+
+    DataSet val1 = check fromCsvStringWithType(csv);
+    test:assertEquals(val1, [["John", "Smith", 35], ["Jane", "Doe", 28]]);
+
+    string[][] val2 = check fromCsvStringWithType(csv);
+    test:assertEquals(val2, [["John", "Smith", "35"], ["Jane", "Doe", "28"]]);
+
+    [string, string, int][] val3 = check fromCsvStringWithType(csv);
+    test:assertEquals(val3, [["John", "Smith", 35], ["Jane", "Doe", 28]]);
+}
+
+type Person record {|
+    string name;
+    int age;
+|};
+
+@test:Config
+isolated function testCsvStringWithHeadersToRecords() returns error? {
+    string csv = string `name,city,age
+"Smith, John",Colombo,35
+"Doe, Jane","New
+York",28`;
+
+    Person[] val1 = check fromCsvStringWithType(csv, {headers: {}});
+    test:assertEquals(val1, [{name: "Smith, John", age: 35}, {name: "Doe, Jane", age: 28}]);
+
+    MappingDataSet val2 = check fromCsvStringWithType(csv, {headers: {}});
+    test:assertEquals(val2[1], {name: "Doe, Jane", city: "New\nYork", age: 28});
+
+    TableDataSet val3 = check fromCsvStringWithType(csv, {headers: {}});
+    test:assertEquals(val3.length(), 2);
+}
+
+@test:Config
+isolated function testCsvStringWithMultipleHeaders() returns error? {
+    string csv = string `"Company Information","","","Sales Data"
+"Company Name","Company ID","Location","Units Sold"
+"Company A", "001", "New York", "120"
+"Company B", "002", "Los Angeles", "230"`;
+
+    record {|string Company\ Name; int Units\ Sold;|}[] val = check fromCsvStringWithType(csv,
+        {headers: {headerRows: 2}});
+    test:assertEquals(val, [{Company\ Name: "Company A", Units\ Sold: 120}, {Company\ Name: "Company B", Units\ Sold: 230}]);
+}
+
+@test:Config
+isolated function testCsvStringWithUnmappedColumns() returns error? {
+    string csv = string `id,name,notes,age,tags
+1,John,"said ""hi"",
+then left",35,"a,b"
+2,Jane,,28,c`;
+
+    Person[] val = check fromCsvStringWithType(csv, {headers: {}});
+    test:assertEquals(val, [{name: "John", age: 35}, {name: "Jane", age: 28}]);
+
+    // the skipped columns are quoted, with escaped quotes, delimiters and line breaks
+    string csv2 = string `notes,name,age,extra
+"a ""quoted""
+note, with a delimiter",John,35,"x
+y"
+"""",Jane,28,""
+,Bob,41,"z"""`;
+    Person[] val2 = check fromCsvStringWithType(csv2, {headers: {}});
+    test:assertEquals(val2, [{name: "John", age: 35}, {name: "Jane", age: 28}, {name: "Bob", age: 41}]);
+
+    // the lines of a skipped column are counted
+    Person[]|ConversionError err = fromCsvStringWithType(csv2 + "\n\"multi\nline\",Ann,x,", {headers: {}});
+    test:assertTrue(err is ConversionError);
+    if err is ConversionError {
+        test:assertEquals(err.detail().line, 7);
+    }
+}
+
+@test:Config
+isolated function testCsvStringWithMixedCellColumn() returns error? {
+    // the values after the first rows are converted the same as the first rows
+    string[] lines = ["value"];
+    foreach int i in 0 ..< 40 {
+        lines.push(i.toString());
+    }
+    lines.push("1.5", "abc", "TRUE", "null", "2e3");
+    MappingDataSet val = check fromCsvStringWithType(string:'join("\n", ...lines), {headers: {}});
+    test:assertEquals(val[39], {value: 39});
+    test:assertEquals(val.slice(40), [{value: 1.5}, {value: "abc"}, {value: true}, {value: ()}, {value: 2000.0}]);
+}
+
+type SalesColumns record {|
+    string[] product;
+    int[] units;
+    float[] price;
+    boolean[] shipped;
+    decimal?[] discount;
+|};
+
+@test:Config
+isolated function testCsvStringToColumns() returns error? {
+    string csv = string `product,region,units,price,shipped,discount
+Pen,North,120,1.5,true,0.1
+Book,South,80,12.25,false,
+Pen,South,95,1.5,1,0.05`;
+
+    SalesColumns val = check fromCsvStringWithType(csv, {headers: {}});
+    test:assertEquals(val, {
+        product: ["Pen", "Book", "Pen"],
+        units: [120, 80, 95],
+        price: [1.5, 12.25, 1.5],
+        shipped: [true, false, true],
+        discount: [0.1d, (), 0.05d]
+    });
+
+    ColumnarDataSet val2 = check fromCsvStringWithType(csv, {headers: {}});
+    test:assertEquals(val2["region"], ["North", "South", "South"]);
+    test:assertEquals(val2["units"], [120, 80, 95]);
+
+    record {|int[] units;|}|ConversionError val3 = fromCsvStringWithType("units\n1\nx", {headers: {}});
+    test:assertTrue(val3 is ConversionError);
+    if val3 is ConversionError {
+        test:assertEquals(val3.detail().line, 3);
+    }
+}
+
+@test:Config
+isolated function testCsvBytesToDataSet() returns error? {
+    byte[] csv = "a;1\r\nb;2\r\n".toBytes();
+    [string, int][] val = check fromCsvBytesWithType(csv, {delimiter: ";"});
+    test:assertEquals(val, [["a", 1], ["b", 2]]);
+}
+
+@test:Config
+isolated function testCsvByteStreamToDataSet() returns error? {
+    stream<byte[], error?> data = ["name,ag".toBytes(), "e\n\"Smith,".toBytes(), " John\",35\n".toBytes()].toStream();
+    Person[] val = check fromCsvByteSteamWithType(data, {headers: {}});
+    test:assertEquals(val, [{name: "Smith, John", age: 35}]);
+}
+
+// Possitive tests for fromCsvStreamWithRowType() function.
+
+@test:Config
+isolated function testCsvByteStreamToRowStream() returns error? {
+    stream<byte[], error?> data = ["name,age\nJohn,3".toBytes(), "5\n\"Doe,".toBytes(), " Jane\",28".toBytes()]
+        .toStream();
+    stream<Person, ConversionError?> rows = check fromCsvStreamWithRowType(data, {headers: {}});
+    any rowStream = rows;
+    test:assertTrue(rowStream is stream<Person, ConversionError?>);
+    Person[] persons = check from Person p in rows
+        where p.age > 30
+        select p;
+    test:assertEquals(persons, [{name: "John", age: 35}]);
+}
+
+// Possitive tests for fromCsvFileWithType() function.
+
+type Employee record {|
+    string First\ Name;
+    int Age;
+|};
+
+@test:Config
+isolated function testCsvFileToRecords() returns error? {
+    Employee[] val = check fromCsvFileWithType("modules/csv/resources/e2_basic_with_header.csv", {headers: {}});
+    test:assertEquals(val.length(), 5);
+    test:assertEquals(val[4], {"First Name": "Michael", Age: 31});
+}
+
+// Possitive tests for fromCsvFilePageWithType() function.
+
+@test:Config
+isolated function testCsvFilePageToRecords() returns error? {
+    string path = "modules/csv/resources/e2_basic_with_header.csv";
+    Employee[] val = check fromCsvFilePageWithType(path, 1, 2, {headers: {}});
+    test:assertEquals(val, [{"First Name": "Jane", Age: 28}, {"First Name": "Bob", Age: 42}]);
+
+    val = check fromCsvFilePageWithType(path, 3, 10, {headers: {}});
+    test:assertEquals(val, [{"First Name": "Emily", Age: 29}, {"First Name": "Michael", Age: 31}]);
+
+    val = check fromCsvFilePageWithType(path, 5, 10, {headers: {}});
+    test:assertEquals(val.length(), 0);
+
+    string[][] rows = check fromCsvFilePageWithType(path, 0, 1);
+    test:assertEquals(rows, [["First Name", "Last Name", "Age"]]);
+
+    Employee[]|ConversionError err = fromCsvFilePageWithType(path, -1, 2, {headers: {}});
+    test:assertTrue(err is ConversionError);
+}
+
+@test:Config
+isolated function testLargeCsvBytesToRecords() returns error? {
+    // larger than the parallel parsing threshold, with quoted fields spanning multiple lines
+    string[] lines = ["name,city,age"];
+    foreach int i in 0 ..< 150000 {
+        lines.push(string `"Person ${i}","Line 1
+""Line"" 2",${i}`);
+    }
+    byte[] data = string:'join("\n", ...lines).toBytes();
+
+    Person[] val = check fromCsvBytesWithType(data, {headers: {}});
+    test:assertEquals(val.length(), 150000);
+    test:assertEquals(val[0], {name: "Person 0", age: 0});
+    test:assertEquals(val[149999], {name: "Person 149999", age: 149999});
+    foreach int i in 0 ..< val.length() {
+        test:assertEquals(val[i].age, i);
+    }
+
+    lines[50000] = "\"Jane\",x";
+    Person[]|ConversionError err = fromCsvBytesWithType(string:'join("\n", ...lines).toBytes(), {headers: {}});
+    test:assertTrue(err is ConversionError);
+    if err is ConversionError {
+        test:assertEquals(err.detail().line, 100000);
+    }
+}
+
+// Negative tests for CSV conversion functions.
+
+@test:Config
+isolated function testCsvConversionErrors() {
+    [string, int][]|ConversionError val1 = fromCsvStringWithType("a,1\nb,x");
+    test:assertTrue(val1 is ConversionError);
+    if val1 is ConversionError {
+        test:assertEquals(val1.detail().line, 2);
+        test:assertEquals(val1.detail().column, 2);
+    }
+
+    Person[]|ConversionError val2 = fromCsvStringWithType("name\nJohn", {headers: {}});
+    test:assertTrue(val2 is ConversionError);
+
+    string[][]|ConversionError val3 = fromCsvStringWithType("\"a,b");
+    test:assertTrue(val3 is ConversionError);
+}
+
+@test:Config
+isolated function testCsvRowStreamErrors() returns error? {
+    stream<byte[], error?> data = ["name,age\nJohn,35\nJane,x\n".toBytes()].toStream();
+    stream<Person, ConversionError?> rows = check fromCsvStreamWithRowType(data, {headers: {}});
+    record {|Person value;|}? row = check rows.next();
+    test:assertEquals(row, {value: {name: "John", age: 35}});
+    record {|Person value;|}|ConversionError? err = rows.next();
+    test:assertTrue(err is ConversionError);
+}
+
+# Source of a byte stream, which records whether the stream is closed.
+class ChunkSource {
+    private final (byte[]|error)[] chunks;
+    private int index = 0;
+    boolean closed = false;
+
+    isolated function init((byte[]|error)[] chunks) {
+        self.chunks = chunks;
+    }
+
+    public isolated function next() returns record {|byte[] value;|}|error? {
+        if self.index == self.chunks.length() {
+            return ();
+        }
+        byte[]|error chunk = self.chunks[self.index];
+        self.index += 1;
+        if chunk is error {
+            return chunk;
+        }
+        return {value: chunk};
+    }
+
+    public isolated function close() returns error? {
+        self.closed = true;
+    }
+}
+
+@test:Config
+isolated function testCsvByteStreamToDataSetNegative() {
+    ChunkSource source1 = new (["name,age\nJane,x\n".toBytes(), "John,35\n".toBytes()]);
+    stream<byte[], error?> data1 = new (source1);
+    Person[]|ConversionError err1 = fromCsvByteSteamWithType(data1, {headers: {}});
+    test:assertTrue(err1 is ConversionError);
+    test:assertTrue(source1.closed);
+
+    ChunkSource source2 = new (["name,age\n".toBytes(), error("connection reset")]);
+    stream<byte[], error?> data2 = new (source2);
+    Person[]|ConversionError err2 = fromCsvByteSteamWithType(data2, {headers: {}});
+    test:assertTrue(err2 is ConversionError);
+    test:assertEquals((<ConversionError>err2).message(), "error reading CSV stream: connection reset");
+    test:assertTrue(source2.closed);
+}
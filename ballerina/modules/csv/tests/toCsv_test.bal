@@ -0,0 +1,117 @@
+// Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+// Possitive tests for toString() function.
+
+@test:Config
+isolated function testDataSetToString() returns error? {
+    DataSet data = [["John", "Smith, Jr", 35], [" pad", "say \"hi\"", -1.5], ["", (), true]];
+    string csv = check toString(data);
+    test:assertEquals(csv, string `John,"Smith, Jr",35
+" pad","say ""hi""",-1.5
+,,true
+`);
+
+    string csv2 = check toString(data,
+        {delimiter: ";", delimiterSuffix: " ", lineSeparator: "\r\n", emptyAsNil: false});
+    test:assertEquals(csv2, "John; Smith, Jr; 35\r\n\" pad\"; \"say \"\"hi\"\"\"; -1.5\r\n\"\"; ; true\r\n");
+}
+
+@test:Config
+isolated function testMappingDataSetToString() returns error? {
+    MappingDataSet data = [{name: "John", city: "New\nYork", age: 35}, {name: "Jane", city: "Colombo", age: 28}];
+    string csv = check toString(data, {headers: true});
+    test:assertEquals(csv, string `name,city,age
+John,"New
+York",35
+Jane,Colombo,28
+`);
+
+    string csv2 = check toString(data, {headers: {headers: [["Name", "City", "Age"]]}});
+    test:assertEquals(csv2, "Name,City,Age\nJohn,\"New\nYork\",35\nJane,Colombo,28\n");
+
+    TableDataSet tableData = table [{name: "John", age: 35}];
+    test:assertEquals(check toString(tableData, {headers: true}), "name,age\nJohn,35\n");
+}
+
+@test:Config
+isolated function testCsvRoundTrip() returns error? {
+    MappingDataSet data = [{name: "Smith, John", note: "say \"hi\"", age: 35}, {name: " Jane ", note: "a\nb", age: 28}];
+    MappingDataSet val = check fromCsvStringWithType(check toString(data, {headers: true}), {headers: {}});
+    test:assertEquals(val, data);
+}
+
+// Possitive tests for toCsvBytes() and toCsvStream() functions.
+
+@test:Config
+isolated function testDataSetToBytes() returns error? {
+    DataSet data = [["a", 1], ["b", 2]];
+    byte[] csv = check toCsvBytes(data);
+    test:assertEquals(csv, "a,1\nb,2\n".toBytes());
+}
+
+@test:Config
+isolated function testDataSetToStream() returns error? {
+    DataSet data = [];
+    foreach int i in 0 ..< 20000 {
+        data.push([i, "row " + i.toString()]);
+    }
+    stream<byte[], ConversionError?> chunks = check toCsvStream(data);
+    byte[] content = [];
+    int chunkCount = 0;
+    check from byte[] chunk in chunks
+        do {
+            content.push(...chunk);
+            chunkCount += 1;
+        };
+    test:assertTrue(chunkCount > 1);
+    test:assertEquals(content, check toCsvBytes(data));
+}
+
+@test:Config
+isolated function testLargeDataSetToString() returns error? {
+    // larger than the parallel writing threshold
+    DataSet data = [];
+    string[] lines = [];
+    foreach int i in 0 ..< 70000 {
+        data.push([i, "a,\"" + i.toString(), true]);
+        lines.push(string `${i},"a,""${i}",true`);
+    }
+    string expected = string:'join("\n", ...lines) + "\n";
+    test:assertEquals(check toString(data), expected);
+
+    byte[] content = [];
+    stream<byte[], ConversionError?> chunks = check toCsvStream(data);
+    check from byte[] chunk in chunks
+        do {
+            content.push(...chunk);
+        };
+    test:assertEquals(check string:fromBytes(content), expected);
+}
+
+// Negative tests for CSV writing functions.
+
+@test:Config
+isolated function testToStringErrors() {
+    DataSet data = [["a", 1]];
+    string|ConversionError val1 = toString(data, {headers: true});
+    test:assertTrue(val1 is ConversionError);
+
+    string|ConversionError val2 = toString(data, {headers: {headers: [["x"]]}});
+    test:assertTrue(val2 is ConversionError);
+}
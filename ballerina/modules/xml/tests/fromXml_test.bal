@@ -0,0 +1,232 @@
+// Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+type Address record {|
+    string city;
+    string country?;
+|};
+
+type Person record {|
+    int id;
+    string name;
+    int? age?;
+    Address address?;
+    string[] phone?;
+|};
+
+type Price record {|
+    string currency;
+    decimal \#content;
+|};
+
+type Book record {|
+    @Name {value: "title"}
+    string name;
+    @Attribute
+    string isbn;
+    Price price;
+|};
+
+// Possitive tests for fromXmlStringWithType() function.
+
+@test:Config
+isolated function testXmlStringToRecord() returns error? {
+    string data = string `<?xml version="1.0" encoding="UTF-8"?>
+<!-- person details -->
+<person id="7">
+    <name>John</name>
+    <age> 35 </age>
+    <?processing instruction?>
+    <address><city>Colombo</city><zip>10300</zip></address>
+    <phone>0771234567</phone>
+    <phone>0112345678</phone>
+    <email>john@example.com</email>
+</person>`;
+    Person person = check fromXmlStringWithType(data);
+    test:assertEquals(person, {
+        id: 7,
+        name: "John",
+        age: 35,
+        address: {city: "Colombo"},
+        phone: ["0771234567", "0112345678"]
+    });
+}
+
+@test:Config
+isolated function testXmlStringToOpenRecord() returns error? {
+    string data = string `<order id="1"><total>10.5</total><paid>true</paid><item><code>A1</code></item>` +
+        string `<tag>new</tag><tag>sale</tag><note/></order>`;
+    record {} 'order = check fromXmlStringWithType(data);
+    test:assertEquals('order, {
+        id: 1,
+        total: 10.5,
+        paid: true,
+        item: {code: "A1"},
+        tag: ["new", "sale"],
+        note: ""
+    });
+
+    record {} withPrefix = check fromXmlStringWithType(string `<a xmlns:x="urn:x" k="v"><b>1</b></a>`,
+        {attributePrefix: "@", preserveNamespaces: true});
+    test:assertEquals(withPrefix, {"@k": "v", "@xmlns:x": "urn:x", b: 1});
+}
+
+@test:Config
+isolated function testXmlStringToAnnotatedRecord() returns error? {
+    string data = string `<book isbn="978-0"><title>Ballerina</title><isbn>ignored</isbn>` +
+        string `<price currency="USD">10.50</price></book>`;
+    Book book = check fromXmlStringWithType(data);
+    test:assertEquals(book, {name: "Ballerina", isbn: "978-0", price: {currency: "USD", \#content: 10.50d}});
+}
+
+@test:Config
+isolated function testXmlElementPriorityOverAttribute() returns error? {
+    record {|string name;|} fromAttribute = check fromXmlStringWithType(string `<p name="attr"/>`);
+    test:assertEquals(fromAttribute, {name: "attr"});
+
+    record {|string name;|} fromElement = check fromXmlStringWithType(string `<p name="attr"><name>elem</name></p>`);
+    test:assertEquals(fromElement, {name: "elem"});
+}
+
+// Possitive tests for fromXmlBytesWithType() function.
+
+@test:Config
+isolated function testXmlBytesToRecord() returns error? {
+    byte[] data = string `<?xml version="1.0" encoding="UTF-8"?><person id="3"><name>Jäne</name></person>`.toBytes();
+    Person person = check fromXmlBytesWithType(data);
+    test:assertEquals(person, {id: 3, name: "Jäne"});
+}
+
+// Possitive tests for fromXmlStreamWithType() function.
+
+@test:Config
+isolated function testXmlStreamToRecord() returns error? {
+    stream<byte[], error?> data = ["<person id=\"4\"><na".toBytes(), "me>Bob</name><age/>".toBytes(),
+        "</person>".toBytes()].toStream();
+    Person person = check fromXmlStreamWithType(data);
+    test:assertEquals(person, {id: 4, name: "Bob", age: ()});
+}
+
+// Possitive tests for fromXmlStreamWithElementType() function.
+
+type Product record {|
+    string code;
+    string name;
+    decimal price;
+|};
+
+@test:Config
+isolated function testXmlStreamToElementStream() returns error? {
+    stream<byte[], error?> data = [
+        "<catalog><meta><product code=\"x\"/></meta><products><product code=\"P1\"><na".toBytes(),
+        "me>Pen</name><price>1.50</price></product><!-- sold out --><product code=\"P2\">".toBytes(),
+        "<name>Book</name><price>12</price><tags><tag>new</tag></tags></product></products></catalog>".toBytes()
+    ].toStream();
+    stream<Product, ConversionError?> products = check fromXmlStreamWithElementType(data, "catalog/products/product");
+    Product[] expensive = check from Product p in products
+        where p.price > 10d
+        select p;
+    test:assertEquals(expensive, [{code: "P2", name: "Book", price: 12d}]);
+
+    stream<byte[], error?> data2 = ["<a><b><item id=\"1\"/></b><c><item id=\"2\"/></c></a>".toBytes()].toStream();
+    stream<record {|int id;|}, ConversionError?> items = check fromXmlStreamWithElementType(data2, "a/*/item");
+    record {|int id;|}[] all = check from record {|int id;|} item in items
+        select item;
+    test:assertEquals(all, [{id: 1}, {id: 2}]);
+}
+
+@test:Config
+isolated function testXmlElementStreamErrors() returns error? {
+    stream<byte[], error?> data = ["<a><item id=\"1\"/><item id=\"x\"/></a>".toBytes()].toStream();
+    stream<record {|int id;|}, ConversionError?> items = check fromXmlStreamWithElementType(data, "a/item");
+    record {|record {|int id;|} value;|}|ConversionError? first = items.next();
+    test:assertEquals(first, {value: {id: 1}});
+    record {|record {|int id;|} value;|}|ConversionError? second = items.next();
+    test:assertTrue(second is ConversionError);
+    test:assertEquals((<ConversionError>second).message(), "incompatible value 'x' for type 'int' in field 'id'");
+
+    stream<byte[], error?> data2 = ["<a/>".toBytes()].toStream();
+    stream<record {|int id;|}, ConversionError?>|ConversionError err = fromXmlStreamWithElementType(data2, "a//item");
+    test:assertTrue(err is ConversionError);
+}
+
+// Negative tests for fromXmlStringWithType() function.
+
+@test:Config
+isolated function testXmlStringToRecordNegative() {
+    Person|ConversionError err1 = fromXmlStringWithType(string `<person id="x"><name>John</name></person>`);
+    test:assertTrue(err1 is ConversionError);
+    test:assertEquals((<ConversionError>err1).message(), "incompatible value 'x' for type 'int' in field 'id'");
+
+    Person|ConversionError err2 = fromXmlStringWithType(string `<person><name>John</name></person>`);
+    test:assertTrue(err2 is ConversionError);
+    test:assertEquals((<ConversionError>err2).message(), "required field 'id' not present in XML");
+
+    Person|ConversionError err3 = fromXmlStringWithType(string `<person id="1"><name>John</person>`);
+    test:assertTrue(err3 is ConversionError);
+    test:assertEquals((<ConversionError>err3).detail().line, 1);
+
+    string entity = string `<!DOCTYPE p [<!ENTITY e SYSTEM "file:///etc/passwd">]><p><name>&e;</name></p>`;
+    record {|string name;|}|ConversionError err4 = fromXmlStringWithType(entity);
+    test:assertTrue(err4 is ConversionError);
+}
+
+// Negative tests for fromXmlStreamWithType() function.
+
+# Source of a byte stream, which records whether the stream is closed.
+class ChunkSource {
+    private final (byte[]|error)[] chunks;
+    private int index = 0;
+    boolean closed = false;
+
+    isolated function init((byte[]|error)[] chunks) {
+        self.chunks = chunks;
+    }
+
+    public isolated function next() returns record {|byte[] value;|}|error? {
+        if self.index == self.chunks.length() {
+            return ();
+        }
+        byte[]|error chunk = self.chunks[self.index];
+        self.index += 1;
+        if chunk is error {
+            return chunk;
+        }
+        return {value: chunk};
+    }
+
+    public isolated function close() returns error? {
+        self.closed = true;
+    }
+}
+
+@test:Config
+isolated function testXmlStreamToRecordNegative() {
+    ChunkSource source1 = new (["<person id=\"x\">".toBytes(), "<name>John</name></person>".toBytes()]);
+    stream<byte[], error?> data1 = new (source1);
+    Person|ConversionError err1 = fromXmlStreamWithType(data1);
+    test:assertTrue(err1 is ConversionError);
+    test:assertTrue(source1.closed);
+
+    ChunkSource source2 = new (["<person id=\"1\">".toBytes(), error("connection reset")]);
+    stream<byte[], error?> data2 = new (source2);
+    Person|ConversionError err2 = fromXmlStreamWithType(data2);
+    test:assertTrue(err2 is ConversionError);
+    test:assertEquals((<ConversionError>err2).message(), "error reading XML stream: connection reset");
+    test:assertTrue(source2.closed);
+}
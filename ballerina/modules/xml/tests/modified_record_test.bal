@@ -0,0 +1,70 @@
+// Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+import ballerina/test;
+
+type LineItem record {|
+    @Attribute
+    string code;
+|};
+
+@Name {value: "order-item"}
+type OrderLineItem record {|
+    string code;
+    @Name {value: "quantity"}
+    int qty;
+|};
+
+type LineItemRef LineItem|OrderLineItem;
+
+type PurchaseOrder record {|
+    LineItem|OrderLineItem line;
+    string? note;
+    LineItemRef ref?;
+|};
+
+// Possitive tests for the conversion of annotated records with union typed fields.
+
+@test:Config
+isolated function testModifiedRecordOfUnionMember() {
+    // the name of `LineItem` is a part of the name of `OrderLineItem`
+    PurchaseOrder purchaseOrder = {line: {code: "A1", qty: 2}, note: "urgent"};
+    test:assertEquals(getModifiedRecord(purchaseOrder, PurchaseOrder),
+        [{"order-item": {code: "A1", quantity: 2}, note: "urgent"}, "PurchaseOrder"]);
+
+    purchaseOrder = {line: {code: "B2"}, note: "urgent"};
+    test:assertEquals(getModifiedRecord(purchaseOrder, PurchaseOrder),
+        [{line: {attribute_code: "B2"}, note: "urgent"}, "PurchaseOrder"]);
+}
+
+@test:Config
+isolated function testModifiedRecordOfNilUnionMember() {
+    PurchaseOrder purchaseOrder = {line: {code: "C3"}, note: ()};
+    test:assertEquals(getModifiedRecord(purchaseOrder, PurchaseOrder),
+        [{line: {attribute_code: "C3"}, note: ()}, "PurchaseOrder"]);
+}
+
+@test:Config
+isolated function testModifiedRecordOfReferredUnion() {
+    PurchaseOrder purchaseOrder = {line: {code: "D4"}, note: (), ref: {code: "E5", qty: 5}};
+    test:assertEquals(getModifiedRecord(purchaseOrder, PurchaseOrder),
+        [{line: {attribute_code: "D4"}, note: (), "order-item": {code: "E5", quantity: 5}}, "PurchaseOrder"]);
+}
+
+isolated function getModifiedRecord(map<anydata> input, typedesc<map<anydata>> inputType) returns json = @java:Method {
+    'class: "io.ballerina.stdlib.data.utils.DataUtils"
+} external;
@@ -0,0 +1,117 @@
+// Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+@Name {value: "product"}
+@Namespace {prefix: "p", uri: "urn:products"}
+type StockedProduct record {|
+    @Attribute
+    string code;
+    string name;
+    @Namespace {prefix: "s", uri: "urn:stock"}
+    int stock;
+    string[] tags = [];
+|};
+
+type Catalog record {|
+    StockedProduct[] product;
+|};
+
+// Possitive tests for toXmlString() function.
+
+@test:Config
+isolated function testRecordToXmlString() returns error? {
+    Person person = {id: 7, name: "J<&>n", age: (), address: {city: "Colombo"}, phone: ["077", "011"]};
+    string data = check toXmlString(person, {rootTag: "person"});
+    test:assertEquals(data, string `<person><id>7</id><name>J&lt;&amp;&gt;n</name><age/>` +
+        string `<address><city>Colombo</city></address><phone>077</phone><phone>011</phone></person>`);
+    Person converted = check fromXmlStringWithType(data);
+    test:assertEquals(converted, person);
+}
+
+@test:Config
+isolated function testAnnotatedRecordToXmlString() returns error? {
+    Book book = {name: "Ballerina", isbn: "978-0", price: {currency: "USD", \#content: 10.50d}};
+    string data = check toXmlString(book);
+    test:assertEquals(data, string `<Book isbn="978-0"><title>Ballerina</title>` +
+        string `<price>10.50<currency>USD</currency></price></Book>`);
+    Book converted = check fromXmlStringWithType(data);
+    test:assertEquals(converted, book);
+
+    Catalog catalog = {
+        product: [{code: "A1", name: "Pen", stock: 3, tags: ["new"]}, {code: "B2", name: "Ink", stock: 0}]
+    };
+    test:assertEquals(check toXmlString(catalog), string `<Catalog>` +
+        string `<p:product xmlns:p="urn:products" code="A1"><name>Pen</name><s:stock xmlns:s="urn:stock">3</s:stock>` +
+        string `<tags>new</tags></p:product>` +
+        string `<p:product xmlns:p="urn:products" code="B2"><name>Ink</name><s:stock xmlns:s="urn:stock">0</s:stock>` +
+        string `</p:product></Catalog>`);
+}
+
+@test:Config
+isolated function testOpenRecordToXmlString() returns error? {
+    record {} data = {"@id": 1, total: 10.5, paid: true, item: {code: "A1"}, tag: ["new", "sale"], "#content": "x"};
+    test:assertEquals(check toXmlString(data, {rootTag: "order", attributePrefix: "@"}),
+        string `<order id="1">x<total>10.5</total><paid>true</paid><item><code>A1</code></item>` +
+        string `<tag>new</tag><tag>sale</tag></order>`);
+}
+
+// Possitive tests for toXmlBytes() and toXmlStream() functions.
+
+@test:Config
+isolated function testRecordToXmlBytes() returns error? {
+    Person person = {id: 3, name: "Jäne"};
+    byte[] data = check toXmlBytes(person, {rootTag: "person"});
+    test:assertEquals(data, "<person><id>3</id><name>Jäne</name></person>".toBytes());
+}
+
+@test:Config
+isolated function testRecordToXmlStream() returns error? {
+    StockedProduct[] products = [];
+    foreach int i in 0 ..< 5000 {
+        products.push({code: i.toString(), name: "product " + i.toString(), stock: i});
+    }
+    Catalog catalog = {product: products};
+    stream<byte[], ConversionError?> chunks = check toXmlStream(catalog);
+    byte[] content = [];
+    int chunkCount = 0;
+    check from byte[] chunk in chunks
+        do {
+            content.push(...chunk);
+            chunkCount += 1;
+        };
+    test:assertTrue(chunkCount > 1);
+    test:assertEquals(content, check toXmlBytes(catalog));
+}
+
+// Negative tests for XML writing functions.
+
+@test:Config
+isolated function testToXmlStringErrors() {
+    string|ConversionError err1 = toXmlString({a: 1}, {rootTag: "1a"});
+    test:assertTrue(err1 is ConversionError);
+    test:assertEquals((<ConversionError>err1).message(), "invalid XML name '1a'");
+
+    string|ConversionError err2 = toXmlString({"first name": "John"});
+    test:assertTrue(err2 is ConversionError);
+    test:assertEquals((<ConversionError>err2).message(), "invalid XML name 'first name'");
+
+    stream<byte[], ConversionError?>|ConversionError err3 = toXmlStream({a: [[1, 2]]});
+    test:assertTrue(err3 is stream<byte[], ConversionError?>);
+    record {|byte[] value;|}|ConversionError? chunk = (<stream<byte[], ConversionError?>>err3).next();
+    test:assertTrue(chunk is ConversionError);
+}
@@ -0,0 +1,81 @@
+// Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+# Defines the name of the XML element or attribute of a record field, or the name of the XML element of a record type.
+public type NameConfig record {|
+    # The name of the XML element or attribute
+    string value;
+|};
+
+# The annotation is used to specify the XML name of a record field or a record type.
+public annotation NameConfig Name on type, record field;
+
+# Defines the namespace of the XML element or attribute of a record field or a record type.
+public type NamespaceConfig record {|
+    # The prefix of the namespace
+    string prefix?;
+    # The URI of the namespace
+    string uri;
+|};
+
+# The annotation is used to specify the XML namespace of a record field or a record type.
+#
+# When converting from XML, a field with a namespace only matches the elements and attributes of that namespace.
+public annotation NamespaceConfig Namespace on type, record field;
+
+# The annotation is used to specify that a record field is an XML attribute, and not an XML element.
+public annotation Attribute on record field;
+
+# XML parse Options
+public type SourceOptions record {|
+    # The prefix added to the names of the attributes, which don't match a field, when added to an open record
+    string attributePrefix = "";
+
+    # The name of the field of the text content of an element, which is converted to a record
+    # e.g. `record {| string currency; decimal \#content; |}` for `<price currency="USD">10.5</price>`
+    string textFieldName = "#content";
+
+    # Indicates namespace declarations are added to an open record as `xmlns` attributes.
+    # By default, namespace declarations are ignored.
+    boolean preserveNamespaces = false;
+|};
+
+# XML write options
+public type ToOptions record {|
+    # The name of the root element. By default, the name is taken from the `xml:Name` annotation or the name of
+    # the record type.
+    string rootTag?;
+
+    # The prefix of the keys of the fields, which are not fields of the record type, written as attributes.
+    # By default, those fields are written as elements.
+    string attributePrefix = "";
+
+    # The name of the field written as the text content of an element
+    string textFieldName = "#content";
+|};
+
+# Describes Conversion Error.
+public type ConversionError distinct error<record {
+
+    # The reason for the conversion error
+    string reason;
+
+    # The line number of the conversion error
+    int line;
+
+    # The column number of the conversion error
+    int column;
+}>;
@@ -14,5 +14,88 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import ballerina/jballerina.java;
 
+# Parse an XML string into a record.
+#
+# The elements and the attributes are projected to the fields of the record while the XML is read, without creating
+# an `xml` value. An element or an attribute which doesn't match a field is added to an open record with an inferred
+# type, and is ignored by a closed record. Repeated elements are collected to an array field.
+#
+# + data - XML content
+# + options - Options to be used for the conversion
+# + typed - Target record type
+# + return - On success, a record of the given target type, else returns a `xml:ConversionError`
+public isolated function fromXmlStringWithType(string data, SourceOptions options = {}, typedesc<record {}> typed = <>)
+        returns typed|ConversionError = @java:Method {'class: "io.ballerina.stdlib.data.xml.Native"} external;
 
+# Parse XML bytes into a record.
+#
+# The encoding of the content is detected from the XML declaration.
+#
+# + data - XML content
+# + options - Options to be used for the conversion
+# + typed - Target record type
+# + return - On success, a record of the given target type, else returns a `xml:ConversionError`
+public isolated function fromXmlBytesWithType(byte[] data, SourceOptions options = {}, typedesc<record {}> typed = <>)
+        returns typed|ConversionError = @java:Method {'class: "io.ballerina.stdlib.data.xml.Native"} external;
+
+# Parse an XML byte stream into a record.
+#
+# + data - Byte stream of XML content
+# + options - Options to be used for the conversion
+# + typed - Target record type
+# + return - On success, a record of the given target type, else returns a `xml:ConversionError`
+public isolated function fromXmlStreamWithType(stream<byte[], error?> data, SourceOptions options = {},
+        typedesc<record {}> typed = <>)
+        returns typed|ConversionError = @java:Method {'class: "io.ballerina.stdlib.data.xml.Native"} external;
+
+# Parse the repeated elements of an XML byte stream lazily, one element at a time.
+#
+# Each element at the given path is converted to a record, and all the other content is skipped without being
+# converted. The source stream is read only when the next element is requested, so the memory usage depends on the
+# size of an element, not the size of the content.
+#
+# + data - Byte stream of XML content
+# + path - Local names of the elements from the root element separated by `/`, where `*` matches any name
+# e.g. `catalog/products/product`
+# + options - Options to be used for the conversion
+# + t - Target record type of an element
+# + return - On success, a stream of records with the given target type, else returns a `xml:ConversionError`
+public isolated function fromXmlStreamWithElementType(stream<byte[], error?> data, string path,
+        SourceOptions options = {}, typedesc<record {}> t = <>) returns stream<t, ConversionError?>|ConversionError
+        = @java:Method {'class: "io.ballerina.stdlib.data.xml.Native"} external;
+
+# Converts a record to an XML string.
+#
+# The fields are written as elements, or as attributes if annotated with `xml:Attribute`, named by the `xml:Name` and
+# `xml:Namespace` annotations. The members of an array are written as repeated elements. The record is written
+# directly as XML content, without creating an `xml` value.
+#
+# + data - Record to be converted
+# + options - Options to be used for the conversion
+# + return - On success, the XML content, else returns a `xml:ConversionError`
+public isolated function toXmlString(record {} data, ToOptions options = {}) returns string|ConversionError
+        = @java:Method {'class: "io.ballerina.stdlib.data.xml.Native"} external;
+
+# Converts a record to UTF-8 encoded XML content.
+#
+# + data - Record to be converted
+# + options - Options to be used for the conversion
+# + return - On success, the encoded XML content, else returns a `xml:ConversionError`
+public isolated function toXmlBytes(record {} data, ToOptions options = {}) returns byte[]|ConversionError
+        = @java:Method {'class: "io.ballerina.stdlib.data.xml.Native"} external;
+
+# Converts a record to a stream of UTF-8 encoded XML content.
+#
+# The content is written only when the next chunk is requested, and a chunk contains about 64KB. Therefore, the
+# complete XML content is never kept in memory.
+#
+# + data - Record to be converted
+# + options - Options to be used for the conversion
+# + return - On success, a stream of the encoded XML content, else returns a `xml:ConversionError`
+public isolated function toXmlStream(record {} data, ToOptions options = {})
+        returns stream<byte[], ConversionError?>|ConversionError {
+    XmlChunkStream chunkStream = check new (data, options);
+    return new (chunkStream);
+}
@@ -0,0 +1,107 @@
+// Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# Iterator of the stream returned by `fromXmlStreamWithElementType`.
+#
+# The native reader, which converts the elements while the chunks are handed over, is kept as native data of the
+# object.
+class ElementStream {
+    private final stream<byte[], error?> data;
+    private boolean isEndOfData = false;
+
+    isolated function init(stream<byte[], error?> data) {
+        self.data = data;
+    }
+
+    public isolated function next() returns record {|record {} value;|}|ConversionError? {
+        record {}|ConversionError? element = nextElement(self);
+        while element is () && !self.isEndOfData {
+            record {|byte[] value;|}|error? chunk = self.data.next();
+            if chunk !is record {|byte[] value;|} {
+                self.isEndOfData = true;
+            }
+            ConversionError? err = readChunk(self, chunk);
+            if err is ConversionError {
+                self.isEndOfData = true;
+                return err;
+            }
+            element = nextElement(self);
+        }
+        if element is ConversionError {
+            self.isEndOfData = true;
+            return element;
+        }
+        if element is () {
+            return ();
+        }
+        return {value: element};
+    }
+
+    public isolated function close() returns ConversionError? {
+        self.isEndOfData = true;
+        closeElementReader(self);
+        error? err = self.data.close();
+        if err is error {
+            return error ConversionError(err.message(), reason = err.message(), line = 0, column = 0);
+        }
+    }
+}
+
+isolated function nextElement(ElementStream elementStream) returns record {}|ConversionError? = @java:Method {
+    'class: "io.ballerina.stdlib.data.xml.Native"
+} external;
+
+isolated function readChunk(ElementStream elementStream, record {|byte[] value;|}|error? chunk)
+    returns ConversionError? = @java:Method {'class: "io.ballerina.stdlib.data.xml.Native"} external;
+
+isolated function closeElementReader(ElementStream elementStream) = @java:Method {
+    'class: "io.ballerina.stdlib.data.xml.Native"
+} external;
+
+# Iterator of the stream returned by `toXmlStream`.
+#
+# The native writer, which keeps the open elements to be continued, is kept as native data of the object.
+class XmlChunkStream {
+    private boolean isEndOfData = false;
+
+    isolated function init(record {} data, ToOptions options) returns ConversionError? {
+        return initWriter(self, data, options);
+    }
+
+    public isolated function next() returns record {|byte[] value;|}|ConversionError? {
+        if self.isEndOfData {
+            return ();
+        }
+        byte[]|ConversionError? chunk = nextChunk(self);
+        if chunk is byte[] {
+            return {value: chunk};
+        }
+        self.isEndOfData = true;
+        return chunk;
+    }
+
+    public isolated function close() returns ConversionError? {
+        self.isEndOfData = true;
+    }
+}
+
+isolated function initWriter(XmlChunkStream chunkStream, record {} data, ToOptions options)
+    returns ConversionError? = @java:Method {'class: "io.ballerina.stdlib.data.xml.Native"} external;
+
+isolated function nextChunk(XmlChunkStream chunkStream) returns byte[]|ConversionError? =
+    @java:Method {'class: "io.ballerina.stdlib.data.xml.Native"} external;
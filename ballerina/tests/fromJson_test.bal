@@ -657,6 +657,41 @@ isolated function testFromJsonWithType19() returns error? {
     test:assertEquals(y.books[2].author, "Alexandra Quinn");
 }
 
+type PooledPerson record {|
+    string name;
+    string city;
+|};
+
+@test:Config
+function testConcurrentConversions() returns error? {
+    // the parsers and the traversals are pooled, and reused by the conversions of any strand
+    future<error?>[] conversions = [];
+    foreach int i in 0 ..< 16 {
+        conversions.push(start convertDocuments(i.toString()));
+    }
+    foreach future<error?> conversion in conversions {
+        check wait conversion;
+    }
+}
+
+// Converts documents of different types, including a failed one, each of which must not see the state left by the
+// previous conversions.
+isolated function convertDocuments(string id) returns error? {
+    foreach int i in 0 ..< 200 {
+        string name = string `${id}-${i}`;
+        PooledPerson person = check fromJsonStringWithType(string `{"name": "${name}", "city": "c${name}"}`);
+        test:assertEquals(person, {name, city: "c" + name});
+
+        // fails in the middle of a nested object
+        PooledPerson|ConversionError err = fromJsonStringWithType(string `{"name": "${name}", "city": {"x": `);
+        test:assertTrue(err is ConversionError);
+
+        json item = {skipped: name, code: name, other: "z"};
+        record {|string code;|} code = check fromJsonWithType(item);
+        test:assertEquals(code, {code: name});
+    }
+}
+
 // Negative tests for fromJsonWithType() function.
 
 type AddressN record {
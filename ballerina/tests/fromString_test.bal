@@ -44,6 +44,15 @@ isolated function testStringToFloat() returns error? {
 
     Float floatValue3 = check fromStringWithType("2.012");
     test:assertEquals(floatValue3, 2.012);
+
+    float floatValue4 = check fromStringWithType("1.5e-3");
+    test:assertEquals(floatValue4, 0.0015);
+
+    float floatValue5 = check fromStringWithType("12345678901234567890.5");
+    test:assertEquals(floatValue5, 12345678901234567890.5);
+
+    float floatValue6 = check fromStringWithType("-0");
+    test:assertEquals(floatValue6, -0.0);
 }
 
 type Decimal decimal;
@@ -58,6 +67,12 @@ isolated function testStringToDecimal() returns error? {
 
     Decimal decimalValue3 = check fromStringWithType("2.012");
     test:assertEquals(decimalValue3, 2.012d);
+
+    decimal decimalValue4 = check fromStringWithType("1.5E3");
+    test:assertEquals(decimalValue4, 1500d);
+
+    decimal decimalValue5 = check fromStringWithType("123456789012345678901234567890.123");
+    test:assertEquals(decimalValue5, 123456789012345678901234567890.123d);
 }
 
 type Boolean boolean;
@@ -198,6 +213,18 @@ isolated function testStringToUnion() returns error? {
     Union1 value20 = check fromStringWithType("1.2");
     test:assertTrue(value20 is float);
     test:assertEquals(value20, 1.2);
+
+    int|Union1 value21 = check fromStringWithType("1e3");
+    test:assertTrue(value21 is float);
+    test:assertEquals(value21, 1000.0);
+
+    boolean|Union1|string value22 = check fromStringWithType("TRUE");
+    test:assertTrue(value22 is boolean);
+    test:assertEquals(value22, true);
+
+    ()|boolean|string value23 = check fromStringWithType("1.2");
+    test:assertTrue(value23 is string);
+    test:assertEquals(value23, "1.2");
 }
 
 // Negative tests for fromStringWithType() function.
@@ -309,3 +336,54 @@ isolated function testStringToUnionNegative() {
     test:assertTrue(error3 is error);
     test:assertEquals((<error>error3).message(), "'string' value 'true' cannot be converted to '(int|float)?'");
 }
+
+// Possitive tests for fromStringsWithType() function.
+
+@test:Config
+isolated function testStringsToArray() returns error? {
+    int[] intValues = check fromStringsWithType(["1", "-1000", "+42"]);
+    test:assertEquals(intValues, [1, -1000, 42]);
+
+    float[] floatValues = check fromStringsWithType(["2.012", "1", "1e3"]);
+    test:assertEquals(floatValues, [2.012, 1.0, 1000.0]);
+
+    decimal[] decimalValues = check fromStringsWithType(["2.012", "-1000.123"]);
+    test:assertEquals(decimalValues, [2.012d, -1000.123d]);
+
+    boolean[] booleanValues = check fromStringsWithType(["true", "0", "FALSE"]);
+    test:assertEquals(booleanValues, [true, false, false]);
+
+    string[] stringValues = check fromStringsWithType(["a", "1.2"]);
+    test:assertEquals(stringValues, ["a", "1.2"]);
+
+    (int|string)[] unionValues = check fromStringsWithType(["1", "abc", "9223372036854775808"]);
+    test:assertEquals(unionValues, [1, "abc", "9223372036854775808"]);
+
+    INT[] referredValues = check fromStringsWithType(["1", "2"]);
+    test:assertEquals(referredValues, [1, 2]);
+
+    int[2] fixedValues = check fromStringsWithType(["1", "2"]);
+    test:assertEquals(fixedValues, [1, 2]);
+
+    int[] emptyValues = check fromStringsWithType([]);
+    test:assertEquals(emptyValues, []);
+}
+
+// Negative tests for fromStringsWithType() function.
+
+@test:Config
+isolated function testStringsToArrayNegative() {
+    int[]|ConversionError error1 = fromStringsWithType(["1", "1.2", "3", "abc"]);
+    test:assertTrue(error1 is ConversionError);
+    if error1 is ConversionError {
+        test:assertEquals(error1.message(), "2 of 4 values of the 'string[]' value cannot be converted to 'int'");
+        ElementError[]? errors = error1.detail().errors;
+        test:assertEquals(errors, [
+            {index: 1, reason: "'string' value '1.2' cannot be converted to 'int'"},
+            {index: 3, reason: "'string' value 'abc' cannot be converted to 'int'"}
+        ]);
+    }
+
+    int[3]|ConversionError error2 = fromStringsWithType(["1", "2"]);
+    test:assertTrue(error2 is ConversionError);
+}
@@ -433,6 +433,38 @@ isolated function testJsonToJson20() returns error? {
     test:assertEquals(x.city,{"name": "Mahar", "code": 94, "internal": {"id": 12, "agent": "Anne"}});
 }
 
+type NonAsciiText record {|
+    string text;
+    string lang;
+|};
+
+@test:Config {
+    groups: ["jsonToJson"]
+}
+isolated function testJsonToJson21() returns error? {
+    // the bytes are decoded as UTF-8, whatever the default charset of the platform
+    json jsonContent = {"text": "héllo wörld €5 ශ්‍රී ලංකා 😀", "lang": "日本語"};
+    byte[] bytes = jsonContent.toString().toBytes();
+
+    NonAsciiText x = check fromJsonByteArrayWithType(bytes);
+    test:assertEquals(x, {text: "héllo wörld €5 ශ්‍රී ලංකා 😀", lang: "日本語"});
+
+    // the characters span the chunks in which the bytes are decoded
+    string text = "";
+    foreach int i in 0 ..< 1500 {
+        text += "é€😀";
+    }
+    json longContent = {"text": text, "lang": "x"};
+    x = check fromJsonByteArrayWithType(longContent.toString().toBytes());
+    test:assertEquals(x.text, text);
+
+    // malformed bytes are replaced, as when the bytes are read as a string
+    bytes = "{\"text\": \"a#b\", \"lang\": \"x\"}".toBytes();
+    bytes[11] = 255;
+    x = check fromJsonByteArrayWithType(bytes);
+    test:assertEquals(x.text, "a\u{FFFD}b");
+}
+
 // type DebugType record {|
 //     json id;
 //     readonly & json color;
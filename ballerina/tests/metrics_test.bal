@@ -0,0 +1,31 @@
+// Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+// Possitive tests for getConversionMetrics() function.
+
+@test:Config
+isolated function testConversionMetricsWhenDisabled() returns error? {
+    record {|int id;|} value = check fromJsonStringWithType("{\"id\": 1, \"name\": \"Anne\"}");
+    test:assertEquals(value, {id: 1});
+
+    // metrics are not enabled for the tests
+    ConversionMetrics metrics = getConversionMetrics();
+    test:assertFalse(metrics.enabled);
+    test:assertEquals(metrics.entryPoints, {});
+    test:assertEquals(metrics.targetTypes, {});
+}
@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.benchmarks;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generated documents and the record types they are converted to.
+ * <p>
+ * A document is a record with an array of items, {@code {"items": [...]}}, written as XML and as CSV rows. As the
+ * JSON parser doesn't convert arrays of objects yet, the JSON document has a field for each item instead,
+ * {@code {"item0": {...}, "item1": {...}}}. The shape decides the fields of an item, and the projection ratio decides
+ * the fraction of those fields declared by the target record type, the rest are skipped by the conversions. The content
+ * is generated deterministically, so the results of different runs are comparable.
+ *
+ * @since 0.1.0
+ */
+public final class Corpus {
+
+    /**
+     * Number of items of a document.
+     */
+    public enum Size {
+        SMALL(1),
+        MEDIUM(100),
+        HUGE(10_000);
+
+        final int items;
+
+        Size(int items) {
+            this.items = items;
+        }
+    }
+
+    /**
+     * Fields of an item.
+     */
+    public enum Shape {
+        // a few fields of each simple type
+        NARROW,
+        // 64 fields of each simple type
+        WIDE,
+        // an item nested 8 levels deep
+        DEEP,
+        // 16 `int` and `float` fields
+        NUMERIC,
+        // 16 `string` fields with escaped and non-ASCII characters
+        STRING
+    }
+
+    private static final Module MODULE = new Module("bench", "data", "1");
+    private static final int DEEP_LEVELS = 8;
+    private static final String NAME_ANNOTATION = "ballerina/data.xml:0:Name";
+    private static final String ATTRIBUTE_ANNOTATION = "ballerina/data.xml:0:Attribute";
+    private static final String FIELD_ANNOTATION = "$field$.";
+
+    public final Size size;
+    public final Shape shape;
+    // JSON document with a field for each item.
+    public final String json;
+    public final byte[] jsonBytes;
+    // CSV rows of the items with a header row, `null` for the `DEEP` shape.
+    public final String csv;
+    public final String xml;
+    // Type of the document projected to the given ratio of the fields.
+    public final RecordType documentType;
+    public final RecordType jsonDocumentType;
+    public final RecordType itemType;
+    public final ArrayType itemsType;
+
+    private final List<FieldSpec> fields;
+
+    private Corpus(Size size, Shape shape, double projection, boolean annotated) {
+        this.size = size;
+        this.shape = shape;
+        this.fields = createFields(shape);
+        this.itemType = createItemType(shape, fields, projection, annotated, 0);
+        this.itemsType = TypeCreator.createArrayType(itemType);
+        Map<String, Field> documentFields = new LinkedHashMap<>();
+        documentFields.put("items", TypeCreator.createField(itemsType, "items", SymbolFlags.REQUIRED));
+        this.documentType = TypeCreator.createRecordType("Document", MODULE, 0, documentFields, null, true, 0);
+        Map<String, Field> itemFields = new LinkedHashMap<>();
+        for (int item = 0; item < size.items; item++) {
+            itemFields.put("item" + item, TypeCreator.createField(itemType, "item" + item, SymbolFlags.REQUIRED));
+        }
+        this.jsonDocumentType = TypeCreator.createRecordType("JsonDocument", MODULE, 0, itemFields, null, true, 0);
+        this.json = writeJson();
+        this.jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+        this.csv = shape == Shape.DEEP ? null : writeCsv();
+        this.xml = writeXml();
+    }
+
+    /**
+     * Creates a corpus, where the target type declares the given ratio of the fields of an item.
+     */
+    public static Corpus create(Size size, Shape shape, double projection) {
+        return new Corpus(size, shape, projection, false);
+    }
+
+    /**
+     * Creates a corpus with `xml:Name` and `xml:Attribute` annotations on the fields of the item type, which are used
+     * when a record is converted to XML.
+     */
+    public static Corpus createAnnotated(Size size, Shape shape) {
+        return new Corpus(size, shape, 1.0, true);
+    }
+
+    /**
+     * Returns the result of a conversion, which returns an error value instead of throwing an exception.
+     */
+    static Object requireValue(Object result) {
+        if (result instanceof BError) {
+            throw new IllegalStateException("conversion failed: " + ((BError) result).getMessage());
+        }
+        return result;
+    }
+
+    private static List<FieldSpec> createFields(Shape shape) {
+        List<FieldSpec> fields = new ArrayList<>();
+        switch (shape) {
+            case NARROW:
+                fields.add(new FieldSpec("id", PredefinedTypes.TYPE_INT));
+                fields.add(new FieldSpec("name", PredefinedTypes.TYPE_STRING));
+                fields.add(new FieldSpec("price", PredefinedTypes.TYPE_DECIMAL));
+                fields.add(new FieldSpec("active", PredefinedTypes.TYPE_BOOLEAN));
+                break;
+            case WIDE:
+                Type[] types = {PredefinedTypes.TYPE_INT, PredefinedTypes.TYPE_STRING, PredefinedTypes.TYPE_DECIMAL,
+                        PredefinedTypes.TYPE_BOOLEAN};
+                for (int i = 0; i < 64; i++) {
+                    fields.add(new FieldSpec("field" + i, types[i % types.length]));
+                }
+                break;
+            case DEEP:
+                fields.add(new FieldSpec("level", PredefinedTypes.TYPE_INT));
+                fields.add(new FieldSpec("name", PredefinedTypes.TYPE_STRING));
+                break;
+            case NUMERIC:
+                for (int i = 0; i < 16; i++) {
+                    fields.add(new FieldSpec("number" + i,
+                            i % 2 == 0 ? PredefinedTypes.TYPE_INT : PredefinedTypes.TYPE_FLOAT));
+                }
+                break;
+            default:
+                for (int i = 0; i < 16; i++) {
+                    fields.add(new FieldSpec("text" + i, PredefinedTypes.TYPE_STRING));
+                }
+                break;
+        }
+        return fields;
+    }
+
+    private static RecordType createItemType(Shape shape, List<FieldSpec> fields, double projection,
+                                             boolean annotated, int level) {
+        int declared = Math.max(1, (int) Math.ceil(fields.size() * projection));
+        Map<String, Field> recordFields = new LinkedHashMap<>();
+        for (int i = 0; i < declared; i++) {
+            FieldSpec field = fields.get(i);
+            recordFields.put(field.name, TypeCreator.createField(field.type, field.name, SymbolFlags.REQUIRED));
+        }
+        if (shape == Shape.DEEP && level < DEEP_LEVELS - 1) {
+            RecordType childType = createItemType(shape, fields, projection, annotated, level + 1);
+            recordFields.put("child", TypeCreator.createField(childType, "child", SymbolFlags.REQUIRED));
+        }
+        RecordType type = TypeCreator.createRecordType("Item" + level, MODULE, 0, recordFields, null, true, 0);
+        if (annotated) {
+            annotate(type, fields.subList(0, declared));
+        }
+        return type;
+    }
+
+    /**
+     * Adds the annotations as the compiler does, i.e. to the annotation map of the type, with a `$field$.` key for a
+     * field. The first field of an item is an attribute, and the others are renamed.
+     */
+    private static void annotate(RecordType type, List<FieldSpec> fields) {
+        BMap<BString, Object> annotations = type.getAnnotations();
+        annotations.put(StringUtils.fromString(NAME_ANNOTATION), nameAnnotation("item"));
+        for (int i = 0; i < fields.size(); i++) {
+            BMap<BString, Object> fieldAnnotations = ValueCreator.createMapValue();
+            if (i == 0) {
+                fieldAnnotations.put(StringUtils.fromString(ATTRIBUTE_ANNOTATION), true);
+            } else {
+                fieldAnnotations.put(StringUtils.fromString(NAME_ANNOTATION),
+                        nameAnnotation("x-" + fields.get(i).name));
+            }
+            annotations.put(StringUtils.fromString(FIELD_ANNOTATION + fields.get(i).name), fieldAnnotations);
+        }
+    }
+
+    private static BMap<BString, Object> nameAnnotation(String name) {
+        BMap<BString, Object> value = ValueCreator.createMapValue();
+        value.put(StringUtils.fromString("value"), StringUtils.fromString(name));
+        return value;
+    }
+
+    private String writeJson() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int item = 0; item < size.items; item++) {
+            if (item > 0) {
+                sb.append(',');
+            }
+            sb.append("\"item").append(item).append("\":");
+            writeJsonItem(sb, item, 0);
+        }
+        return sb.append('}').toString();
+    }
+
+    private void writeJsonItem(StringBuilder sb, int item, int level) {
+        sb.append('{');
+        for (int i = 0; i < fields.size(); i++) {
+            FieldSpec field = fields.get(i);
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append('"').append(field.name).append("\":");
+            String value = field.value(item + level, i);
+            if (field.type.getTag() == TypeTags.STRING_TAG) {
+                sb.append('"').append(value.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+            } else {
+                sb.append(value);
+            }
+        }
+        if (shape == Shape.DEEP && level < DEEP_LEVELS - 1) {
+            sb.append(",\"child\":");
+            writeJsonItem(sb, item, level + 1);
+        }
+        sb.append('}');
+    }
+
+    private String writeCsv() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < fields.size(); i++) {
+            sb.append(i > 0 ? "," : "").append(fields.get(i).name);
+        }
+        sb.append('\n');
+        for (int item = 0; item < size.items; item++) {
+            for (int i = 0; i < fields.size(); i++) {
+                String value = fields.get(i).value(item, i);
+                if (value.indexOf('"') >= 0 || value.indexOf(',') >= 0) {
+                    value = '"' + value.replace("\"", "\"\"") + '"';
+                }
+                sb.append(i > 0 ? "," : "").append(value);
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    private String writeXml() {
+        StringBuilder sb = new StringBuilder("<document>");
+        for (int item = 0; item < size.items; item++) {
+            sb.append("<items>");
+            writeXmlItem(sb, item, 0);
+            sb.append("</items>");
+        }
+        return sb.append("</document>").toString();
+    }
+
+    private void writeXmlItem(StringBuilder sb, int item, int level) {
+        for (int i = 0; i < fields.size(); i++) {
+            String name = fields.get(i).name;
+            String value = fields.get(i).value(item + level, i).replace("&", "&amp;").replace("<", "&lt;");
+            sb.append('<').append(name).append('>').append(value).append("</").append(name).append('>');
+        }
+        if (shape == Shape.DEEP && level < DEEP_LEVELS - 1) {
+            sb.append("<child>");
+            writeXmlItem(sb, item, level + 1);
+            sb.append("</child>");
+        }
+    }
+
+    /**
+     * A field of an item, with the text of its value in an item.
+     */
+    private static final class FieldSpec {
+
+        final String name;
+        final Type type;
+
+        FieldSpec(String name, Type type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        String value(int item, int field) {
+            int seed = item * 31 + field;
+            switch (type.getTag()) {
+                case TypeTags.INT_TAG:
+                    return Integer.toString(seed * 7919);
+                case TypeTags.FLOAT_TAG:
+                    return Double.toString(seed / 7.0);
+                case TypeTags.DECIMAL_TAG:
+                    return (seed % 1000) + "." + (seed % 100);
+                case TypeTags.BOOLEAN_TAG:
+                    return seed % 2 == 0 ? "true" : "false";
+                default:
+                    return seed % 3 == 0 ? "value \"" + seed + "\" \u00E9\u00E8 \uD83D\uDE00 text" : "value " + seed;
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.benchmarks;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+import io.ballerina.stdlib.data.csv.Native;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the conversions of CSV content to a mapping data set, and back to CSV content.
+ *
+ * @since 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CsvBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public Corpus.Size size;
+
+    // the CSV content of an item is flat, so there isn't a `DEEP` shape
+    @Param({"NARROW", "WIDE", "NUMERIC", "STRING"})
+    public Corpus.Shape shape;
+
+    @Param({"1.0", "0.5", "0.1"})
+    public double projection;
+
+    private BString csv;
+    private BMap<BString, Object> options;
+    private BTypedesc dataSetType;
+    private Object dataSet;
+
+    @Setup
+    public void setup() {
+        Corpus corpus = Corpus.create(size, shape, projection);
+        csv = StringUtils.fromString(corpus.csv);
+        options = ValueCreator.createMapValue();
+        // the first row is the header row
+        options.put(StringUtils.fromString("headers"), ValueCreator.createMapValue());
+        dataSetType = ValueCreator.createTypedescValue(corpus.itemsType);
+        dataSet = Corpus.requireValue(Native.fromCsvStringWithType(csv, options, dataSetType));
+    }
+
+    @Benchmark
+    public Object fromCsvString() {
+        return Native.fromCsvStringWithType(csv, options, dataSetType);
+    }
+
+    @Benchmark
+    public Object toCsvString() {
+        return Native.toString(dataSet, null);
+    }
+}
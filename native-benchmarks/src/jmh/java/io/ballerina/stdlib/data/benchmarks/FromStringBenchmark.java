@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.benchmarks;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.data.FromString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the conversions of strings to simple types and unions of simple types.
+ *
+ * @since 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FromStringBenchmark {
+
+    private static final int VALUES = 1024;
+
+    @Param({"int", "float", "decimal", "boolean", "union"})
+    public String type;
+
+    private Type expectedType;
+    private BString[] values;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(VALUES);
+        values = new BString[VALUES];
+        for (int i = 0; i < VALUES; i++) {
+            values[i] = StringUtils.fromString(createValue(random, i));
+        }
+        switch (type) {
+            case "int":
+                expectedType = PredefinedTypes.TYPE_INT;
+                break;
+            case "float":
+                expectedType = PredefinedTypes.TYPE_FLOAT;
+                break;
+            case "decimal":
+                expectedType = PredefinedTypes.TYPE_DECIMAL;
+                break;
+            case "boolean":
+                expectedType = PredefinedTypes.TYPE_BOOLEAN;
+                break;
+            default:
+                expectedType = TypeCreator.createUnionType(PredefinedTypes.TYPE_INT, PredefinedTypes.TYPE_FLOAT,
+                        PredefinedTypes.TYPE_BOOLEAN, PredefinedTypes.TYPE_STRING);
+                break;
+        }
+    }
+
+    private String createValue(Random random, int i) {
+        switch (type) {
+            case "int":
+                return Long.toString(random.nextLong());
+            case "float":
+            case "decimal":
+                return Double.toString(random.nextDouble() * 1e6);
+            case "boolean":
+                return random.nextBoolean() ? "true" : "false";
+            default:
+                // a mix of the members, with strings which are not converted to the other members
+                switch (i % 4) {
+                    case 0:
+                        return Integer.toString(random.nextInt());
+                    case 1:
+                        return Double.toString(random.nextDouble());
+                    case 2:
+                        return "true";
+                    default:
+                        return "value " + i;
+                }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void fromStringWithType(Blackhole blackhole) {
+        for (BString value : values) {
+            blackhole.consume(FromString.fromStringWithType(value, expectedType));
+        }
+    }
+}
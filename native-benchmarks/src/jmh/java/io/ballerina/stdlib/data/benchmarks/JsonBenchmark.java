@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.benchmarks;
+
+import io.ballerina.stdlib.data.json.JsonParser;
+import io.ballerina.stdlib.data.json.JsonSource;
+import io.ballerina.stdlib.data.json.JsonTraverse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the conversions of JSON content and `json` values to records.
+ *
+ * @since 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JsonBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public Corpus.Size size;
+
+    @Param({"NARROW", "WIDE", "DEEP", "NUMERIC", "STRING"})
+    public Corpus.Shape shape;
+
+    // Fraction of the fields of an item declared by the target type.
+    @Param({"1.0", "0.5", "0.1"})
+    public double projection;
+
+    private Corpus corpus;
+    private Object jsonValue;
+
+    @Setup
+    public void setup() throws JsonParser.JsonParserException {
+        corpus = Corpus.create(size, shape, projection);
+        // the mapping values of the document with all the fields are traversed as a `json` value
+        Corpus complete = Corpus.create(size, shape, 1.0);
+        jsonValue = JsonParser.parse(new StringReader(complete.json), complete.jsonDocumentType);
+    }
+
+    @Benchmark
+    public Object parseString() throws JsonParser.JsonParserException {
+        return JsonParser.parse(JsonSource.of(corpus.json), corpus.jsonDocumentType);
+    }
+
+    @Benchmark
+    public Object parseBytes() throws JsonParser.JsonParserException {
+        return JsonParser.parse(JsonSource.of(corpus.jsonBytes), corpus.jsonDocumentType);
+    }
+
+    // the content read through a reader, as by a stream
+    @Benchmark
+    public Object parseReader() throws JsonParser.JsonParserException {
+        return JsonParser.parse(new InputStreamReader(new ByteArrayInputStream(corpus.jsonBytes),
+                StandardCharsets.UTF_8), corpus.jsonDocumentType);
+    }
+
+    @Benchmark
+    public Object traverse() {
+        return JsonTraverse.traverse(jsonValue, corpus.jsonDocumentType);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.benchmarks;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+import io.ballerina.stdlib.data.json.JsonParser;
+import io.ballerina.stdlib.data.xml.Native;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the conversions of XML content to records, and of annotated records to XML content.
+ *
+ * @since 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class XmlBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public Corpus.Size size;
+
+    @Param({"NARROW", "WIDE", "DEEP", "NUMERIC", "STRING"})
+    public Corpus.Shape shape;
+
+    @Param({"1.0", "0.5", "0.1"})
+    public double projection;
+
+    private BString xml;
+    private BTypedesc documentType;
+    private BMap<BString, Object> annotatedDocument;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() throws JsonParser.JsonParserException {
+        Corpus corpus = Corpus.create(size, shape, projection);
+        xml = StringUtils.fromString(corpus.xml);
+        documentType = ValueCreator.createTypedescValue(corpus.documentType);
+        Corpus.requireValue(Native.fromXmlStringWithType(xml, null, documentType));
+        Corpus annotated = Corpus.createAnnotated(size, shape);
+        annotatedDocument = (BMap<BString, Object>) JsonParser.parse(new StringReader(annotated.json),
+                annotated.jsonDocumentType);
+    }
+
+    @Benchmark
+    public Object fromXmlString() {
+        return Native.fromXmlStringWithType(xml, null, documentType);
+    }
+
+    @Benchmark
+    public Object toXmlString() {
+        return Native.toXmlString(annotatedDocument, null);
+    }
+}
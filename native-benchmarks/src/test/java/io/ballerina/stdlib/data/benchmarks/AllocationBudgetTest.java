@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.benchmarks;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.data.FromString;
+import io.ballerina.stdlib.data.json.JsonParser;
+import io.ballerina.stdlib.data.json.JsonTraverse;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.util.Properties;
+
+/**
+ * Checks the bytes allocated by a conversion against the budget of the scenario in `allocation-budgets.properties`.
+ * <p>
+ * The allocations of the current thread are read from {@link com.sun.management.ThreadMXBean}, after the conversion is
+ * run enough times to fill the type caches and let the JIT compiler remove the allocations it can. The average of a
+ * number of runs is compared with the budget, so an extra object per record or a string per key of the corpus fails
+ * the test. When a change is expected to allocate more or less, run with `-PrecordAllocationBudgets` to print the
+ * measured values instead of checking them.
+ *
+ * @since 0.1.0
+ */
+public class AllocationBudgetTest {
+
+    private static final String BUDGETS = "allocation-budgets.properties";
+    private static final boolean RECORD = Boolean.getBoolean("allocation.budgets.record");
+    private static final int WARMUP_RUNS = 300;
+    private static final int MEASURED_RUNS = 100;
+    private static final int FROM_STRING_VALUES = 256;
+
+    private static com.sun.management.ThreadMXBean threadBean;
+    private static Properties budgets;
+
+    @BeforeClass
+    public static void setup() throws IOException {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue("thread allocation counters are not supported by this JVM",
+                bean instanceof com.sun.management.ThreadMXBean
+                        && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported());
+        threadBean = (com.sun.management.ThreadMXBean) bean;
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+        budgets = new Properties();
+        try (InputStream in = AllocationBudgetTest.class.getClassLoader().getResourceAsStream(BUDGETS)) {
+            Assert.assertNotNull(BUDGETS + " not found", in);
+            budgets.load(in);
+        }
+    }
+
+    @Test
+    public void parseJson() throws JsonParser.JsonParserException {
+        for (Corpus.Size size : new Corpus.Size[]{Corpus.Size.SMALL, Corpus.Size.MEDIUM}) {
+            for (Corpus.Shape shape : Corpus.Shape.values()) {
+                for (double projection : new double[]{1.0, 0.1}) {
+                    Corpus corpus = Corpus.create(size, shape, projection);
+                    check("json.parse." + name(size, shape, projection), () ->
+                            JsonParser.parse(new StringReader(corpus.json), corpus.jsonDocumentType));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void traverseJson() throws JsonParser.JsonParserException {
+        for (Corpus.Size size : new Corpus.Size[]{Corpus.Size.SMALL, Corpus.Size.MEDIUM}) {
+            for (Corpus.Shape shape : Corpus.Shape.values()) {
+                Corpus complete = Corpus.create(size, shape, 1.0);
+                Object json = JsonParser.parse(new StringReader(complete.json), complete.jsonDocumentType);
+                for (double projection : new double[]{1.0, 0.1}) {
+                    Corpus corpus = Corpus.create(size, shape, projection);
+                    check("json.traverse." + name(size, shape, projection), () ->
+                            Corpus.requireValue(JsonTraverse.traverse(json, corpus.jsonDocumentType)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void fromString() throws JsonParser.JsonParserException {
+        checkFromString("int", PredefinedTypes.TYPE_INT, "-1234567");
+        checkFromString("float", PredefinedTypes.TYPE_FLOAT, "1234.5678");
+        checkFromString("decimal", PredefinedTypes.TYPE_DECIMAL, "1234.5678");
+        checkFromString("boolean", PredefinedTypes.TYPE_BOOLEAN, "true");
+        Type union = TypeCreator.createUnionType(PredefinedTypes.TYPE_INT, PredefinedTypes.TYPE_FLOAT,
+                PredefinedTypes.TYPE_BOOLEAN, PredefinedTypes.TYPE_STRING);
+        checkFromString("union.int", union, "-1234567");
+        checkFromString("union.string", union, "value");
+    }
+
+    private void checkFromString(String scenario, Type type, String text) throws JsonParser.JsonParserException {
+        BString[] values = new BString[FROM_STRING_VALUES];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = StringUtils.fromString(text);
+        }
+        check("fromString." + scenario, () -> {
+            Object result = null;
+            for (BString value : values) {
+                result = Corpus.requireValue(FromString.fromStringWithType(value, type));
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Runs the conversion and checks the average number of bytes allocated by a run against the budget.
+     */
+    private void check(String scenario, Conversion conversion) throws JsonParser.JsonParserException {
+        // keeps the results reachable, so the conversions are not removed by the JIT compiler
+        Object[] results = new Object[MEASURED_RUNS];
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            results[i % MEASURED_RUNS] = conversion.run();
+        }
+        long threadId = Thread.currentThread().getId();
+        long start = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            results[i] = conversion.run();
+        }
+        long allocated = (threadBean.getThreadAllocatedBytes(threadId) - start) / MEASURED_RUNS;
+        Assert.assertNotNull(results[MEASURED_RUNS - 1]);
+
+        if (RECORD) {
+            System.out.println(scenario + "=" + allocated);
+            return;
+        }
+        String budget = budgets.getProperty(scenario);
+        Assert.assertNotNull("no allocation budget for '" + scenario + "' in " + BUDGETS, budget);
+        Assert.assertTrue("'" + scenario + "' allocated " + allocated + " bytes per run, the budget is " + budget,
+                allocated <= Long.parseLong(budget.trim()));
+    }
+
+    private static String name(Corpus.Size size, Corpus.Shape shape, double projection) {
+        return size.name().toLowerCase() + "." + shape.name().toLowerCase() + "." + (projection == 1.0 ? "all" : "few");
+    }
+
+    /**
+     * A conversion measured by a scenario.
+     */
+    @FunctionalInterface
+    private interface Conversion {
+
+        Object run() throws JsonParser.JsonParserException;
+    }
+}
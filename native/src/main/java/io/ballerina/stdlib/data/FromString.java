@@ -18,19 +18,33 @@
 
 package io.ballerina.stdlib.data;
 
+import io.ballerina.runtime.api.PredefinedTypes;
 import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.creators.TypeCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.MapType;
 import io.ballerina.runtime.api.types.ReferenceType;
 import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.types.UnionType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BDecimal;
 import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTypedesc;
 import io.ballerina.stdlib.data.utils.DataUtils;
+import io.ballerina.stdlib.data.utils.ModuleUtils;
+import io.ballerina.stdlib.data.utils.NumberLexer;
+import io.ballerina.stdlib.data.utils.TypeCache;
 
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  *  Native implementation of data:fromStringWithType(string).
@@ -39,95 +53,293 @@ import java.util.List;
  */
 public class FromString {
 
+    private static final Object NOT_CONVERTED = new Object();
+    private static final String CONVERSION_ERROR = "ConversionError";
+    private static final String ELEMENT_ERROR = "ElementError";
+    private static final String INDEX = "index";
+    private static final String REASON = "reason";
+    private static final String ERRORS = "errors";
+    private static final MapType DETAIL_MAP_TYPE = TypeCreator.createMapType(PredefinedTypes.TYPE_ANYDATA);
+    private static final TypeCache<UnionPlan> UNION_PLANS = new TypeCache<>(type -> new UnionPlan((UnionType) type));
+
     public static Object fromStringWithType(BString string, BTypedesc typed) {
+        return fromStringWithType(string, typed.getDescribingType());
+    }
+
+    public static Object fromStringWithType(BString string, Type expType) {
+        Object result = convertToExpectedType(string, expType);
+        return result == NOT_CONVERTED ? returnError(string.getValue(), expType.toString()) : result;
+    }
+
+    /**
+     * Converts each member of a `string[]` to the element type of the expected array type. The members which can't
+     * be converted are reported together in a single error, with their indexes.
+     */
+    public static Object fromStringsWithType(BArray strings, BTypedesc typed) {
         Type expType = typed.getDescribingType();
+        Type referredType = getReferredType(expType);
+        int size = strings.size();
+        if (referredType.getTag() != TypeTags.ARRAY_TAG) {
+            return DataUtils.getError("'string[]' value cannot be converted to '" + expType + "'");
+        }
+        ArrayType arrayType = (ArrayType) referredType;
+        if (arrayType.getState() == ArrayType.ArrayState.CLOSED && arrayType.getSize() != size) {
+            return DataUtils.getError("'string[]' value of length " + size + " cannot be converted to '" +
+                    expType + "'");
+        }
+        Type elementType = arrayType.getElementType();
+        int elementTag = getReferredType(elementType).getTag();
+        BArray result = ValueCreator.createArrayValue(arrayType);
+        List<BMap<BString, Object>> errors = null;
+        for (int i = 0; i < size; i++) {
+            BString string = strings.getBString(i);
+            String value = string.getValue();
+            // primitive values are added without boxing
+            switch (elementTag) {
+                case TypeTags.STRING_TAG:
+                    result.add(i, string);
+                    continue;
+                case TypeTags.INT_TAG:
+                    if (NumberLexer.lex(value) == NumberLexer.INTEGER) {
+                        result.add(i, NumberLexer.toLong(value));
+                        continue;
+                    }
+                    break;
+                case TypeTags.FLOAT_TAG:
+                    int kind = NumberLexer.lex(value);
+                    if (kind == NumberLexer.INTEGER || kind == NumberLexer.DECIMAL) {
+                        result.add(i, NumberLexer.toDouble(value));
+                        continue;
+                    }
+                    if (kind == NumberLexer.OTHER) {
+                        Object converted = parseFloat(value);
+                        if (converted != NOT_CONVERTED) {
+                            result.add(i, (double) (Double) converted);
+                            continue;
+                        }
+                    }
+                    break;
+                case TypeTags.BOOLEAN_TAG:
+                    Object bool = convertToBasicType(value, NumberLexer.TEXT, TypeTags.BOOLEAN_TAG);
+                    if (bool != NOT_CONVERTED) {
+                        result.add(i, (boolean) (Boolean) bool);
+                        continue;
+                    }
+                    break;
+                default:
+                    Object converted = convertToReferredType(string, value, getReferredType(elementType));
+                    if (converted != NOT_CONVERTED) {
+                        result.add(i, converted);
+                        continue;
+                    }
+                    break;
+            }
+            if (errors == null) {
+                errors = new ArrayList<>();
+            }
+            errors.add(getElementError(i, value, elementType));
+        }
+        return errors == null ? result : getArrayError(errors, size, elementType);
+    }
 
-        try {
-            return fromStringWithType(string, expType);
-        } catch (NumberFormatException e) {
-            return returnError(string.getValue(), expType.toString());
+    private static Object convertToReferredType(BString string, String value, Type referredType) {
+        switch (referredType.getTag()) {
+            case TypeTags.STRING_TAG:
+                return string;
+            case TypeTags.UNION_TAG:
+                UnionPlan plan = UNION_PLANS.get(referredType);
+                Object result = plan.convert(string, value, NumberLexer.lex(value));
+                return result == NOT_CONVERTED && plan.hasString ? string : result;
+            default:
+                return convertToBasicType(value, NumberLexer.lex(value), referredType.getTag());
         }
     }
 
-    private static Object fromStringWithType(BString string, Type expType) {
+    private static BMap<BString, Object> getElementError(int index, String value, Type elementType) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put(INDEX, (long) index);
+        fields.put(REASON, StringUtils.fromString(getErrorMessage(value, elementType.toString())));
+        return ValueCreator.createRecordValue(ModuleUtils.getModule(), ELEMENT_ERROR, fields);
+    }
+
+    private static BError getArrayError(List<BMap<BString, Object>> errors, int size, Type elementType) {
+        String message = errors.size() + " of " + size + " values of the 'string[]' value cannot be converted to '" +
+                elementType + "'";
+        BMap<BString, Object> details = ValueCreator.createMapValue(DETAIL_MAP_TYPE);
+        details.put(StringUtils.fromString(REASON), StringUtils.fromString(message));
+        details.put(StringUtils.fromString(ERRORS), ValueCreator.createArrayValue(errors.toArray(),
+                TypeCreator.createArrayType(errors.get(0).getType())));
+        return ErrorCreator.createError(ModuleUtils.getModule(), CONVERSION_ERROR, StringUtils.fromString(message),
+                null, details);
+    }
+
+    private static Object convertToExpectedType(BString string, Type expType) {
         String value = string.getValue();
 
         switch (expType.getTag()) {
             case TypeTags.INT_TAG:
-                return stringToInt(value);
             case TypeTags.FLOAT_TAG:
-                return stringToFloat(value);
             case TypeTags.DECIMAL_TAG:
-                return stringToDecimal(value);
+                return convertToBasicType(value, NumberLexer.lex(value), expType.getTag());
             case TypeTags.STRING_TAG:
                 return string;
             case TypeTags.BOOLEAN_TAG:
-                return stringToBoolean(value);
+                Object bool = convertToBasicType(value, NumberLexer.TEXT, TypeTags.BOOLEAN_TAG);
+                return bool == NOT_CONVERTED ? returnError(value, "boolean") : bool;
             case TypeTags.NULL_TAG:
-                return stringToNull(value);
+                Object nil = convertToBasicType(value, NumberLexer.TEXT, TypeTags.NULL_TAG);
+                return nil == NOT_CONVERTED ? returnError(value, "()") : nil;
             case TypeTags.UNION_TAG:
                 return stringToUnion(string, (UnionType) expType);
             case TypeTags.TYPE_REFERENCED_TYPE_TAG:
-                return fromStringWithType(string, ((ReferenceType) expType).getReferredType());
+                return convertToExpectedType(string, ((ReferenceType) expType).getReferredType());
             default:
                 return returnError(value, expType.toString());
         }
     }
 
-    private static Long stringToInt(String value) throws NumberFormatException {
-        return Long.parseLong(value);
+    private static Object stringToUnion(BString string, UnionType expType) {
+        UnionPlan plan = UNION_PLANS.get(expType);
+        String value = string.getValue();
+        Object result = plan.convert(string, value, NumberLexer.lex(value));
+        if (result != NOT_CONVERTED) {
+            return result;
+        }
+        if (plan.hasString) {
+            return string;
+        }
+        return returnError(value, expType.toString());
     }
 
-    private static Double stringToFloat(String value) throws NumberFormatException {
-        if (hasFloatOrDecimalLiteralSuffix(value)) {
-            throw new NumberFormatException();
+    /**
+     * Conversion plan of a union type. The members are kept in the order they are tried, which is the order of their
+     * type tags with the `string` members tried last. The plan is immutable and shared by all conversions.
+     */
+    private static final class UnionPlan {
+
+        private final Type[] members;
+        private final UnionPlan[] nestedPlans;
+        private final boolean hasString;
+
+        private UnionPlan(UnionType unionType) {
+            List<Type> memberTypes = new ArrayList<>(unionType.getMemberTypes());
+            memberTypes.sort(Comparator.comparingInt(Type::getTag));
+            List<Type> members = new ArrayList<>(memberTypes.size());
+            boolean hasString = false;
+            for (Type memberType : memberTypes) {
+                Type referredType = getReferredType(memberType);
+                switch (referredType.getTag()) {
+                    case TypeTags.STRING_TAG:
+                        hasString = true;
+                        break;
+                    case TypeTags.UNION_TAG:
+                        hasString |= UNION_PLANS.get(referredType).hasString;
+                        members.add(referredType);
+                        break;
+                    case TypeTags.INT_TAG:
+                    case TypeTags.FLOAT_TAG:
+                    case TypeTags.DECIMAL_TAG:
+                    case TypeTags.BOOLEAN_TAG:
+                    case TypeTags.NULL_TAG:
+                        members.add(referredType);
+                        break;
+                    default:
+                        // such a member never accepts a string value
+                        break;
+                }
+            }
+            this.members = members.toArray(new Type[0]);
+            this.nestedPlans = new UnionPlan[this.members.length];
+            for (int i = 0; i < this.members.length; i++) {
+                if (this.members[i].getTag() == TypeTags.UNION_TAG) {
+                    nestedPlans[i] = UNION_PLANS.get(this.members[i]);
+                }
+            }
+            this.hasString = hasString;
+        }
+
+        /**
+         * Converts the value to the first member which accepts it, without the `string` members.
+         *
+         * @return the converted value, or {@link #NOT_CONVERTED}
+         */
+        Object convert(BString string, String value, int kind) {
+            for (int i = 0; i < members.length; i++) {
+                Object result = convertToMember(string, value, kind, i);
+                if (result != NOT_CONVERTED) {
+                    return result;
+                }
+            }
+            return NOT_CONVERTED;
         }
-        return Double.parseDouble(value);
-    }
 
-    private static BDecimal stringToDecimal(String value) throws NumberFormatException {
-        return ValueCreator.createDecimalValue(value);
+        private Object convertToMember(BString string, String value, int kind, int index) {
+            if (nestedPlans[index] != null) {
+                return nestedPlans[index].convert(string, value, kind);
+            }
+            return convertToBasicType(value, kind, members[index].getTag());
+        }
     }
-    
-    private static Object stringToBoolean(String value) throws NumberFormatException {
-        if ("true".equalsIgnoreCase(value) || "1".equalsIgnoreCase(value)) {
-            return true;
-        } else if ("false".equalsIgnoreCase(value) || "0".equalsIgnoreCase(value)) {
-            return false;
+
+    /**
+     * Converts a value to `int`, `float`, `decimal`, `boolean` or `()` without creating an error.
+     *
+     * @return the converted value, or {@link #NOT_CONVERTED}
+     */
+    private static Object convertToBasicType(String value, int kind, int tag) {
+        switch (tag) {
+            case TypeTags.INT_TAG:
+                return kind == NumberLexer.INTEGER ? (Object) NumberLexer.toLong(value) : NOT_CONVERTED;
+            case TypeTags.FLOAT_TAG:
+                if (kind == NumberLexer.INTEGER || kind == NumberLexer.DECIMAL) {
+                    return NumberLexer.toDouble(value);
+                }
+                return kind == NumberLexer.OTHER ? parseFloat(value) : NOT_CONVERTED;
+            case TypeTags.DECIMAL_TAG:
+                if (kind == NumberLexer.INTEGER || kind == NumberLexer.DECIMAL) {
+                    BDecimal decimal = NumberLexer.toDecimal(value);
+                    return decimal == null ? NOT_CONVERTED : decimal;
+                }
+                return kind == NumberLexer.OTHER ? parseDecimal(value) : NOT_CONVERTED;
+            case TypeTags.BOOLEAN_TAG:
+                if ("true".equalsIgnoreCase(value) || "1".equals(value)) {
+                    return true;
+                }
+                return "false".equalsIgnoreCase(value) || "0".equals(value) ? (Object) false : NOT_CONVERTED;
+            case TypeTags.NULL_TAG:
+                return "null".equalsIgnoreCase(value) || "()".equals(value) ? null : NOT_CONVERTED;
+            default:
+                return NOT_CONVERTED;
         }
-        return returnError(value, "boolean");
     }
 
-    private static Object stringToNull(String value) throws NumberFormatException {
-        if ("null".equalsIgnoreCase(value) || "()".equalsIgnoreCase(value)) {
-            return null;
+    /**
+     * Converts a value which is not a plain number, such as `NaN`, `Infinity` or a value with surrounding whitespace.
+     */
+    private static Object parseFloat(String value) {
+        if (hasFloatOrDecimalLiteralSuffix(value)) {
+            return NOT_CONVERTED;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return NOT_CONVERTED;
         }
-        return returnError(value, "()");
     }
 
-    private static Object stringToUnion(BString string, UnionType expType) throws NumberFormatException {
-        List<Type> memberTypes = expType.getMemberTypes();
-        memberTypes.sort(Comparator.comparingInt(t -> t.getTag()));
-        boolean isStringExpType = false;
-        for (Type memberType : memberTypes) {
-            try {
-                Object result = fromStringWithType(string, memberType);
-                if (result instanceof BString) {
-                    isStringExpType = true;
-                    continue;
-                } else if (result instanceof BError) {
-                    continue;
-                }
-                return result;
-            } catch (Exception e) {
-                // Skip
-            }
+    private static Object parseDecimal(String value) {
+        try {
+            return ValueCreator.createDecimalValue(value);
+        } catch (RuntimeException e) {
+            return NOT_CONVERTED;
         }
-        
-        if (isStringExpType) {
-            return string;
+    }
+
+    private static Type getReferredType(Type type) {
+        while (type.getTag() == TypeTags.TYPE_REFERENCED_TYPE_TAG) {
+            type = ((ReferenceType) type).getReferredType();
         }
-        return returnError(string.getValue(), expType.toString());
+        return type;
     }
 
     private static boolean hasFloatOrDecimalLiteralSuffix(String value) {
@@ -148,6 +360,10 @@ public class FromString {
     }
 
     private static BError returnError(String string, String expType) {
-        return DataUtils.getError("'string' value '" + string + "' cannot be converted to '" + expType + "'");
+        return DataUtils.getError(getErrorMessage(string, expType));
+    }
+
+    private static String getErrorMessage(String string, String expType) {
+        return "'string' value '" + string + "' cannot be converted to '" + expType + "'";
     }
 }
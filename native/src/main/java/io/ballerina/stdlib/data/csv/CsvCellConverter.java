@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.csv;
+
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.UnionType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.stdlib.data.utils.NumberLexer;
+
+/**
+ * Converts the non empty fields of a column to the expected type of the column.
+ * <p>
+ * A converter is resolved once per column, so a field is converted without dispatching on the expected type. A
+ * converter handles only the values it can convert cheaply, and returns {@link #NOT_CONVERTED} for the rest. Those
+ * are converted with {@link io.ballerina.stdlib.data.FromString}, which also reports the incompatible values.
+ * Therefore, the result of a conversion is the same with or without the converter.
+ *
+ * @since 0.1.0
+ */
+abstract class CsvCellConverter {
+
+    static final Object NOT_CONVERTED = new Object();
+
+    // Number of values used to infer the values of a column with a union type
+    private static final int SAMPLE_SIZE = 32;
+
+    private static final CsvCellConverter STRING = new CsvCellConverter() {
+        @Override
+        Object convert(String value) {
+            return StringUtils.fromString(value);
+        }
+    };
+
+    private static final CsvCellConverter INT = new CsvCellConverter() {
+        @Override
+        Object convert(String value) {
+            return toInt(value);
+        }
+    };
+
+    private static final CsvCellConverter FLOAT = new CsvCellConverter() {
+        @Override
+        Object convert(String value) {
+            return toFloat(value);
+        }
+    };
+
+    private static final CsvCellConverter DECIMAL = new CsvCellConverter() {
+        @Override
+        Object convert(String value) {
+            int kind = NumberLexer.lex(value);
+            if (kind != NumberLexer.INTEGER && kind != NumberLexer.DECIMAL) {
+                // other values are left to the generic conversion
+                return NOT_CONVERTED;
+            }
+            BDecimal decimal = NumberLexer.toDecimal(value);
+            return decimal == null ? NOT_CONVERTED : decimal;
+        }
+    };
+
+    private static final CsvCellConverter BOOLEAN = new CsvCellConverter() {
+        @Override
+        Object convert(String value) {
+            return toBoolean(value);
+        }
+    };
+
+    private static final CsvCellConverter GENERIC = new CsvCellConverter() {
+        @Override
+        Object convert(String value) {
+            return NOT_CONVERTED;
+        }
+    };
+
+    /**
+     * Converts a non empty field value.
+     *
+     * @return the converted value, or {@link #NOT_CONVERTED} if the value is not handled by the converter
+     */
+    abstract Object convert(String value);
+
+    /**
+     * Resolves the converter for a column of the given type. A new converter is created for a union type, as it keeps
+     * the values inferred for the column.
+     */
+    static CsvCellConverter create(Type type) {
+        Type referredType = TypeUtils.getReferredType(type);
+        switch (referredType.getTag()) {
+            case TypeTags.STRING_TAG:
+                return STRING;
+            case TypeTags.INT_TAG:
+                return INT;
+            case TypeTags.FLOAT_TAG:
+                return FLOAT;
+            case TypeTags.DECIMAL_TAG:
+                return DECIMAL;
+            case TypeTags.BOOLEAN_TAG:
+                return BOOLEAN;
+            case TypeTags.ANYDATA_TAG:
+            case TypeTags.JSON_TAG:
+                // converted as `csv:Cell`
+                return new InferringConverter(true, true, true, true);
+            case TypeTags.UNION_TAG:
+                return createUnionConverter((UnionType) referredType);
+            default:
+                return GENERIC;
+        }
+    }
+
+    private static CsvCellConverter createUnionConverter(UnionType unionType) {
+        boolean hasInt = false;
+        boolean hasFloat = false;
+        boolean hasString = false;
+        boolean hasBoolean = false;
+        for (Type memberType : unionType.getMemberTypes()) {
+            switch (TypeUtils.getReferredType(memberType).getTag()) {
+                case TypeTags.INT_TAG:
+                    hasInt = true;
+                    break;
+                case TypeTags.FLOAT_TAG:
+                    hasFloat = true;
+                    break;
+                case TypeTags.STRING_TAG:
+                    hasString = true;
+                    break;
+                case TypeTags.BOOLEAN_TAG:
+                    hasBoolean = true;
+                    break;
+                case TypeTags.DECIMAL_TAG:
+                case TypeTags.NULL_TAG:
+                    break;
+                default:
+                    // the order of the other member types is not known to the shapes
+                    return GENERIC;
+            }
+        }
+        return new InferringConverter(hasInt, hasFloat, hasString, hasBoolean);
+    }
+
+    private static Object toInt(String value) {
+        return NumberLexer.lex(value) == NumberLexer.INTEGER ? (Object) NumberLexer.toLong(value) : NOT_CONVERTED;
+    }
+
+    private static Object toFloat(String value) {
+        int kind = NumberLexer.lex(value);
+        if (kind != NumberLexer.INTEGER && kind != NumberLexer.DECIMAL) {
+            // type suffixes, `NaN`, `Infinity` and other values are left to the generic conversion
+            return NOT_CONVERTED;
+        }
+        return NumberLexer.toDouble(value);
+    }
+
+    private static Object toBoolean(String value) {
+        if ("true".equalsIgnoreCase(value)) {
+            return Boolean.TRUE;
+        } else if ("false".equalsIgnoreCase(value)) {
+            return Boolean.FALSE;
+        }
+        return NOT_CONVERTED;
+    }
+
+    /**
+     * Lexical shapes of the values, a value of a shape is converted to the same type by a union conversion, as the
+     * union members are tried in the order of `int`, `float`, `decimal`, `boolean` and `()`, and `string` last.
+     */
+    private enum Shape {
+        INT, FLOAT, STRING, BOOLEAN
+    }
+
+    /**
+     * Converter for the union types such as `csv:Cell`. The shape of the values is inferred from the first values of
+     * the column, and the rest of the values are converted assuming that shape.
+     */
+    private static class InferringConverter extends CsvCellConverter {
+
+        private final boolean hasInt;
+        private final boolean hasFloat;
+        private final boolean hasString;
+        private final boolean hasBoolean;
+
+        private final int[] shapeCounts = new int[Shape.values().length];
+        private int sampled = 0;
+        private Shape shape;
+
+        InferringConverter(boolean hasInt, boolean hasFloat, boolean hasString, boolean hasBoolean) {
+            this.hasInt = hasInt;
+            this.hasFloat = hasFloat;
+            this.hasString = hasString;
+            this.hasBoolean = hasBoolean;
+        }
+
+        @Override
+        Object convert(String value) {
+            if (shape != null) {
+                return convert(shape, value);
+            }
+            Shape valueShape = getShape(value);
+            if (valueShape != null) {
+                shapeCounts[valueShape.ordinal()]++;
+            }
+            if (++sampled == SAMPLE_SIZE) {
+                shape = getMostFrequentShape();
+            }
+            return valueShape == null ? NOT_CONVERTED : convert(valueShape, value);
+        }
+
+        private Object convert(Shape shape, String value) {
+            switch (shape) {
+                case INT:
+                    // `int` is the first member tried by a union conversion
+                    return hasInt ? toInt(value) : NOT_CONVERTED;
+                case FLOAT:
+                    // a fraction or an exponent is never an `int`
+                    return hasFloat && isFraction(value) ? toFloat(value) : NOT_CONVERTED;
+                case STRING:
+                    return hasString && isText(value) ? StringUtils.fromString(value) : NOT_CONVERTED;
+                default:
+                    return hasBoolean ? toBoolean(value) : NOT_CONVERTED;
+            }
+        }
+
+        private Shape getMostFrequentShape() {
+            Shape mostFrequent = Shape.STRING;
+            int count = 0;
+            for (Shape candidate : Shape.values()) {
+                if (shapeCounts[candidate.ordinal()] > count) {
+                    mostFrequent = candidate;
+                    count = shapeCounts[candidate.ordinal()];
+                }
+            }
+            return mostFrequent;
+        }
+
+        private static Shape getShape(String value) {
+            char first = value.charAt(0);
+            if (first >= '0' && first <= '9' || first == '-' || first == '+' || first == '.') {
+                return isFraction(value) ? Shape.FLOAT : Shape.INT;
+            }
+            if (isText(value)) {
+                return Shape.STRING;
+            }
+            if ("true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value)) {
+                return Shape.BOOLEAN;
+            }
+            return null;
+        }
+
+        private static boolean isFraction(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                char ch = value.charAt(i);
+                if (ch == '.' || ch == 'e' || ch == 'E') {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Whether the value is not a number, a boolean or nil, so it is converted as a `string`. A value starting with
+         * a letter which doesn't start `true`, `false`, `null`, `NaN` or `Infinity` is a text.
+         */
+        private static boolean isText(String value) {
+            char first = value.charAt(0);
+            if (!Character.isLetter(first)) {
+                return false;
+            }
+            switch (first) {
+                case 't':
+                case 'T':
+                case 'f':
+                case 'F':
+                case 'n':
+                case 'N':
+                case 'i':
+                case 'I':
+                    return false;
+                default:
+                    return true;
+            }
+        }
+    }
+}
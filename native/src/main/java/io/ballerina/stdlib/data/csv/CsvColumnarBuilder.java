@@ -0,0 +1,380 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.csv;
+
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.data.metrics.ConversionMetrics;
+import io.ballerina.stdlib.data.utils.NumberLexer;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fills a columnar CSV data set, which is a record whose fields are the columns of the CSV content.
+ * E.g. `record {| int[] units; string[] product; |}`.
+ * <p>
+ * The values of the `int`, `float`, `boolean` and `string` columns are kept in primitive arrays, therefore no value is
+ * created for a cell. Equal values of a string column share the same string value, which reduces the memory used by
+ * columns with a small number of distinct values.
+ *
+ * @since 0.1.0
+ */
+class CsvColumnarBuilder implements CsvCreator.DataSetHandler {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    // Number of distinct values shared per string column, values outside the dictionary are not shared.
+    private static final int MAX_DICTIONARY_SIZE = 4096;
+
+    private final RecordType recordType;
+    private final CsvConfig config;
+    private final Map<String, Field> fields;
+    private final Type restType;
+
+    private long rowCount = 0;
+    private int rows = 0;
+    private String[] headers;
+    // Column of each column index, `null` if the column is not a field of the record.
+    private Column[] columns;
+    private boolean[] skippedColumns;
+    private final Map<String, Column> fieldColumns = new LinkedHashMap<>();
+
+    CsvColumnarBuilder(RecordType recordType, CsvConfig config) throws CsvParser.CsvParserException {
+        this.recordType = recordType;
+        this.config = config;
+        this.fields = recordType.getFields();
+        this.restType = recordType.isSealed() ? null : recordType.getRestFieldType();
+        for (Field field : fields.values()) {
+            validateColumnType(field.getFieldType());
+        }
+        if (restType != null) {
+            validateColumnType(restType);
+        }
+    }
+
+    private static void validateColumnType(Type type) throws CsvParser.CsvParserException {
+        if (TypeUtils.getReferredType(type).getTag() != TypeTags.ARRAY_TAG) {
+            throw new CsvParser.CsvParserException("unsupported type for a CSV column: " + type, 0, 0);
+        }
+    }
+
+    @Override
+    public void handleRow(String[] fields, int count, long line) throws CsvParser.CsvParserException {
+        rowCount++;
+        if (rowCount <= config.headerRows) {
+            if (rowCount == config.headerRows) {
+                headers = new String[count];
+                for (int i = 0; i < count; i++) {
+                    headers[i] = fields[i] == null ? "" : fields[i];
+                }
+                addColumns(count, line);
+            }
+            return;
+        }
+
+        if (columns == null || columns.length < count) {
+            addColumns(count, line);
+        }
+        int skippedFields = 0;
+        for (int i = 0; i < count; i++) {
+            Column column = columns[i];
+            if (column != null) {
+                column.add(fields[i], line);
+            } else if (ConversionMetrics.ENABLED) {
+                skippedFields++;
+            }
+        }
+        ConversionMetrics.addSkippedFields(recordType, skippedFields);
+        rows++;
+        if (count < columns.length) {
+            // columns missing in the row
+            for (Column column : fieldColumns.values()) {
+                if (column.size < rows) {
+                    column.add(null, line);
+                }
+            }
+        }
+    }
+
+    private void addColumns(int count, long line) throws CsvParser.CsvParserException {
+        int start = columns == null ? 0 : columns.length;
+        int total = headers == null ? count : Math.max(count, headers.length);
+        Column[] newColumns = columns == null ? new Column[total] : Arrays.copyOf(columns, total);
+        boolean[] newSkippedColumns = columns == null ? new boolean[total] : Arrays.copyOf(skippedColumns, total);
+        for (int i = start; i < total; i++) {
+            String name = CsvCreator.getColumnName(headers, i);
+            Field field = fields.get(name);
+            Type type = field != null ? field.getFieldType() : restType;
+            if (type == null || fieldColumns.containsKey(name)) {
+                newSkippedColumns[i] = true;
+                continue;
+            }
+            Column column = createColumn((ArrayType) TypeUtils.getReferredType(type), i);
+            // a column which appears later has no values for the previous rows
+            for (int row = 0; row < rows; row++) {
+                column.add(null, line);
+            }
+            newColumns[i] = column;
+            fieldColumns.put(name, column);
+        }
+
+        if (columns == null) {
+            for (Field field : fields.values()) {
+                if (SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.REQUIRED) &&
+                        !fieldColumns.containsKey(field.getFieldName())) {
+                    throw new CsvParser.CsvParserException("required field '" + field.getFieldName() +
+                            "' not present in CSV", line, 0);
+                }
+            }
+        }
+        columns = newColumns;
+        skippedColumns = newSkippedColumns;
+    }
+
+    private Column createColumn(ArrayType arrayType, int index) {
+        Type elementType = arrayType.getElementType();
+        if (arrayType.getSize() != -1) {
+            return new GenericColumn(arrayType, index);
+        }
+        // primitive arrays are created with the built-in element types only
+        switch (elementType.getTag()) {
+            case TypeTags.INT_TAG:
+                return new IntColumn(elementType, index);
+            case TypeTags.FLOAT_TAG:
+                return new FloatColumn(elementType, index);
+            case TypeTags.BOOLEAN_TAG:
+                return new BooleanColumn(elementType, index);
+            case TypeTags.STRING_TAG:
+                return new StringColumn(elementType, index);
+            default:
+                return new GenericColumn(arrayType, index);
+        }
+    }
+
+    @Override
+    public boolean[] getSkippedColumns() {
+        return skippedColumns;
+    }
+
+    @Override
+    public Object getDataSet() {
+        BMap<BString, Object> dataSet = ValueCreator.createRecordValue(recordType);
+        for (Map.Entry<String, Column> entry : fieldColumns.entrySet()) {
+            dataSet.put(StringUtils.fromString(entry.getKey()), entry.getValue().toArray());
+        }
+        if (columns == null) {
+            // empty content, the required columns are empty
+            for (Field field : fields.values()) {
+                if (SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.REQUIRED)) {
+                    dataSet.put(StringUtils.fromString(field.getFieldName()), ValueCreator.createArrayValue(
+                            (ArrayType) TypeUtils.getReferredType(field.getFieldType())));
+                }
+            }
+        }
+        return dataSet;
+    }
+
+    /**
+     * Values of a column read so far.
+     */
+    private abstract class Column {
+
+        private final Type elementType;
+        private final int index;
+        private final CsvCellConverter converter;
+        int size = 0;
+
+        Column(Type elementType, int index) {
+            this.elementType = elementType;
+            this.index = index;
+            this.converter = CsvCellConverter.create(elementType);
+        }
+
+        abstract void add(String value, long line) throws CsvParser.CsvParserException;
+
+        abstract BArray toArray();
+
+        /**
+         * Converts a value which is not handled by the column, this reports the error for an incompatible value.
+         */
+        Object convert(String value, long line) throws CsvParser.CsvParserException {
+            return CsvCreator.convertField(value, converter, elementType, config, headers, line, index);
+        }
+
+        int newCapacity(int capacity) {
+            return capacity == 0 ? INITIAL_CAPACITY : capacity * 2;
+        }
+    }
+
+    private class IntColumn extends Column {
+
+        private long[] values = new long[0];
+
+        IntColumn(Type elementType, int index) {
+            super(elementType, index);
+        }
+
+        @Override
+        void add(String value, long line) throws CsvParser.CsvParserException {
+            long result;
+            if (value != null && NumberLexer.lex(value) == NumberLexer.INTEGER) {
+                result = NumberLexer.toLong(value);
+            } else {
+                result = (Long) convert(value, line);
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, newCapacity(size));
+            }
+            values[size++] = result;
+        }
+
+        @Override
+        BArray toArray() {
+            return ValueCreator.createArrayValue(Arrays.copyOf(values, size));
+        }
+    }
+
+    private class FloatColumn extends Column {
+
+        private double[] values = new double[0];
+
+        FloatColumn(Type elementType, int index) {
+            super(elementType, index);
+        }
+
+        @Override
+        void add(String value, long line) throws CsvParser.CsvParserException {
+            double result;
+            int kind = value == null ? NumberLexer.TEXT : NumberLexer.lex(value);
+            if (kind == NumberLexer.INTEGER || kind == NumberLexer.DECIMAL) {
+                result = NumberLexer.toDouble(value);
+            } else {
+                // values with a type suffix, `NaN`, `Infinity` or empty values
+                result = (Double) convert(value, line);
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, newCapacity(size));
+            }
+            values[size++] = result;
+        }
+
+        @Override
+        BArray toArray() {
+            return ValueCreator.createArrayValue(Arrays.copyOf(values, size));
+        }
+    }
+
+    private class BooleanColumn extends Column {
+
+        private boolean[] values = new boolean[0];
+
+        BooleanColumn(Type elementType, int index) {
+            super(elementType, index);
+        }
+
+        @Override
+        void add(String value, long line) throws CsvParser.CsvParserException {
+            boolean result = (Boolean) convert(value, line);
+            if (size == values.length) {
+                values = Arrays.copyOf(values, newCapacity(size));
+            }
+            values[size++] = result;
+        }
+
+        @Override
+        BArray toArray() {
+            return ValueCreator.createArrayValue(Arrays.copyOf(values, size));
+        }
+    }
+
+    private class StringColumn extends Column {
+
+        private BString[] values = new BString[0];
+        private final Map<String, BString> dictionary = new HashMap<>();
+
+        StringColumn(Type elementType, int index) {
+            super(elementType, index);
+        }
+
+        @Override
+        void add(String value, long line) {
+            if (value == null) {
+                // `string` is not nilable, so an empty field is an empty string
+                value = "";
+            }
+            BString result = dictionary.get(value);
+            if (result == null) {
+                result = StringUtils.fromString(value);
+                if (dictionary.size() < MAX_DICTIONARY_SIZE) {
+                    dictionary.put(value, result);
+                }
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, newCapacity(size));
+            }
+            values[size++] = result;
+        }
+
+        @Override
+        BArray toArray() {
+            return ValueCreator.createArrayValue(Arrays.copyOf(values, size));
+        }
+    }
+
+    /**
+     * Column of any other element type, the values are kept as Ballerina values.
+     */
+    private class GenericColumn extends Column {
+
+        private final ArrayType arrayType;
+        private Object[] values = new Object[0];
+
+        GenericColumn(ArrayType arrayType, int index) {
+            super(arrayType.getElementType(), index);
+            this.arrayType = arrayType;
+        }
+
+        @Override
+        void add(String value, long line) throws CsvParser.CsvParserException {
+            Object result = convert(value, line);
+            if (size == values.length) {
+                values = Arrays.copyOf(values, newCapacity(size));
+            }
+            values[size++] = result;
+        }
+
+        @Override
+        BArray toArray() {
+            int length = arrayType.getSize() == -1 ? size : Math.min(size, arrayType.getSize());
+            return ValueCreator.createArrayValue(Arrays.copyOf(values, length), arrayType);
+        }
+    }
+}
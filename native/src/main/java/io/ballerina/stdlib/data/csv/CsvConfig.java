@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.csv;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+
+/**
+ * Holds the `csv:FromOptions` given for a CSV conversion.
+ *
+ * @since 0.1.0
+ */
+public class CsvConfig {
+
+    private static final BString ENCODING = StringUtils.fromString("encoding");
+    private static final BString DELIMITER = StringUtils.fromString("delimiter");
+    static final BString QUOTED_STRING = StringUtils.fromString("quotedString");
+    static final BString EMPTY_AS_NIL = StringUtils.fromString("emptyAsNil");
+    private static final BString TRIM_LEADING_SPACE = StringUtils.fromString("trimLeadingSpace");
+    private static final BString TRIM_TRAILING_SPACE = StringUtils.fromString("trimTrailingSpace");
+    private static final BString HEADERS = StringUtils.fromString("headers");
+    private static final BString HEADER_ROWS = StringUtils.fromString("headerRows");
+
+    final Charset encoding;
+    final char delimiter;
+    final boolean quotedString;
+    final boolean emptyAsNil;
+    final boolean trimLeadingSpace;
+    final boolean trimTrailingSpace;
+    // Number of rows at the beginning which are headers. Zero when the data doesn't have headers.
+    final long headerRows;
+
+    private CsvConfig(Charset encoding, char delimiter, boolean quotedString, boolean emptyAsNil,
+                      boolean trimLeadingSpace, boolean trimTrailingSpace, long headerRows) {
+        this.encoding = encoding;
+        this.delimiter = delimiter;
+        this.quotedString = quotedString;
+        this.emptyAsNil = emptyAsNil;
+        this.trimLeadingSpace = trimLeadingSpace;
+        this.trimTrailingSpace = trimTrailingSpace;
+        this.headerRows = headerRows;
+    }
+
+    static CsvConfig fromOptions(BMap<BString, Object> options) throws CsvParser.CsvParserException {
+        if (options == null) {
+            return new CsvConfig(StandardCharsets.UTF_8, ',', true, true, true, true, 0);
+        }
+        return new CsvConfig(getEncoding(options), getDelimiter(options),
+                getBoolean(options, QUOTED_STRING, true), getBoolean(options, EMPTY_AS_NIL, true),
+                getBoolean(options, TRIM_LEADING_SPACE, true), getBoolean(options, TRIM_TRAILING_SPACE, true),
+                getHeaderRows(options));
+    }
+
+    boolean hasHeaders() {
+        return headerRows > 0;
+    }
+
+    static Charset getEncoding(BMap<BString, Object> options) throws CsvParser.CsvParserException {
+        Object encoding = options.get(ENCODING);
+        if (encoding == null) {
+            return StandardCharsets.UTF_8;
+        }
+        try {
+            return Charset.forName(encoding.toString());
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            throw new CsvParser.CsvParserException("unsupported encoding '" + encoding + "'", 0, 0);
+        }
+    }
+
+    static char getDelimiter(BMap<BString, Object> options) throws CsvParser.CsvParserException {
+        Object delimiter = options.get(DELIMITER);
+        if (delimiter == null) {
+            return ',';
+        }
+        String value = delimiter.toString();
+        if (value.length() != 1) {
+            throw new CsvParser.CsvParserException("delimiter should be a single character, found '" + value + "'",
+                    0, 0);
+        }
+        return value.charAt(0);
+    }
+
+    static boolean getBoolean(BMap<BString, Object> options, BString key, boolean defaultValue) {
+        Object value = options.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        return (Boolean) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long getHeaderRows(BMap<BString, Object> options) {
+        Object headers = options.get(HEADERS);
+        if (headers == null) {
+            return 0;
+        }
+        Object headerRows = ((BMap<BString, Object>) headers).get(HEADER_ROWS);
+        return headerRows == null ? 1 : (Long) headerRows;
+    }
+}
@@ -0,0 +1,534 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.csv;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.TableType;
+import io.ballerina.runtime.api.types.TupleType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.UnionType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTable;
+import io.ballerina.stdlib.data.FromString;
+import io.ballerina.stdlib.data.metrics.ConversionMetrics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Create Ballerina values for the rows read from CSV content.
+ *
+ * @since 0.1.0
+ */
+public class CsvCreator {
+
+    // `csv:Cell` type, used for values which don't have a specific expected type.
+    static final UnionType CELL_TYPE = TypeCreator.createUnionType(PredefinedTypes.TYPE_STRING,
+            PredefinedTypes.TYPE_INT, PredefinedTypes.TYPE_FLOAT, PredefinedTypes.TYPE_DECIMAL,
+            PredefinedTypes.TYPE_BOOLEAN, PredefinedTypes.TYPE_NULL);
+
+    private final CsvConfig config;
+    private final Type rowType;
+    private final int rowTypeTag;
+
+    private long rowCount = 0;
+    private String[] headers;
+    private ColumnPlan plan;
+    // Converter of each column, resolved when the column is first read.
+    private CsvCellConverter[] converters = new CsvCellConverter[0];
+
+    CsvCreator(Type rowType, CsvConfig config) throws CsvParser.CsvParserException {
+        this.config = config;
+        this.rowType = TypeUtils.getReferredType(rowType);
+        this.rowTypeTag = this.rowType.getTag();
+        switch (rowTypeTag) {
+            case TypeTags.RECORD_TYPE_TAG:
+            case TypeTags.MAP_TAG:
+            case TypeTags.ARRAY_TAG:
+            case TypeTags.TUPLE_TAG:
+                break;
+            default:
+                throw new CsvParser.CsvParserException("unsupported type for a CSV row: " + rowType, 0, 0);
+        }
+    }
+
+    /**
+     * Creates a creator for the data rows which follow the rows already read by the given creator. The headers and
+     * the column plan are shared with the given creator, and are not modified by either.
+     */
+    private CsvCreator(CsvCreator creator) {
+        this.config = creator.config;
+        this.rowType = creator.rowType;
+        this.rowTypeTag = creator.rowTypeTag;
+        this.rowCount = Math.max(creator.rowCount, config.headerRows);
+        this.headers = creator.headers;
+        this.plan = creator.plan;
+    }
+
+    CsvCreator copy() {
+        return new CsvCreator(this);
+    }
+
+    long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the columns which are not mapped to a field of a closed record row type.
+     */
+    boolean[] getSkippedColumns() {
+        return plan == null ? null : plan.skipped;
+    }
+
+    /**
+     * Creates the value for a row read from the CSV content.
+     *
+     * @return the row value, or {@code null} if the row is a header row
+     */
+    Object createRow(String[] fields, int count, long line) throws CsvParser.CsvParserException {
+        rowCount++;
+        if (rowCount <= config.headerRows) {
+            if (rowCount == config.headerRows) {
+                headers = new String[count];
+                for (int i = 0; i < count; i++) {
+                    headers[i] = fields[i] == null ? "" : fields[i];
+                }
+                if (rowTypeTag == TypeTags.RECORD_TYPE_TAG || rowTypeTag == TypeTags.MAP_TAG) {
+                    plan = ColumnPlan.create(rowType, headers, count);
+                }
+            }
+            return null;
+        }
+
+        switch (rowTypeTag) {
+            case TypeTags.RECORD_TYPE_TAG:
+                return createRecord(fields, count, line);
+            case TypeTags.MAP_TAG:
+                return createMap(fields, count, line);
+            case TypeTags.ARRAY_TAG:
+                return createArray(fields, count, line);
+            default:
+                return createTuple(fields, count, line);
+        }
+    }
+
+    private BMap<BString, Object> createRecord(String[] fields, int count, long line)
+            throws CsvParser.CsvParserException {
+        ColumnPlan plan = getPlan(count);
+        BMap<BString, Object> record = ValueCreator.createRecordValue((RecordType) rowType);
+        int skippedFields = 0;
+        for (int i = 0; i < count; i++) {
+            BString key = plan.keys[i];
+            if (key == null) {
+                // not a field of the closed record
+                if (ConversionMetrics.ENABLED) {
+                    skippedFields++;
+                }
+                continue;
+            }
+            Type type = plan.types[i];
+            if (fields[i] == null && plan.optional[i] && !acceptsNil(type, config)) {
+                // empty fields are not added for optional fields
+                continue;
+            }
+            record.put(key, convertField(fields[i], getConverter(i, type), type, config, headers, line, i));
+        }
+        for (BString field : plan.requiredFields) {
+            if (!record.containsKey(field)) {
+                throw new CsvParser.CsvParserException("required field '" + field + "' not present in CSV", line, 0);
+            }
+        }
+        ConversionMetrics.addSkippedFields(rowType, skippedFields);
+        return record;
+    }
+
+    private BMap<BString, Object> createMap(String[] fields, int count, long line)
+            throws CsvParser.CsvParserException {
+        ColumnPlan plan = getPlan(count);
+        BMap<BString, Object> map = ValueCreator.createMapValue(rowType);
+        for (int i = 0; i < count; i++) {
+            Type type = plan.types[i];
+            map.put(plan.keys[i], convertField(fields[i], getConverter(i, type), type, config, headers, line, i));
+        }
+        return map;
+    }
+
+    private ColumnPlan getPlan(int count) {
+        if (plan == null || plan.keys.length < count) {
+            plan = ColumnPlan.create(rowType, headers, count);
+        }
+        return plan;
+    }
+
+    private BArray createArray(String[] fields, int count, long line) throws CsvParser.CsvParserException {
+        ArrayType arrayType = (ArrayType) rowType;
+        Type elementType = arrayType.getElementType();
+        int size = arrayType.getSize();
+        if (size > count) {
+            throw new CsvParser.CsvParserException("expected " + size + " fields in the row, found " + count,
+                    line, count);
+        }
+        int length = size == -1 ? count : size;
+        BArray array = ValueCreator.createArrayValue(arrayType);
+        for (int i = 0; i < length; i++) {
+            array.add(i, convertField(fields[i], getConverter(i, elementType), elementType, config, headers, line, i));
+        }
+        return array;
+    }
+
+    private BArray createTuple(String[] fields, int count, long line) throws CsvParser.CsvParserException {
+        TupleType tupleType = (TupleType) rowType;
+        List<Type> memberTypes = tupleType.getTupleTypes();
+        Type restType = tupleType.getRestType();
+        if (memberTypes.size() > count) {
+            throw new CsvParser.CsvParserException("expected " + memberTypes.size() + " fields in the row, found " +
+                    count, line, count);
+        }
+        int length = restType == null ? memberTypes.size() : count;
+        BArray tuple = ValueCreator.createTupleValue(tupleType);
+        for (int i = 0; i < length; i++) {
+            Type type = i < memberTypes.size() ? memberTypes.get(i) : restType;
+            tuple.add(i, convertField(fields[i], getConverter(i, type), type, config, headers, line, i));
+        }
+        return tuple;
+    }
+
+    private CsvCellConverter getConverter(int index, Type type) {
+        if (index >= converters.length) {
+            converters = Arrays.copyOf(converters, Math.max(index + 1, converters.length * 2));
+        }
+        CsvCellConverter converter = converters[index];
+        if (converter == null) {
+            converter = CsvCellConverter.create(type);
+            converters[index] = converter;
+        }
+        return converter;
+    }
+
+    static String getColumnName(String[] headers, int index) {
+        if (headers != null && index < headers.length) {
+            return headers[index];
+        }
+        return String.valueOf(index);
+    }
+
+    /**
+     * Converts a field value with the converter of the column, and falls back to the conversion by type for the values
+     * not handled by the converter.
+     */
+    static Object convertField(String value, CsvCellConverter converter, Type type, CsvConfig config,
+                               String[] headers, long line, int index) throws CsvParser.CsvParserException {
+        if (value != null) {
+            Object result = converter.convert(value);
+            if (result != CsvCellConverter.NOT_CONVERTED) {
+                return result;
+            }
+        }
+        return convertField(value, type, config, headers, line, index);
+    }
+
+    /**
+     * Converts a field value to the expected type, `null` is given for an empty field.
+     */
+    static Object convertField(String value, Type type, CsvConfig config, String[] headers, long line, int index)
+            throws CsvParser.CsvParserException {
+        Type referredType = TypeUtils.getReferredType(type);
+        if (value == null) {
+            if (acceptsNil(referredType, config)) {
+                return null;
+            }
+            value = "";
+        }
+        switch (referredType.getTag()) {
+            case TypeTags.STRING_TAG:
+                return StringUtils.fromString(value);
+            case TypeTags.ANYDATA_TAG:
+            case TypeTags.JSON_TAG:
+                referredType = CELL_TYPE;
+                break;
+            default:
+                break;
+        }
+        Object result = FromString.fromStringWithType(StringUtils.fromString(value), referredType);
+        if (result instanceof BError) {
+            throw new CsvParser.CsvParserException("incompatible value '" + value + "' for type '" + type +
+                    "' in column '" + getColumnName(headers, index) + "'", line, index + 1);
+        }
+        return result;
+    }
+
+    static boolean acceptsNil(Type type, CsvConfig config) {
+        if (!config.quotedString && !config.emptyAsNil) {
+            return false;
+        }
+        return TypeUtils.getReferredType(type).isNilable();
+    }
+
+    /**
+     * Projection of the columns to the fields of a mapping row type. A plan is built once from the headers, or from
+     * the column positions if there are no headers, and is never modified afterwards. Therefore, a plan can be shared
+     * by the parsers of different chunks of the same content.
+     */
+    static final class ColumnPlan {
+
+        // Key of each column in the row value, `null` if the column is not a part of the row.
+        final BString[] keys;
+        final Type[] types;
+        // Whether the column is mapped to an optional field. Optional fields are omitted for empty fields.
+        final boolean[] optional;
+        // Whether the column is not a part of the row, i.e. `keys[i] == null`.
+        final boolean[] skipped;
+        final BString[] requiredFields;
+
+        private ColumnPlan(int columns, BString[] requiredFields) {
+            this.keys = new BString[columns];
+            this.types = new Type[columns];
+            this.optional = new boolean[columns];
+            this.skipped = new boolean[columns];
+            this.requiredFields = requiredFields;
+        }
+
+        static ColumnPlan create(Type rowType, String[] headers, int count) {
+            int columns = headers == null ? count : Math.max(count, headers.length);
+            if (rowType.getTag() == TypeTags.MAP_TAG) {
+                ColumnPlan plan = new ColumnPlan(columns, new BString[0]);
+                for (int i = 0; i < columns; i++) {
+                    plan.keys[i] = StringUtils.fromString(getColumnName(headers, i));
+                    plan.types[i] = ((MapType) rowType).getConstrainedType();
+                }
+                return plan;
+            }
+
+            RecordType recordType = (RecordType) rowType;
+            Map<String, Field> fields = recordType.getFields();
+            Type restType = recordType.isSealed() ? null : recordType.getRestFieldType();
+            List<BString> requiredFields = new ArrayList<>();
+            for (Field field : fields.values()) {
+                if (SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.REQUIRED)) {
+                    requiredFields.add(StringUtils.fromString(field.getFieldName()));
+                }
+            }
+            ColumnPlan plan = new ColumnPlan(columns, requiredFields.toArray(new BString[0]));
+            for (int i = 0; i < columns; i++) {
+                String name = getColumnName(headers, i);
+                Field field = fields.get(name);
+                if (field != null) {
+                    plan.keys[i] = StringUtils.fromString(name);
+                    plan.types[i] = field.getFieldType();
+                    plan.optional[i] = !SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.REQUIRED);
+                } else if (restType != null) {
+                    plan.keys[i] = StringUtils.fromString(name);
+                    plan.types[i] = restType;
+                } else {
+                    plan.skipped[i] = true;
+                }
+            }
+            return plan;
+        }
+    }
+
+    /**
+     * Creates a {@link DataSetHandler} for the expected data set type.
+     */
+    static DataSetHandler createDataSetBuilder(Type expType, CsvConfig config) throws CsvParser.CsvParserException {
+        Type referredType = TypeUtils.getReferredType(expType);
+        if (referredType.getTag() == TypeTags.RECORD_TYPE_TAG) {
+            return new CsvColumnarBuilder((RecordType) referredType, config);
+        }
+        Type dataSetType = getDataSetType(referredType, config);
+        if (dataSetType == null) {
+            throw new CsvParser.CsvParserException("unsupported type for CSV data: " + expType, 0, 0);
+        }
+        return new DataSetBuilder(dataSetType, config);
+    }
+
+    private static Type getDataSetType(Type type, CsvConfig config) {
+        switch (type.getTag()) {
+            case TypeTags.ARRAY_TAG:
+            case TypeTags.TABLE_TAG:
+                return type;
+            case TypeTags.UNION_TAG:
+                // `csv:Csv` like unions, use a mapping row when the headers are available
+                Type listDataSet = null;
+                Type mappingDataSet = null;
+                for (Type memberType : ((UnionType) type).getMemberTypes()) {
+                    Type dataSetType = getDataSetType(TypeUtils.getReferredType(memberType), config);
+                    if (dataSetType == null) {
+                        continue;
+                    }
+                    int rowTag = TypeUtils.getReferredType(getRowType(dataSetType)).getTag();
+                    if (rowTag == TypeTags.ARRAY_TAG || rowTag == TypeTags.TUPLE_TAG) {
+                        listDataSet = listDataSet == null ? dataSetType : listDataSet;
+                    } else {
+                        mappingDataSet = mappingDataSet == null ? dataSetType : mappingDataSet;
+                    }
+                }
+                if (config.hasHeaders()) {
+                    return mappingDataSet != null ? mappingDataSet : listDataSet;
+                }
+                return listDataSet != null ? listDataSet : mappingDataSet;
+            default:
+                return null;
+        }
+    }
+
+    static Type getRowType(Type dataSetType) {
+        if (dataSetType.getTag() == TypeTags.TABLE_TAG) {
+            return ((TableType) dataSetType).getConstrainedType();
+        }
+        return ((ArrayType) dataSetType).getElementType();
+    }
+
+    /**
+     * Receives the rows of the content and creates the expected data set value at the end.
+     */
+    interface DataSetHandler extends CsvParser.RowHandler {
+
+        /**
+         * Returns the data set value, which is called after all the rows are received.
+         */
+        Object getDataSet() throws CsvParser.CsvParserException;
+    }
+
+    /**
+     * Collects the rows into the expected data set value.
+     */
+    static class DataSetBuilder implements DataSetHandler {
+
+        private final CsvCreator creator;
+        private final Object dataSet;
+        private final int maxRows;
+        private int rows = 0;
+
+        DataSetBuilder(Type dataSetType, CsvConfig config) throws CsvParser.CsvParserException {
+            this.creator = new CsvCreator(getRowType(dataSetType), config);
+            if (dataSetType.getTag() == TypeTags.TABLE_TAG) {
+                this.dataSet = ValueCreator.createTableValue((TableType) dataSetType);
+                this.maxRows = -1;
+            } else {
+                this.dataSet = ValueCreator.createArrayValue((ArrayType) dataSetType);
+                this.maxRows = ((ArrayType) dataSetType).getSize();
+            }
+        }
+
+        @Override
+        public void handleRow(String[] fields, int count, long line) throws CsvParser.CsvParserException {
+            if (rows == maxRows) {
+                // rest of the rows are ignored for fixed length arrays
+                return;
+            }
+            Object row = creator.createRow(fields, count, line);
+            if (row != null) {
+                addRow(row);
+            }
+        }
+
+        /**
+         * Creates a handler which reads the rows of a later part of the content, using the headers read so far.
+         */
+        RowQueue createRowQueue() {
+            return new RowQueue(creator.copy());
+        }
+
+        /**
+         * Adds the rows read by a handler created with {@link #createRowQueue()}.
+         */
+        void addRows(RowQueue rowQueue) {
+            Object row;
+            while ((row = rowQueue.poll()) != null && rows != maxRows) {
+                addRow(row);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void addRow(Object row) {
+            if (dataSet instanceof BArray) {
+                ((BArray) dataSet).append(row);
+            } else {
+                ((BTable<BString, Object>) dataSet).add(row);
+            }
+            rows++;
+        }
+
+        @Override
+        public boolean[] getSkippedColumns() {
+            return creator.getSkippedColumns();
+        }
+
+        boolean isHeaderRead() {
+            return rows == 0 && creator.getRowCount() == creator.config.headerRows;
+        }
+
+        @Override
+        public Object getDataSet() {
+            return dataSet;
+        }
+    }
+
+    /**
+     * Keeps the rows read from a chunk until those are consumed one at a time.
+     */
+    static class RowQueue implements CsvParser.RowHandler {
+
+        private final CsvCreator creator;
+        private final Deque<Object> rows = new ArrayDeque<>();
+
+        RowQueue(Type rowType, CsvConfig config) throws CsvParser.CsvParserException {
+            this(new CsvCreator(rowType, config));
+        }
+
+        private RowQueue(CsvCreator creator) {
+            this.creator = creator;
+        }
+
+        @Override
+        public void handleRow(String[] fields, int count, long line) throws CsvParser.CsvParserException {
+            Object row = creator.createRow(fields, count, line);
+            if (row != null) {
+                rows.add(row);
+            }
+        }
+
+        @Override
+        public boolean[] getSkippedColumns() {
+            return creator.getSkippedColumns();
+        }
+
+        Object poll() {
+            return rows.poll();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.csv;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer which encodes the CSV content as it is written.
+ * <p>
+ * ASCII characters are written directly for the encodings compatible with ASCII, and the rest are encoded with a
+ * single encoder, so a stateful encoding such as UTF-16 writes its byte order mark only once.
+ *
+ * @since 0.1.0
+ */
+class CsvOutput {
+
+    private static final int INITIAL_CAPACITY = 8192;
+
+    private final Charset charset;
+    private final CharsetEncoder encoder;
+    private final boolean asciiCompatible;
+    private byte[] buff;
+    private int size;
+
+    CsvOutput(Charset charset) {
+        this(charset, INITIAL_CAPACITY);
+    }
+
+    CsvOutput(Charset charset, int capacity) {
+        this.charset = charset;
+        this.encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.asciiCompatible = StandardCharsets.UTF_8.equals(charset) || StandardCharsets.US_ASCII.equals(charset) ||
+                StandardCharsets.ISO_8859_1.equals(charset);
+        this.buff = new byte[capacity];
+    }
+
+    void write(char ch) {
+        if (ch < 0x80 && asciiCompatible) {
+            ensureCapacity(1);
+            buff[size++] = (byte) ch;
+        } else {
+            writeEncoded(String.valueOf(ch));
+        }
+    }
+
+    void write(String value) {
+        if (!asciiCompatible) {
+            writeEncoded(value);
+            return;
+        }
+        int length = value.length();
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            char ch = value.charAt(i);
+            if (ch >= 0x80) {
+                writeEncoded(value.substring(i));
+                return;
+            }
+            buff[size++] = (byte) ch;
+        }
+    }
+
+    /**
+     * Writes the decimal digits of the value without creating a string.
+     */
+    void write(long value) {
+        if (value == Long.MIN_VALUE || !asciiCompatible) {
+            write(Long.toString(value));
+            return;
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            buff[size++] = '-';
+            value = -value;
+        }
+        int start = size;
+        do {
+            buff[size++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        // digits are written in the reverse order
+        for (int i = start, j = size - 1; i < j; i++, j--) {
+            byte digit = buff[i];
+            buff[i] = buff[j];
+            buff[j] = digit;
+        }
+    }
+
+    private void writeEncoded(String value) {
+        CharBuffer input = CharBuffer.wrap(value);
+        while (true) {
+            ByteBuffer output = ByteBuffer.wrap(buff, size, buff.length - size);
+            CoderResult result = encoder.encode(input, output, false);
+            size = output.position();
+            if (!result.isOverflow()) {
+                return;
+            }
+            buff = Arrays.copyOf(buff, buff.length * 2);
+        }
+    }
+
+    private void ensureCapacity(int length) {
+        if (size + length > buff.length) {
+            buff = Arrays.copyOf(buff, Math.max(buff.length * 2, size + length));
+        }
+    }
+
+    /**
+     * Appends the content of another output of the same encoding.
+     */
+    void write(CsvOutput other) {
+        ensureCapacity(other.size);
+        System.arraycopy(other.buff, 0, buff, size, other.size);
+        size += other.size;
+    }
+
+    /**
+     * Creates an empty output of the same encoding.
+     */
+    CsvOutput newOutput() {
+        return new CsvOutput(charset);
+    }
+
+    boolean isAsciiCompatible() {
+        return asciiCompatible;
+    }
+
+    int size() {
+        return size;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buff, size);
+    }
+
+    /**
+     * Returns the bytes written so far and clears the buffer, the capacity is kept for the next chunk.
+     */
+    byte[] flush() {
+        byte[] bytes = toByteArray();
+        size = 0;
+        return bytes;
+    }
+
+    String toUtf8String() {
+        return new String(buff, 0, size, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.csv;
+
+import io.ballerina.runtime.api.types.Type;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parses large CSV content by splitting it into regions of complete rows and parsing the regions in parallel.
+ * <p>
+ * A newline is a row boundary only if it is not inside a quoted field. As an escaped quote is written as two quotes,
+ * a position is inside a quoted field if and only if an odd number of quotes precede it. The content is split in two
+ * passes. First, each block is scanned in parallel to count its quotes and to find its first newline after an even
+ * and after an odd number of quotes. Then, the quote counts of the preceding blocks select the boundary of each block
+ * sequentially. Blocks without a boundary are merged to the previous region.
+ * <p>
+ * The headers are read first, and the column plan built from those is shared by the parsers of all the regions. The
+ * rows of the regions are added to the data set in the order of the regions. The content is parsed sequentially if
+ * any region fails or doesn't follow the quoting rules, so that the errors are reported with the exact position.
+ *
+ * @since 0.1.0
+ */
+public class CsvParallelParser {
+
+    // Content smaller than this is parsed sequentially as splitting doesn't pay off.
+    static final long PARALLEL_THRESHOLD = 4 * 1024 * 1024;
+    private static final long MIN_BLOCK_SIZE = 1024 * 1024;
+    // Maximum size of a buffer read from the source at once.
+    private static final int SLICE_SIZE = 8 * 1024 * 1024;
+    private static final int BLOCKS_PER_PROCESSOR = 4;
+
+    private static final byte QUOTES = '"';
+    private static final byte NEWLINE = '\n';
+    private static final byte CR = '\r';
+    private static final byte SPACE = ' ';
+    private static final byte HZ_TAB = '\t';
+
+    /**
+     * Parses the CSV content of the given source and returns a CSV data set.
+     *
+     * @param source encoded CSV content
+     * @param config CSV options given by the user
+     * @param type   expected data set type
+     * @return CSV data set of the expected type
+     * @throws CsvParser.CsvParserException for any parsing or conversion error
+     */
+    public static Object parse(CsvSource source, CsvConfig config, Type type) throws CsvParser.CsvParserException {
+        int processors = Runtime.getRuntime().availableProcessors();
+        if (source.size() >= PARALLEL_THRESHOLD && processors > 1 && isAsciiCompatible(config.encoding)) {
+            CsvCreator.DataSetHandler builder = CsvCreator.createDataSetBuilder(type, config);
+            try {
+                // columnar data sets are filled sequentially, as the columns of the regions can't be joined cheaply
+                if (builder instanceof CsvCreator.DataSetBuilder &&
+                        parseInParallel(source, config, (CsvCreator.DataSetBuilder) builder, processors)) {
+                    return builder.getDataSet();
+                }
+            } catch (IOException e) {
+                throw new CsvParser.CsvParserException("error reading CSV: " + e.getMessage(), 0, 0);
+            }
+        }
+        return parseSequentially(source, config, type);
+    }
+
+    private static Object parseSequentially(CsvSource source, CsvConfig config, Type type)
+            throws CsvParser.CsvParserException {
+        CsvCreator.DataSetHandler builder = CsvCreator.createDataSetBuilder(type, config);
+        CsvParser.StateMachine sm = new CsvParser.StateMachine(config, builder);
+        try {
+            feed(source, 0, source.size(), sm);
+        } catch (IOException e) {
+            throw new CsvParser.CsvParserException("error reading CSV: " + e.getMessage(), sm.line, 0);
+        }
+        sm.end();
+        return builder.getDataSet();
+    }
+
+    /**
+     * Returns {@code false} if the content should be parsed sequentially instead.
+     */
+    private static boolean parseInParallel(CsvSource source, CsvConfig config, CsvCreator.DataSetBuilder builder,
+                                           int processors) throws IOException {
+        long headEnd = findHeadEnd(source, config);
+        try {
+            CsvParser.StateMachine sm = new CsvParser.StateMachine(config, builder);
+            feed(source, 0, headEnd, sm);
+            sm.end();
+            if (!builder.isHeaderRead() || sm.hasLiteralQuotes()) {
+                return false;
+            }
+        } catch (CsvParser.CsvParserException e) {
+            return false;
+        }
+
+        long[] boundaries = findBoundaries(source, config, headEnd, processors);
+        List<RegionParser> parsers = new ArrayList<>(boundaries.length - 1);
+        for (int i = 0; i < boundaries.length - 1; i++) {
+            parsers.add(new RegionParser(source, config, builder.createRowQueue(), boundaries[i], boundaries[i + 1]));
+        }
+        ForkJoinTask.invokeAll(parsers);
+        for (RegionParser parser : parsers) {
+            if (parser.ioException != null) {
+                throw parser.ioException;
+            }
+            if (!parser.completed) {
+                return false;
+            }
+        }
+        for (RegionParser parser : parsers) {
+            builder.addRows(parser.rowQueue);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the end of the header rows, an empty or blank line is not counted as a row.
+     */
+    private static long findHeadEnd(CsvSource source, CsvConfig config) throws IOException {
+        long headerRows = config.headerRows;
+        long size = source.size();
+        boolean inQuotes = false;
+        boolean blank = true;
+        for (long position = 0; position < size && headerRows > 0; position += SLICE_SIZE) {
+            ByteBuffer buffer = source.slice(position, (int) Math.min(SLICE_SIZE, size - position));
+            for (int i = 0; i < buffer.limit(); i++) {
+                byte b = buffer.get(i);
+                if (b == QUOTES && config.quotedString) {
+                    inQuotes = !inQuotes;
+                    blank = false;
+                } else if (b == NEWLINE && !inQuotes) {
+                    if (!blank && --headerRows == 0) {
+                        return position + i + 1;
+                    }
+                    blank = true;
+                } else if (b != CR && b != SPACE && b != HZ_TAB) {
+                    blank = false;
+                }
+            }
+        }
+        return headerRows > 0 ? size : 0;
+    }
+
+    /**
+     * Splits the content after the head into regions of complete rows.
+     *
+     * @return the start of each region followed by the end of the content
+     */
+    private static long[] findBoundaries(CsvSource source, CsvConfig config, long headEnd, int processors)
+            throws IOException {
+        long size = source.size();
+        long blockSize = Math.max(MIN_BLOCK_SIZE, (size - headEnd) / ((long) processors * BLOCKS_PER_PROCESSOR));
+        List<BlockScanner> scanners = new ArrayList<>();
+        for (long start = headEnd; start < size; start += blockSize) {
+            scanners.add(new BlockScanner(source, config, start, Math.min(start + blockSize, size)));
+        }
+        ForkJoinTask.invokeAll(scanners);
+        for (BlockScanner scanner : scanners) {
+            if (scanner.ioException != null) {
+                throw scanner.ioException;
+            }
+        }
+
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(headEnd);
+        boolean oddQuotes = false;
+        for (int i = 0; i < scanners.size(); i++) {
+            BlockScanner scanner = scanners.get(i);
+            // the first block starts at the head end, which is already a boundary
+            long newline = oddQuotes ? scanner.firstNewlineAfterOdd : scanner.firstNewlineAfterEven;
+            if (i > 0 && newline != -1 && newline + 1 < size) {
+                boundaries.add(newline + 1);
+            }
+            oddQuotes ^= scanner.oddQuotes;
+        }
+        boundaries.add(size);
+
+        long[] result = new long[boundaries.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = boundaries.get(i);
+        }
+        return result;
+    }
+
+    private static void feed(CsvSource source, long start, long end, CsvParser.StateMachine sm)
+            throws IOException, CsvParser.CsvParserException {
+        for (long position = start; position < end; position += SLICE_SIZE) {
+            sm.feed(source.slice(position, (int) Math.min(SLICE_SIZE, end - position)));
+        }
+    }
+
+    /**
+     * Newline and quote bytes don't appear inside the multi byte characters of these encodings.
+     */
+    private static boolean isAsciiCompatible(Charset charset) {
+        return StandardCharsets.UTF_8.equals(charset) || StandardCharsets.US_ASCII.equals(charset) ||
+                StandardCharsets.ISO_8859_1.equals(charset);
+    }
+
+    /**
+     * Counts the quotes of a block and finds the possible row boundaries of it.
+     */
+    private static class BlockScanner extends RecursiveAction {
+
+        private final CsvSource source;
+        private final boolean quotedString;
+        private final long start;
+        private final long end;
+
+        boolean oddQuotes;
+        long firstNewlineAfterEven = -1;
+        long firstNewlineAfterOdd = -1;
+        IOException ioException;
+
+        BlockScanner(CsvSource source, CsvConfig config, long start, long end) {
+            this.source = source;
+            this.quotedString = config.quotedString;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                for (long position = start; position < end; position += SLICE_SIZE) {
+                    scan(source.slice(position, (int) Math.min(SLICE_SIZE, end - position)), position);
+                }
+            } catch (IOException e) {
+                ioException = e;
+            }
+        }
+
+        private void scan(ByteBuffer buffer, long position) {
+            int limit = buffer.limit();
+            for (int i = 0; i < limit; i++) {
+                byte b = buffer.get(i);
+                if (b == QUOTES && quotedString) {
+                    oddQuotes = !oddQuotes;
+                } else if (b == NEWLINE) {
+                    if (oddQuotes) {
+                        if (firstNewlineAfterOdd == -1) {
+                            firstNewlineAfterOdd = position + i;
+                        }
+                    } else if (firstNewlineAfterEven == -1) {
+                        firstNewlineAfterEven = position + i;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Parses a region of complete rows with its own state machine.
+     */
+    private static class RegionParser extends RecursiveAction {
+
+        private final CsvSource source;
+        private final CsvConfig config;
+        private final CsvCreator.RowQueue rowQueue;
+        private final long start;
+        private final long end;
+
+        boolean completed;
+        IOException ioException;
+
+        RegionParser(CsvSource source, CsvConfig config, CsvCreator.RowQueue rowQueue, long start, long end) {
+            this.source = source;
+            this.config = config;
+            this.rowQueue = rowQueue;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            CsvParser.StateMachine sm = new CsvParser.StateMachine(config, rowQueue);
+            try {
+                feed(source, start, end, sm);
+                sm.end();
+                completed = !sm.hasLiteralQuotes();
+            } catch (IOException e) {
+                ioException = e;
+            } catch (CsvParser.CsvParserException e) {
+                // reported with the exact position by the sequential parse
+                completed = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,415 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.csv;
+
+import io.ballerina.runtime.api.types.Type;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * This class converts CSV data to a Ballerina value using projection.
+ *
+ * @since 0.1.0
+ */
+public class CsvParser {
+
+    /**
+     * Parses the contents in the given {@link Reader} with projection and returns a CSV data set.
+     *
+     * @param reader reader which contains the CSV content
+     * @param config CSV options given by the user
+     * @param type   expected data set type
+     * @return CSV data set of the expected type
+     * @throws CsvParserException for any parsing or conversion error
+     */
+    public static Object parse(Reader reader, CsvConfig config, Type type) throws CsvParserException {
+        CsvCreator.DataSetHandler builder = CsvCreator.createDataSetBuilder(type, config);
+        StateMachine sm = new StateMachine(config, builder);
+        try {
+            char[] buff = new char[1024];
+            int count;
+            while ((count = reader.read(buff)) > 0) {
+                sm.feed(buff, 0, count);
+            }
+        } catch (IOException e) {
+            throw new CsvParserException("error reading CSV: " + e.getMessage(), sm.line, 0);
+        }
+        sm.end();
+        return builder.getDataSet();
+    }
+
+    /**
+     * Receives the rows identified by the {@link StateMachine}.
+     */
+    interface RowHandler {
+
+        /**
+         * Handles a row read from the CSV content.
+         *
+         * @param fields the field values of the row, `null` represents an empty unquoted field
+         * @param count  the number of valid entries in {@code fields}
+         * @param line   the line in which the row starts
+         */
+        void handleRow(String[] fields, int count, long line) throws CsvParserException;
+
+        /**
+         * Returns the columns which are not a part of the rows, so those are tokenized without reading the values.
+         * The field value given for a skipped column is always `null`.
+         *
+         * @return a mask of the skipped columns indexed by the column, or `null` if all the columns are read
+         */
+        boolean[] getSkippedColumns();
+    }
+
+    /**
+     * Represents a CSV parser related exception.
+     */
+    public static class CsvParserException extends Exception {
+
+        final long line;
+        final int column;
+
+        public CsvParserException(String msg, long line, int column) {
+            super(msg);
+            this.line = line;
+            this.column = column;
+        }
+    }
+
+    /**
+     * Represents the state machine used for tokenizing CSV content.
+     * <p>
+     * Content can be fed in arbitrary chunks, partially read fields and rows are kept in the state machine until the
+     * rest of the content is received. Therefore, a quoted field spanning multiple chunks is read intact.
+     */
+    static class StateMachine {
+
+        private static final char QUOTES = '"';
+        private static final char NEWLINE = '\n';
+        private static final char CR = '\r';
+        private static final char SPACE = ' ';
+        private static final char HZ_TAB = '\t';
+
+        private final CsvConfig config;
+        private final RowHandler handler;
+
+        private State state = State.FIELD_START;
+        private char[] charBuff = new char[1024];
+        private int charBuffIndex;
+        private String[] fields = new String[16];
+        private int fieldCount;
+        private boolean skipLineFeed;
+        // Whether a quote was read as a part of an unquoted field, such content can't be split at quote parity.
+        private boolean literalQuotes;
+        private boolean[] skippedColumns;
+        long line = 1;
+        private long rowLine = 1;
+
+        private CharsetDecoder decoder;
+        private ByteBuffer remainingBytes;
+        private CharBuffer decodedChars;
+
+        StateMachine(CsvConfig config, RowHandler handler) {
+            this.config = config;
+            this.handler = handler;
+            this.skippedColumns = handler.getSkippedColumns();
+        }
+
+        private enum State {
+            FIELD_START, UNQUOTED_FIELD, QUOTED_FIELD, QUOTE_IN_QUOTED_FIELD, QUOTED_FIELD_END,
+            // states of a column which is not a part of the rows, the characters are not kept
+            SKIPPED_UNQUOTED_FIELD, SKIPPED_QUOTED_FIELD, SKIPPED_QUOTE_IN_QUOTED_FIELD
+        }
+
+        /**
+         * Feeds a chunk of encoded content. A multi byte character may be split between two chunks.
+         */
+        void feed(byte[] bytes, int offset, int length) throws CsvParserException {
+            feed(ByteBuffer.wrap(bytes, offset, length));
+        }
+
+        /**
+         * Feeds the remaining content of the given buffer, which can be a heap, direct or mapped buffer.
+         */
+        void feed(ByteBuffer input) throws CsvParserException {
+            if (decoder == null) {
+                decoder = config.encoding.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+                decodedChars = CharBuffer.allocate(1024);
+            }
+            if (remainingBytes != null) {
+                ByteBuffer joined = ByteBuffer.allocate(remainingBytes.remaining() + input.remaining());
+                joined.put(remainingBytes).put(input).flip();
+                input = joined;
+            }
+            decode(input, false);
+            // only the bytes of an incomplete character remain, those are copied as the buffer may be reused
+            remainingBytes = input.hasRemaining() ? ByteBuffer.allocate(input.remaining()).put(input).flip() : null;
+        }
+
+        private void decode(ByteBuffer input, boolean endOfInput) throws CsvParserException {
+            while (true) {
+                CoderResult result = decoder.decode(input, decodedChars, endOfInput);
+                decodedChars.flip();
+                feed(decodedChars.array(), 0, decodedChars.limit());
+                decodedChars.clear();
+                if (!result.isOverflow()) {
+                    return;
+                }
+            }
+        }
+
+        void feed(char[] buff, int offset, int count) throws CsvParserException {
+            char delimiter = config.delimiter;
+            for (int i = offset; i < offset + count; i++) {
+                char ch = buff[i];
+                if (skipLineFeed) {
+                    skipLineFeed = false;
+                    if (ch == NEWLINE) {
+                        continue;
+                    }
+                }
+                switch (state) {
+                    case FIELD_START:
+                        if (ch == delimiter) {
+                            addEmptyField();
+                        } else if (ch == NEWLINE || ch == CR) {
+                            if (fieldCount > 0) {
+                                addEmptyField();
+                            }
+                            endRow(ch);
+                        } else if (ch == QUOTES && config.quotedString) {
+                            state = isSkipped() ? State.SKIPPED_QUOTED_FIELD : State.QUOTED_FIELD;
+                        } else if (!(isWhitespace(ch) && config.trimLeadingSpace)) {
+                            if (isSkipped()) {
+                                state = State.SKIPPED_UNQUOTED_FIELD;
+                            } else {
+                                append(ch);
+                                state = State.UNQUOTED_FIELD;
+                            }
+                        }
+                        break;
+                    case UNQUOTED_FIELD:
+                        if (ch == delimiter) {
+                            addUnquotedField();
+                        } else if (ch == NEWLINE || ch == CR) {
+                            addUnquotedField();
+                            endRow(ch);
+                        } else {
+                            if (ch == QUOTES) {
+                                literalQuotes = true;
+                            }
+                            append(ch);
+                        }
+                        break;
+                    case QUOTED_FIELD:
+                        if (ch == QUOTES) {
+                            state = State.QUOTE_IN_QUOTED_FIELD;
+                        } else {
+                            if (ch == NEWLINE) {
+                                line++;
+                            }
+                            append(ch);
+                        }
+                        break;
+                    case QUOTE_IN_QUOTED_FIELD:
+                        if (ch == QUOTES) {
+                            // escaped quote
+                            append(ch);
+                            state = State.QUOTED_FIELD;
+                            break;
+                        }
+                        addQuotedField();
+                        state = State.QUOTED_FIELD_END;
+                        endQuotedField(ch);
+                        break;
+                    case QUOTED_FIELD_END:
+                        endQuotedField(ch);
+                        break;
+                    case SKIPPED_UNQUOTED_FIELD:
+                        if (ch == delimiter) {
+                            addEmptyField();
+                            state = State.FIELD_START;
+                        } else if (ch == NEWLINE || ch == CR) {
+                            addEmptyField();
+                            endRow(ch);
+                        } else if (ch == QUOTES) {
+                            literalQuotes = true;
+                        }
+                        break;
+                    case SKIPPED_QUOTED_FIELD:
+                        if (ch == QUOTES) {
+                            state = State.SKIPPED_QUOTE_IN_QUOTED_FIELD;
+                        } else if (ch == NEWLINE) {
+                            line++;
+                        }
+                        break;
+                    case SKIPPED_QUOTE_IN_QUOTED_FIELD:
+                        if (ch == QUOTES) {
+                            // escaped quote
+                            state = State.SKIPPED_QUOTED_FIELD;
+                            break;
+                        }
+                        addEmptyField();
+                        state = State.QUOTED_FIELD_END;
+                        endQuotedField(ch);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+
+        /**
+         * Marks the end of the content and flushes the last row.
+         */
+        void end() throws CsvParserException {
+            if (decoder != null) {
+                decode(remainingBytes == null ? ByteBuffer.allocate(0) : remainingBytes, true);
+                remainingBytes = null;
+            }
+            switch (state) {
+                case QUOTED_FIELD:
+                case SKIPPED_QUOTED_FIELD:
+                    throw new CsvParserException("unexpected end of CSV data, missing closing quote", line,
+                            fieldCount + 1);
+                case QUOTE_IN_QUOTED_FIELD:
+                    addQuotedField();
+                    break;
+                case UNQUOTED_FIELD:
+                    addUnquotedField();
+                    break;
+                case SKIPPED_QUOTE_IN_QUOTED_FIELD:
+                case SKIPPED_UNQUOTED_FIELD:
+                    addEmptyField();
+                    break;
+                case FIELD_START:
+                    if (fieldCount > 0) {
+                        addEmptyField();
+                    }
+                    break;
+                default:
+                    break;
+            }
+            if (fieldCount > 0) {
+                handler.handleRow(fields, fieldCount, rowLine);
+                fieldCount = 0;
+            }
+        }
+
+        /**
+         * Sets the line of the first row, when the content fed is a part of a larger content.
+         */
+        void setLine(long line) {
+            this.line = line;
+            this.rowLine = line;
+        }
+
+        boolean hasLiteralQuotes() {
+            return literalQuotes;
+        }
+
+        private void endQuotedField(char ch) throws CsvParserException {
+            if (ch == config.delimiter) {
+                state = State.FIELD_START;
+            } else if (ch == NEWLINE || ch == CR) {
+                endRow(ch);
+            } else if (!isWhitespace(ch)) {
+                throw new CsvParserException("unexpected character '" + ch + "' after quoted field", line,
+                        fieldCount);
+            }
+        }
+
+        private void endRow(char ch) throws CsvParserException {
+            if (ch == CR) {
+                skipLineFeed = true;
+            }
+            // empty lines are ignored
+            if (fieldCount > 0) {
+                handler.handleRow(fields, fieldCount, rowLine);
+                fieldCount = 0;
+                skippedColumns = handler.getSkippedColumns();
+            }
+            state = State.FIELD_START;
+            line++;
+            rowLine = line;
+        }
+
+        private boolean isSkipped() {
+            return skippedColumns != null && fieldCount < skippedColumns.length && skippedColumns[fieldCount];
+        }
+
+        private void addEmptyField() {
+            addField(null);
+        }
+
+        private void addUnquotedField() {
+            int end = charBuffIndex;
+            if (config.trimTrailingSpace) {
+                while (end > 0 && isWhitespace(charBuff[end - 1])) {
+                    end--;
+                }
+            }
+            addField(end == 0 ? null : new String(charBuff, 0, end));
+            charBuffIndex = 0;
+            state = State.FIELD_START;
+        }
+
+        private void addQuotedField() {
+            addField(new String(charBuff, 0, charBuffIndex));
+            charBuffIndex = 0;
+        }
+
+        private void addField(String value) {
+            if (fieldCount == fields.length) {
+                String[] newFields = new String[fields.length * 2];
+                System.arraycopy(fields, 0, newFields, 0, fields.length);
+                fields = newFields;
+            }
+            fields[fieldCount++] = value;
+        }
+
+        private void append(char ch) {
+            try {
+                this.charBuff[this.charBuffIndex] = ch;
+                this.charBuffIndex++;
+            } catch (ArrayIndexOutOfBoundsException e) {
+                /* this approach is faster than checking for the size by ourself */
+                this.growCharBuff();
+                this.charBuff[this.charBuffIndex++] = ch;
+            }
+        }
+
+        private void growCharBuff() {
+            char[] newBuff = new char[charBuff.length * 2];
+            System.arraycopy(this.charBuff, 0, newBuff, 0, this.charBuff.length);
+            this.charBuff = newBuff;
+        }
+
+        private static boolean isWhitespace(char ch) {
+            return ch == SPACE || ch == HZ_TAB;
+        }
+    }
+}
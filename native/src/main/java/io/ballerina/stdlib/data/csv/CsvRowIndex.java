@@ -0,0 +1,487 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.csv;
+
+import io.ballerina.runtime.api.types.Type;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the start offsets of the rows of a CSV file, which is used to read a page of rows without parsing the rows
+ * before it.
+ * <p>
+ * The offset and the line of every {@link #STRIDE}th row are kept, and a row in between is found by scanning from the
+ * closest indexed row. Rows are found with the same rules as the parser, so a line break inside a quoted field or an
+ * empty line doesn't start a row. As the scanner state at the end of the file is kept with the index, only the new
+ * content is scanned when a file has grown. An index is kept in memory, and can be persisted next to the file.
+ *
+ * @since 0.1.0
+ */
+public class CsvRowIndex {
+
+    static final int STRIDE = 128;
+    private static final String INDEX_FILE_SUFFIX = ".idx";
+    private static final long MAGIC = 0x4243535649445832L;
+    private static final int SLICE_SIZE = 8 * 1024 * 1024;
+    // Bytes at the end of the indexed content, compared to detect a file rewritten instead of appended.
+    private static final int TAIL_SIZE = 64;
+    private static final int MAX_CACHED_INDEXES = 16;
+    private static final Map<Path, CsvRowIndex> CACHE = new ConcurrentHashMap<>();
+
+    private final RecordScanner scanner;
+    // Offset and line of the rows `0, STRIDE, 2 * STRIDE, ...`.
+    private long[] offsets = new long[64];
+    private long[] lines = new long[64];
+    private int entries = 1;
+    // Number of bytes of the file scanned so far.
+    private long length = 0;
+    private byte[] tail = new byte[0];
+    // Last modified time of the file when it was scanned, in milliseconds.
+    private long modified = -1;
+
+    private CsvRowIndex(CsvConfig config) {
+        this.scanner = new RecordScanner(config);
+        this.offsets[0] = 0;
+        this.lines[0] = 1;
+    }
+
+    /**
+     * Reads the data rows from {@code startRow} to {@code startRow + rowCount} of a CSV file to a CSV data set.
+     *
+     * @param path     CSV file
+     * @param startRow index of the first data row to be read, the header rows are not counted
+     * @param rowCount maximum number of rows to be read
+     * @param config   CSV options given by the user
+     * @param type     expected data set type
+     * @param persist  whether the index is written next to the file
+     * @return CSV data set of the expected type
+     * @throws CsvParser.CsvParserException for any parsing or conversion error
+     */
+    public static Object readPage(Path path, long startRow, long rowCount, CsvConfig config, Type type,
+                                  boolean persist) throws CsvParser.CsvParserException {
+        if (startRow < 0 || rowCount < 0) {
+            throw new CsvParser.CsvParserException("invalid page: start row " + startRow + ", row count " + rowCount,
+                    0, 0);
+        }
+        if (!RecordScanner.isSupported(config)) {
+            throw new CsvParser.CsvParserException("pages can be read only with an ASCII compatible encoding and " +
+                    "delimiter", 0, 0);
+        }
+        CsvCreator.DataSetHandler builder = CsvCreator.createDataSetBuilder(type, config);
+        try (CsvSource source = CsvSource.of(path)) {
+            long[] header;
+            long[] start;
+            long[] end;
+            CsvRowIndex index = getIndex(path, source, config, persist);
+            synchronized (index) {
+                header = index.locate(source, config.headerRows);
+                start = index.locate(source, config.headerRows + startRow);
+                end = index.locate(source, config.headerRows + startRow + rowCount);
+            }
+
+            CsvParser.StateMachine sm = new CsvParser.StateMachine(config, builder);
+            feed(source, 0, header[0], sm);
+            sm.end();
+            sm = new CsvParser.StateMachine(config, builder);
+            sm.setLine(start[1]);
+            feed(source, start[0], end[0], sm);
+            sm.end();
+            return builder.getDataSet();
+        } catch (IOException e) {
+            throw new CsvParser.CsvParserException("error reading CSV file '" + path + "': " + e.getMessage(), 0, 0);
+        }
+    }
+
+    private static void feed(CsvSource source, long start, long end, CsvParser.StateMachine sm)
+            throws IOException, CsvParser.CsvParserException {
+        for (long position = start; position < end; position += SLICE_SIZE) {
+            sm.feed(source.slice(position, (int) Math.min(SLICE_SIZE, end - position)));
+        }
+    }
+
+    /**
+     * Returns the index of the file updated to the current content of the file.
+     */
+    private static CsvRowIndex getIndex(Path path, CsvSource source, CsvConfig config, boolean persist)
+            throws IOException {
+        Path key = path.toAbsolutePath().normalize();
+        CsvRowIndex index = CACHE.get(key);
+        if (index == null || !index.scanner.matches(config)) {
+            index = persist ? load(indexPath(key), config) : null;
+            if (index == null) {
+                index = new CsvRowIndex(config);
+            }
+            if (CACHE.size() >= MAX_CACHED_INDEXES) {
+                CACHE.clear();
+            }
+            CACHE.put(key, index);
+        }
+        long modified = Files.getLastModifiedTime(key).toMillis();
+        synchronized (index) {
+            Path indexPath = indexPath(key);
+            if ((!index.update(source, modified) || !Files.exists(indexPath)) && persist) {
+                try {
+                    index.save(indexPath);
+                } catch (IOException e) {
+                    // the index is optional, e.g. the directory is read-only, and is built again when not found
+                }
+            }
+        }
+        return index;
+    }
+
+    private static Path indexPath(Path path) {
+        return Paths.get(path + INDEX_FILE_SUFFIX);
+    }
+
+    /**
+     * Scans the content added after the last update, the index is rebuilt if the indexed content has changed. The
+     * content is considered unchanged only if the size, the last modified time and the tail are the same, and
+     * appended if the file has grown and the indexed tail is still the same.
+     *
+     * @return {@code true} if the index was already up to date
+     */
+    private boolean update(CsvSource source, long modified) throws IOException {
+        long size = source.size();
+        boolean sameTail = size >= length && Arrays.equals(tail, readTail(source, length));
+        if (sameTail && size == length && modified == this.modified) {
+            return true;
+        }
+        if (!sameTail || size == length) {
+            // rewritten, possibly to the same size
+            scanner.reset();
+            entries = 1;
+            length = 0;
+        }
+        for (long position = length; position < size; position += SLICE_SIZE) {
+            ByteBuffer buffer = source.slice(position, (int) Math.min(SLICE_SIZE, size - position));
+            int next = 0;
+            while ((next = scanner.scan(buffer, next, scanner.records + 1)) != -1) {
+                if (scanner.records % STRIDE == 0) {
+                    addEntry(position + next, scanner.line);
+                }
+            }
+        }
+        length = size;
+        tail = readTail(source, size);
+        this.modified = modified;
+        return false;
+    }
+
+    private void addEntry(long offset, long line) {
+        if (entries == offsets.length) {
+            offsets = Arrays.copyOf(offsets, entries * 2);
+            lines = Arrays.copyOf(lines, entries * 2);
+        }
+        offsets[entries] = offset;
+        lines[entries] = line;
+        entries++;
+    }
+
+    private static byte[] readTail(CsvSource source, long end) throws IOException {
+        int size = (int) Math.min(TAIL_SIZE, end);
+        byte[] bytes = new byte[size];
+        source.slice(end - size, size).get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Finds the start of a row, which is the end of the content if the file has fewer rows.
+     *
+     * @return the offset and the line of the row
+     */
+    private long[] locate(CsvSource source, long row) throws IOException {
+        int entry = (int) Math.min(row / STRIDE, entries - 1);
+        RecordScanner rowScanner = scanner.copy();
+        rowScanner.line = lines[entry];
+        long target = row - (long) entry * STRIDE;
+        for (long position = offsets[entry]; position < length; position += SLICE_SIZE) {
+            if (target == 0) {
+                return new long[]{position, rowScanner.line};
+            }
+            ByteBuffer buffer = source.slice(position, (int) Math.min(SLICE_SIZE, length - position));
+            int next = rowScanner.scan(buffer, 0, target);
+            if (next != -1) {
+                return new long[]{position + next, rowScanner.line};
+            }
+        }
+        if (target == 0) {
+            return new long[]{Math.min(offsets[entry], length), rowScanner.line};
+        }
+        return new long[]{length, rowScanner.line};
+    }
+
+    private static CsvRowIndex load(Path indexPath, CsvConfig config) {
+        if (!Files.exists(indexPath)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexPath)))) {
+            if (in.readLong() != MAGIC) {
+                return null;
+            }
+            CsvRowIndex index = new CsvRowIndex(config);
+            if (!index.scanner.read(in)) {
+                // created with different options
+                return null;
+            }
+            index.length = in.readLong();
+            index.modified = in.readLong();
+            index.tail = new byte[in.readInt()];
+            in.readFully(index.tail);
+            index.entries = in.readInt();
+            index.offsets = new long[Math.max(index.entries, 1)];
+            index.lines = new long[index.offsets.length];
+            for (int i = 0; i < index.entries; i++) {
+                index.offsets[i] = in.readLong();
+                index.lines[i] = in.readLong();
+            }
+            return index;
+        } catch (IOException e) {
+            // an unreadable index is rebuilt
+            return null;
+        }
+    }
+
+    private void save(Path indexPath) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexPath)))) {
+            out.writeLong(MAGIC);
+            scanner.write(out);
+            out.writeLong(length);
+            out.writeLong(modified);
+            out.writeInt(tail.length);
+            out.write(tail);
+            out.writeInt(entries);
+            for (int i = 0; i < entries; i++) {
+                out.writeLong(offsets[i]);
+                out.writeLong(lines[i]);
+            }
+        }
+    }
+
+    /**
+     * Finds the ends of the rows in encoded CSV content, following the same rules as {@link CsvParser.StateMachine}.
+     * The line count is also the same as the state machine, so that a page reports the errors with the exact line.
+     */
+    static class RecordScanner {
+
+        private static final int FIELD_START = 0;
+        private static final int UNQUOTED_FIELD = 1;
+        private static final int QUOTED_FIELD = 2;
+        private static final int QUOTE_IN_QUOTED_FIELD = 3;
+        private static final int QUOTED_FIELD_END = 4;
+
+        private static final byte QUOTES = '"';
+        private static final byte NEWLINE = '\n';
+        private static final byte CR = '\r';
+        private static final byte SPACE = ' ';
+        private static final byte HZ_TAB = '\t';
+
+        private final byte delimiter;
+        private final boolean quotedString;
+        private final boolean trimLeadingSpace;
+
+        private int state = FIELD_START;
+        // Whether the current row has a field, an empty line is not a row.
+        private boolean inRow;
+        private boolean skipLineFeed;
+        // Whether the scan stops after the line feed following a CR, so that a row never starts with a line feed.
+        private boolean pendingEnd;
+        long line = 1;
+        long records = 0;
+
+        RecordScanner(CsvConfig config) {
+            this((byte) config.delimiter, config.quotedString, config.trimLeadingSpace);
+        }
+
+        private RecordScanner(byte delimiter, boolean quotedString, boolean trimLeadingSpace) {
+            this.delimiter = delimiter;
+            this.quotedString = quotedString;
+            this.trimLeadingSpace = trimLeadingSpace;
+        }
+
+        static boolean isSupported(CsvConfig config) {
+            return config.delimiter < 0x80 && (StandardCharsets.UTF_8.equals(config.encoding) ||
+                    StandardCharsets.US_ASCII.equals(config.encoding) ||
+                    StandardCharsets.ISO_8859_1.equals(config.encoding));
+        }
+
+        boolean matches(CsvConfig config) {
+            return delimiter == (byte) config.delimiter && quotedString == config.quotedString &&
+                    trimLeadingSpace == config.trimLeadingSpace;
+        }
+
+        RecordScanner copy() {
+            return new RecordScanner(delimiter, quotedString, trimLeadingSpace);
+        }
+
+        void reset() {
+            state = FIELD_START;
+            inRow = false;
+            skipLineFeed = false;
+            pendingEnd = false;
+            line = 1;
+            records = 0;
+        }
+
+        /**
+         * Scans the buffer from the given index until {@code records} reaches the given count.
+         *
+         * @return the index after the end of the last row, or -1 if the end of the buffer is reached
+         */
+        int scan(ByteBuffer buffer, int from, long untilRecords) {
+            int limit = buffer.limit();
+            for (int i = from; i < limit; i++) {
+                byte b = buffer.get(i);
+                if (skipLineFeed) {
+                    skipLineFeed = false;
+                    if (pendingEnd) {
+                        pendingEnd = false;
+                        return b == NEWLINE ? i + 1 : i;
+                    }
+                    if (b == NEWLINE) {
+                        continue;
+                    }
+                }
+                int end = -1;
+                switch (state) {
+                    case FIELD_START:
+                        if (b == delimiter) {
+                            inRow = true;
+                        } else if (b == NEWLINE || b == CR) {
+                            end = endRow(b, i, untilRecords);
+                        } else if (b == QUOTES && quotedString) {
+                            inRow = true;
+                            state = QUOTED_FIELD;
+                        } else if (!((b == SPACE || b == HZ_TAB) && trimLeadingSpace)) {
+                            inRow = true;
+                            state = UNQUOTED_FIELD;
+                        }
+                        break;
+                    case QUOTED_FIELD:
+                        if (b == QUOTES) {
+                            state = QUOTE_IN_QUOTED_FIELD;
+                        } else if (b == NEWLINE) {
+                            line++;
+                        }
+                        break;
+                    case QUOTE_IN_QUOTED_FIELD:
+                        if (b == QUOTES) {
+                            state = QUOTED_FIELD;
+                        } else {
+                            state = QUOTED_FIELD_END;
+                            end = endField(b, i, untilRecords);
+                        }
+                        break;
+                    default:
+                        // an unquoted field, or the end of a quoted field
+                        end = endField(b, i, untilRecords);
+                        break;
+                }
+                if (end >= 0) {
+                    return end;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Handles a byte after the content of a field, which ends the field at a delimiter and the row at a line break.
+         *
+         * @return the index after the end of the last row to be scanned, or -1 if the scan continues
+         */
+        private int endField(byte b, int i, long untilRecords) {
+            if (b == delimiter) {
+                state = FIELD_START;
+            } else if (b == NEWLINE || b == CR) {
+                return endRow(b, i, untilRecords);
+            }
+            return -1;
+        }
+
+        /**
+         * Ends the row at a line break, an empty line is not a row.
+         *
+         * @return the index after the end of the last row to be scanned, or -1 if the scan continues
+         */
+        private int endRow(byte b, int i, long untilRecords) {
+            if (b == CR) {
+                skipLineFeed = true;
+            }
+            state = FIELD_START;
+            line++;
+            if (!inRow) {
+                return -1;
+            }
+            inRow = false;
+            records++;
+            if (records != untilRecords) {
+                return -1;
+            }
+            if (b == CR) {
+                // the scan stops after the line feed following the CR, if any
+                pendingEnd = true;
+                return -1;
+            }
+            return i + 1;
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeByte(delimiter);
+            out.writeBoolean(quotedString);
+            out.writeBoolean(trimLeadingSpace);
+            out.writeInt(state);
+            out.writeBoolean(inRow);
+            out.writeBoolean(skipLineFeed);
+            out.writeBoolean(pendingEnd);
+            out.writeLong(line);
+            out.writeLong(records);
+        }
+
+        /**
+         * Reads the state written by {@link #write(DataOutputStream)}.
+         *
+         * @return {@code false} if the state was written for different options
+         */
+        boolean read(DataInputStream in) throws IOException {
+            if (in.readByte() != delimiter || in.readBoolean() != quotedString ||
+                    in.readBoolean() != trimLeadingSpace) {
+                return false;
+            }
+            state = in.readInt();
+            inRow = in.readBoolean();
+            skipLineFeed = in.readBoolean();
+            pendingEnd = in.readBoolean();
+            line = in.readLong();
+            records = in.readLong();
+            return true;
+        }
+    }
+}
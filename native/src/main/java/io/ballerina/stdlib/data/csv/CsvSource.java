@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Random access view of encoded CSV content, which is either in memory or in a file.
+ * <p>
+ * Content is read as slices so that different regions can be read by different threads, and a file is never
+ * read to the heap as a whole.
+ *
+ * @since 0.1.0
+ */
+abstract class CsvSource implements Closeable {
+
+    /**
+     * Returns the size of the content in bytes.
+     */
+    abstract long size();
+
+    /**
+     * Returns a buffer with the content of the given region, the returned buffer is not shared with other callers.
+     */
+    abstract ByteBuffer slice(long position, int length) throws IOException;
+
+    @Override
+    public void close() throws IOException {
+    }
+
+    static CsvSource of(byte[] bytes) {
+        return new ByteArraySource(bytes);
+    }
+
+    static CsvSource of(Path path) throws IOException {
+        return new FileSource(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    private static class ByteArraySource extends CsvSource {
+
+        private final byte[] bytes;
+
+        ByteArraySource(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        long size() {
+            return bytes.length;
+        }
+
+        @Override
+        ByteBuffer slice(long position, int length) {
+            return ByteBuffer.wrap(bytes, (int) position, length).slice();
+        }
+    }
+
+    /**
+     * Reads a file through memory mapped regions, so files larger than 2GB are supported.
+     */
+    private static class FileSource extends CsvSource {
+
+        private final FileChannel channel;
+        private final long size;
+
+        FileSource(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        @Override
+        long size() {
+            return size;
+        }
+
+        @Override
+        ByteBuffer slice(long position, int length) throws IOException {
+            return channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
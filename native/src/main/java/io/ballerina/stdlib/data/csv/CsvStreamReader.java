@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.csv;
+
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.Future;
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.async.Callback;
+import io.ballerina.runtime.api.async.StrandMetadata;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BStream;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.data.utils.DataUtils;
+import io.ballerina.stdlib.data.utils.ModuleUtils;
+
+/**
+ * Reads CSV content from a Ballerina `stream<byte[], error?>`, one chunk at a time.
+ * <p>
+ * Only the unfinished row of the current chunk and the rows read from it are kept in memory. Therefore, the memory
+ * usage of a row stream depends on the size of the rows, not the size of the content.
+ *
+ * @since 0.1.0
+ */
+public class CsvStreamReader {
+
+    private static final String ROW_STREAM_CLASS = "RowStream";
+    private static final String STATE_MACHINE = "stateMachine";
+    private static final String ROW_QUEUE = "rowQueue";
+    private static final String NEXT_METHOD = "next";
+    private static final BString VALUE = StringUtils.fromString("value");
+
+    /**
+     * Creates a lazy `stream<T, csv:ConversionError?>` which reads a row from the source only when requested.
+     */
+    static BStream createRowStream(BStream source, CsvConfig config, Type rowType)
+            throws CsvParser.CsvParserException {
+        CsvCreator.RowQueue rowQueue = new CsvCreator.RowQueue(rowType, config);
+        BObject rowStream = ValueCreator.createObjectValue(ModuleUtils.getCsvModule(), ROW_STREAM_CLASS, source);
+        rowStream.addNativeData(ROW_QUEUE, rowQueue);
+        rowStream.addNativeData(STATE_MACHINE, new CsvParser.StateMachine(config, rowQueue));
+        return ValueCreator.createStreamValue(TypeCreator.createStreamType(rowType, CompletionType.TYPE), rowStream);
+    }
+
+    /**
+     * Returns the next row already read from the source, or `()` if more content is needed.
+     */
+    static Object nextRow(BObject rowStream) {
+        return ((CsvCreator.RowQueue) rowStream.getNativeData(ROW_QUEUE)).poll();
+    }
+
+    /**
+     * Reads the result of a `next()` call of the source stream. `()` or an error marks the end of the content.
+     */
+    static Object readChunk(BObject rowStream, Object chunk) {
+        CsvParser.StateMachine sm = (CsvParser.StateMachine) rowStream.getNativeData(STATE_MACHINE);
+        try {
+            if (chunk instanceof BError) {
+                return DataUtils.getCsvError("error reading CSV stream: " + ((BError) chunk).getMessage(),
+                        sm.line, 0);
+            }
+            readChunk(sm, chunk);
+            return null;
+        } catch (CsvParser.CsvParserException e) {
+            return DataUtils.getCsvError(e.getMessage(), e.line, e.column);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void readChunk(CsvParser.StateMachine sm, Object chunk) throws CsvParser.CsvParserException {
+        if (chunk == null) {
+            sm.end();
+            return;
+        }
+        BArray bytes = (BArray) ((BMap<BString, Object>) chunk).get(VALUE);
+        sm.feed(bytes.getBytes(), 0, bytes.size());
+    }
+
+    /**
+     * Reads the complete source stream into a CSV data set asynchronously.
+     */
+    static void readDataSet(Environment env, BStream source, CsvConfig config, Type type)
+            throws CsvParser.CsvParserException {
+        CsvCreator.DataSetHandler builder = CsvCreator.createDataSetBuilder(type, config);
+        DataSetReader reader = new DataSetReader(env, source.getIteratorObj(),
+                new CsvParser.StateMachine(config, builder), builder);
+        reader.readNext();
+    }
+
+    /**
+     * Holds `csv:ConversionError?`, the completion type of a row stream. Created on first use, as the type of
+     * `csv:ConversionError` is known only after the module is initialized.
+     */
+    private static class CompletionType {
+
+        static final Type TYPE = TypeCreator.createUnionType(DataUtils.getCsvError("", 0, 0).getType(),
+                PredefinedTypes.TYPE_NULL);
+    }
+
+    /**
+     * Pulls the chunks from the source stream one after the other and completes the strand at the end.
+     */
+    private static class DataSetReader implements Callback {
+
+        private final Environment env;
+        private final Future future;
+        private final BObject iterator;
+        private final CsvParser.StateMachine sm;
+        private final CsvCreator.DataSetHandler builder;
+        private final StrandMetadata metadata;
+
+        DataSetReader(Environment env, BObject iterator, CsvParser.StateMachine sm,
+                      CsvCreator.DataSetHandler builder) {
+            Module module = ModuleUtils.getCsvModule();
+            this.env = env;
+            this.future = env.markAsync();
+            this.iterator = iterator;
+            this.sm = sm;
+            this.builder = builder;
+            this.metadata = new StrandMetadata(module.getOrg(), module.getName(), module.getMajorVersion(),
+                    NEXT_METHOD);
+        }
+
+        void readNext() {
+            env.getRuntime().invokeMethodAsyncSequentially(iterator, NEXT_METHOD, null, metadata, this, null,
+                    PredefinedTypes.TYPE_ANY);
+        }
+
+        @Override
+        public void notifySuccess(Object result) {
+            if (result instanceof BError) {
+                notifyFailure((BError) result);
+                return;
+            }
+            try {
+                readChunk(sm, result);
+                if (result == null) {
+                    future.complete(builder.getDataSet());
+                    return;
+                }
+            } catch (CsvParser.CsvParserException e) {
+                fail(DataUtils.getCsvError(e.getMessage(), e.line, e.column));
+                return;
+            } catch (RuntimeException e) {
+                fail(DataUtils.getCsvError(e.getMessage() == null ? e.toString() : e.getMessage(), sm.line, 0));
+                return;
+            }
+            readNext();
+        }
+
+        @Override
+        public void notifyFailure(BError error) {
+            fail(DataUtils.getCsvError("error reading CSV stream: " + error.getMessage(), sm.line, 0));
+        }
+
+        /**
+         * Closes the source stream, which is not read to the end, and completes the strand with the error.
+         */
+        private void fail(BError error) {
+            DataUtils.closeIterator(env, iterator, ModuleUtils.getCsvModule(), () -> future.complete(error));
+        }
+    }
+}
@@ -0,0 +1,465 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.csv;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Writes a CSV data set as CSV content.
+ * <p>
+ * The rows are written directly to a {@link CsvOutput}. A value is quoted only if it contains the delimiter, a quote
+ * or a line break, or starts or ends with a space, which is decided with a lookup table for ASCII characters. The rows
+ * can be written in chunks, so that a large data set is never written to a single buffer.
+ *
+ * @since 0.1.0
+ */
+public class CsvWriter {
+
+    private static final char QUOTES = '"';
+    private static final String ESCAPED_QUOTES = "\"\"";
+    // Minimum size of a chunk of `toCsvStream`, a chunk ends at the end of a row.
+    static final int CHUNK_SIZE = 64 * 1024;
+    private static final String WRITER = "writer";
+    private static final String OUTPUT = "output";
+    // Data sets with fewer rows than this are written sequentially as splitting doesn't pay off.
+    static final int PARALLEL_THRESHOLD = 64 * 1024;
+    private static final int MIN_BLOCK_ROWS = 8 * 1024;
+    private static final int BLOCKS_PER_PROCESSOR = 4;
+    private static final int PROCESSORS = Runtime.getRuntime().availableProcessors();
+
+    private final CsvWriterConfig config;
+    private final Rows rows;
+    // Whether an ASCII character requires a value to be quoted.
+    private final boolean[] quoteChars = new boolean[128];
+    private int nextRow = 0;
+    private boolean headersWritten = false;
+    // Number of rows of the first chunk of a stream, used as the size of the chunks written in parallel.
+    private int rowsPerChunk = 0;
+    private final Deque<byte[]> pendingChunks = new ArrayDeque<>();
+
+    CsvWriter(Object csv, CsvWriterConfig config) throws CsvParser.CsvParserException {
+        this.config = config;
+        this.rows = Rows.of(csv);
+        quoteChars[QUOTES] = true;
+        quoteChars['\n'] = true;
+        quoteChars['\r'] = true;
+        if (config.delimiter < 128) {
+            quoteChars[config.delimiter] = true;
+        }
+        validateHeaders();
+    }
+
+    private void validateHeaders() throws CsvParser.CsvParserException {
+        if (config.headersFromData && rows.getHeaders() == null) {
+            throw new CsvParser.CsvParserException("headers are not available in a 'csv:DataSet'", 0, 0);
+        }
+        if (config.headerRows == null || rows.size() == 0) {
+            return;
+        }
+        int columns = rows.columns(0);
+        for (int i = 0; i < config.headerRows.size(); i++) {
+            int headerColumns = ((BArray) config.headerRows.get(i)).size();
+            if (headerColumns != columns) {
+                throw new CsvParser.CsvParserException("expected " + columns + " columns in the header row, found " +
+                        headerColumns, i + 1, 0);
+            }
+        }
+    }
+
+    /**
+     * Writes the complete data set to the output. The rows of a large data set are written as blocks in parallel, and
+     * the blocks are appended to the output in order.
+     */
+    void writeAll(CsvOutput out) {
+        int remaining = rows.size() - nextRow;
+        if (!canWriteInParallel(out, remaining)) {
+            write(out, Integer.MAX_VALUE);
+            return;
+        }
+        write(out, 0);
+        int blockRows = Math.max(MIN_BLOCK_ROWS, remaining / (PROCESSORS * BLOCKS_PER_PROCESSOR));
+        for (CsvOutput block : writeBlocks(out, nextRow, rows.size(), blockRows)) {
+            out.write(block);
+        }
+        nextRow = rows.size();
+    }
+
+    /**
+     * Returns the next chunk of the content, or `null` if all the rows are written. After the first chunk, the chunks
+     * of a large data set are written in parallel, a batch of chunks at a time.
+     */
+    byte[] nextChunk(CsvOutput out) {
+        if (!pendingChunks.isEmpty()) {
+            return pendingChunks.poll();
+        }
+        if (!hasNext()) {
+            return null;
+        }
+        int remaining = rows.size() - nextRow;
+        if (rowsPerChunk > 0 && canWriteInParallel(out, remaining)) {
+            int end = (int) Math.min(rows.size(), nextRow + (long) rowsPerChunk * PROCESSORS * BLOCKS_PER_PROCESSOR);
+            for (CsvOutput block : writeBlocks(out, nextRow, end, rowsPerChunk)) {
+                pendingChunks.add(block.toByteArray());
+            }
+            nextRow = end;
+            return pendingChunks.poll();
+        }
+        int start = nextRow;
+        write(out, CHUNK_SIZE);
+        if (rowsPerChunk == 0) {
+            rowsPerChunk = Math.max(1, nextRow - start);
+        }
+        // the output is empty for an empty data set without headers
+        return out.size() == 0 ? null : out.flush();
+    }
+
+    private boolean canWriteInParallel(CsvOutput out, int rowCount) {
+        // a block of a stateful encoding would start with its own byte order mark
+        return rowCount >= PARALLEL_THRESHOLD && PROCESSORS > 1 && out.isAsciiCompatible();
+    }
+
+    /**
+     * Writes the rows of the given range as blocks of {@code blockRows} rows in parallel. The configuration, the
+     * quoting table and the rows are only read while writing the blocks.
+     */
+    private List<CsvOutput> writeBlocks(CsvOutput out, int start, int end, int blockRows) {
+        List<BlockWriter> blockWriters = new ArrayList<>();
+        for (int blockStart = start; blockStart < end; blockStart += blockRows) {
+            blockWriters.add(new BlockWriter(out.newOutput(), blockStart, Math.min(end, blockStart + blockRows)));
+        }
+        ForkJoinTask.invokeAll(blockWriters);
+        List<CsvOutput> blocks = new ArrayList<>(blockWriters.size());
+        for (BlockWriter blockWriter : blockWriters) {
+            blocks.add(blockWriter.out);
+        }
+        return blocks;
+    }
+
+    /**
+     * Keeps the writer of a `toCsvStream` call as the native data of the stream iterator.
+     */
+    static void initChunkStream(BObject chunkStream, CsvWriter writer, CsvWriterConfig config) {
+        chunkStream.addNativeData(WRITER, writer);
+        chunkStream.addNativeData(OUTPUT, new CsvOutput(config.encoding, CHUNK_SIZE * 2));
+    }
+
+    /**
+     * Returns the next chunk of a `toCsvStream` call, or `null` if all the rows are written.
+     */
+    static BArray nextChunk(BObject chunkStream) {
+        CsvWriter writer = (CsvWriter) chunkStream.getNativeData(WRITER);
+        byte[] chunk = writer.nextChunk((CsvOutput) chunkStream.getNativeData(OUTPUT));
+        return chunk == null ? null : ValueCreator.createArrayValue(chunk);
+    }
+
+    /**
+     * Writes the headers and the rows not written yet until the output has at least {@code limit} bytes.
+     *
+     * @return {@code true} if there are more rows to be written
+     */
+    boolean write(CsvOutput out, int limit) {
+        if (!headersWritten) {
+            writeHeaders(out);
+            headersWritten = true;
+        }
+        int size = rows.size();
+        while (nextRow < size && out.size() < limit) {
+            writeRow(out, nextRow++);
+        }
+        return nextRow < size;
+    }
+
+    private void writeRows(CsvOutput out, int start, int end) {
+        for (int row = start; row < end; row++) {
+            writeRow(out, row);
+        }
+    }
+
+    boolean hasNext() {
+        return !headersWritten || nextRow < rows.size();
+    }
+
+    private void writeHeaders(CsvOutput out) {
+        if (config.headerRows != null) {
+            for (int i = 0; i < config.headerRows.size(); i++) {
+                BArray headerRow = (BArray) config.headerRows.get(i);
+                for (int j = 0; j < headerRow.size(); j++) {
+                    if (j > 0) {
+                        out.write(config.separator);
+                    }
+                    writeString(out, headerRow.getBString(j).getValue());
+                }
+                out.write(config.lineSeparator);
+            }
+        } else if (config.headersFromData) {
+            BString[] headers = rows.getHeaders();
+            for (int i = 0; i < headers.length; i++) {
+                if (i > 0) {
+                    out.write(config.separator);
+                }
+                writeString(out, headers[i].getValue());
+            }
+            out.write(config.lineSeparator);
+        }
+    }
+
+    private void writeRow(CsvOutput out, int row) {
+        int columns = rows.columns(row);
+        for (int i = 0; i < columns; i++) {
+            if (i > 0) {
+                out.write(config.separator);
+            }
+            writeValue(out, rows.get(row, i));
+        }
+        out.write(config.lineSeparator);
+    }
+
+    private void writeValue(CsvOutput out, Object value) {
+        if (value == null) {
+            // nil is an empty field
+            return;
+        }
+        if (value instanceof BString) {
+            writeString(out, ((BString) value).getValue());
+        } else if (value instanceof Long) {
+            out.write((long) value);
+        } else if (value instanceof Boolean) {
+            out.write((Boolean) value ? "true" : "false");
+        } else if (value instanceof Double || value instanceof BDecimal) {
+            out.write(StringUtils.getStringValue(value));
+        } else {
+            writeString(out, StringUtils.getStringValue(value));
+        }
+    }
+
+    private void writeString(CsvOutput out, String value) {
+        if (value.isEmpty()) {
+            // an empty string is written as an empty field, unless it is distinguished from nil
+            if (config.quotedString && !config.emptyAsNil) {
+                out.write(ESCAPED_QUOTES);
+            }
+            return;
+        }
+        if (!config.quotedString || !requiresQuotes(value)) {
+            out.write(value);
+            return;
+        }
+        out.write(QUOTES);
+        out.write(value.indexOf(QUOTES) < 0 ? value : value.replace("\"", ESCAPED_QUOTES));
+        out.write(QUOTES);
+    }
+
+    private boolean requiresQuotes(String value) {
+        int length = value.length();
+        // leading and trailing spaces are trimmed when reading unquoted values
+        if (isWhitespace(value.charAt(0)) || isWhitespace(value.charAt(length - 1))) {
+            return true;
+        }
+        for (int i = 0; i < length; i++) {
+            char ch = value.charAt(i);
+            if (ch < 128 ? quoteChars[ch] : ch == config.delimiter) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWhitespace(char ch) {
+        return ch == ' ' || ch == '\t';
+    }
+
+    /**
+     * Writes a block of rows to its own output.
+     */
+    private class BlockWriter extends RecursiveAction {
+
+        private final CsvOutput out;
+        private final int start;
+        private final int end;
+
+        BlockWriter(CsvOutput out, int start, int end) {
+            this.out = out;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            writeRows(out, start, end);
+        }
+    }
+
+    /**
+     * Row based view of the different CSV data set representations.
+     */
+    private abstract static class Rows {
+
+        abstract int size();
+
+        abstract int columns(int row);
+
+        abstract Object get(int row, int column);
+
+        /**
+         * Returns the column names, `null` if the data set doesn't have names for the columns.
+         */
+        abstract BString[] getHeaders();
+
+        @SuppressWarnings("unchecked")
+        static Rows of(Object csv) throws CsvParser.CsvParserException {
+            if (csv instanceof BTable) {
+                return new MappingRows(((BTable<?, Object>) csv).values().toArray());
+            } else if (csv instanceof BMap) {
+                return new ColumnarRows((BMap<BString, Object>) csv);
+            } else if (!(csv instanceof BArray)) {
+                throw new CsvParser.CsvParserException("unsupported CSV data set", 0, 0);
+            }
+            BArray dataSet = (BArray) csv;
+            if (dataSet.size() > 0 && dataSet.get(0) instanceof BMap) {
+                Object[] values = new Object[dataSet.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = dataSet.get(i);
+                }
+                return new MappingRows(values);
+            }
+            return new ListRows(dataSet);
+        }
+    }
+
+    private static class ListRows extends Rows {
+
+        private final BArray dataSet;
+
+        ListRows(BArray dataSet) {
+            this.dataSet = dataSet;
+        }
+
+        @Override
+        int size() {
+            return dataSet.size();
+        }
+
+        @Override
+        int columns(int row) {
+            return ((BArray) dataSet.get(row)).size();
+        }
+
+        @Override
+        Object get(int row, int column) {
+            return ((BArray) dataSet.get(row)).get(column);
+        }
+
+        @Override
+        BString[] getHeaders() {
+            return null;
+        }
+    }
+
+    /**
+     * Rows of a mapping data set, the columns are the keys of the first row in the order of the keys.
+     */
+    private static class MappingRows extends Rows {
+
+        private final Object[] rows;
+        private final BString[] keys;
+
+        @SuppressWarnings("unchecked")
+        MappingRows(Object[] rows) {
+            this.rows = rows;
+            this.keys = rows.length == 0 ? new BString[0] : ((BMap<BString, Object>) rows[0]).getKeys();
+        }
+
+        @Override
+        int size() {
+            return rows.length;
+        }
+
+        @Override
+        int columns(int row) {
+            return keys.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Object get(int row, int column) {
+            return ((BMap<BString, Object>) rows[row]).get(keys[column]);
+        }
+
+        @Override
+        BString[] getHeaders() {
+            return keys;
+        }
+    }
+
+    /**
+     * Rows of a columnar data set, a shorter column has nil values for the last rows.
+     */
+    private static class ColumnarRows extends Rows {
+
+        private final BString[] keys;
+        private final BArray[] columns;
+        private final int size;
+
+        ColumnarRows(BMap<BString, Object> dataSet) {
+            this.keys = dataSet.getKeys();
+            this.columns = new BArray[keys.length];
+            int size = 0;
+            for (int i = 0; i < keys.length; i++) {
+                columns[i] = (BArray) dataSet.get(keys[i]);
+                size = Math.max(size, columns[i].size());
+            }
+            this.size = size;
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+
+        @Override
+        int columns(int row) {
+            return columns.length;
+        }
+
+        @Override
+        Object get(int row, int column) {
+            BArray values = columns[column];
+            return row < values.size() ? values.get(row) : null;
+        }
+
+        @Override
+        BString[] getHeaders() {
+            return keys;
+        }
+    }
+}
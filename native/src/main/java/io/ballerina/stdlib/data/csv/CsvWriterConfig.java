@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.csv;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static io.ballerina.stdlib.data.csv.CsvConfig.EMPTY_AS_NIL;
+import static io.ballerina.stdlib.data.csv.CsvConfig.QUOTED_STRING;
+import static io.ballerina.stdlib.data.csv.CsvConfig.getBoolean;
+import static io.ballerina.stdlib.data.csv.CsvConfig.getDelimiter;
+import static io.ballerina.stdlib.data.csv.CsvConfig.getEncoding;
+
+/**
+ * Holds the `csv:ToOptions` given for writing a CSV data set.
+ *
+ * @since 0.1.0
+ */
+public class CsvWriterConfig {
+
+    private static final BString LINE_SEPARATOR = StringUtils.fromString("lineSeparator");
+    private static final BString DELIMITER_SUFFIX = StringUtils.fromString("delimiterSuffix");
+    private static final BString HEADERS = StringUtils.fromString("headers");
+
+    final Charset encoding;
+    final char delimiter;
+    // The delimiter followed by the delimiter suffix.
+    final String separator;
+    final boolean quotedString;
+    final boolean emptyAsNil;
+    final String lineSeparator;
+    // Whether the headers are written from the keys of a mapping data set.
+    final boolean headersFromData;
+    // Header rows given by the user, `null` if not given.
+    final BArray headerRows;
+
+    private CsvWriterConfig(Charset encoding, char delimiter, String delimiterSuffix, boolean quotedString,
+                            boolean emptyAsNil, String lineSeparator, boolean headersFromData, BArray headerRows) {
+        this.encoding = encoding;
+        this.delimiter = delimiter;
+        this.separator = delimiter + delimiterSuffix;
+        this.quotedString = quotedString;
+        this.emptyAsNil = emptyAsNil;
+        this.lineSeparator = lineSeparator;
+        this.headersFromData = headersFromData;
+        this.headerRows = headerRows;
+    }
+
+    @SuppressWarnings("unchecked")
+    static CsvWriterConfig fromOptions(BMap<BString, Object> options) throws CsvParser.CsvParserException {
+        if (options == null) {
+            return new CsvWriterConfig(StandardCharsets.UTF_8, ',', "", true, true, "\n", false, null);
+        }
+        Object headers = options.get(HEADERS);
+        BArray headerRows = headers instanceof BMap ? ((BMap<BString, Object>) headers).getArrayValue(HEADERS) : null;
+        // the options shared with `csv:FromOptions` are read the same as for a conversion
+        return new CsvWriterConfig(getEncoding(options), getDelimiter(options),
+                getString(options, DELIMITER_SUFFIX, ""), getBoolean(options, QUOTED_STRING, true),
+                getBoolean(options, EMPTY_AS_NIL, true), getString(options, LINE_SEPARATOR, "\n"),
+                Boolean.TRUE.equals(headers), headerRows);
+    }
+
+    private static String getString(BMap<BString, Object> options, BString key, String defaultValue) {
+        Object value = options.get(key);
+        return value == null ? defaultValue : value.toString();
+    }
+}
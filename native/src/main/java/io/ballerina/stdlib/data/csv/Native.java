@@ -18,43 +18,210 @@
 
 package io.ballerina.stdlib.data.csv;
 
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.TypeTags;
 import io.ballerina.runtime.api.creators.ValueCreator;
-import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BStream;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTypedesc;
+import io.ballerina.stdlib.data.metrics.ConversionRecorder;
+import io.ballerina.stdlib.data.utils.DataUtils;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
 
 /**
  * Native implementation of csv conversion.
  */
 public class Native {
 
+    private static final String FROM_CSV_STRING = "csv:fromCsvStringWithType";
+    private static final String FROM_CSV_BYTES = "csv:fromCsvBytesWithType";
+    private static final String FROM_CSV_FILE = "csv:fromCsvFileWithType";
+    private static final String FROM_CSV_FILE_PAGE = "csv:fromCsvFilePageWithType";
+    private static final String TO_STRING = "csv:toString";
+    private static final String TO_CSV_BYTES = "csv:toCsvBytes";
+
     /**
      * Converts a CSV string to a CSV Array.
      *
-     * @param string
-     * @param options
-     * @return
+     * @param string  CSV content
+     * @param options `csv:FromOptions` given for the conversion
+     * @param typed   expected CSV data set type
+     * @return CSV data set of the expected type or a `csv:ConversionError`
      */
     public static Object fromCsvStringWithType(BString string, BMap<BString, Object> options, BTypedesc typed) {
-        BArray value = ValueCreator.createArrayValue(new BString[0]);
-        return ValueCreator.createArrayValue(new Object[]{value}, (ArrayType) value.getType());
+        ConversionRecorder recorder = ConversionRecorder.start(FROM_CSV_STRING, typed, Native::getTargetType,
+                string.length());
+        try {
+            CsvConfig config = CsvConfig.fromOptions(options);
+            Object dataSet = CsvParser.parse(new StringReader(string.getValue()), config, typed.getDescribingType());
+            recorder.recordValue(dataSet);
+            return dataSet;
+        } catch (CsvParser.CsvParserException e) {
+            recorder.recordError(e);
+            return DataUtils.getCsvError(e.getMessage(), e.line, e.column);
+        }
     }
 
     public static Object fromCsvBytesWithType(BArray array, BMap<BString, Object> options, BTypedesc typed) {
-        BArray value = ValueCreator.createArrayValue(new BString[0]);
-        return ValueCreator.createArrayValue(new Object[]{value}, (ArrayType) value.getType());
+        ConversionRecorder recorder = ConversionRecorder.start(FROM_CSV_BYTES, typed, Native::getTargetType,
+                array.size());
+        try {
+            CsvConfig config = CsvConfig.fromOptions(options);
+            Object dataSet = CsvParallelParser.parse(CsvSource.of(array.getBytes()), config,
+                    typed.getDescribingType());
+            recorder.recordValue(dataSet);
+            return dataSet;
+        } catch (CsvParser.CsvParserException e) {
+            recorder.recordError(e);
+            return DataUtils.getCsvError(e.getMessage(), e.line, e.column);
+        }
+    }
+
+    public static Object fromCsvFileWithType(BString path, BMap<BString, Object> options, BTypedesc typed) {
+        ConversionRecorder recorder = ConversionRecorder.start(FROM_CSV_FILE, typed, Native::getTargetType, 0);
+        try {
+            CsvConfig config = CsvConfig.fromOptions(options);
+            try (CsvSource source = CsvSource.of(Paths.get(path.getValue()))) {
+                Object dataSet = CsvParallelParser.parse(source, config, typed.getDescribingType());
+                recorder.setInputSize(source.size());
+                recorder.recordValue(dataSet);
+                return dataSet;
+            }
+        } catch (CsvParser.CsvParserException e) {
+            recorder.recordError(e);
+            return DataUtils.getCsvError(e.getMessage(), e.line, e.column);
+        } catch (IOException | InvalidPathException e) {
+            recorder.recordError(e);
+            return DataUtils.getCsvError("error reading CSV file '" + path + "': " + e.getMessage(), 0, 0);
+        }
+    }
+
+    public static Object fromCsvFilePageWithType(BString path, long startRow, long rowCount,
+                                                 BMap<BString, Object> options, boolean persistIndex,
+                                                 BTypedesc typed) {
+        // only the rows of the page are read from the file
+        ConversionRecorder recorder = ConversionRecorder.start(FROM_CSV_FILE_PAGE, typed, Native::getTargetType, 0);
+        try {
+            CsvConfig config = CsvConfig.fromOptions(options);
+            Object dataSet = CsvRowIndex.readPage(Paths.get(path.getValue()), startRow, rowCount, config,
+                    typed.getDescribingType(), persistIndex);
+            recorder.recordValue(dataSet);
+            return dataSet;
+        } catch (CsvParser.CsvParserException e) {
+            recorder.recordError(e);
+            return DataUtils.getCsvError(e.getMessage(), e.line, e.column);
+        } catch (InvalidPathException e) {
+            recorder.recordError(e);
+            return DataUtils.getCsvError("error reading CSV file '" + path + "': " + e.getMessage(), 0, 0);
+        }
+    }
+
+    public static Object fromCsvByteSteamWithType(Environment env, BStream stream, BMap<BString, Object> options,
+                                                  BTypedesc typed) {
+        try {
+            CsvConfig config = CsvConfig.fromOptions(options);
+            CsvStreamReader.readDataSet(env, stream, config, typed.getDescribingType());
+            return null;
+        } catch (CsvParser.CsvParserException e) {
+            return DataUtils.getCsvError(e.getMessage(), e.line, e.column);
+        }
+    }
+
+    public static Object fromCsvStreamWithRowType(BStream stream, BMap<BString, Object> options, BTypedesc typed) {
+        try {
+            return CsvStreamReader.createRowStream(stream, CsvConfig.fromOptions(options), typed.getDescribingType());
+        } catch (CsvParser.CsvParserException e) {
+            return DataUtils.getCsvError(e.getMessage(), e.line, e.column);
+        }
+    }
+
+    public static Object nextRow(BObject rowStream) {
+        return CsvStreamReader.nextRow(rowStream);
+    }
+
+    public static Object readChunk(BObject rowStream, Object chunk) {
+        return CsvStreamReader.readChunk(rowStream, chunk);
     }
 
-    public static Object fromCsvByteSteamWithType(BStream stream, BMap<BString, Object> options, BTypedesc typed) {
-        BArray value = ValueCreator.createArrayValue(new BString[0]);
-        return ValueCreator.createArrayValue(new Object[]{value}, (ArrayType) value.getType());
+    public static Object toString(Object csv, BMap<BString, Object> options) {
+        ConversionRecorder recorder = ConversionRecorder.start(TO_STRING, csv, Native::getSourceType, 0);
+        try {
+            // the `encoding` option is not used for a string
+            CsvOutput out = new CsvOutput(StandardCharsets.UTF_8);
+            new CsvWriter(csv, CsvWriterConfig.fromOptions(options)).writeAll(out);
+            BString string = StringUtils.fromString(out.toUtf8String());
+            recorder.setInputSize(string.length());
+            recorder.recordValue(csv);
+            return string;
+        } catch (CsvParser.CsvParserException e) {
+            recorder.recordError(e);
+            return DataUtils.getCsvError(e.getMessage(), e.line, e.column);
+        }
+    }
+
+    public static Object toCsvBytes(Object csv, BMap<BString, Object> options) {
+        ConversionRecorder recorder = ConversionRecorder.start(TO_CSV_BYTES, csv, Native::getSourceType, 0);
+        try {
+            CsvWriterConfig config = CsvWriterConfig.fromOptions(options);
+            CsvOutput out = new CsvOutput(config.encoding);
+            new CsvWriter(csv, config).writeAll(out);
+            byte[] bytes = out.toByteArray();
+            recorder.setInputSize(bytes.length);
+            recorder.recordValue(csv);
+            return ValueCreator.createArrayValue(bytes);
+        } catch (CsvParser.CsvParserException e) {
+            recorder.recordError(e);
+            return DataUtils.getCsvError(e.getMessage(), e.line, e.column);
+        }
+    }
+
+    public static Object initWriter(BObject chunkStream, Object csv, BMap<BString, Object> options) {
+        try {
+            CsvWriterConfig config = CsvWriterConfig.fromOptions(options);
+            CsvWriter.initChunkStream(chunkStream, new CsvWriter(csv, config), config);
+            return null;
+        } catch (CsvParser.CsvParserException e) {
+            return DataUtils.getCsvError(e.getMessage(), e.line, e.column);
+        }
+    }
+
+    public static Object nextChunk(BObject chunkStream) {
+        return CsvWriter.nextChunk(chunkStream);
+    }
+
+    /**
+     * Returns the type the metrics of a conversion are recorded for, which is the row type of a list or a table of
+     * rows, as the skipped fields are counted per row. Resolved only when the conversion is recorded.
+     */
+    private static Type getTargetType(BTypedesc typed) {
+        return getRowType(typed.getDescribingType());
+    }
+
+    /**
+     * Returns the type the metrics of a conversion to CSV are recorded for, which is the row type of the written
+     * data set.
+     */
+    private static Type getSourceType(Object csv) {
+        return getRowType(TypeUtils.getType(csv));
     }
 
-    public static BString toString(Object string, BMap<BString, Object> options) {
-        return null;
+    private static Type getRowType(Type dataSetType) {
+        Type type = TypeUtils.getReferredType(dataSetType);
+        if (type.getTag() == TypeTags.ARRAY_TAG || type.getTag() == TypeTags.TABLE_TAG) {
+            return CsvCreator.getRowType(type);
+        }
+        return type;
     }
 
 }
@@ -138,6 +138,7 @@ public class JsonCreator {
             throw new JsonParser.JsonParserException("expected record type for input type");
         }
         sm.currentJsonNode = ValueCreator.createRecordValue(sm.rootRecord);
+        sm.startContainer(false);
         return FIRST_FIELD_READY_STATE;
     }
 
@@ -148,6 +149,7 @@ public class JsonCreator {
             throw new JsonParser.JsonParserException("expected array type for input type");
         }
         sm.currentJsonNode = ValueCreator.createArrayValue(sm.definedJsonArrayType);
+        sm.startContainer(true);
         return FIRST_ARRAY_ELEMENT_READY_STATE;
     }
 
@@ -170,6 +172,7 @@ public class JsonCreator {
         } else {
             throw new JsonParser.JsonParserException("invalid type in field " + getCurrentFieldPath(sm));
         }
+        sm.startContainer(false);
         return FIRST_FIELD_READY_STATE;
     }
 
@@ -179,7 +182,7 @@ public class JsonCreator {
         }
 
         sm.currentJsonNode = ValueCreator.createArrayValue(sm.definedJsonArrayType);
-
+        sm.startContainer(true);
         return FIRST_ARRAY_ELEMENT_READY_STATE;
     }
 
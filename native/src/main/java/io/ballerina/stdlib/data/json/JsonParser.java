@@ -36,10 +36,20 @@ import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTypedesc;
+import io.ballerina.stdlib.data.metrics.ConversionMetrics;
+import io.ballerina.stdlib.data.metrics.ConversionRecorder;
+import io.ballerina.stdlib.data.metrics.DocumentSummary;
+import io.ballerina.stdlib.data.metrics.FieldProfiler;
+import io.ballerina.stdlib.data.utils.ContextPool;
+import io.ballerina.stdlib.data.utils.NumberLexer;
 import org.apache.commons.lang3.StringEscapeUtils;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.HashMap;
@@ -56,12 +66,12 @@ import static io.ballerina.runtime.api.utils.JsonUtils.NonStringValueProcessingM
  */
 public class JsonParser {
 
-    private static ThreadLocal<StateMachine> tlStateMachine = new ThreadLocal<StateMachine>() {
-        @Override
-        public StateMachine initialValue() {
-            return new StateMachine();
-        }
-    };
+    private static final ContextPool<StateMachine> STATE_MACHINES =
+            new ContextPool<>(StateMachine::new, ContextPool.getDefaultCapacity());
+
+    static {
+        ConversionMetrics.registerContextPool("json.parser", STATE_MACHINES);
+    }
 
     private static Object changeForBString(Object jsonObj) {
         if (jsonObj instanceof String) {
@@ -80,16 +90,55 @@ public class JsonParser {
      */
     public static Object parse(Reader reader, JsonUtils.NonStringValueProcessingMode mode, Type type)
             throws BError, JsonParserException {
-        StateMachine sm = tlStateMachine.get();
+        return parse(JsonSource.of(reader), mode, type, null);
+    }
+
+    /**
+     * Parses the contents of the given {@link JsonSource} and returns a json.
+     *
+     * @param source source of the JSON content
+     * @param type   projection type
+     * @return JSON structure
+     * @throws BError for any parsing error
+     */
+    public static Object parse(JsonSource source, Type type) throws JsonParserException {
+        return parse(source, JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING, type, null);
+    }
+
+    /**
+     * Parses the contents of the given {@link JsonSource}, and collects the summary of the content when the
+     * conversion is recorded.
+     *
+     * @param source   source of the JSON content
+     * @param type     projection type
+     * @param recorder recorder of the conversion
+     * @return JSON structure
+     * @throws BError for any parsing error
+     */
+    public static Object parse(JsonSource source, Type type, ConversionRecorder recorder)
+            throws JsonParserException {
+        return parse(source, JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING, type, recorder);
+    }
+
+    private static Object parse(JsonSource source, JsonUtils.NonStringValueProcessingMode mode, Type type,
+                                ConversionRecorder recorder) throws BError, JsonParserException {
+        StateMachine sm = STATE_MACHINES.acquire();
         try {
             sm.setMode(mode);
+            sm.summary = recorder != null ? recorder.getSummary() : null;
+            sm.profile = FieldProfiler.sample(type, sm.profileSample);
 
-            Object out = sm.execute(reader, TypeUtils.getReferredType(type));
+            Object out = sm.execute(source, TypeUtils.getReferredType(type));
             return out;
         } finally {
+            ConversionMetrics.addSkippedFields(type, sm.skippedFields);
+            if (sm.profile != null) {
+                sm.profile.end();
+            }
             // Need to reset the state machine before leaving. Otherwise, references to the created
             // JSON values will be maintained and the java GC will not happen properly.
             sm.reset();
+            STATE_MACHINES.release(sm);
         }
     }
 
@@ -178,8 +227,17 @@ public class JsonParser {
         Deque<Object> nodesStack;
         Deque<String> fieldNames;
 
+        // the buffer grown by a long string is not kept by a pooled state machine
+        static final int CHAR_BUFF_SIZE = 1024;
+        static final int MAX_RETAINED_CHAR_BUFF_SIZE = 64 * 1024;
+        static final int READ_BUFF_SIZE = 4096;
+
         private StringBuilder hexBuilder = new StringBuilder(4);
-        private char[] charBuff = new char[1024];
+        char[] charBuff = new char[CHAR_BUFF_SIZE];
+        // the chunk of the content read from the source, reused by the parses of the pooled state machine
+        final char[] readBuff = new char[READ_BUFF_SIZE];
+        final CharBuffer readCharBuffer = CharBuffer.wrap(readBuff);
+        private CharsetDecoder decoder;
         private int charBuffIndex;
 
         private int index;
@@ -193,6 +251,14 @@ public class JsonParser {
         Type rootArray;
 
         int jsonFieldDepth = 0;
+        // Number of fields not declared by the target type, counted only when the metrics are enabled.
+        long skippedFields;
+        // Summary of the content, collected only when the conversion is recorded.
+        DocumentSummary summary;
+        // Profile of the fields, only when the conversion is sampled by the field profiler.
+        FieldProfiler.Sample profile;
+        // Profile reused by the sampled conversions of the state machine, `null` when the profiler is disabled.
+        final FieldProfiler.Sample profileSample = FieldProfiler.createSample();
 
         StateMachine() {
             reset();
@@ -210,8 +276,43 @@ public class JsonParser {
             this.currentField = null;
             this.restType.clear();
             this.jsonFieldDepth = 0;
+            this.skippedFields = 0;
+            this.summary = null;
+            this.profile = null;
             this.rootRecord = null;
             this.rootArray = null;
+            this.charBuffIndex = 0;
+            if (this.charBuff.length > MAX_RETAINED_CHAR_BUFF_SIZE) {
+                this.charBuff = new char[CHAR_BUFF_SIZE];
+            }
+            if (this.decoder != null) {
+                this.decoder.reset();
+            }
+        }
+
+        /**
+         * Returns the UTF-8 decoder of the byte sources, which replaces the malformed input like a {@link Reader}.
+         */
+        CharsetDecoder getDecoder() {
+            if (decoder == null) {
+                decoder = StandardCharsets.UTF_8.newDecoder()
+                        .onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            }
+            return decoder;
+        }
+
+        /**
+         * Updates the summary and the profile after an object or an array is started, where the root is at depth 1.
+         */
+        void startContainer(boolean array) {
+            int depth = nodesStack.size() + 1;
+            if (summary != null) {
+                summary.updateDepth(depth);
+            }
+            if (profile != null) {
+                profile.startContainer(depth, array);
+            }
         }
 
         private void setMode(JsonUtils.NonStringValueProcessingMode mode) {
@@ -242,7 +343,7 @@ public class JsonParser {
             }
         }
 
-        public Object execute(Reader reader, Type type) throws BError, JsonParserException {
+        public Object execute(JsonSource source, Type type) throws BError, JsonParserException {
             if (type.getTag() == TypeTags.RECORD_TYPE_TAG) {
                 rootRecord = (RecordType) type;
                 this.fieldHierarchy.push(new HashMap<>(rootRecord.getFields()));
@@ -255,9 +356,9 @@ public class JsonParser {
 
             State currentState = DOC_START_STATE;
             try {
-                char[] buff = new char[1024];
+                char[] buff = this.readBuff;
                 int count;
-                while ((count = reader.read(buff)) > 0) {
+                while ((count = source.read(this)) > 0) {
                     this.index = 0;
                     while (this.index < count) {
                         currentState = currentState.transition(this, buff, this.index, count);
@@ -304,6 +405,12 @@ public class JsonParser {
         }
 
         private State finalizeObject() throws JsonParserException {
+            if (profile != null) {
+                profile.endContainer(nodesStack.size() + 1);
+            }
+            if (summary != null && currentJsonNode instanceof BArray) {
+                summary.updateArray(((BArray) currentJsonNode).size());
+            }
             if (this.nodesStack.isEmpty()) {
                 if (currentJsonNode instanceof BArray) {
                     currentJsonNode =
@@ -551,14 +658,30 @@ public class JsonParser {
         }
 
         private String value() {
+            if (summary != null) {
+                summary.updateString(this.charBuffIndex);
+            }
             String result = new String(this.charBuff, 0, this.charBuffIndex);
             this.charBuffIndex = 0;
             return result;
         }
 
+        private boolean isSkippedField() {
+            // only the fields of a rest type other than `anydata` are added to the record
+            Type rest = restType.peek();
+            return rest == null || rest.getTag() == TypeTags.ANYDATA_TAG;
+        }
+
         private String processFieldName() {
             String value = this.value();
             this.fieldNames.push(value);
+            if (summary != null) {
+                summary.addKey();
+            }
+            // the fields of a `json` value are a part of the cost of the field of the value
+            if (profile != null && jsonFieldDepth == 0) {
+                profile.startField(nodesStack.size() + 1, value);
+            }
             return value;
         }
 
@@ -578,6 +701,9 @@ public class JsonParser {
                         String jsonFieldName = sm.processFieldName();
                         if (sm.jsonFieldDepth == 0) {
                             sm.currentField = sm.fieldHierarchy.peek().remove(jsonFieldName);
+                            if (ConversionMetrics.ENABLED && sm.currentField == null && sm.isSkippedField()) {
+                                sm.skippedFields++;
+                            }
                         }
                         state = END_FIELD_NAME_STATE;
                     } else if (ch == REV_SOL) {
@@ -877,9 +1003,10 @@ public class JsonParser {
                 }
             }
 
+            int kind = NumberLexer.lex(str);
             if (str.indexOf('.') >= 0) {
                 try {
-                    double d = Double.parseDouble(str);
+                    double d = parseDouble(str, kind);
                     switch (mode) {
                         case FROM_JSON_FLOAT_STRING:
                             JsonCreator.setValueToJsonType(this, type, d, currentType);
@@ -888,7 +1015,7 @@ public class JsonParser {
                             JsonCreator.setValueToJsonType(this, type, BDecimal.valueOf(d), currentType);
                             break;
                         default:
-                            if (JsonCreator.isNegativeZero(str)) {
+                            if (str.charAt(0) == '-' && d == 0) {
                                 JsonCreator.setValueToJsonType(this, type, d, currentType);
                             } else {
                                 JsonCreator.setValueToJsonType(this, type, BDecimal.valueOf(d), currentType);
@@ -957,18 +1084,25 @@ public class JsonParser {
                     try {
                         switch (mode) {
                             case FROM_JSON_FLOAT_STRING:
-                                JsonCreator.setValueToJsonType(this, type, Double.parseDouble(str), currentType);
+                                JsonCreator.setValueToJsonType(this, type, parseDouble(str, kind), currentType);
                                 break;
                             case FROM_JSON_DECIMAL_STRING:
                                 JsonCreator.setValueToJsonType(this, type,
-                                        BDecimal.valueOf(Double.parseDouble(str)), currentType);
+                                        BDecimal.valueOf(parseDouble(str, kind)), currentType);
                                 break;
                             default:
-                                if (JsonCreator.isNegativeZero(str)) {
+                                if (kind == NumberLexer.INTEGER) {
+                                    long l = NumberLexer.toLong(str);
+                                    if (l == 0 && str.charAt(0) == '-') {
+                                        JsonCreator.setValueToJsonType(this, type, -0.0d, currentType);
+                                    } else {
+                                        JsonCreator.setValueToJsonType(this, type, l, currentType);
+                                    }
+                                } else if (JsonCreator.isNegativeZero(str)) {
                                     JsonCreator.setValueToJsonType(this, type, Double.parseDouble(str),
                                             currentType);
                                 } else {
-                                    JsonCreator.setValueToJsonType(this, type, Long.parseLong(str), currentType);
+                                    throw new JsonParserException("unrecognized token '" + str + "'");
                                 }
                                 break;
                         }
@@ -979,6 +1113,17 @@ public class JsonParser {
             }
         }
 
+        /**
+         * Parses a number classified by {@link NumberLexer}. Only a value which is not a plain number is parsed by
+         * {@link Double#parseDouble(String)}, which throws a {@link NumberFormatException} for an invalid number.
+         */
+        private static double parseDouble(String str, int kind) {
+            if (kind == NumberLexer.INTEGER || kind == NumberLexer.DECIMAL) {
+                return NumberLexer.toDouble(str);
+            }
+            return Double.parseDouble(str);
+        }
+
         /**
          * Represents the state during a non-string value is defined.
          */
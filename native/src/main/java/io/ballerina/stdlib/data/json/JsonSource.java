@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.json;
+
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+
+/**
+ * Source of the JSON content read by the {@link JsonParser}.
+ * <p>
+ * The content is copied in chunks into the read buffer of the pooled state machine of the parser, so a source doesn't
+ * allocate a buffer of its own. A string is copied with {@link String#getChars}, and bytes are decoded as UTF-8 by
+ * the decoder of the state machine, without wrapping the content in a {@link Reader}.
+ *
+ * @since 0.1.0
+ */
+public abstract class JsonSource {
+
+    /**
+     * Returns a source of the given string.
+     */
+    public static JsonSource of(String json) {
+        return new StringSource(json);
+    }
+
+    public static JsonSource of(BString json) {
+        return new StringSource(json.getValue());
+    }
+
+    /**
+     * Returns a source of the given UTF-8 encoded bytes.
+     */
+    public static JsonSource of(byte[] json) {
+        return new ByteBufferSource(ByteBuffer.wrap(json));
+    }
+
+    /**
+     * Returns a source of the remaining UTF-8 encoded bytes of the given heap or direct buffer, which are consumed
+     * by the parser.
+     */
+    public static JsonSource of(ByteBuffer json) {
+        return new ByteBufferSource(json);
+    }
+
+    /**
+     * Returns a source of the content read in chunks from the given reader, e.g. of a stream.
+     */
+    public static JsonSource of(Reader json) {
+        return new ReaderSource(json);
+    }
+
+    /**
+     * Reads the next chunk of the content into the read buffer of the state machine.
+     *
+     * @return the number of characters read, or -1 at the end of the content
+     */
+    abstract int read(JsonParser.StateMachine sm) throws IOException;
+
+    /**
+     * Source of a string.
+     */
+    private static class StringSource extends JsonSource {
+
+        private final String json;
+        private int position;
+
+        StringSource(String json) {
+            this.json = json;
+        }
+
+        @Override
+        int read(JsonParser.StateMachine sm) {
+            int count = Math.min(json.length() - position, sm.readBuff.length);
+            if (count <= 0) {
+                return -1;
+            }
+            json.getChars(position, position + count, sm.readBuff, 0);
+            position += count;
+            return count;
+        }
+    }
+
+    /**
+     * Source of UTF-8 encoded bytes.
+     */
+    private static class ByteBufferSource extends JsonSource {
+
+        private final ByteBuffer json;
+        private boolean flushed;
+
+        ByteBufferSource(ByteBuffer json) {
+            this.json = json;
+        }
+
+        @Override
+        int read(JsonParser.StateMachine sm) throws CharacterCodingException {
+            if (flushed) {
+                return -1;
+            }
+            CharsetDecoder decoder = sm.getDecoder();
+            CharBuffer out = sm.readCharBuffer;
+            out.clear();
+            CoderResult result = decoder.decode(json, out, true);
+            if (!result.isOverflow()) {
+                result = decoder.flush(out);
+                flushed = !result.isOverflow();
+            }
+            if (result.isError()) {
+                result.throwException();
+            }
+            int count = out.position();
+            return count > 0 ? count : -1;
+        }
+    }
+
+    /**
+     * Source of a reader.
+     */
+    private static class ReaderSource extends JsonSource {
+
+        private final Reader json;
+
+        ReaderSource(Reader json) {
+            this.json = json;
+        }
+
+        @Override
+        int read(JsonParser.StateMachine sm) throws IOException {
+            return json.read(sm.readBuff);
+        }
+    }
+}
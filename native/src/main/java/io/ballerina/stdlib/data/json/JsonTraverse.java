@@ -19,6 +19,11 @@ import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTypedesc;
+import io.ballerina.stdlib.data.metrics.ConversionMetrics;
+import io.ballerina.stdlib.data.metrics.ConversionRecorder;
+import io.ballerina.stdlib.data.metrics.DocumentSummary;
+import io.ballerina.stdlib.data.metrics.FieldProfiler;
+import io.ballerina.stdlib.data.utils.ContextPool;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
@@ -33,23 +38,44 @@ import java.util.Stack;
  */
 public class JsonTraverse {
 
-    private static ThreadLocal<JsonTree> tlJsonTree = new ThreadLocal<>() {
-        @Override
-        protected JsonTree initialValue() {
-            return new JsonTree();
-        }
-    };
+    private static final ContextPool<JsonTree> JSON_TREES =
+            new ContextPool<>(JsonTree::new, ContextPool.getDefaultCapacity());
+
+    static {
+        ConversionMetrics.registerContextPool("json.traverse", JSON_TREES);
+    }
 
     public static Object traverse(Object json, BTypedesc typed) {
         return traverse(json, typed.getDescribingType());
     }
 
     public static Object traverse(Object json, Type type) {
-        JsonTree jsonTree = tlJsonTree.get();
+        return traverse(json, type, null);
+    }
+
+    /**
+     * Traverses the given json, and collects the summary of the json when the conversion is recorded.
+     */
+    public static Object traverse(Object json, Type type, ConversionRecorder recorder) {
+        JsonTree jsonTree = JSON_TREES.acquire();
         try {
+            jsonTree.summary = recorder != null ? recorder.getSummary() : null;
+            jsonTree.profile = FieldProfiler.sample(type, jsonTree.profileSample);
+            // the summary and the profile are collected only by the interpretive traversal
+            if (RecordDeserializer.ENABLED && jsonTree.summary == null && jsonTree.profile == null) {
+                Object value = RecordDeserializer.deserialize(jsonTree, json, type);
+                if (value != RecordDeserializer.FALLBACK) {
+                    return value;
+                }
+            }
             return jsonTree.traverseJson(json, type);
         } finally {
+            ConversionMetrics.addSkippedFields(type, jsonTree.skippedFields);
+            if (jsonTree.profile != null) {
+                jsonTree.profile.end();
+            }
             jsonTree.reset();
+            JSON_TREES.release(jsonTree);
         }
     }
 
@@ -66,6 +92,14 @@ public class JsonTraverse {
         ArrayType definedJsonArrayType = TypeCreator.createArrayType(definedJsonType);
         RecordType rootRecord;
         Type rootArray;
+        // Number of fields not declared by the target type, counted only when the metrics are enabled.
+        long skippedFields;
+        // Summary of the json, collected only when the conversion is recorded.
+        DocumentSummary summary;
+        // Profile of the fields, only when the conversion is sampled by the field profiler.
+        FieldProfiler.Sample profile;
+        // Profile reused by the sampled conversions of the tree, `null` when the profiler is disabled.
+        final FieldProfiler.Sample profileSample = FieldProfiler.createSample();
 
         void reset() {
             currentJsonNode = null;
@@ -76,6 +110,9 @@ public class JsonTraverse {
             fieldNames.clear();
             rootRecord = null;
             rootArray = null;
+            skippedFields = 0;
+            summary = null;
+            profile = null;
         }
 
         public Object traverseJson(Object json, Type type) {
@@ -136,6 +173,7 @@ public class JsonTraverse {
             }
             currentJsonNode = ValueCreator.createRecordValue((RecordType) recordType);
             nodesStack.push(currentJsonNode);
+            startContainer(false);
         }
 
         private void initializeRootArray() {
@@ -144,6 +182,19 @@ public class JsonTraverse {
             }
             currentJsonNode = ValueCreator.createArrayValue(definedJsonArrayType);
             nodesStack.push(currentJsonNode);
+            startContainer(true);
+        }
+
+        /**
+         * Updates the summary and the profile after a map or an array is started, where the root is at depth 1.
+         */
+        private void startContainer(boolean array) {
+            if (summary != null) {
+                summary.updateDepth(nodesStack.size());
+            }
+            if (profile != null) {
+                profile.startContainer(nodesStack.size(), array);
+            }
         }
 
         private void traverseMapJsonOrArrayJson(Object json, Type type) {
@@ -160,18 +211,29 @@ public class JsonTraverse {
                 }
                 throw ErrorCreator.createError(StringUtils.fromString("incompatible type for json: " + type));
             }
+            if (profile != null) {
+                profile.endContainer(nodesStack.size());
+            }
             nodesStack.pop();
         }
 
         private void traverseMapValue(Object json, Object parentJsonNode) {
             BMap<BString, Object> map = (BMap<BString, Object>) json;
             for (BString key : map.getKeys()) {
+                if (summary != null) {
+                    summarizeField(key, map.get(key));
+                }
+                if (profile != null) {
+                    profile.startField(nodesStack.size(), key.getValue());
+                }
                 currentField = fieldHierarchy.peek().remove(key.toString());
                 if (currentField == null) {
                     // Add to the rest field
                     if (restType.peek() != null) {
                         Type restFieldType = TypeUtils.getReferredType(restType.peek());
                         addRestField(restFieldType, key, map.get(key));
+                    } else if (ConversionMetrics.ENABLED) {
+                        skippedFields++;
                     }
                     continue;
                 }
@@ -212,8 +274,19 @@ public class JsonTraverse {
             restType.pop();
         }
 
+        private void summarizeField(BString key, Object value) {
+            summary.addKey();
+            summary.updateString(key.length());
+            if (value instanceof BString) {
+                summary.updateString(((BString) value).length());
+            }
+        }
+
         private void traverseArrayValue(Object json, Object parentJsonNode) {
             BArray array = (BArray) json;
+            if (summary != null) {
+                summary.updateArray(array.getLength());
+            }
             switch (rootArray.getTag()) {
                 case TypeTags.ARRAY_TAG:
                     int expectedArraySize = ((ArrayType) rootArray).getSize();
@@ -259,7 +332,7 @@ public class JsonTraverse {
             }
         }
 
-        private void addRestField(Type restFieldType, BString key, Object jsonMember) {
+        void addRestField(Type restFieldType, BString key, Object jsonMember) {
             switch (restFieldType.getTag()) {
                 case TypeTags.ANYDATA_TAG:
                 case TypeTags.JSON_TAG:
@@ -279,7 +352,7 @@ public class JsonTraverse {
             }
         }
 
-        private boolean checkTypeCompatibility(Type constraintType, Object json) {
+        boolean checkTypeCompatibility(Type constraintType, Object json) {
             if (json instanceof BMap) {
                 BMap<BString, Object> map = (BMap<BString, Object>) json;
                 for (BString key : map.getKeys()) {
@@ -23,12 +23,9 @@ import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BStream;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTypedesc;
+import io.ballerina.stdlib.data.metrics.ConversionRecorder;
 import io.ballerina.stdlib.data.utils.DataUtils;
 
-import java.io.ByteArrayInputStream;
-import java.io.InputStreamReader;
-import java.io.StringReader;
-
 /**
  * JsonToJson.
  *
@@ -36,11 +33,19 @@ import java.io.StringReader;
  */
 public class Native {
 
+    private static final String FROM_JSON_BYTE_ARRAY = "json:fromJsonByteArrayWithType";
+    private static final String FROM_JSON = "json:fromJsonWithType";
+    private static final String FROM_JSON_STRING = "json:fromJsonStringWithType";
+
     public static Object fromJsonByteArrayWithType(BArray byteArr, BMap<BString, Object> map, BTypedesc typed) {
+        ConversionRecorder recorder = ConversionRecorder.start(FROM_JSON_BYTE_ARRAY, typed, byteArr.size());
         byte[] bytes = byteArr.getBytes();
         try {
-            return JsonParser.parse(new InputStreamReader(new ByteArrayInputStream(bytes)), typed);
+            Object value = JsonParser.parse(JsonSource.of(bytes), typed.getDescribingType(), recorder);
+            recorder.recordValue(value);
+            return value;
         } catch (Exception e) {
+            recorder.recordError(e);
             return DataUtils.getJsonError(e.getMessage());
         }
     }
@@ -50,17 +55,26 @@ public class Native {
     }
 
     public static Object fromJsonWithType(Object json, BMap<BString, Object> map, BTypedesc typed) {
+        // a `json` value is not read from content
+        ConversionRecorder recorder = ConversionRecorder.start(FROM_JSON, typed, 0);
         try {
-            return JsonTraverse.traverse(json, typed);
+            Object value = JsonTraverse.traverse(json, typed.getDescribingType(), recorder);
+            recorder.recordValue(value);
+            return value;
         } catch (Exception e) {
+            recorder.recordError(e);
             return DataUtils.getJsonError(e.getMessage());
         }
     }
 
     public static Object fromJsonStringWithType(BString json, BMap<BString, Object> map, BTypedesc typed) {
+        ConversionRecorder recorder = ConversionRecorder.start(FROM_JSON_STRING, typed, json.length());
         try {
-            return JsonParser.parse(new StringReader(json.getValue()), typed);
+            Object value = JsonParser.parse(JsonSource.of(json), typed.getDescribingType(), recorder);
+            recorder.recordValue(value);
+            return value;
         } catch (Exception e) {
+            recorder.recordError(e);
             return DataUtils.getJsonError(e.getMessage());
         }
     }
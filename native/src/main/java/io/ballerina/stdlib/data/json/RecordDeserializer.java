@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.json;
+
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.UnionType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.data.metrics.ConversionMetrics;
+import io.ballerina.stdlib.data.utils.TypeCache;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deserializer of a `json` value to a record type, specialized to the fields of the record type.
+ * <p>
+ * Enabled by the `ballerina.data.json.specialize` system property, a deserializer is created for a record type on the
+ * first conversion and cached. The fields are resolved once, and a value is converted in two passes: the first checks,
+ * without creating any value, that each value is already of the type of its field, e.g. an `int` of an `int` field,
+ * and that the required fields are present, and the second creates the record from the values as they are. A value
+ * which needs a conversion, or is not of the type of its field, and a record type with a field of a type the
+ * deserializer doesn't check, such as a tuple or a union other than `T?`, are left to the interpretive
+ * {@link JsonTraverse} by returning {@link #FALLBACK}, which gives the same result and error as without the
+ * deserializer.
+ *
+ * @since 0.1.0
+ */
+final class RecordDeserializer {
+
+    static final boolean ENABLED = Boolean.getBoolean("ballerina.data.json.specialize");
+    static final Object FALLBACK = new Object();
+
+    private static final TypeCache<RecordDeserializer> DESERIALIZERS =
+            new TypeCache<>(type -> new RecordDeserializer((RecordType) type));
+
+    private final RecordType type;
+    private final Map<String, FieldReader> fields;
+    private final int requiredFields;
+    private final Type restFieldType;
+    // false if a field is of a type the deserializer doesn't check
+    private final boolean specialized;
+
+    private RecordDeserializer(RecordType type) {
+        this.type = type;
+        Map<String, Field> recordFields = type.getFields();
+        this.fields = new HashMap<>(recordFields.size() * 2);
+        int required = 0;
+        boolean specialized = true;
+        for (Map.Entry<String, Field> entry : recordFields.entrySet()) {
+            FieldReader field = new FieldReader(entry.getValue());
+            fields.put(entry.getKey(), field);
+            if (field.required) {
+                required++;
+            }
+            specialized &= field.kind != Kind.OTHER;
+        }
+        this.requiredFields = required;
+        this.specialized = specialized;
+        Type rest = type.getRestFieldType();
+        this.restFieldType = rest != null ? TypeUtils.getReferredType(rest) : null;
+    }
+
+    /**
+     * Converts the given json to the type, or returns {@link #FALLBACK}, before creating any value, if the json should
+     * be traversed by the interpretive {@link JsonTraverse}.
+     */
+    static Object deserialize(JsonTraverse.JsonTree tree, Object json, Type type) {
+        Type referredType = TypeUtils.getReferredType(type);
+        if (referredType.getTag() != TypeTags.RECORD_TYPE_TAG || !(json instanceof BMap)) {
+            return FALLBACK;
+        }
+        RecordDeserializer deserializer = DESERIALIZERS.get(referredType);
+        BMap<BString, Object> map = (BMap<BString, Object>) json;
+        if (!deserializer.accepts(tree, map)) {
+            // converted, or rejected with the path of the field, by the interpretive traversal
+            return FALLBACK;
+        }
+        return deserializer.read(tree, map);
+    }
+
+    /**
+     * Returns whether the given json can be read as it is, where each value is of the type of its field and the
+     * required fields are present.
+     */
+    private boolean accepts(JsonTraverse.JsonTree tree, BMap<BString, Object> json) {
+        if (!specialized) {
+            return false;
+        }
+        int required = 0;
+        for (BString key : json.getKeys()) {
+            FieldReader field = fields.get(key.getValue());
+            // a value of the rest field, or a skipped value, is never rejected
+            if (field == null) {
+                continue;
+            }
+            if (!field.accepts(tree, json.get(key))) {
+                return false;
+            }
+            if (field.required) {
+                required++;
+            }
+        }
+        return required == requiredFields;
+    }
+
+    private BMap<BString, Object> read(JsonTraverse.JsonTree tree, BMap<BString, Object> json) {
+        BMap<BString, Object> record = ValueCreator.createRecordValue(type);
+        for (BString key : json.getKeys()) {
+            FieldReader field = fields.get(key.getValue());
+            Object value = json.get(key);
+            if (field == null) {
+                if (restFieldType != null) {
+                    tree.currentJsonNode = record;
+                    tree.addRestField(restFieldType, key, value);
+                } else if (ConversionMetrics.ENABLED) {
+                    tree.skippedFields++;
+                }
+                continue;
+            }
+            record.put(field.name, field.read(tree, value));
+        }
+        return record;
+    }
+
+    /**
+     * Kind of the type of a field, which decides how a value is checked and read.
+     */
+    private enum Kind {
+        NIL,
+        BOOLEAN,
+        INT,
+        FLOAT,
+        DECIMAL,
+        STRING,
+        // `T?` of a basic type `T`
+        OPTIONAL,
+        // an array of a basic type, of any size
+        ARRAY,
+        MAP,
+        RECORD,
+        // any other type, for which the record is converted by the interpretive traversal
+        OTHER;
+
+        boolean isBasic() {
+            return ordinal() <= STRING.ordinal();
+        }
+
+        /**
+         * Returns whether the given value is already of a basic type of this kind.
+         */
+        boolean isInstance(Object value) {
+            switch (this) {
+                case NIL:
+                    return value == null;
+                case BOOLEAN:
+                    return value instanceof Boolean;
+                case INT:
+                    return value instanceof Long;
+                case FLOAT:
+                    return value instanceof Double;
+                case DECIMAL:
+                    return value instanceof BDecimal;
+                case STRING:
+                    return value instanceof BString;
+                default:
+                    return false;
+            }
+        }
+    }
+
+    /**
+     * Checks and reads the values of a field.
+     */
+    private static final class FieldReader {
+
+        private final BString name;
+        private final Type type;
+        private final Kind kind;
+        // the kind of the member of an optional, or of the elements of an array
+        private final Kind memberKind;
+        private final boolean required;
+        // resolved on the first value, as the type of a field may be the record type itself
+        private RecordDeserializer record;
+
+        FieldReader(Field field) {
+            this.name = StringUtils.fromString(field.getFieldName());
+            this.type = TypeUtils.getReferredType(field.getFieldType());
+            this.memberKind = getMemberKind(type);
+            this.kind = getKind(type, memberKind);
+            this.required = SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.REQUIRED);
+        }
+
+        boolean accepts(JsonTraverse.JsonTree tree, Object value) {
+            switch (kind) {
+                case OPTIONAL:
+                    return value == null || memberKind.isInstance(value);
+                case ARRAY:
+                    if (!(value instanceof BArray)) {
+                        return false;
+                    }
+                    BArray array = (BArray) value;
+                    for (int i = 0; i < array.size(); i++) {
+                        if (!memberKind.isInstance(array.get(i))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                case MAP:
+                    return tree.checkTypeCompatibility(((MapType) type).getConstrainedType(), value);
+                case RECORD:
+                    return value instanceof BMap && getRecord().accepts(tree, (BMap<BString, Object>) value);
+                case OTHER:
+                    return false;
+                default:
+                    return kind.isInstance(value);
+            }
+        }
+
+        /**
+         * Reads a value accepted by {@link #accepts}.
+         */
+        Object read(JsonTraverse.JsonTree tree, Object value) {
+            switch (kind) {
+                case ARRAY:
+                    // the elements are of the element type, the array is created as done by the traversal
+                    return JsonCreator.finalizeArray(tree, type, (BArray) value);
+                case RECORD:
+                    return getRecord().read(tree, (BMap<BString, Object>) value);
+                default:
+                    return value;
+            }
+        }
+
+        private RecordDeserializer getRecord() {
+            if (record == null) {
+                record = DESERIALIZERS.get(type);
+            }
+            return record;
+        }
+
+        private static Kind getKind(Type type, Kind memberKind) {
+            switch (type.getTag()) {
+                case TypeTags.NULL_TAG:
+                    return Kind.NIL;
+                case TypeTags.BOOLEAN_TAG:
+                    return Kind.BOOLEAN;
+                case TypeTags.INT_TAG:
+                    return Kind.INT;
+                case TypeTags.FLOAT_TAG:
+                    return Kind.FLOAT;
+                case TypeTags.DECIMAL_TAG:
+                    return Kind.DECIMAL;
+                case TypeTags.STRING_TAG:
+                    return Kind.STRING;
+                case TypeTags.UNION_TAG:
+                    return memberKind != null ? Kind.OPTIONAL : Kind.OTHER;
+                case TypeTags.ARRAY_TAG:
+                    return memberKind != null && ((ArrayType) type).getSize() == -1 ? Kind.ARRAY : Kind.OTHER;
+                case TypeTags.MAP_TAG:
+                    return Kind.MAP;
+                case TypeTags.RECORD_TYPE_TAG:
+                    return Kind.RECORD;
+                default:
+                    return Kind.OTHER;
+            }
+        }
+
+        /**
+         * Returns the kind of the basic type `T` of `T?`, or of the element type of an array, or null if the type is
+         * not one of them.
+         */
+        private static Kind getMemberKind(Type type) {
+            Type memberType;
+            if (type.getTag() == TypeTags.UNION_TAG) {
+                List<Type> memberTypes = ((UnionType) type).getMemberTypes();
+                if (memberTypes.size() != 2) {
+                    return null;
+                }
+                Type first = TypeUtils.getReferredType(memberTypes.get(0));
+                Type second = TypeUtils.getReferredType(memberTypes.get(1));
+                if (first.getTag() == TypeTags.NULL_TAG) {
+                    memberType = second;
+                } else if (second.getTag() == TypeTags.NULL_TAG) {
+                    memberType = first;
+                } else {
+                    return null;
+                }
+            } else if (type.getTag() == TypeTags.ARRAY_TAG) {
+                memberType = TypeUtils.getReferredType(((ArrayType) type).getElementType());
+            } else {
+                return null;
+            }
+            Kind kind = getKind(memberType, null);
+            return kind.isBasic() ? kind : null;
+        }
+    }
+}
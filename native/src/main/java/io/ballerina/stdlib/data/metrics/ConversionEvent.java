@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event of a conversion of an entry point, such as `json:fromJsonStringWithType`.
+ * <p>
+ * Only the conversions which take longer than the threshold are recorded. The threshold can be changed with the
+ * `ballerina.data.Conversion#threshold` setting of a recording. An event is created for each conversion while a
+ * recording with the event enabled is running, see {@link ConversionRecorder}.
+ *
+ * @since 0.1.0
+ */
+@Name(ConversionEvent.NAME)
+@Label("Data Conversion")
+@Category({"Ballerina", "Data"})
+@Description("A conversion of the data module which took longer than the threshold")
+@Threshold("20 ms")
+@StackTrace(false)
+public class ConversionEvent extends Event {
+
+    static final String NAME = "ballerina.data.Conversion";
+
+    @Label("Format")
+    @Description("Format of the content, e.g. json or csv")
+    String format;
+
+    @Label("Entry Point")
+    String entryPoint;
+
+    @Label("Target Type")
+    String targetType;
+
+    @Label("Input Size")
+    @Description("Number of bytes or characters consumed, or written by a conversion to a document")
+    long inputSize;
+
+    @Label("Values")
+    @Description("Number of values produced, i.e. the members of a list or a table, and 1 for any other value")
+    long values;
+
+    @Label("Max Depth")
+    @Description("Maximum nesting depth of the input, 0 if not tracked by the entry point")
+    int maxDepth;
+
+    @Label("Largest Array")
+    @Description("Length of the largest array of the input, 0 if not tracked by the entry point")
+    long largestArray;
+
+    @Label("Longest String")
+    @Description("Length of the longest string or key of the input, 0 if not tracked by the entry point")
+    long longestString;
+
+    @Label("Keys")
+    @Description("Number of keys of the input, 0 if not tracked by the entry point")
+    long keys;
+
+    @Label("Outcome")
+    @Description("success, or the category of the error of a failed conversion")
+    String outcome;
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.metrics;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.data.utils.ContextPoolMXBean;
+import io.ballerina.stdlib.data.utils.ModuleUtils;
+import io.ballerina.stdlib.data.utils.TypeCache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.InvalidPathException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Records the conversions of the entry points, such as `json:fromJsonStringWithType`, per entry point and per target
+ * type.
+ * <p>
+ * Metrics are disabled unless the `ballerina.data.metrics.enabled` system property is set to `true`. As
+ * {@link #ENABLED} is a constant, the recording of a conversion by a {@link ConversionRecorder} is reduced to a check
+ * of the constant and of the JFR event when disabled. When enabled, the statistics of an entry point or
+ * a target type are registered as an MXBean in the {@value #JMX_DOMAIN} domain on the first conversion, and all the
+ * statistics are returned to Ballerina by `data:getConversionMetrics()`.
+ *
+ * @since 0.1.0
+ */
+public final class ConversionMetrics {
+
+    public static final boolean ENABLED = Boolean.getBoolean("ballerina.data.metrics.enabled");
+
+    static final String JMX_DOMAIN = "io.ballerina.stdlib.data";
+    // target types beyond this limit, which are created at runtime, are counted together
+    private static final int MAX_TARGET_TYPES = 1024;
+    private static final String OTHER_TARGET_TYPES = "<other>";
+    private static final String CONVERSION_METRICS = "ConversionMetrics";
+    private static final String CONVERSION_STATS = "ConversionStats";
+    private static final String CONTEXT_POOL = "ContextPool";
+    private static final MapType ERRORS_TYPE = TypeCreator.createMapType(PredefinedTypes.TYPE_INT);
+
+    private static final Map<String, ConversionStats> ENTRY_POINTS = new ConcurrentHashMap<>();
+    private static final Map<String, ConversionStats> TARGET_TYPES = new ConcurrentHashMap<>();
+    private static final TypeCache<String> TYPE_NAMES =
+            new TypeCache<>(type -> TypeUtils.getReferredType(type).toString());
+
+    private ConversionMetrics() {
+    }
+
+    /**
+     * Category of the error of a failed conversion.
+     */
+    public enum ErrorCategory {
+        // the content is malformed or can't be converted to the target type
+        CONVERSION("conversion"),
+        // the content can't be read
+        IO("io"),
+        // an unexpected error of the conversion
+        INTERNAL("internal");
+
+        private final String name;
+
+        ErrorCategory(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        static ErrorCategory of(Throwable error) {
+            if (error instanceof IOException || error instanceof UncheckedIOException ||
+                    error instanceof InvalidPathException) {
+                return IO;
+            }
+            if (error instanceof RuntimeException && !(error instanceof BError)) {
+                return INTERNAL;
+            }
+            return CONVERSION;
+        }
+    }
+
+    /**
+     * Records a successful conversion, called by {@link ConversionRecorder} when the metrics are enabled.
+     */
+    static void recordValue(String entryPoint, Type targetType, long inputSize, long values, long nanos) {
+        getEntryPointStats(entryPoint).recordValue(inputSize, values, nanos);
+        getTargetTypeStats(targetType).recordValue(inputSize, values, nanos);
+    }
+
+    /**
+     * Records a failed conversion, called by {@link ConversionRecorder} when the metrics are enabled.
+     */
+    static void recordError(String entryPoint, Type targetType, ErrorCategory category, long nanos) {
+        getEntryPointStats(entryPoint).recordError(category, nanos);
+        getTargetTypeStats(targetType).recordError(category, nanos);
+    }
+
+    /**
+     * Records the fields of the input which are skipped, as those are not a part of the target type.
+     */
+    public static void addSkippedFields(Type targetType, long count) {
+        if (ENABLED && count > 0) {
+            getTargetTypeStats(targetType).addSkippedFields(count);
+        }
+    }
+
+    /**
+     * Registers the MXBean of a pool of parser contexts when the metrics are enabled.
+     */
+    public static void registerContextPool(String name, ContextPoolMXBean pool) {
+        if (ENABLED) {
+            registerMXBean(pool, JMX_DOMAIN + ":type=" + CONTEXT_POOL + ",name=" + ObjectName.quote(name));
+        }
+    }
+
+    static ConversionStats getEntryPointStats(String entryPoint) {
+        return ENTRY_POINTS.computeIfAbsent(entryPoint, key -> createStats("entryPoint", key));
+    }
+
+    static ConversionStats getTargetTypeStats(Type targetType) {
+        String name = TYPE_NAMES.get(targetType);
+        ConversionStats stats = TARGET_TYPES.get(name);
+        if (stats != null) {
+            return stats;
+        }
+        if (TARGET_TYPES.size() >= MAX_TARGET_TYPES) {
+            name = OTHER_TARGET_TYPES;
+        }
+        return TARGET_TYPES.computeIfAbsent(name, key -> createStats("targetType", key));
+    }
+
+    private static ConversionStats createStats(String scope, String name) {
+        ConversionStats stats = new ConversionStats();
+        registerMXBean(stats, JMX_DOMAIN + ":type=" + CONVERSION_STATS + ",scope=" + scope + ",name=" +
+                ObjectName.quote(name));
+        return stats;
+    }
+
+    private static void registerMXBean(Object bean, String name) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(bean, new ObjectName(name));
+        } catch (JMException e) {
+            // e.g. registered by another copy of the module loaded by a different class loader, the statistics of
+            // the conversions are still returned by `getConversionMetrics()`
+        }
+    }
+
+    /**
+     * Returns the statistics of all the entry points and the target types as a `data:ConversionMetrics` record.
+     */
+    public static BMap<BString, Object> getConversionMetrics() {
+        BMap<BString, Object> template = ValueCreator.createRecordValue(ModuleUtils.getModule(), CONVERSION_STATS);
+        MapType statsMapType = TypeCreator.createMapType(template.getType());
+        BMap<BString, Object> metrics = ValueCreator.createRecordValue(ModuleUtils.getModule(), CONVERSION_METRICS);
+        metrics.put(StringUtils.fromString("enabled"), ENABLED);
+        metrics.put(StringUtils.fromString("entryPoints"), toStatsMap(ENTRY_POINTS, statsMapType));
+        metrics.put(StringUtils.fromString("targetTypes"), toStatsMap(TARGET_TYPES, statsMapType));
+        return metrics;
+    }
+
+    private static BMap<BString, Object> toStatsMap(Map<String, ConversionStats> statsByName, MapType type) {
+        BMap<BString, Object> map = ValueCreator.createMapValue(type);
+        for (Map.Entry<String, ConversionStats> entry : new TreeMap<>(statsByName).entrySet()) {
+            map.put(StringUtils.fromString(entry.getKey()), toRecord(entry.getValue()));
+        }
+        return map;
+    }
+
+    private static BMap<BString, Object> toRecord(ConversionStats stats) {
+        BMap<BString, Object> errors = ValueCreator.createMapValue(ERRORS_TYPE);
+        for (Map.Entry<String, Long> entry : stats.getErrors().entrySet()) {
+            errors.put(StringUtils.fromString(entry.getKey()), entry.getValue());
+        }
+        BMap<BString, Object> record = ValueCreator.createRecordValue(ModuleUtils.getModule(), CONVERSION_STATS);
+        record.put(StringUtils.fromString("documents"), stats.getDocuments());
+        record.put(StringUtils.fromString("inputSize"), stats.getInputSize());
+        record.put(StringUtils.fromString("values"), stats.getValues());
+        record.put(StringUtils.fromString("skippedFields"), stats.getSkippedFields());
+        record.put(StringUtils.fromString("errors"), errors);
+        record.put(StringUtils.fromString("p50LatencyMicros"), stats.getP50LatencyMicros());
+        record.put(StringUtils.fromString("p99LatencyMicros"), stats.getP99LatencyMicros());
+        return record;
+    }
+}
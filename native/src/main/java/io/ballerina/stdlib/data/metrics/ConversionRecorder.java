@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.metrics;
+
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BTable;
+import io.ballerina.runtime.api.values.BTypedesc;
+
+import java.util.function.Function;
+
+/**
+ * Records a conversion of an entry point, to the {@link ConversionMetrics} and as a {@link ConversionEvent}.
+ * <p>
+ * A recorder is created when a conversion starts and completed with {@link #recordValue} or {@link #recordError}.
+ * It also captures a conversion which crosses a threshold of the {@link SlowDocumentCapture}. An event is recorded
+ * for a conversion started while a JFR recording with the event enabled is running, including a recording started
+ * later with `jcmd JFR.start`, and JFR commits it only above the threshold of the recording. When the metrics, the
+ * capture and the event are disabled, {@link #start} returns a shared recorder which records nothing.
+ *
+ * @since 0.1.0
+ */
+public class ConversionRecorder {
+
+    private static final String SUCCESS = "success";
+    private static final ConversionRecorder DISABLED = new ConversionRecorder();
+
+    private final String entryPoint;
+    private final Type targetType;
+    private final ConversionEvent event;
+    private final DocumentSummary summary;
+    private final long start;
+    private long inputSize;
+
+    private ConversionRecorder() {
+        this.entryPoint = null;
+        this.targetType = null;
+        this.event = null;
+        this.summary = null;
+        this.start = 0;
+    }
+
+    private ConversionRecorder(String entryPoint, Type targetType, long inputSize, ConversionEvent event) {
+        this.entryPoint = entryPoint;
+        this.targetType = targetType;
+        this.inputSize = inputSize;
+        // the summary is reported only by the capture and the event, and turns off the specialized deserializers
+        this.summary = SlowDocumentCapture.ENABLED || event != null ? new DocumentSummary() : null;
+        this.event = event;
+        if (event != null) {
+            event.begin();
+        }
+        this.start = System.nanoTime();
+    }
+
+    /**
+     * Starts recording a conversion to the described type.
+     *
+     * @param entryPoint name of the entry point, prefixed by the format, e.g. `json:fromJsonStringWithType`
+     * @param typed      expected type of the conversion
+     * @param inputSize  number of bytes or characters of the input, 0 if not known
+     * @return a recorder of the conversion
+     */
+    public static ConversionRecorder start(String entryPoint, BTypedesc typed, long inputSize) {
+        return start(entryPoint, typed, BTypedesc::getDescribingType, inputSize);
+    }
+
+    /**
+     * Starts recording a conversion, where the metrics are recorded for the type given by the function for the
+     * expected type or, for a conversion to a document, the value to be written. The function is called only when the
+     * conversion is recorded.
+     */
+    public static <T> ConversionRecorder start(String entryPoint, T typed, Function<T, Type> targetType,
+                                               long inputSize) {
+        // checked on each conversion, as a recording may be started at any time
+        ConversionEvent event = new ConversionEvent();
+        boolean eventEnabled = event.isEnabled();
+        if (!ConversionMetrics.ENABLED && !SlowDocumentCapture.ENABLED && !eventEnabled) {
+            return DISABLED;
+        }
+        return new ConversionRecorder(entryPoint, targetType.apply(typed), inputSize, eventEnabled ? event : null);
+    }
+
+    /**
+     * Returns whether the conversion is recorded.
+     */
+    public boolean isRecording() {
+        return this != DISABLED;
+    }
+
+    /**
+     * Returns the summary of the input to be collected by the parser, or `null` if the conversion is not recorded or
+     * the summary is not reported, as neither the slow documents are captured nor the event is recorded.
+     */
+    public DocumentSummary getSummary() {
+        return summary;
+    }
+
+    /**
+     * Sets the size of the input known only after the conversion, or the size of the document written by a
+     * conversion to a document.
+     */
+    public void setInputSize(long inputSize) {
+        if (isRecording()) {
+            this.inputSize = inputSize;
+        }
+    }
+
+    /**
+     * Completes a successful conversion.
+     */
+    public void recordValue(Object value) {
+        if (!isRecording()) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        long values = countValues(value);
+        if (ConversionMetrics.ENABLED) {
+            ConversionMetrics.recordValue(entryPoint, targetType, inputSize, values, nanos);
+        }
+        captureSlowDocument(nanos, SUCCESS);
+        commitEvent(values, SUCCESS);
+    }
+
+    /**
+     * Completes a failed conversion.
+     */
+    public void recordError(Throwable error) {
+        if (!isRecording()) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        ConversionMetrics.ErrorCategory category = ConversionMetrics.ErrorCategory.of(error);
+        if (ConversionMetrics.ENABLED) {
+            ConversionMetrics.recordError(entryPoint, targetType, category, nanos);
+        }
+        captureSlowDocument(nanos, category.getName());
+        commitEvent(0, category.getName());
+    }
+
+    private void captureSlowDocument(long nanos, String outcome) {
+        if (SlowDocumentCapture.ENABLED && SlowDocumentCapture.isSlow(nanos, inputSize)) {
+            SlowDocumentCapture.capture(entryPoint, getTargetTypeName(), inputSize, nanos, summary, outcome);
+        }
+    }
+
+    private void commitEvent(long values, String outcome) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.format = entryPoint.substring(0, Math.max(entryPoint.indexOf(':'), 0));
+            event.entryPoint = entryPoint;
+            event.targetType = getTargetTypeName();
+            event.inputSize = inputSize;
+            event.values = values;
+            event.maxDepth = summary.getMaxDepth();
+            event.largestArray = summary.getLargestArray();
+            event.longestString = summary.getLongestString();
+            event.keys = summary.getKeys();
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+
+    private String getTargetTypeName() {
+        return TypeUtils.getReferredType(targetType).toString();
+    }
+
+    private static long countValues(Object value) {
+        if (value instanceof BArray) {
+            return ((BArray) value).size();
+        }
+        if (value instanceof BTable) {
+            return ((BTable<?, ?>) value).size();
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the conversions of an entry point or a target type.
+ * <p>
+ * The counters are striped, so the conversions of different threads don't contend on the same counter.
+ *
+ * @since 0.1.0
+ */
+public class ConversionStats implements ConversionStatsMXBean {
+
+    private final LongAdder documents = new LongAdder();
+    private final LongAdder inputSize = new LongAdder();
+    private final LongAdder values = new LongAdder();
+    private final LongAdder skippedFields = new LongAdder();
+    private final LongAdder[] errors = new LongAdder[ConversionMetrics.ErrorCategory.values().length];
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    ConversionStats() {
+        for (int i = 0; i < errors.length; i++) {
+            errors[i] = new LongAdder();
+        }
+    }
+
+    void recordValue(long size, long count, long nanos) {
+        documents.increment();
+        inputSize.add(size);
+        values.add(count);
+        latency.record(nanos);
+    }
+
+    void recordError(ConversionMetrics.ErrorCategory category, long nanos) {
+        documents.increment();
+        errors[category.ordinal()].increment();
+        latency.record(nanos);
+    }
+
+    void addSkippedFields(long count) {
+        skippedFields.add(count);
+    }
+
+    @Override
+    public long getDocuments() {
+        return documents.sum();
+    }
+
+    @Override
+    public long getInputSize() {
+        return inputSize.sum();
+    }
+
+    @Override
+    public long getValues() {
+        return values.sum();
+    }
+
+    @Override
+    public long getSkippedFields() {
+        return skippedFields.sum();
+    }
+
+    @Override
+    public Map<String, Long> getErrors() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (ConversionMetrics.ErrorCategory category : ConversionMetrics.ErrorCategory.values()) {
+            counts.put(category.getName(), errors[category.ordinal()].sum());
+        }
+        return counts;
+    }
+
+    @Override
+    public long getP50LatencyMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(latency.getPercentile(0.5));
+    }
+
+    @Override
+    public long getP99LatencyMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(latency.getPercentile(0.99));
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of the statistics of the conversions of an entry point or a target type.
+ *
+ * @since 0.1.0
+ */
+public interface ConversionStatsMXBean {
+
+    /**
+     * Returns the number of conversions, including the failed ones.
+     */
+    long getDocuments();
+
+    /**
+     * Returns the number of bytes or characters consumed by the conversions, or written by the conversions to a
+     * document, depending on the entry point.
+     */
+    long getInputSize();
+
+    /**
+     * Returns the number of values produced, i.e. the members of a list or a table, and 1 for any other value.
+     */
+    long getValues();
+
+    /**
+     * Returns the number of fields of the input which are not a part of the target type. Recorded only for the
+     * target types.
+     */
+    long getSkippedFields();
+
+    /**
+     * Returns the number of failed conversions by the category of the error.
+     */
+    Map<String, Long> getErrors();
+
+    long getP50LatencyMicros();
+
+    long getP99LatencyMicros();
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.metrics;
+
+/**
+ * Structural summary of the input of a conversion, collected by the parser while the conversion is recorded. The
+ * summary describes the shape of the input, and never holds any of its content.
+ *
+ * @since 0.1.0
+ */
+public final class DocumentSummary {
+
+    private int maxDepth;
+    private long largestArray;
+    private long longestString;
+    private long keys;
+
+    /**
+     * Updates the maximum depth after an object or an array is started at the given depth, where the root is at
+     * depth 1.
+     */
+    public void updateDepth(int depth) {
+        if (depth > maxDepth) {
+            maxDepth = depth;
+        }
+    }
+
+    public void updateArray(long length) {
+        if (length > largestArray) {
+            largestArray = length;
+        }
+    }
+
+    /**
+     * Updates the longest string, in characters, with a string value, a key or a literal of the input.
+     */
+    public void updateString(long length) {
+        if (length > longestString) {
+            longestString = length;
+        }
+    }
+
+    public void addKey() {
+        keys++;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public long getLargestArray() {
+        return largestArray;
+    }
+
+    public long getLongestString() {
+        return longestString;
+    }
+
+    public long getKeys() {
+        return keys;
+    }
+}
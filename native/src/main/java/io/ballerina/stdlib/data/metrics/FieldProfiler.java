@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.metrics;
+
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.TypeUtils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Accumulates the time spent and the bytes allocated on the values of each field path of a target type, such as
+ * `Order.lines[].price`, to find the fields which cost the most in a conversion.
+ * <p>
+ * Profiling is disabled unless the `ballerina.data.profile.sampleRate` system property is set to the fraction of
+ * the conversions to profile, e.g. `0.01`. A conversion which is not sampled costs a check of {@link #ENABLED} and a
+ * random number. The cost of a field includes the costs of its nested fields, and the bytes allocated are read from
+ * the counter of the current thread when supported by the JVM. The ranked report is returned by {@link #getReport}
+ * and by the `io.ballerina.stdlib.data:type=FieldProfiler` MXBean.
+ *
+ * @since 0.1.0
+ */
+public final class FieldProfiler {
+
+    public static final double SAMPLE_RATE = getSampleRate();
+    public static final boolean ENABLED = SAMPLE_RATE > 0;
+
+    // field paths beyond this limit, e.g. the keys of a `json` or an open record, are counted together
+    static final int MAX_FIELD_PATHS = 4096;
+    private static final String OTHER_FIELD_PATHS = "<other>";
+    private static final String FIELD_PROFILER = "FieldProfiler";
+    private static final int REPORT_LIMIT = 100;
+
+    private static final Map<String, FieldCost> FIELD_COSTS = new ConcurrentHashMap<>();
+    private static final LongAdder SAMPLED_DOCUMENTS = new LongAdder();
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN = getThreadBean();
+
+    static {
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new View(),
+                        new ObjectName(ConversionMetrics.JMX_DOMAIN + ":type=" + FIELD_PROFILER));
+            } catch (JMException e) {
+                // the report is still returned by `getReport()`
+            }
+        }
+    }
+
+    private FieldProfiler() {
+    }
+
+    /**
+     * Returns the profile of a conversion to the given type if the conversion is sampled, or else `null`.
+     * The given profile is owned by a pooled parser and reused by its conversions, and is completed with
+     * {@link Sample#end()}.
+     */
+    public static Sample sample(Type targetType, Sample sample) {
+        if (!ENABLED || ThreadLocalRandom.current().nextDouble() >= SAMPLE_RATE) {
+            return null;
+        }
+        sample.begin(getRootName(TypeUtils.getReferredType(targetType)));
+        return sample;
+    }
+
+    /**
+     * Returns a profile to be owned by a pooled parser, or `null` if profiling is disabled.
+     */
+    public static Sample createSample() {
+        return ENABLED ? new Sample() : null;
+    }
+
+    /**
+     * Returns the report of at most the given number of field paths, ranked by the total time spent on the values of
+     * a field path.
+     */
+    public static String getReport(int limit) {
+        List<Map.Entry<String, FieldCost>> entries = new ArrayList<>(FIELD_COSTS.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue().nanos.sum(), a.getValue().nanos.sum()));
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-60s %10s %12s %10s %14s %12s%n", "field", "values", "total ms",
+                "avg us", "total bytes", "avg bytes"));
+        for (Map.Entry<String, FieldCost> entry : entries.subList(0, Math.min(limit, entries.size()))) {
+            FieldCost cost = entry.getValue();
+            long values = Math.max(cost.values.sum(), 1);
+            long nanos = cost.nanos.sum();
+            long bytes = cost.bytes.sum();
+            report.append(String.format("%-60s %10d %12.3f %10.3f %14d %12d%n", entry.getKey(), cost.values.sum(),
+                    nanos / 1e6, nanos / 1e3 / values, bytes, bytes / values));
+        }
+        return report.toString();
+    }
+
+    public static long getSampledDocuments() {
+        return SAMPLED_DOCUMENTS.sum();
+    }
+
+    public static void reset() {
+        FIELD_COSTS.clear();
+        SAMPLED_DOCUMENTS.reset();
+    }
+
+    private static void record(String path, long nanos, long bytes) {
+        FieldCost cost = FIELD_COSTS.get(path);
+        if (cost == null) {
+            if (FIELD_COSTS.size() >= MAX_FIELD_PATHS) {
+                path = OTHER_FIELD_PATHS;
+            }
+            cost = FIELD_COSTS.computeIfAbsent(path, key -> new FieldCost());
+        }
+        cost.values.increment();
+        cost.nanos.add(nanos);
+        cost.bytes.add(bytes);
+    }
+
+    private static long allocatedBytes() {
+        return THREAD_BEAN != null ? THREAD_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+    }
+
+    /**
+     * Returns the name of the root of the field paths, where a list is shown by the containers of the values.
+     */
+    private static String getRootName(Type type) {
+        while (type.getTag() == TypeTags.ARRAY_TAG) {
+            type = TypeUtils.getReferredType(((ArrayType) type).getElementType());
+        }
+        return type.getTag() == TypeTags.RECORD_TYPE_TAG ? type.getName() : type.toString();
+    }
+
+    private static double getSampleRate() {
+        try {
+            return Math.min(Double.parseDouble(System.getProperty("ballerina.data.profile.sampleRate", "0")), 1);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean getThreadBean() {
+        if (!ENABLED) {
+            return null;
+        }
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean &&
+                ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+            threadBean.setThreadAllocatedMemoryEnabled(true);
+            return threadBean;
+        }
+        return null;
+    }
+
+    /**
+     * The profile of a sampled conversion, which tracks the field being converted at each level of the containers.
+     * <p>
+     * The levels are given by the parser, where the root container is at level 1, so the profile stays consistent
+     * with the parser even if a container is not ended, e.g. when a member of a union type is not compatible.
+     */
+    public static final class Sample {
+
+        private String root;
+        private String[] prefixes = new String[16];
+        private String[] fields = new String[16];
+        private long[] startNanos = new long[16];
+        private long[] startBytes = new long[16];
+
+        private Sample() {
+        }
+
+        private void begin(String root) {
+            this.root = root;
+            SAMPLED_DOCUMENTS.increment();
+        }
+
+        /**
+         * Starts an object or an array at the given level.
+         */
+        public void startContainer(int level, boolean array) {
+            if (level >= prefixes.length) {
+                grow(level + 1);
+            }
+            String base;
+            if (level <= 1) {
+                base = root;
+            } else if (fields[level - 1] != null) {
+                base = fields[level - 1];
+            } else {
+                base = prefixes[level - 1];
+            }
+            prefixes[level] = array ? base + "[]" : base;
+            fields[level] = null;
+        }
+
+        /**
+         * Starts a field of the object at the given level, which ends the previous field of the object.
+         */
+        public void startField(int level, String name) {
+            if (level >= prefixes.length || prefixes[level] == null) {
+                return;
+            }
+            endField(level);
+            fields[level] = prefixes[level] + "." + name;
+            startBytes[level] = allocatedBytes();
+            startNanos[level] = System.nanoTime();
+        }
+
+        /**
+         * Ends the object or the array at the given level, which ends the last field of an object.
+         */
+        public void endContainer(int level) {
+            if (level < prefixes.length) {
+                endField(level);
+                prefixes[level] = null;
+            }
+        }
+
+        /**
+         * Ends the profile of the conversion, the fields which are not ended, e.g. by an error, are not recorded.
+         */
+        public void end() {
+            Arrays.fill(prefixes, null);
+            Arrays.fill(fields, null);
+            root = null;
+        }
+
+        private void endField(int level) {
+            String field = fields[level];
+            if (field != null) {
+                long nanos = System.nanoTime() - startNanos[level];
+                record(field, nanos, allocatedBytes() - startBytes[level]);
+                fields[level] = null;
+            }
+        }
+
+        private void grow(int size) {
+            int length = Math.max(size, prefixes.length * 2);
+            prefixes = Arrays.copyOf(prefixes, length);
+            fields = Arrays.copyOf(fields, length);
+            startNanos = Arrays.copyOf(startNanos, length);
+            startBytes = Arrays.copyOf(startBytes, length);
+        }
+    }
+
+    /**
+     * The costs accumulated for a field path.
+     */
+    private static class FieldCost {
+
+        final LongAdder values = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+        final LongAdder bytes = new LongAdder();
+    }
+
+    /**
+     * The MXBean of the profiler.
+     */
+    private static class View implements FieldProfilerMXBean {
+
+        @Override
+        public double getSampleRate() {
+            return SAMPLE_RATE;
+        }
+
+        @Override
+        public long getSampledDocuments() {
+            return FieldProfiler.getSampledDocuments();
+        }
+
+        @Override
+        public String getReport() {
+            return FieldProfiler.getReport(REPORT_LIMIT);
+        }
+
+        @Override
+        public void reset() {
+            FieldProfiler.reset();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.metrics;
+
+/**
+ * JMX view of the {@link FieldProfiler}.
+ *
+ * @since 0.1.0
+ */
+public interface FieldProfilerMXBean {
+
+    /**
+     * Returns the fraction of the conversions which are profiled.
+     */
+    double getSampleRate();
+
+    /**
+     * Returns the number of profiled conversions.
+     */
+    long getSampledDocuments();
+
+    /**
+     * Returns the report of the field paths, ranked by the total time spent on the values of a field path.
+     */
+    String getReport();
+
+    /**
+     * Clears the costs accumulated so far.
+     */
+    void reset();
+}
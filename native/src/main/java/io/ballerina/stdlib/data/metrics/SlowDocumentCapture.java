@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs the structural summary of a conversion which takes longer than a threshold, or of which the input is larger
+ * than a threshold, to find the pathological inputs behind a latency spike.
+ * <p>
+ * Capturing is disabled unless the `ballerina.data.slowDocument.thresholdMillis` or the
+ * `ballerina.data.slowDocument.inputSize` system property is set to a positive value. The summary is logged as a
+ * warning of the `io.ballerina.stdlib.data` {@link System.Logger}, and has the size of the input, the maximum depth,
+ * the length of the largest array and of the longest string, and the number of keys. The content of the input is
+ * never logged.
+ *
+ * @since 0.1.0
+ */
+public final class SlowDocumentCapture {
+
+    public static final long THRESHOLD_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(Long.getLong("ballerina.data.slowDocument.thresholdMillis", 0));
+    public static final long INPUT_SIZE_THRESHOLD = Long.getLong("ballerina.data.slowDocument.inputSize", 0);
+    public static final boolean ENABLED = THRESHOLD_NANOS > 0 || INPUT_SIZE_THRESHOLD > 0;
+
+    private static final System.Logger LOGGER = System.getLogger(ConversionMetrics.JMX_DOMAIN);
+
+    private SlowDocumentCapture() {
+    }
+
+    /**
+     * Returns whether a conversion crosses a threshold.
+     */
+    static boolean isSlow(long nanos, long inputSize) {
+        return (THRESHOLD_NANOS > 0 && nanos >= THRESHOLD_NANOS) ||
+                (INPUT_SIZE_THRESHOLD > 0 && inputSize >= INPUT_SIZE_THRESHOLD);
+    }
+
+    static void capture(String entryPoint, String targetType, long inputSize, long nanos, DocumentSummary summary,
+                        String outcome) {
+        LOGGER.log(System.Logger.Level.WARNING, () -> String.format("slow conversion of %s to '%s': duration %d ms, " +
+                        "input size %d, max depth %d, largest array %d, longest string %d, keys %d, outcome %s",
+                entryPoint, targetType, TimeUnit.NANOSECONDS.toMillis(nanos), inputSize, summary.getMaxDepth(),
+                summary.getLargestArray(), summary.getLongestString(), summary.getKeys(), outcome));
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.utils;
+
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.ballerina.stdlib.data.utils.Constants.COLON;
+import static io.ballerina.stdlib.data.utils.Constants.UNDERSCORE;
+
+/**
+ * Element names and namespace attributes of a record type resolved from its {@link XmlAnnotations}, which are used by
+ * {@link DataUtils#getModifiedRecord} to convert the values of the type.
+ * <p>
+ * A plan is created once per record type and is not modified afterwards, so the annotations are read and the names
+ * are built only once, not for each record value.
+ *
+ * @since 0.1.0
+ */
+public class AnnotationPlan {
+
+    private static final TypeCache<AnnotationPlan> PLANS =
+            new TypeCache<>(type -> new AnnotationPlan((RecordType) type));
+    private static final BString[] NO_KEYS = new BString[0];
+    private static final Object[] NO_VALUES = new Object[0];
+    private static final String ATTRIBUTE_PREFIX = "attribute_";
+    private static final String XMLNS = "xmlns";
+
+    // Name of the element of a value of the record type, when it is the root element.
+    final BString rootName;
+    // `xmlns` attributes of the element of a value of the record type.
+    final BString[] namespaceKeys;
+    final Object[] namespaceValues;
+    private final Map<String, FieldPlan> fields;
+
+    private AnnotationPlan(RecordType type) {
+        XmlAnnotations annotations = XmlAnnotations.get(type);
+        this.rootName = StringUtils.fromString(getQualifiedName(annotations, type.getName()));
+        if (annotations.uri == null) {
+            this.namespaceKeys = NO_KEYS;
+            this.namespaceValues = NO_VALUES;
+        } else {
+            String namespaceKey = annotations.prefix.isEmpty() ? XMLNS : XMLNS + COLON + annotations.prefix;
+            this.namespaceKeys = new BString[]{StringUtils.fromString(ATTRIBUTE_PREFIX + namespaceKey)};
+            this.namespaceValues = new Object[]{StringUtils.fromString(annotations.uri)};
+        }
+        this.fields = new HashMap<>();
+        for (Field field : type.getFields().values()) {
+            String fieldName = field.getFieldName();
+            fields.put(fieldName, new FieldPlan(field.getFieldType(), fieldName,
+                    getKeyName(annotations.getField(fieldName), fieldName)));
+        }
+    }
+
+    /**
+     * Returns the plan of the record type, which is created on the first call.
+     */
+    static AnnotationPlan get(RecordType type) {
+        return PLANS.get(type);
+    }
+
+    /**
+     * Returns the plan of a field, or `null` if the record type doesn't have the field.
+     */
+    FieldPlan getField(String fieldName) {
+        return fields.get(fieldName);
+    }
+
+    boolean hasNamespaces() {
+        return namespaceKeys.length > 0;
+    }
+
+    /**
+     * Adds the `xmlns` attributes of the record type to a converted record value.
+     */
+    void addNamespaces(BMap<BString, Object> record) {
+        for (int i = 0; i < namespaceKeys.length; i++) {
+            record.put(namespaceKeys[i], namespaceValues[i]);
+        }
+    }
+
+    /**
+     * Returns the key of a field in the converted record, which is renamed by the `Name` annotation and prefixed when
+     * the field is an attribute.
+     */
+    private static String getKeyName(XmlAnnotations.FieldAnnotations annotations, String key) {
+        if (annotations.name != null) {
+            if (key.contains(COLON)) {
+                key = key.substring(0, key.indexOf(COLON) + 1) + annotations.name;
+            } else if (key.contains(ATTRIBUTE_PREFIX)) {
+                key = key.substring(0, key.indexOf(UNDERSCORE) + 1) + annotations.name;
+            } else {
+                key = annotations.name;
+            }
+        }
+        return annotations.attribute ? ATTRIBUTE_PREFIX + key : key;
+    }
+
+    /**
+     * Returns the element name of a value of a record type, which is qualified by the prefix of its namespace.
+     */
+    private static String getQualifiedName(XmlAnnotations annotations, String defaultName) {
+        String name = annotations.name == null ? defaultName : annotations.name;
+        return annotations.prefix.isEmpty() ? name : annotations.prefix + COLON + name;
+    }
+
+    /**
+     * Names of a field of the record type. The name of an element of a record value depends on the annotations of
+     * the record type of the value, which is a member of a union type in some cases, so those names are cached for
+     * each record type.
+     */
+    static final class FieldPlan {
+
+        final Type fieldType;
+        // Name given by the `Name` and `Attribute` annotations of the field.
+        final BString name;
+        private final TypeCache<BString> recordNames;
+        private final TypeCache<BString> elementNames;
+
+        private FieldPlan(Type fieldType, String fieldName, String name) {
+            this.fieldType = fieldType;
+            this.name = StringUtils.fromString(name);
+            this.recordNames = new TypeCache<>(type -> StringUtils.fromString(
+                    getQualifiedName(XmlAnnotations.get((RecordType) type), fieldName)));
+            this.elementNames = new TypeCache<>(type -> StringUtils.fromString(
+                    getQualifiedName(XmlAnnotations.get((RecordType) type), name)));
+        }
+
+        /**
+         * Returns the element name of a value of an inline record type, which is named after the field name.
+         */
+        BString getRecordName(RecordType recordType) {
+            return recordNames.get(recordType);
+        }
+
+        /**
+         * Returns the element name of a value of a named record type, or the element of an array of records, which
+         * is named after the annotated field name.
+         */
+        BString getElementName(RecordType recordType) {
+            return elementNames.get(recordType);
+        }
+    }
+}
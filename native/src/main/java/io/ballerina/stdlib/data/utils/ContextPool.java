@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.utils;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of the reusable contexts of a parser, such as the state machine of the JSON parser.
+ * <p>
+ * Unlike a context per thread, the memory held by the pool doesn't grow with the number of threads, which matters
+ * when the conversions run on many platform threads or on virtual threads. A context is taken from and returned to a
+ * slot with a compare-and-set, starting from a slot given by the current thread, so the pool doesn't lock. A new
+ * context is created when the pool is empty, and a returned context is dropped when the pool is full. A context
+ * should be reset, and its oversized buffers trimmed, before it is returned.
+ *
+ * @param <T> type of the contexts
+ * @since 0.1.0
+ */
+public class ContextPool<T> implements ContextPoolMXBean {
+
+    private final Supplier<T> factory;
+    private final AtomicReferenceArray<T> slots;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder discards = new LongAdder();
+
+    public ContextPool(Supplier<T> factory, int capacity) {
+        this.factory = factory;
+        this.slots = new AtomicReferenceArray<>(Math.max(capacity, 1));
+    }
+
+    /**
+     * Returns the default capacity of a pool, which is given by the `ballerina.data.contextPoolSize` system property,
+     * or else twice the number of processors.
+     */
+    public static int getDefaultCapacity() {
+        return Integer.getInteger("ballerina.data.contextPoolSize", Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * Takes a context from the pool, or creates a new context if the pool is empty.
+     */
+    public T acquire() {
+        int length = slots.length();
+        int start = getStartSlot(length);
+        for (int i = 0; i < length; i++) {
+            int slot = (start + i) % length;
+            T context = slots.get(slot);
+            if (context != null && slots.compareAndSet(slot, context, null)) {
+                hits.increment();
+                return context;
+            }
+        }
+        misses.increment();
+        return factory.get();
+    }
+
+    /**
+     * Returns a context to the pool, or drops it if the pool is full.
+     */
+    public void release(T context) {
+        int length = slots.length();
+        int start = getStartSlot(length);
+        for (int i = 0; i < length; i++) {
+            int slot = (start + i) % length;
+            if (slots.get(slot) == null && slots.compareAndSet(slot, null, context)) {
+                return;
+            }
+        }
+        discards.increment();
+    }
+
+    @Override
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    @Override
+    public int getIdle() {
+        int idle = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                idle++;
+            }
+        }
+        return idle;
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getDiscards() {
+        return discards.sum();
+    }
+
+    private static int getStartSlot(int length) {
+        // spreads the threads over the slots, so a thread usually finds the context it returned
+        return (int) (Thread.currentThread().getId() % length);
+    }
+}
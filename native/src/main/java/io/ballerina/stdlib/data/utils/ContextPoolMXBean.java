@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.utils;
+
+/**
+ * JMX view of a {@link ContextPool}.
+ *
+ * @since 0.1.0
+ */
+public interface ContextPoolMXBean {
+
+    /**
+     * Returns the maximum number of idle contexts kept by the pool.
+     */
+    int getCapacity();
+
+    /**
+     * Returns the number of idle contexts in the pool.
+     */
+    int getIdle();
+
+    /**
+     * Returns the number of contexts taken from the pool.
+     */
+    long getHits();
+
+    /**
+     * Returns the number of contexts created as the pool was empty.
+     */
+    long getMisses();
+
+    /**
+     * Returns the number of contexts dropped as the pool was full.
+     */
+    long getDiscards();
+}
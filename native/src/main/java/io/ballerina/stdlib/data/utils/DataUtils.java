@@ -18,13 +18,18 @@
 
 package io.ballerina.stdlib.data.utils;
 
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.Module;
 import io.ballerina.runtime.api.PredefinedTypes;
 import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.async.Callback;
+import io.ballerina.runtime.api.async.StrandMetadata;
 import io.ballerina.runtime.api.creators.ErrorCreator;
 import io.ballerina.runtime.api.creators.TypeCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
 import io.ballerina.runtime.api.types.ArrayType;
-import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.MethodType;
+import io.ballerina.runtime.api.types.ObjectType;
 import io.ballerina.runtime.api.types.RecordType;
 import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.types.UnionType;
@@ -33,17 +38,14 @@ import io.ballerina.runtime.api.utils.TypeUtils;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTypedesc;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 
-import static io.ballerina.stdlib.data.utils.Constants.COLON;
-import static io.ballerina.stdlib.data.utils.Constants.UNDERSCORE;
-
 /**
  * A util class for the Data package's native implementation.
  *
@@ -52,9 +54,12 @@ import static io.ballerina.stdlib.data.utils.Constants.UNDERSCORE;
 public class DataUtils {
 
     private static final String ERROR = "ConversionError";
-    private static final String NAME = "Name";
-    private static final String ATTRIBUTE_PREFIX = "attribute_";
-    private static final String VALUE = "value";
+    private static final String REASON = "reason";
+    private static final String LINE = "line";
+    private static final String COLUMN = "column";
+    private static final String CLOSE_METHOD = "close";
+    private static final TypeCache<UnionMembers> UNION_MEMBERS =
+            new TypeCache<>(type -> new UnionMembers((UnionType) type));
 
     public static BError getError(String message) {
         return ErrorCreator.createError(ModuleUtils.getModule(), ERROR, StringUtils.fromString(message),
@@ -66,6 +71,58 @@ public class DataUtils {
                 null, null);
     }
 
+    public static BError getCsvError(String message, long line, int column) {
+        BMap<BString, Object> details = ValueCreator.createMapValue(Constants.JSON_MAP_TYPE);
+        details.put(StringUtils.fromString(REASON), StringUtils.fromString(message));
+        details.put(StringUtils.fromString(LINE), line);
+        details.put(StringUtils.fromString(COLUMN), (long) column);
+        return ErrorCreator.createError(ModuleUtils.getCsvModule(), ERROR, StringUtils.fromString(message),
+                null, details);
+    }
+
+    public static BError getXmlError(String message, long line, int column) {
+        BMap<BString, Object> details = ValueCreator.createMapValue(Constants.JSON_MAP_TYPE);
+        details.put(StringUtils.fromString(REASON), StringUtils.fromString(message));
+        details.put(StringUtils.fromString(LINE), line);
+        details.put(StringUtils.fromString(COLUMN), (long) column);
+        return ErrorCreator.createError(ModuleUtils.getXmlModule(), ERROR, StringUtils.fromString(message),
+                null, details);
+    }
+
+    /**
+     * Closes the iterator of a source stream which is not read to the end, and then runs the given action. The action
+     * is run at once if the iterator doesn't have a `close` method. An error of the `close` method is ignored, as the
+     * error which ended the reading is reported instead.
+     */
+    public static void closeIterator(Environment env, BObject iterator, Module module, Runnable onClosed) {
+        if (!hasMethod(iterator, CLOSE_METHOD)) {
+            onClosed.run();
+            return;
+        }
+        StrandMetadata metadata = new StrandMetadata(module.getOrg(), module.getName(), module.getMajorVersion(),
+                CLOSE_METHOD);
+        env.getRuntime().invokeMethodAsyncSequentially(iterator, CLOSE_METHOD, null, metadata, new Callback() {
+            @Override
+            public void notifySuccess(Object result) {
+                onClosed.run();
+            }
+
+            @Override
+            public void notifyFailure(BError error) {
+                onClosed.run();
+            }
+        }, null, PredefinedTypes.TYPE_ANY);
+    }
+
+    private static boolean hasMethod(BObject object, String name) {
+        for (MethodType method : ((ObjectType) TypeUtils.getReferredType(object.getType())).getMethods()) {
+            if (method.getName().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @SuppressWarnings("unchecked")
     public static Object getModifiedRecord(BMap<BString, Object> input, BTypedesc type) {
         Type describingType = type.getDescribingType();
@@ -74,16 +131,16 @@ public class DataUtils {
             BArray objectArray = (BArray) value;
             Type elementType = TypeUtils.getReferredType(((ArrayType) objectArray.getType()).getElementType());
             if (elementType.getTag() == TypeTags.RECORD_TYPE_TAG) {
+                AnnotationPlan plan = AnnotationPlan.get((RecordType) elementType);
                 BMap<BString, Object> jsonMap = ValueCreator.createMapValue(Constants.JSON_MAP_TYPE);
                 for (Map.Entry<BString, Object> entry : input.entrySet()) {
                     List<BMap<BString, Object>> records = new ArrayList<>();
                     BArray arrayValue = (BArray) entry.getValue();
                     for (int i = 0; i < arrayValue.getLength(); i++) {
-                        BMap<BString, Object> record = addFields(((BMap<BString, Object>) arrayValue.get(i)),
-                                elementType);
-                        BMap<BString, Object> parentRecord = processParentAnnotation(elementType, record);
-                        // Remove parent element
-                        records.add((BMap<BString, Object>) parentRecord.get(parentRecord.getKeys()[0]));
+                        BMap<BString, Object> record = addFields(((BMap<BString, Object>) arrayValue.get(i)), plan);
+                        // the parent element is not added
+                        plan.addNamespaces(record);
+                        records.add(record);
                     }
                     jsonMap.put(entry.getKey(), ValueCreator.createArrayValue(records.toArray(),
                             TypeCreator.createArrayType(elementType)));
@@ -93,111 +150,73 @@ public class DataUtils {
         }
         if (describingType.getTag() == TypeTags.RECORD_TYPE_TAG &&
                 describingType.getFlags() != Constants.DEFAULT_TYPE_FLAG) {
+            AnnotationPlan plan = AnnotationPlan.get((RecordType) describingType);
             BArray jsonArray = ValueCreator.createArrayValue(PredefinedTypes.TYPE_JSON_ARRAY);
-            BMap<BString, Object> recordField =  addFields(input, type.getDescribingType());
-            BMap<BString, Object> processedRecord = processParentAnnotation(type.getDescribingType(), recordField);
-            BString rootTagName = processedRecord.getKeys()[0];
-            jsonArray.append(processedRecord.get(rootTagName));
-            jsonArray.append(rootTagName);
+            BMap<BString, Object> recordField = addFields(input, plan);
+            plan.addNamespaces(recordField);
+            jsonArray.append(recordField);
+            jsonArray.append(plan.rootName);
             return jsonArray;
         }
         return input;
     }
 
     @SuppressWarnings("unchecked")
-    private static BMap<BString, Object> addFields(BMap<BString, Object> input, Type type) {
+    private static BMap<BString, Object> addFields(BMap<BString, Object> input, AnnotationPlan plan) {
         BMap<BString, Object> recordValue = ValueCreator.createMapValue(Constants.JSON_MAP_TYPE);
-        Map<String, Field> fields = ((RecordType) type).getFields();
-        BMap<BString, Object> annotations = ((RecordType) type).getAnnotations();
         for (Map.Entry<BString, Object> entry: input.entrySet()) {
-            String key = entry.getKey().getValue();
+            BString key = entry.getKey();
             Object value = entry.getValue();
-            if (fields.containsKey(key)) {
-                Type fieldType = fields.get(key).getFieldType();
-                fieldType = getTypeFromUnionType(fieldType, value);
-                if (fieldType.getTag() == TypeTags.RECORD_TYPE_TAG) {
-                    processRecord(key, annotations, recordValue, value, fieldType);
-                } else if (fieldType.getTag() == TypeTags.TYPE_REFERENCED_TYPE_TAG) {
-                    Type referredType = TypeUtils.getReferredType(fieldType);
-                    if (annotations.size() > 0) {
-                       key = getKeyNameFromAnnotation(annotations, key);
-                    }
-                    BMap<BString, Object> subRecordAnnotations = ((RecordType) referredType).getAnnotations();
-                    key = getElementName(subRecordAnnotations, key);
-                    BMap<BString, Object>  annotationRecord = ValueCreator.createMapValue(Constants.JSON_MAP_TYPE);
-                    processSubRecordAnnotation(subRecordAnnotations, annotationRecord);
-                    BMap<BString, Object> subRecordValue = addFields(((BMap<BString, Object>) value), referredType);
-                    if (annotationRecord.size() > 0) {
-                        subRecordValue.put(annotationRecord.getKeys()[0],
-                                annotationRecord.get(annotationRecord.getKeys()[0]));
-                    }
-                    recordValue.put(StringUtils.fromString(key), subRecordValue);
-                } else if (fieldType.getTag() == TypeTags.ARRAY_TAG) {
-                    processArray(fieldType, annotations, recordValue, entry);
-                } else {
-                    addPrimitiveValue(StringUtils.fromString(key), annotations, recordValue, value);
+            AnnotationPlan.FieldPlan field = plan.getField(key.getValue());
+            if (field == null) {
+                recordValue.put(key, value);
+                continue;
+            }
+            Type fieldType = getTypeFromUnionType(field.fieldType, value);
+            if (fieldType.getTag() == TypeTags.RECORD_TYPE_TAG) {
+                processRecord(field, plan, recordValue, value, (RecordType) fieldType);
+            } else if (fieldType.getTag() == TypeTags.TYPE_REFERENCED_TYPE_TAG) {
+                RecordType referredType = (RecordType) TypeUtils.getReferredType(fieldType);
+                AnnotationPlan subRecordPlan = AnnotationPlan.get(referredType);
+                BMap<BString, Object> subRecordValue = addFields(((BMap<BString, Object>) value), subRecordPlan);
+                if (subRecordPlan.hasNamespaces()) {
+                    subRecordValue.put(subRecordPlan.namespaceKeys[0], subRecordPlan.namespaceValues[0]);
                 }
+                recordValue.put(field.getElementName(referredType), subRecordValue);
+            } else if (fieldType.getTag() == TypeTags.ARRAY_TAG) {
+                processArray((ArrayType) fieldType, field, plan, recordValue, (BArray) value);
             } else {
-                recordValue.put(StringUtils.fromString(key), value);
+                recordValue.put(field.name, value);
             }
         }
         return recordValue;
     }
 
     @SuppressWarnings("unchecked")
-    private static void processRecord(String key, BMap<BString, Object> parentAnnotations,
-                                      BMap<BString, Object> record, Object value, Type childType) {
-        BMap<BString, Object>  parentRecordAnnotations = ValueCreator.createMapValue(Constants.JSON_MAP_TYPE);
-        BMap<BString, Object> annotation = ((RecordType) childType).getAnnotations();
-        if (parentAnnotations.size() > 0) {
-            processSubRecordAnnotation(parentAnnotations, parentRecordAnnotations);
-        }
-        BMap<BString, Object> subRecord = addFields(((BMap<BString, Object>) value), childType);
-        if (annotation.size() > 0) {
-            processSubRecordAnnotation(annotation, subRecord);
-        }
-        key = getElementName(annotation, key);
-        record.put(StringUtils.fromString(key), subRecord);
-        if (parentRecordAnnotations.size() > 0) {
-            record.put(parentRecordAnnotations.getKeys()[0],
-                    parentRecordAnnotations.get(parentRecordAnnotations.getKeys()[0]));
+    private static void processRecord(AnnotationPlan.FieldPlan field, AnnotationPlan parentPlan,
+                                      BMap<BString, Object> record, Object value, RecordType childType) {
+        AnnotationPlan plan = AnnotationPlan.get(childType);
+        BMap<BString, Object> subRecord = addFields(((BMap<BString, Object>) value), plan);
+        plan.addNamespaces(subRecord);
+        record.put(field.getRecordName(childType), subRecord);
+        if (parentPlan.hasNamespaces()) {
+            record.put(parentPlan.namespaceKeys[0], parentPlan.namespaceValues[0]);
         }
     }
 
     @SuppressWarnings("unchecked")
-    private static void addPrimitiveValue(BString key, BMap<BString, Object> annotations,
-                                          BMap<BString, Object> record, Object value) {
-        BString annotationKey =
-                StringUtils.fromString((Constants.FIELD + key).replace(":", "\\:"));
-        if (annotations.containsKey(annotationKey)) {
-            BMap<BString, Object> annotationValue = (BMap<BString, Object>) annotations.get(annotationKey);
-            record.put(StringUtils.fromString(processFieldAnnotation(annotationValue, key.getValue())), value);
-        } else {
-            record.put(key, value);
-        }
-    }
-
-    @SuppressWarnings("unchecked")
-    private static void processArray(Type childType, BMap<BString, Object> annotations,
-                                     BMap<BString, Object> record, Map.Entry<BString, Object> entry) {
-        Type elementType = TypeUtils.getReferredType(((ArrayType) childType).getElementType());
-        BMap<BString, Object>  annotationRecord = ValueCreator.createMapValue(Constants.JSON_MAP_TYPE);
-        String keyName = entry.getKey().getValue();
-        if (annotations.size() > 0) {
-            keyName = getKeyNameFromAnnotation(annotations, keyName);
-            processSubRecordAnnotation(annotations, annotationRecord);
-        }
-        BArray arrayValue = (BArray) entry.getValue();
+    private static void processArray(ArrayType childType, AnnotationPlan.FieldPlan field, AnnotationPlan parentPlan,
+                                     BMap<BString, Object> record, BArray arrayValue) {
+        Type elementType = TypeUtils.getReferredType(childType.getElementType());
         if (elementType.getTag() == TypeTags.RECORD_TYPE_TAG) {
+            AnnotationPlan plan = AnnotationPlan.get((RecordType) elementType);
             List<BMap<BString, Object>> records = new ArrayList<>();
             for (int i = 0; i < arrayValue.getLength(); i++) {
-                BMap<BString, Object> subRecord = addFields(((BMap<BString, Object>) arrayValue.get(i)),
-                        elementType);
-                subRecord = processParentAnnotation(elementType, subRecord);
-                records.add((BMap<BString, Object>) subRecord.get(subRecord.getKeys()[0]));
+                BMap<BString, Object> subRecord = addFields(((BMap<BString, Object>) arrayValue.get(i)), plan);
+                plan.addNamespaces(subRecord);
+                records.add(subRecord);
             }
-            record.put(
-                    StringUtils.fromString(getElementName(((RecordType) elementType).getAnnotations(), keyName)),
+            record.put(field.getElementName((RecordType) elementType),
                     ValueCreator.createArrayValue(records.toArray(),
                             TypeCreator.createArrayType(Constants.JSON_ARRAY_TYPE)));
         } else {
@@ -205,147 +224,89 @@ public class DataUtils {
             for (int i = 0; i < arrayValue.getLength(); i++) {
                 records.add(arrayValue.get(i));
             }
-            record.put(StringUtils.fromString(keyName), ValueCreator.createArrayValue(records.toArray(),
+            record.put(field.name, ValueCreator.createArrayValue(records.toArray(),
                     TypeCreator.createArrayType(Constants.JSON_ARRAY_TYPE)));
         }
-        if (annotationRecord.size() > 0) {
-            record.put(annotationRecord.getKeys()[0],
-                    annotationRecord.get(annotationRecord.getKeys()[0]));
-        }
-    }
-
-    @SuppressWarnings("unchecked")
-    private static String getKeyNameFromAnnotation(BMap<BString, Object> annotations, String keyName) {
-        BString annotationKey = StringUtils.fromString((Constants.FIELD + keyName).
-                replace(":", "\\:"));
-        if (annotations.containsKey(annotationKey)) {
-            BMap<BString, Object> annotationValue = (BMap<BString, Object>) annotations.get(annotationKey);
-            return processFieldAnnotation(annotationValue, keyName);
+        if (parentPlan.hasNamespaces()) {
+            record.put(parentPlan.namespaceKeys[0], parentPlan.namespaceValues[0]);
         }
-        return keyName;
     }
 
+    /**
+     * Returns the member of a union type which a record or an array value belongs to, or the given type if it is not
+     * a union type or the value is a simple value.
+     * <p>
+     * The member is resolved from the runtime type of the value, not from its name, and is cached for each runtime
+     * type, so a value of a record type is never matched with a member whose name is a part of the name of its type.
+     */
     public static Type getTypeFromUnionType(Type childType, Object value) {
-        if (childType instanceof UnionType) {
-            UnionType bUnionType = ((UnionType) childType);
-            for (Type memberType : bUnionType.getMemberTypes()) {
-                if (value.getClass().getName().toUpperCase(Locale.ROOT).contains(
-                        memberType.getName().toUpperCase(Locale.ROOT))) {
-                    childType = TypeUtils.getReferredType(memberType);
-                }
-            }
+        Type referredType = TypeUtils.getReferredType(childType);
+        if (referredType.getTag() != TypeTags.UNION_TAG || !(value instanceof BMap || value instanceof BArray)) {
+            return childType;
         }
-        return childType;
+        return UNION_MEMBERS.get(referredType).getMember(TypeUtils.getType(value));
     }
 
-    private static BMap<BString, Object> processParentAnnotation(Type type, BMap<BString, Object> record) {
-        BMap<BString, Object> parentRecord = ValueCreator.createMapValue(Constants.JSON_MAP_TYPE);
-        BMap<BString, Object> namespaces = ValueCreator.createMapValue(Constants.JSON_MAP_TYPE);
-        BMap<BString, Object> annotations = ((RecordType) type).getAnnotations();
-        BString rootName = processAnnotation(annotations, type.getName(), namespaces);
-        if (namespaces.size() > 0) {
-            for (Map.Entry<BString, Object> namespace : namespaces.entrySet()) {
-                record.put(namespace.getKey(), namespace.getValue());
-            }
-        }
-        parentRecord.put(rootName, record);
-        return parentRecord;
-    }
+    /**
+     * Record, map and array members of a union type, with the member resolved for each runtime type of a value.
+     */
+    private static final class UnionMembers {
 
-    @SuppressWarnings("unchecked")
-    private static String processFieldAnnotation(BMap<BString, Object> annotation, String key) {
-        for (BString value : annotation.getKeys()) {
-            String stringValue = value.getValue();
-            if (stringValue.endsWith(NAME)) {
-                BMap<BString, Object> names = (BMap<BString, Object>) annotation.get(value);
-                String name = names.get(StringUtils.fromString(VALUE)).toString();
-                if (key.contains(COLON)) {
-                    key = key.substring(0, key.indexOf(COLON) + 1) + name;
-                } else if (key.contains(ATTRIBUTE_PREFIX)) {
-                    key = key.substring(0, key.indexOf(UNDERSCORE) + 1) + name;
-                } else {
-                    key = name;
-                }
-            }
-            if (stringValue.endsWith(Constants.ATTRIBUTE)) {
-                key = ATTRIBUTE_PREFIX.concat(key);
-            }
+        private final UnionType unionType;
+        private final Type[] members;
+        private final TypeCache<Type> resolvedMembers = new TypeCache<>(this::resolve);
+
+        private UnionMembers(UnionType unionType) {
+            this.unionType = unionType;
+            List<Type> members = new ArrayList<>();
+            addMembers(unionType, members);
+            this.members = members.toArray(new Type[0]);
         }
-        return key;
-    }
 
-    private static BString processAnnotation(BMap<BString, Object> annotation, String key,
-                                             BMap<BString, Object> namespaces) {
-        boolean hasNamespaceAnnotation = false;
-        for (BString value : annotation.getKeys()) {
-            if (!value.getValue().contains(Constants.FIELD)) {
-                String stringValue = value.getValue();
-                if (stringValue.endsWith(NAME)) {
-                    key = processNameAnnotation(annotation, key, value, hasNamespaceAnnotation);
-                }
-                if (stringValue.endsWith(Constants.NAME_SPACE)) {
-                    hasNamespaceAnnotation = true;
-                    key = processNamespaceAnnotation(annotation, key, value, namespaces);
+        private static void addMembers(UnionType unionType, List<Type> members) {
+            for (Type memberType : unionType.getMemberTypes()) {
+                Type referredType = TypeUtils.getReferredType(memberType);
+                switch (referredType.getTag()) {
+                    case TypeTags.UNION_TAG:
+                        addMembers((UnionType) referredType, members);
+                        break;
+                    case TypeTags.RECORD_TYPE_TAG:
+                    case TypeTags.MAP_TAG:
+                    case TypeTags.ARRAY_TAG:
+                        members.add(referredType);
+                        break;
+                    default:
+                        // a record or an array value never belongs to such a member
+                        break;
                 }
             }
         }
-        return StringUtils.fromString(key);
-    }
 
-    private static void processSubRecordAnnotation(BMap<BString, Object> annotation,
-                                                   BMap<BString, Object>  subRecord) {
-        BString[] keys = annotation.getKeys();
-        for (BString value : keys) {
-            if (value.getValue().endsWith(Constants.NAME_SPACE)) {
-                processNamespaceAnnotation(annotation, "", value, subRecord);
-            }
+        Type getMember(Type valueType) {
+            return resolvedMembers.get(TypeUtils.getReferredType(valueType));
         }
-    }
 
-    @SuppressWarnings("unchecked")
-    private static String getElementName(BMap<BString, Object> annotation, String key) {
-        BString[] keys = annotation.getKeys();
-        boolean hasNamespaceAnnotation = false;
-        for (BString value : keys) {
-            if (value.getValue().endsWith(Constants.NAME_SPACE)) {
-                hasNamespaceAnnotation = true;
-                BMap<BString, Object> namespaceAnnotation = (BMap<BString, Object>) annotation.get(value);
-                BString prefix = (BString) namespaceAnnotation.get(StringUtils.fromString(Constants.PREFIX));
-                if (prefix != null) {
-                    key = prefix.getValue().concat(":").concat(key);
+        /**
+         * Resolves the member of the runtime type of a value, which is the same type for a value created as a value of
+         * the member. Otherwise, a member of the same name, or the first member of the same kind is chosen.
+         */
+        private Type resolve(Type valueType) {
+            Type sameKind = null;
+            for (Type member : members) {
+                if (member == valueType) {
+                    return member;
+                }
+                if (member.getTag() != valueType.getTag()) {
+                    continue;
+                }
+                if (member.getName().equals(valueType.getName()) && !member.getName().isEmpty()) {
+                    return member;
+                }
+                if (sameKind == null) {
+                    sameKind = member;
                 }
             }
-            if (value.getValue().endsWith(NAME)) {
-                key = processNameAnnotation(annotation, key, value, hasNamespaceAnnotation);
-            }
-        }
-        return key;
-    }
-
-    @SuppressWarnings("unchecked")
-    private static String processNameAnnotation(BMap<BString, Object> annotation, String key, BString value,
-                                                boolean hasNamespaceAnnotation) {
-        String nameValue = ((BMap<BString, Object>) annotation.get(value)).
-                get(StringUtils.fromString(VALUE)).toString();
-        if (hasNamespaceAnnotation) {
-            return key.substring(0, key.indexOf(":") + 1) + nameValue;
-        } else {
-            return nameValue;
-        }
-    }
-
-    @SuppressWarnings("unchecked")
-    private static String processNamespaceAnnotation(BMap<BString, Object> annotation, String key, BString value,
-                                                     BMap<BString, Object>  subRecord) {
-        BMap<BString, Object> namespaceAnnotation = (BMap<BString, Object>) annotation.get(value);
-        BString uri = (BString) namespaceAnnotation.get(StringUtils.fromString(Constants.URI));
-        BString prefix = (BString) namespaceAnnotation.get(StringUtils.fromString(Constants.PREFIX));
-        if (prefix ==  null) {
-            subRecord.put(StringUtils.fromString(ATTRIBUTE_PREFIX + "xmlns"), uri);
-        } else {
-            subRecord.put(StringUtils.fromString(ATTRIBUTE_PREFIX + "xmlns:" + prefix), uri);
-            key = prefix.getValue().concat(":").concat(key);
+            return sameKind == null ? unionType : sameKind;
         }
-        return key;
     }
 }
@@ -33,6 +33,16 @@ public class ModuleUtils {
      */
     private static Module module = null;
 
+    /**
+     * CSV sub module ID.
+     */
+    private static Module csvModule = null;
+
+    /**
+     * XML sub module ID.
+     */
+    private static Module xmlModule = null;
+
     private ModuleUtils() {
     }
 
@@ -43,4 +53,20 @@ public class ModuleUtils {
     public static Module getModule() {
         return module;
     }
+
+    public static void setCsvModule(Environment env) {
+        csvModule = env.getCurrentModule();
+    }
+
+    public static Module getCsvModule() {
+        return csvModule;
+    }
+
+    public static void setXmlModule(Environment env) {
+        xmlModule = env.getCurrentModule();
+    }
+
+    public static Module getXmlModule() {
+        return xmlModule;
+    }
 }
@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.utils;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BDecimal;
+
+import java.math.BigDecimal;
+
+/**
+ * Lexer of the numeric values of string, JSON and CSV content.
+ * <p>
+ * {@link #lex(String)} classifies a value in a single pass without throwing an exception for an invalid value, and
+ * the value of a number is then created from its characters with {@link #toLong(String)}, {@link #toDouble(String)}
+ * or {@link #toDecimal(String)}. The common values, which have a few significant digits, are converted without
+ * creating intermediate objects.
+ *
+ * @since 0.1.0
+ */
+public class NumberLexer {
+
+    /**
+     * A value which is never accepted as a number.
+     */
+    public static final int TEXT = 0;
+    /**
+     * An integer in the range of `int`.
+     */
+    public static final int INTEGER = 1;
+    /**
+     * A number with a fraction or an exponent, or an integer out of the range of `int`.
+     */
+    public static final int DECIMAL = 2;
+    /**
+     * A value which may be accepted by {@link Double#parseDouble(String)} but isn't a plain number, such as a value
+     * with surrounding whitespace, a type suffix, a hexadecimal value, `NaN` or `Infinity`.
+     */
+    public static final int OTHER = 3;
+
+    private static final int LONG_DIGITS = 19;
+    private static final String MAX_LONG_DIGITS = "9223372036854775807";
+    private static final String MIN_LONG_DIGITS = "9223372036854775808";
+    // Numbers with up to 15 digits are exactly represented as a `double`, as 10^15 < 2^53.
+    private static final int MAX_EXACT_DOUBLE_DIGITS = 15;
+    private static final double[] EXACT_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18,
+            1e19, 1e20, 1e21, 1e22
+    };
+    // Numbers with up to 18 digits are represented by a `long` unscaled value.
+    private static final int MAX_LONG_DIGITS_SAFE = 18;
+    // Scale limit of the decimal values created directly, which is well within the range of `decimal`.
+    private static final int MAX_DIRECT_SCALE = 1000;
+    private static final int MAX_EXPONENT_DIGITS = 9;
+
+    private NumberLexer() {
+    }
+
+    /**
+     * Classifies a value as {@link #TEXT}, {@link #INTEGER}, {@link #DECIMAL} or {@link #OTHER}.
+     */
+    public static int lex(String value) {
+        int length = value.length();
+        if (length == 0) {
+            return TEXT;
+        }
+        int i = 0;
+        char ch = value.charAt(0);
+        if (ch == '+' || ch == '-') {
+            i++;
+        }
+        int digits = 0;
+        while (i < length && isDigit(value.charAt(i))) {
+            i++;
+            digits++;
+        }
+        if (i == length) {
+            if (digits == 0) {
+                return TEXT;
+            }
+            return digits < LONG_DIGITS || isLong(value) ? INTEGER : DECIMAL;
+        }
+        if (value.charAt(i) == '.') {
+            i++;
+            while (i < length && isDigit(value.charAt(i))) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits > 0 && i < length && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+                i++;
+            }
+            int exponentDigits = 0;
+            while (i < length && isDigit(value.charAt(i))) {
+                i++;
+                exponentDigits++;
+            }
+            digits = exponentDigits;
+        }
+        if (i == length && digits > 0) {
+            return DECIMAL;
+        }
+        return isOther(value) ? OTHER : TEXT;
+    }
+
+    /**
+     * Returns the value of an {@link #INTEGER}.
+     */
+    public static long toLong(String value) {
+        boolean negative = value.charAt(0) == '-';
+        int i = negative || value.charAt(0) == '+' ? 1 : 0;
+        // accumulated as a negative value, as the range of negative values is larger
+        long result = 0;
+        for (; i < value.length(); i++) {
+            result = result * 10 - (value.charAt(i) - '0');
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Returns the value of an {@link #INTEGER} or a {@link #DECIMAL} as a `float`.
+     */
+    public static double toDouble(String value) {
+        Digits number = new Digits();
+        if (!number.read(value) || number.significantDigits > MAX_EXACT_DOUBLE_DIGITS) {
+            return Double.parseDouble(value);
+        }
+        if (number.unscaled == 0) {
+            return number.negative ? -0.0d : 0.0d;
+        }
+        int exponent = -number.scale;
+        double result;
+        if (exponent >= 0 && exponent < EXACT_POWERS_OF_TEN.length) {
+            result = number.unscaled * EXACT_POWERS_OF_TEN[exponent];
+        } else if (exponent < 0 && -exponent < EXACT_POWERS_OF_TEN.length) {
+            result = number.unscaled / EXACT_POWERS_OF_TEN[-exponent];
+        } else {
+            return Double.parseDouble(value);
+        }
+        return number.negative ? -result : result;
+    }
+
+    /**
+     * Returns the value of an {@link #INTEGER} or a {@link #DECIMAL} as a `decimal`.
+     *
+     * @return the `decimal` value, or `null` if the value is out of the range of `decimal`
+     */
+    public static BDecimal toDecimal(String value) {
+        Digits number = new Digits();
+        if (number.read(value) && number.significantDigits <= MAX_LONG_DIGITS_SAFE &&
+                Math.abs(number.scale) <= MAX_DIRECT_SCALE) {
+            return ValueCreator.createDecimalValue(BigDecimal.valueOf(
+                    number.negative ? -number.unscaled : number.unscaled, number.scale));
+        }
+        try {
+            return ValueCreator.createDecimalValue(value);
+        } catch (RuntimeException e) {
+            // out of range
+            return null;
+        }
+    }
+
+    private static boolean isDigit(char ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    private static boolean isLong(String value) {
+        boolean negative = value.charAt(0) == '-';
+        int i = negative || value.charAt(0) == '+' ? 1 : 0;
+        while (i < value.length() - 1 && value.charAt(i) == '0') {
+            i++;
+        }
+        int digits = value.length() - i;
+        if (digits != LONG_DIGITS) {
+            return digits < LONG_DIGITS;
+        }
+        String limit = negative ? MIN_LONG_DIGITS : MAX_LONG_DIGITS;
+        for (int j = 0; j < LONG_DIGITS; j++) {
+            char ch = value.charAt(i + j);
+            if (ch != limit.charAt(j)) {
+                return ch < limit.charAt(j);
+            }
+        }
+        return true;
+    }
+
+    private static boolean isOther(String value) {
+        int length = value.length();
+        if (value.charAt(0) <= ' ' || value.charAt(length - 1) <= ' ') {
+            return true;
+        }
+        int i = value.charAt(0) == '+' || value.charAt(0) == '-' ? 1 : 0;
+        if (i == length) {
+            return false;
+        }
+        char ch = value.charAt(i);
+        if (ch == 'N' || ch == 'I') {
+            return true;
+        }
+        if (ch == '0' && i + 1 < length && (value.charAt(i + 1) == 'x' || value.charAt(i + 1) == 'X')) {
+            return true;
+        }
+        switch (value.charAt(length - 1)) {
+            case 'F':
+            case 'f':
+            case 'D':
+            case 'd':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Digits of a number, read as `unscaled * 10^-scale` when the number has a few significant digits.
+     */
+    private static class Digits {
+
+        boolean negative;
+        long unscaled;
+        int scale;
+        int significantDigits;
+
+        /**
+         * Reads an {@link #INTEGER} or a {@link #DECIMAL}.
+         *
+         * @return `false` if the number has too many digits to be read
+         */
+        boolean read(String value) {
+            int length = value.length();
+            int i = 0;
+            negative = value.charAt(0) == '-';
+            if (negative || value.charAt(0) == '+') {
+                i++;
+            }
+            boolean fraction = false;
+            for (; i < length; i++) {
+                char ch = value.charAt(i);
+                if (ch == '.') {
+                    fraction = true;
+                    continue;
+                }
+                if (!isDigit(ch)) {
+                    break;
+                }
+                if (fraction) {
+                    scale++;
+                }
+                if (unscaled == 0 && ch == '0') {
+                    continue;
+                }
+                if (++significantDigits > MAX_LONG_DIGITS_SAFE) {
+                    return false;
+                }
+                unscaled = unscaled * 10 + (ch - '0');
+            }
+            if (i == length) {
+                return true;
+            }
+            // exponent
+            i++;
+            boolean negativeExponent = value.charAt(i) == '-';
+            if (negativeExponent || value.charAt(i) == '+') {
+                i++;
+            }
+            while (i < length - 1 && value.charAt(i) == '0') {
+                i++;
+            }
+            if (length - i > MAX_EXPONENT_DIGITS) {
+                return false;
+            }
+            int exponent = 0;
+            for (; i < length; i++) {
+                exponent = exponent * 10 + (value.charAt(i) - '0');
+            }
+            scale += negativeExponent ? exponent : -exponent;
+            return true;
+        }
+    }
+}
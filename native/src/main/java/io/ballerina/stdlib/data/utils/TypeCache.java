@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.utils;
+
+import io.ballerina.runtime.api.types.Type;
+
+import java.util.IdentityHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache of immutable values computed for a type, such as the conversion plan of a union type.
+ * <p>
+ * Types are compared by identity. A lookup reads an immutable snapshot without locking, and a new value is added by
+ * replacing the snapshot. As the number of types of a program is small, the cache is cleared in the rare case it
+ * grows beyond {@link #MAX_SIZE}, which happens only with types created at runtime.
+ *
+ * @param <V> type of the cached values
+ * @since 0.1.0
+ */
+public class TypeCache<V> {
+
+    private static final int MAX_SIZE = 1024;
+
+    private final Function<Type, V> factory;
+    private volatile IdentityHashMap<Type, V> entries = new IdentityHashMap<>();
+
+    public TypeCache(Function<Type, V> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Returns the value of the type, which is computed on the first lookup. The factory may be called more than once
+     * for the same type by concurrent lookups, and therefore should not have side effects.
+     */
+    public V get(Type type) {
+        V value = entries.get(type);
+        if (value == null) {
+            value = factory.apply(type);
+            put(type, value);
+        }
+        return value;
+    }
+
+    private synchronized void put(Type type, V value) {
+        IdentityHashMap<Type, V> copy = entries.size() >= MAX_SIZE ? new IdentityHashMap<>() :
+                new IdentityHashMap<>(entries);
+        copy.put(type, value);
+        entries = copy;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.utils;
+
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Values of the `xml:Name`, `xml:Namespace` and `xml:Attribute` annotations of a record type and of its fields.
+ * <p>
+ * The annotations are read once per record type, and the plans which convert the values of the type from and to XML
+ * are built on them.
+ *
+ * @since 0.1.0
+ */
+public class XmlAnnotations {
+
+    private static final String NAME = "Name";
+    private static final String VALUE = "value";
+    private static final TypeCache<XmlAnnotations> ANNOTATIONS =
+            new TypeCache<>(type -> new XmlAnnotations((RecordType) type));
+
+    // Value of the `xml:Name` annotation of the type, `null` if the type isn't annotated.
+    public final String name;
+    // Prefix of the `xml:Namespace` annotation of the type, empty for the default namespace.
+    public final String prefix;
+    // URI of the `xml:Namespace` annotation of the type, `null` if the type isn't annotated.
+    public final String uri;
+    private final Map<String, FieldAnnotations> fields = new HashMap<>();
+
+    @SuppressWarnings("unchecked")
+    private XmlAnnotations(RecordType type) {
+        BMap<BString, Object> annotations = type.getAnnotations();
+        String name = null;
+        BMap<BString, Object> namespace = null;
+        if (annotations != null) {
+            for (BString key : annotations.getKeys()) {
+                String annotation = key.getValue();
+                if (annotation.startsWith(Constants.FIELD)) {
+                    continue;
+                }
+                if (annotation.endsWith(NAME)) {
+                    name = getValue((BMap<BString, Object>) annotations.get(key), VALUE);
+                } else if (annotation.endsWith(Constants.NAME_SPACE)) {
+                    namespace = (BMap<BString, Object>) annotations.get(key);
+                }
+            }
+            for (Field field : type.getFields().values()) {
+                BMap<BString, Object> fieldAnnotations = getFieldAnnotations(annotations, field.getFieldName());
+                if (fieldAnnotations != null) {
+                    fields.put(field.getFieldName(), new FieldAnnotations(fieldAnnotations));
+                }
+            }
+        }
+        this.name = name;
+        this.prefix = getPrefix(namespace);
+        this.uri = getUri(namespace);
+    }
+
+    /**
+     * Returns the annotations of a record type, which are read on the first call.
+     */
+    public static XmlAnnotations get(RecordType type) {
+        return ANNOTATIONS.get(type);
+    }
+
+    /**
+     * Returns the annotations of a field, {@link FieldAnnotations#NONE} if the field isn't annotated.
+     */
+    public FieldAnnotations getField(String fieldName) {
+        return fields.getOrDefault(fieldName, FieldAnnotations.NONE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BMap<BString, Object> getFieldAnnotations(BMap<BString, Object> annotations, String fieldName) {
+        if (annotations.isEmpty()) {
+            return null;
+        }
+        Object fieldAnnotations = annotations.get(
+                StringUtils.fromString((Constants.FIELD + fieldName).replace(":", "\\:")));
+        return fieldAnnotations instanceof BMap ? (BMap<BString, Object>) fieldAnnotations : null;
+    }
+
+    private static String getValue(BMap<BString, Object> annotation, String field) {
+        Object value = annotation == null ? null : annotation.get(StringUtils.fromString(field));
+        return value == null ? null : value.toString();
+    }
+
+    private static String getPrefix(BMap<BString, Object> namespace) {
+        String prefix = getValue(namespace, Constants.PREFIX);
+        return prefix == null ? "" : prefix;
+    }
+
+    private static String getUri(BMap<BString, Object> namespace) {
+        return getValue(namespace, Constants.URI);
+    }
+
+    /**
+     * Values of the `xml:Name`, `xml:Namespace` and `xml:Attribute` annotations of a field.
+     */
+    public static final class FieldAnnotations {
+
+        public static final FieldAnnotations NONE = new FieldAnnotations(null, "", null, false);
+
+        // Value of the `xml:Name` annotation, `null` if the field is named by its key.
+        public final String name;
+        public final String prefix;
+        public final String uri;
+        public final boolean attribute;
+
+        private FieldAnnotations(String name, String prefix, String uri, boolean attribute) {
+            this.name = name;
+            this.prefix = prefix;
+            this.uri = uri;
+            this.attribute = attribute;
+        }
+
+        @SuppressWarnings("unchecked")
+        private FieldAnnotations(BMap<BString, Object> annotations) {
+            String name = null;
+            BMap<BString, Object> namespace = null;
+            boolean attribute = false;
+            for (BString key : annotations.getKeys()) {
+                String annotation = key.getValue();
+                if (annotation.endsWith(NAME)) {
+                    name = getValue((BMap<BString, Object>) annotations.get(key), VALUE);
+                } else if (annotation.endsWith(Constants.NAME_SPACE)) {
+                    namespace = (BMap<BString, Object>) annotations.get(key);
+                } else if (annotation.endsWith(Constants.ATTRIBUTE)) {
+                    attribute = true;
+                }
+            }
+            this.name = name;
+            this.prefix = getPrefix(namespace);
+            this.uri = getUri(namespace);
+            this.attribute = attribute;
+        }
+
+        /**
+         * Returns whether the element of the field is named by the annotations of the field, and not by the
+         * `xml:Name` annotation of the record type of its value.
+         */
+        public boolean isNamed() {
+            return name != null || uri != null;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.xml;
+
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BStream;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+import io.ballerina.stdlib.data.utils.DataUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+
+/**
+ * Native implementation of xml conversion.
+ */
+public class Native {
+
+    /**
+     * Converts an XML string to a record, projecting the elements and the attributes to the fields of the record.
+     *
+     * @param string  XML content
+     * @param options `xml:SourceOptions` given for the conversion
+     * @param typed   expected record type
+     * @return record of the expected type or an `xml:ConversionError`
+     */
+    public static Object fromXmlStringWithType(BString string, BMap<BString, Object> options, BTypedesc typed) {
+        try {
+            return XmlParser.parse(new StringReader(string.getValue()), XmlConfig.fromOptions(options),
+                    typed.getDescribingType());
+        } catch (XmlParser.XmlParserException e) {
+            return DataUtils.getXmlError(e.getMessage(), e.line, e.column);
+        }
+    }
+
+    public static Object fromXmlBytesWithType(BArray array, BMap<BString, Object> options, BTypedesc typed) {
+        try {
+            // the encoding is detected from the XML declaration
+            return XmlParser.parse(new ByteArrayInputStream(array.getBytes(), 0, array.size()),
+                    XmlConfig.fromOptions(options), typed.getDescribingType());
+        } catch (XmlParser.XmlParserException e) {
+            return DataUtils.getXmlError(e.getMessage(), e.line, e.column);
+        }
+    }
+
+    public static Object fromXmlStreamWithType(Environment env, BStream stream, BMap<BString, Object> options,
+                                               BTypedesc typed) {
+        XmlStreamReader.readValue(env, stream, XmlConfig.fromOptions(options), typed.getDescribingType());
+        return null;
+    }
+
+    public static Object fromXmlStreamWithElementType(BStream stream, BString path, BMap<BString, Object> options,
+                                                      BTypedesc typed) {
+        try {
+            return XmlElementStream.createElementStream(stream, path.getValue(), XmlConfig.fromOptions(options),
+                    typed.getDescribingType());
+        } catch (XmlParser.XmlParserException e) {
+            return DataUtils.getXmlError(e.getMessage(), e.line, e.column);
+        }
+    }
+
+    public static Object nextElement(BObject elementStream) {
+        return XmlElementStream.nextElement(elementStream);
+    }
+
+    public static Object readChunk(BObject elementStream, Object chunk) {
+        return XmlElementStream.readChunk(elementStream, chunk);
+    }
+
+    public static void closeElementReader(BObject elementStream) {
+        XmlElementStream.close(elementStream);
+    }
+
+    /**
+     * Writes a record as an XML string, using the annotations of the record type for the names of the elements and
+     * the attributes.
+     *
+     * @param value   record to be written
+     * @param options `xml:ToOptions` given for the conversion
+     * @return XML content or an `xml:ConversionError`
+     */
+    public static Object toXmlString(BMap<BString, Object> value, BMap<BString, Object> options) {
+        try {
+            XmlOutput out = new XmlOutput();
+            new XmlWriter(value, XmlWriterConfig.fromOptions(options)).writeAll(out);
+            return StringUtils.fromString(out.toUtf8String());
+        } catch (XmlParser.XmlParserException e) {
+            return DataUtils.getXmlError(e.getMessage(), e.line, e.column);
+        }
+    }
+
+    public static Object toXmlBytes(BMap<BString, Object> value, BMap<BString, Object> options) {
+        try {
+            XmlOutput out = new XmlOutput();
+            new XmlWriter(value, XmlWriterConfig.fromOptions(options)).writeAll(out);
+            return ValueCreator.createArrayValue(out.toByteArray());
+        } catch (XmlParser.XmlParserException e) {
+            return DataUtils.getXmlError(e.getMessage(), e.line, e.column);
+        }
+    }
+
+    public static Object initWriter(BObject chunkStream, BMap<BString, Object> value, BMap<BString, Object> options) {
+        try {
+            XmlWriter.initChunkStream(chunkStream, new XmlWriter(value, XmlWriterConfig.fromOptions(options)));
+            return null;
+        } catch (XmlParser.XmlParserException e) {
+            return DataUtils.getXmlError(e.getMessage(), e.line, e.column);
+        }
+    }
+
+    public static Object nextChunk(BObject chunkStream) {
+        try {
+            return XmlWriter.nextChunk(chunkStream);
+        } catch (XmlParser.XmlParserException e) {
+            return DataUtils.getXmlError(e.getMessage(), e.line, e.column);
+        }
+    }
+}
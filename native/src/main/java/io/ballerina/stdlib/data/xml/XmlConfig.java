@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.xml;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.data.utils.Constants;
+
+/**
+ * Holds the `xml:SourceOptions` given for an XML conversion.
+ *
+ * @since 0.1.0
+ */
+public class XmlConfig {
+
+    private static final BString ATTRIBUTE_PREFIX = StringUtils.fromString(Constants.OPTIONS_ATTRIBUTE_PREFIX);
+    private static final BString PRESERVE_NAMESPACES = StringUtils.fromString(Constants.OPTIONS_PRESERVE_NS);
+    private static final BString TEXT_FIELD_NAME = StringUtils.fromString("textFieldName");
+    private static final String DEFAULT_TEXT_FIELD_NAME = "#content";
+
+    // Prefix of the field names of the attributes added to an open record.
+    final String attributePrefix;
+    // Name of the field of the text content of an element which is converted to a record.
+    final String textFieldName;
+    // Whether the namespace declarations are added to an open record as `xmlns` attributes.
+    final boolean preserveNamespaces;
+
+    private XmlConfig(String attributePrefix, String textFieldName, boolean preserveNamespaces) {
+        this.attributePrefix = attributePrefix;
+        this.textFieldName = textFieldName;
+        this.preserveNamespaces = preserveNamespaces;
+    }
+
+    static XmlConfig fromOptions(BMap<BString, Object> options) {
+        if (options == null) {
+            return new XmlConfig("", DEFAULT_TEXT_FIELD_NAME, false);
+        }
+        return new XmlConfig(getString(options, ATTRIBUTE_PREFIX, ""),
+                getString(options, TEXT_FIELD_NAME, DEFAULT_TEXT_FIELD_NAME),
+                getBoolean(options, PRESERVE_NAMESPACES, false));
+    }
+
+    private static String getString(BMap<BString, Object> options, BString key, String defaultValue) {
+        Object value = options.get(key);
+        return value == null ? defaultValue : value.toString();
+    }
+
+    private static boolean getBoolean(BMap<BString, Object> options, BString key, boolean defaultValue) {
+        Object value = options.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        return (Boolean) value;
+    }
+}
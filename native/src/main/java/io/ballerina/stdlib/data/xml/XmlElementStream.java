@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.xml;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BStream;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.data.utils.DataUtils;
+import io.ballerina.stdlib.data.utils.ModuleUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.Cleaner;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reads the repeated elements of XML content from a Ballerina `stream<byte[], error?>`, one element at a time.
+ * <p>
+ * The StAX reader pulls its input, while the chunks of a Ballerina stream are pushed by the `next()` calls of the
+ * stream. Therefore, the reader runs in a separate thread, which waits for the next chunk when the current chunk is
+ * read, and waits for the elements it converted to be taken when {@link #MAX_PENDING_ELEMENTS} are pending. Only one
+ * chunk and a bounded number of elements are kept in memory, regardless of the size of the content. A stream dropped
+ * without being closed, e.g. by a query which stops taking the elements after a `limit`, is cancelled by a
+ * {@link Cleaner}, so the reader thread doesn't wait for the next chunk forever.
+ *
+ * @since 0.1.0
+ */
+public class XmlElementStream {
+
+    private static final String ELEMENT_STREAM_CLASS = "ElementStream";
+    private static final String ELEMENT_READER = "elementReader";
+    private static final BString VALUE = StringUtils.fromString("value");
+    // Elements are handed over in batches, as switching between the threads for each element is costly.
+    private static final int MAX_PENDING_ELEMENTS = 64;
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    /**
+     * Creates a lazy `stream<T, xml:ConversionError?>` of the elements at the given path.
+     */
+    static BStream createElementStream(BStream source, String path, XmlConfig config, Type type)
+            throws XmlParser.XmlParserException {
+        String[] names = parsePath(path);
+        BObject elementStream = ValueCreator.createObjectValue(ModuleUtils.getXmlModule(), ELEMENT_STREAM_CLASS,
+                source);
+        ElementReader reader = new ElementReader(names, config, type);
+        elementStream.addNativeData(ELEMENT_READER, reader);
+        reader.cancelWhenUnreachable(elementStream);
+        return ValueCreator.createStreamValue(TypeCreator.createStreamType(type,
+                TypeCreator.createUnionType(PredefinedTypes.TYPE_ERROR, PredefinedTypes.TYPE_NULL)), elementStream);
+    }
+
+    /**
+     * Returns the next element read from the source, or `()` if more content is needed or the content has ended.
+     */
+    static Object nextElement(BObject elementStream) {
+        ElementReader reader = (ElementReader) elementStream.getNativeData(ELEMENT_READER);
+        try {
+            return reader.next();
+        } catch (XmlParser.XmlParserException e) {
+            return DataUtils.getXmlError(e.getMessage(), e.line, e.column);
+        }
+    }
+
+    /**
+     * Hands over the result of a `next()` call of the source stream. `()` or an error marks the end of the content.
+     */
+    @SuppressWarnings("unchecked")
+    static Object readChunk(BObject elementStream, Object chunk) {
+        ElementReader reader = (ElementReader) elementStream.getNativeData(ELEMENT_READER);
+        if (chunk instanceof BError) {
+            reader.cancel();
+            return DataUtils.getXmlError("error reading XML stream: " + ((BError) chunk).getMessage(), 0, 0);
+        }
+        if (chunk == null) {
+            reader.feed(null);
+        } else {
+            BArray bytes = (BArray) ((BMap<BString, Object>) chunk).get(VALUE);
+            reader.feed(bytes.getBytes());
+        }
+        return null;
+    }
+
+    /**
+     * Stops reading the source, the reader thread completes without reading the rest of the content.
+     */
+    static void close(BObject elementStream) {
+        ((ElementReader) elementStream.getNativeData(ELEMENT_READER)).cancel();
+    }
+
+    private static String[] parsePath(String path) throws XmlParser.XmlParserException {
+        String trimmed = path.startsWith("/") ? path.substring(1) : path;
+        String[] names = trimmed.split("/", -1);
+        for (String name : names) {
+            if (name.isEmpty()) {
+                throw new XmlParser.XmlParserException("invalid element path '" + path + "'", 0, 0);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Input of the StAX reader, and the hand over of the converted elements between the reader thread and the
+     * strand consuming the stream. All the state is guarded by the monitor of this object.
+     */
+    static class ElementReader extends InputStream implements Runnable {
+
+        private final String[] path;
+        private final XmlConfig config;
+        private final Type type;
+
+        private byte[] chunk;
+        private int position;
+        private boolean endOfInput = false;
+        // Whether the reader thread has read the current chunk and is waiting for the next chunk.
+        private boolean waitingForInput = false;
+        private final Deque<Object> elements = new ArrayDeque<>();
+        private XmlParser.XmlParserException failure;
+        private boolean completed = false;
+        private boolean closed = false;
+        private Thread thread;
+
+        ElementReader(String[] path, XmlConfig config, Type type) {
+            this.path = path;
+            this.config = config;
+            this.type = type;
+        }
+
+        synchronized void feed(byte[] bytes) {
+            if (thread == null) {
+                thread = new Thread(this, "xml-element-reader");
+                thread.setDaemon(true);
+                thread.start();
+            }
+            if (bytes == null) {
+                endOfInput = true;
+            } else {
+                chunk = bytes;
+                position = 0;
+            }
+            waitingForInput = false;
+            notifyAll();
+        }
+
+        /**
+         * Waits until the reader thread converts an element, needs more content or completes.
+         */
+        synchronized Object next() throws XmlParser.XmlParserException {
+            if (thread == null) {
+                return null;
+            }
+            while (elements.isEmpty() && !waitingForInput && !completed) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    cancel();
+                    throw new XmlParser.XmlParserException("interrupted while reading XML stream", 0, 0);
+                }
+            }
+            if (!elements.isEmpty()) {
+                if (elements.size() == MAX_PENDING_ELEMENTS) {
+                    notifyAll();
+                }
+                return elements.poll();
+            }
+            if (failure != null) {
+                XmlParser.XmlParserException e = failure;
+                failure = null;
+                throw e;
+            }
+            return null;
+        }
+
+        synchronized void cancel() {
+            closed = true;
+            notifyAll();
+        }
+
+        /**
+         * Cancels the reader once the given stream is unreachable. The reader thread references only the reader, not
+         * the stream.
+         */
+        void cancelWhenUnreachable(Object elementStream) {
+            CLEANER.register(elementStream, this::cancel);
+        }
+
+        synchronized boolean isCompleted() {
+            return completed;
+        }
+
+        @Override
+        public void run() {
+            XmlParser.XmlParserException error = null;
+            try {
+                XMLStreamReader reader = XmlParser.createReader(this);
+                try {
+                    new XmlParser(reader, config).readElements(path, type, this::put);
+                } finally {
+                    reader.close();
+                }
+            } catch (XMLStreamException e) {
+                error = XmlParser.toParserException(e);
+            } catch (XmlParser.XmlParserException e) {
+                error = e;
+            } catch (ClosedException e) {
+                // the stream is closed by the consumer
+            }
+            synchronized (this) {
+                failure = closed ? null : error;
+                completed = true;
+                notifyAll();
+            }
+        }
+
+        private synchronized void put(Object value) {
+            while (elements.size() == MAX_PENDING_ELEMENTS && !closed) {
+                notifyAll();
+                awaitConsumer();
+            }
+            if (closed) {
+                throw new ClosedException();
+            }
+            elements.add(value);
+        }
+
+        @Override
+        public synchronized int read() throws IOException {
+            if (!awaitInput()) {
+                return -1;
+            }
+            return chunk[position++] & 0xFF;
+        }
+
+        @Override
+        public synchronized int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!awaitInput()) {
+                return -1;
+            }
+            int count = Math.min(length, chunk.length - position);
+            System.arraycopy(chunk, position, bytes, offset, count);
+            position += count;
+            return count;
+        }
+
+        private boolean awaitInput() throws IOException {
+            while (!closed && (chunk == null || position == chunk.length)) {
+                if (endOfInput) {
+                    return false;
+                }
+                chunk = null;
+                waitingForInput = true;
+                notifyAll();
+                awaitConsumer();
+            }
+            if (closed) {
+                throw new IOException("XML stream is closed");
+            }
+            return true;
+        }
+
+        private void awaitConsumer() {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                closed = true;
+            }
+        }
+    }
+
+    /**
+     * Thrown to the reader thread when the consumer closes the stream while the elements are waiting to be taken.
+     */
+    private static class ClosedException extends RuntimeException {
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.xml;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer which encodes the XML content in UTF-8 as it is written.
+ * <p>
+ * The markup of the elements is written as bytes prepared once per record type, and the text content and the attribute
+ * values are escaped and encoded in a single pass, without creating intermediate strings.
+ *
+ * @since 0.1.0
+ */
+class XmlOutput {
+
+    private static final int INITIAL_CAPACITY = 8192;
+    private static final byte[] AMP = "&amp;".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LT = "&lt;".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] GT = "&gt;".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] QUOT = "&quot;".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TAB = "&#9;".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LF = "&#10;".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CR = "&#13;".getBytes(StandardCharsets.US_ASCII);
+    // Replacement of the escaped ASCII characters, `null` if a character is written as it is.
+    private static final byte[][] TEXT_ESCAPES = new byte[128][];
+    private static final byte[][] ATTRIBUTE_ESCAPES = new byte[128][];
+
+    static {
+        TEXT_ESCAPES['&'] = AMP;
+        TEXT_ESCAPES['<'] = LT;
+        TEXT_ESCAPES['>'] = GT;
+        // `\r` would be normalized to `\n` when the content is read
+        TEXT_ESCAPES['\r'] = CR;
+        System.arraycopy(TEXT_ESCAPES, 0, ATTRIBUTE_ESCAPES, 0, TEXT_ESCAPES.length);
+        // white spaces of an attribute value would be normalized to spaces when the content is read
+        ATTRIBUTE_ESCAPES['"'] = QUOT;
+        ATTRIBUTE_ESCAPES['\t'] = TAB;
+        ATTRIBUTE_ESCAPES['\n'] = LF;
+    }
+
+    private byte[] buff;
+    private int size;
+
+    XmlOutput() {
+        this(INITIAL_CAPACITY);
+    }
+
+    XmlOutput(int capacity) {
+        this.buff = new byte[capacity];
+    }
+
+    void write(byte ch) {
+        ensureCapacity(1);
+        buff[size++] = ch;
+    }
+
+    void write(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buff, size, bytes.length);
+        size += bytes.length;
+    }
+
+    /**
+     * Writes markup, such as a name, which doesn't need to be escaped.
+     */
+    void write(String value) {
+        write(value, null);
+    }
+
+    void writeText(String value) {
+        write(value, TEXT_ESCAPES);
+    }
+
+    void writeAttributeValue(String value) {
+        write(value, ATTRIBUTE_ESCAPES);
+    }
+
+    private void write(String value, byte[][] escapes) {
+        int length = value.length();
+        // most of the characters take a single byte
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            char ch = value.charAt(i);
+            if (ch < 0x80) {
+                byte[] escaped = escapes == null ? null : escapes[ch];
+                if (escaped == null) {
+                    ensureCapacity(1);
+                    buff[size++] = (byte) ch;
+                } else {
+                    write(escaped);
+                }
+            } else if (Character.isHighSurrogate(ch) && i + 1 < length &&
+                    Character.isLowSurrogate(value.charAt(i + 1))) {
+                writeCodePoint(Character.toCodePoint(ch, value.charAt(++i)));
+            } else {
+                writeCodePoint(Character.isSurrogate(ch) ? '?' : ch);
+            }
+        }
+    }
+
+    private void writeCodePoint(int codePoint) {
+        ensureCapacity(4);
+        if (codePoint < 0x80) {
+            buff[size++] = (byte) codePoint;
+        } else if (codePoint < 0x800) {
+            buff[size++] = (byte) (0xC0 | (codePoint >> 6));
+            buff[size++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else if (codePoint < 0x10000) {
+            buff[size++] = (byte) (0xE0 | (codePoint >> 12));
+            buff[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buff[size++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else {
+            buff[size++] = (byte) (0xF0 | (codePoint >> 18));
+            buff[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            buff[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buff[size++] = (byte) (0x80 | (codePoint & 0x3F));
+        }
+    }
+
+    /**
+     * Writes the decimal digits of the value without creating a string.
+     */
+    void write(long value) {
+        if (value == Long.MIN_VALUE) {
+            write(Long.toString(value));
+            return;
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            buff[size++] = '-';
+            value = -value;
+        }
+        int start = size;
+        do {
+            buff[size++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        // digits are written in the reverse order
+        for (int i = start, j = size - 1; i < j; i++, j--) {
+            byte digit = buff[i];
+            buff[i] = buff[j];
+            buff[j] = digit;
+        }
+    }
+
+    private void ensureCapacity(int length) {
+        if (size + length > buff.length) {
+            buff = Arrays.copyOf(buff, Math.max(buff.length * 2, size + length));
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buff, size);
+    }
+
+    /**
+     * Returns the bytes written so far and clears the buffer, the capacity is kept for the next chunk.
+     */
+    byte[] flush() {
+        byte[] bytes = toByteArray();
+        size = 0;
+        return bytes;
+    }
+
+    String toUtf8String() {
+        return new String(buff, 0, size, StandardCharsets.UTF_8);
+    }
+}
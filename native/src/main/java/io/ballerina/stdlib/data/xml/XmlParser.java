@@ -0,0 +1,507 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.xml;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.data.FromString;
+import io.ballerina.stdlib.data.utils.Constants;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Converts XML content to a record, by projecting the elements and the attributes read by a StAX reader directly to
+ * the fields of the expected type.
+ * <p>
+ * An element matching a field of a simple type is converted from its text using `fromStringWithType`, and an element
+ * matching a field of a record or a map type is converted from its attributes and child elements. Repeated elements
+ * are collected to an array field. The elements and attributes which don't match a field are added to an open
+ * record, where their types are inferred from the text, and are skipped without being converted otherwise. Comments,
+ * processing instructions and namespace declarations are ignored.
+ *
+ * @since 0.1.0
+ */
+public class XmlParser {
+
+    private static final XMLInputFactory FACTORY = createFactory();
+    // Type of the simple values converted to `anydata` or `json`.
+    private static final Type INFERRED_TYPE = TypeCreator.createUnionType(PredefinedTypes.TYPE_INT,
+            PredefinedTypes.TYPE_FLOAT, PredefinedTypes.TYPE_BOOLEAN, PredefinedTypes.TYPE_STRING);
+    private static final MapType ANYDATA_MAP_TYPE = TypeCreator.createMapType(PredefinedTypes.TYPE_ANYDATA);
+    private static final String XMLNS = "xmlns";
+
+    private final XMLStreamReader reader;
+    private final XmlConfig config;
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    // Depth of the element being skipped, zero if no element is skipped.
+    private int skipDepth = 0;
+
+    XmlParser(XMLStreamReader reader, XmlConfig config) {
+        this.reader = reader;
+        this.config = config;
+    }
+
+    /**
+     * Exception thrown for invalid XML content or a value which can't be converted to the expected type.
+     */
+    public static class XmlParserException extends Exception {
+
+        final long line;
+        final int column;
+
+        public XmlParserException(String msg, long line, int column) {
+            super(msg);
+            this.line = line;
+            this.column = column;
+        }
+    }
+
+    static Object parse(Reader source, XmlConfig config, Type type) throws XmlParserException {
+        XMLStreamReader reader;
+        try {
+            reader = FACTORY.createXMLStreamReader(source);
+        } catch (XMLStreamException e) {
+            throw toParserException(e);
+        }
+        return parse(reader, config, type);
+    }
+
+    static Object parse(InputStream source, XmlConfig config, Type type) throws XmlParserException {
+        XMLStreamReader reader;
+        try {
+            reader = FACTORY.createXMLStreamReader(source);
+        } catch (XMLStreamException e) {
+            throw toParserException(e);
+        }
+        return parse(reader, config, type);
+    }
+
+    private static Object parse(XMLStreamReader reader, XmlConfig config, Type type) throws XmlParserException {
+        try {
+            return new XmlParser(reader, config).readDocument(type);
+        } catch (XMLStreamException e) {
+            throw toParserException(e);
+        } finally {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                // nothing to release, as the source is closed by the caller
+            }
+        }
+    }
+
+    static XMLStreamReader createReader(InputStream source) throws XmlParserException {
+        try {
+            return FACTORY.createXMLStreamReader(source);
+        } catch (XMLStreamException e) {
+            throw toParserException(e);
+        }
+    }
+
+    /**
+     * Reads the document and converts its root element to the expected type.
+     */
+    Object readDocument(Type type) throws XMLStreamException, XmlParserException {
+        XmlRecordPlan.FieldPlan rootPlan = XmlRecordPlan.FieldPlan.create(null, type);
+        if (rootPlan.kind != XmlRecordPlan.RECORD || rootPlan.arrayType != null) {
+            throw new XmlParserException("unsupported type for XML data: " + type, 0, 0);
+        }
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                Object value = readElement(rootPlan);
+                // the rest of the document is read to report malformed content
+                while (reader.hasNext()) {
+                    reader.next();
+                }
+                return value;
+            }
+        }
+        throw error("XML document does not have a root element");
+    }
+
+    /**
+     * Reads the document and converts each element at the given path to the expected type, one after the other. The
+     * elements which are not on the path are skipped without being converted.
+     *
+     * @param path     local names of the elements from the root element, where `*` matches any name
+     * @param consumer receives the converted elements in the document order
+     */
+    void readElements(String[] path, Type type, Consumer<Object> consumer)
+            throws XMLStreamException, XmlParserException {
+        XmlRecordPlan.FieldPlan plan = XmlRecordPlan.FieldPlan.create(null, type);
+        if (plan.kind != XmlRecordPlan.RECORD || plan.arrayType != null) {
+            throw new XmlParserException("unsupported type for XML data: " + type, 0, 0);
+        }
+        int depth = 0;
+        // Number of the outermost elements of the current element which match the path.
+        int matchedDepth = 0;
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    if (matchedDepth != depth - 1 || !matches(path[depth - 1])) {
+                        break;
+                    }
+                    if (depth < path.length) {
+                        matchedDepth = depth;
+                        break;
+                    }
+                    consumer.accept(readElement(plan));
+                    depth--;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    if (matchedDepth == depth) {
+                        matchedDepth--;
+                    }
+                    depth--;
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private boolean matches(String name) {
+        return "*".equals(name) || name.equals(reader.getLocalName());
+    }
+
+    /**
+     * Converts the current element, which is the start of a subtree, using the given plan. The reader is left at the
+     * end of the element.
+     */
+    Object readElement(XmlRecordPlan.FieldPlan plan) throws XMLStreamException, XmlParserException {
+        int depth = frames.size();
+        startElement(null, plan, false);
+        while (true) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    startElement();
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    if (skipDepth > 0) {
+                        skipDepth--;
+                        break;
+                    }
+                    Frame frame = frames.pop();
+                    Object value = endElement(frame);
+                    if (frames.size() == depth) {
+                        return value;
+                    }
+                    addToParent(frames.peek(), frame, value);
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    if (skipDepth == 0) {
+                        frames.peek().appendText(reader.getTextCharacters(), reader.getTextStart(),
+                                reader.getTextLength());
+                    }
+                    break;
+                default:
+                    // comments and processing instructions are ignored
+                    break;
+            }
+        }
+    }
+
+    private void startElement() throws XmlParserException {
+        if (skipDepth > 0) {
+            skipDepth++;
+            return;
+        }
+        Frame parent = frames.peek();
+        if (parent.plan.kind == XmlRecordPlan.TEXT) {
+            // child elements of a simple value are ignored
+            skipDepth = 1;
+            return;
+        }
+        if (parent.value == null) {
+            // an `anydata` value with child elements is a map
+            parent.createMap();
+        }
+        String localName = reader.getLocalName();
+        XmlRecordPlan.FieldPlan plan = parent.recordPlan.getElement(localName, reader.getNamespaceURI());
+        if (plan != null) {
+            startElement(plan.key, plan, false);
+        } else if (parent.recordPlan.restPlan != null) {
+            startElement(StringUtils.fromString(localName), parent.recordPlan.restPlan, true);
+        } else {
+            skipDepth = 1;
+        }
+    }
+
+    private void startElement(BString key, XmlRecordPlan.FieldPlan plan, boolean rest) throws XmlParserException {
+        Frame frame = new Frame(key, plan, rest);
+        frames.push(frame);
+        switch (plan.kind) {
+            case XmlRecordPlan.RECORD:
+                frame.recordPlan = XmlRecordPlan.get(plan.valueType);
+                frame.value = plan.valueType.getTag() == TypeTags.RECORD_TYPE_TAG ?
+                        ValueCreator.createRecordValue((RecordType) plan.valueType) :
+                        ValueCreator.createMapValue((MapType) plan.valueType);
+                addAttributes(frame);
+                break;
+            case XmlRecordPlan.INFER:
+                if (reader.getAttributeCount() > 0 || config.preserveNamespaces && reader.getNamespaceCount() > 0) {
+                    frame.createMap();
+                    addAttributes(frame);
+                }
+                break;
+            case XmlRecordPlan.TEXT:
+                break;
+            default:
+                throw error("unsupported type '" + plan.type + "' in field '" + getCurrentFieldPath() + "'");
+        }
+    }
+
+    private void addAttributes(Frame frame) throws XmlParserException {
+        XmlRecordPlan recordPlan = frame.recordPlan;
+        XmlRecordPlan.FieldPlan restPlan = recordPlan.restPlan;
+        boolean addRest = restPlan != null && restPlan.kind != XmlRecordPlan.RECORD && restPlan.arrayType == null;
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String localName = reader.getAttributeLocalName(i);
+            XmlRecordPlan.FieldPlan plan = recordPlan.getAttribute(localName, reader.getAttributeNamespace(i));
+            if (plan != null) {
+                frame.value.put(plan.key, convert(plan, reader.getAttributeValue(i), getAttributePath(plan.key)));
+            } else if (addRest) {
+                BString key = StringUtils.fromString(config.attributePrefix + localName);
+                frame.value.put(key, convert(restPlan, reader.getAttributeValue(i), getAttributePath(key)));
+                frame.addRestAttribute(key);
+            }
+        }
+        if (!config.preserveNamespaces || !addRest) {
+            return;
+        }
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            String prefix = reader.getNamespacePrefix(i);
+            BString key = StringUtils.fromString(config.attributePrefix +
+                    (prefix == null || prefix.isEmpty() ? XMLNS : XMLNS + Constants.COLON + prefix));
+            frame.value.put(key, convert(restPlan, reader.getNamespaceURI(i), getAttributePath(key)));
+            frame.addRestAttribute(key);
+        }
+    }
+
+    private Object endElement(Frame frame) throws XmlParserException {
+        if (frame.value == null) {
+            // a simple value, or an `anydata` value without attributes or child elements
+            return convert(frame.plan, frame.getText(), getFieldPath(frame));
+        }
+        String text = frame.getText().trim();
+        if (!text.isEmpty()) {
+            XmlRecordPlan.FieldPlan plan = frame.recordPlan.getField(config.textFieldName);
+            if (plan != null && plan.kind == XmlRecordPlan.TEXT) {
+                frame.value.put(plan.key, convert(plan, text, getFieldPath(frame)));
+            } else if (plan == null && frame.recordPlan.restPlan != null &&
+                    frame.recordPlan.restPlan.kind != XmlRecordPlan.RECORD) {
+                frame.value.put(StringUtils.fromString(config.textFieldName),
+                        convert(frame.recordPlan.restPlan, text, getFieldPath(frame)));
+            }
+        }
+        for (BString field : frame.recordPlan.requiredFields) {
+            if (!frame.value.containsKey(field)) {
+                throw error("required field '" + field + "' not present in XML");
+            }
+        }
+        return frame.value;
+    }
+
+    private void addToParent(Frame parent, Frame frame, Object value) throws XmlParserException {
+        BMap<BString, Object> map = parent.value;
+        XmlRecordPlan.FieldPlan plan = frame.plan;
+        if (plan.arrayType != null) {
+            BArray array = (BArray) map.get(frame.key);
+            if (array == null) {
+                array = ValueCreator.createArrayValue(plan.arrayType);
+                map.put(frame.key, array);
+            } else if (plan.arrayType.getState() == ArrayType.ArrayState.CLOSED &&
+                    array.size() == plan.arrayType.getSize()) {
+                throw error("expected at most " + plan.arrayType.getSize() + " elements for field '" +
+                        getFieldPath(frame) + "'");
+            }
+            array.append(value);
+            return;
+        }
+        if (frame.rest && plan.kind == XmlRecordPlan.INFER && map.containsKey(frame.key) &&
+                !parent.removeRestAttribute(frame.key)) {
+            // repeated elements which don't match a field are collected to an array
+            Object existing = map.get(frame.key);
+            if (existing instanceof BArray) {
+                ((BArray) existing).append(value);
+                return;
+            }
+            BArray array = ValueCreator.createArrayValue(TypeCreator.createArrayType(plan.type));
+            array.append(existing);
+            array.append(value);
+            map.put(frame.key, array);
+            return;
+        }
+        // an element has the priority over an attribute of the same name
+        map.put(frame.key, value);
+    }
+
+    private Object convert(XmlRecordPlan.FieldPlan plan, String text, String fieldPath) throws XmlParserException {
+        String value = plan.trimText ? text.trim() : text;
+        if (value.isEmpty() && plan.nilable) {
+            return null;
+        }
+        Type type = plan.kind == XmlRecordPlan.INFER ? INFERRED_TYPE : plan.type;
+        Object result = FromString.fromStringWithType(StringUtils.fromString(value), type);
+        if (result instanceof BError) {
+            throw error("incompatible value '" + value + "' for type '" + plan.type + "' in field '" +
+                    fieldPath + "'");
+        }
+        return result;
+    }
+
+    private String getCurrentFieldPath() {
+        return getFieldPath(null);
+    }
+
+    private String getAttributePath(BString key) {
+        String path = getCurrentFieldPath();
+        return path.isEmpty() ? key.getValue() : path + "." + key.getValue();
+    }
+
+    private String getFieldPath(Frame last) {
+        StringBuilder path = new StringBuilder();
+        Iterator<Frame> itr = frames.descendingIterator();
+        while (itr.hasNext()) {
+            appendKey(path, itr.next());
+        }
+        if (last != null) {
+            appendKey(path, last);
+        }
+        return path.toString();
+    }
+
+    private static void appendKey(StringBuilder path, Frame frame) {
+        if (frame.key == null) {
+            return;
+        }
+        if (path.length() > 0) {
+            path.append('.');
+        }
+        path.append(frame.key.getValue());
+    }
+
+    private XmlParserException error(String message) {
+        Location location = reader.getLocation();
+        return location == null ? new XmlParserException(message, 0, 0) :
+                new XmlParserException(message, location.getLineNumber(), location.getColumnNumber());
+    }
+
+    static XmlParserException toParserException(XMLStreamException e) {
+        Location location = e.getLocation();
+        String message = e.getMessage();
+        // the message of the JDK parser starts with the location, which is reported separately
+        int index = message == null ? -1 : message.indexOf("Message: ");
+        if (index >= 0) {
+            message = message.substring(index + "Message: ".length());
+        }
+        return location == null ? new XmlParserException(message, 0, 0) :
+                new XmlParserException(message, location.getLineNumber(), location.getColumnNumber());
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        // DTDs and external entities are not processed, to avoid XXE attacks
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    /**
+     * An element being converted.
+     */
+    private static final class Frame {
+
+        // Key of the field, `null` for the root element.
+        final BString key;
+        final XmlRecordPlan.FieldPlan plan;
+        // Whether the element doesn't match a field, and is added as a rest field.
+        final boolean rest;
+        XmlRecordPlan recordPlan;
+        // Record or map value, `null` for a simple value.
+        BMap<BString, Object> value;
+        private StringBuilder text;
+        // Keys of the attributes added as rest fields, which are replaced by the elements of the same name.
+        private List<BString> restAttributes;
+
+        Frame(BString key, XmlRecordPlan.FieldPlan plan, boolean rest) {
+            this.key = key;
+            this.plan = plan;
+            this.rest = rest;
+        }
+
+        void createMap() {
+            MapType mapType = plan.valueType.getTag() == TypeTags.JSON_TAG ? Constants.JSON_MAP_TYPE :
+                    ANYDATA_MAP_TYPE;
+            recordPlan = XmlRecordPlan.get(mapType);
+            value = ValueCreator.createMapValue(mapType);
+        }
+
+        void appendText(char[] chars, int start, int length) {
+            if (text == null) {
+                text = new StringBuilder(length);
+            }
+            text.append(chars, start, length);
+        }
+
+        String getText() {
+            return text == null ? "" : text.toString();
+        }
+
+        void addRestAttribute(BString key) {
+            if (restAttributes == null) {
+                restAttributes = new ArrayList<>();
+            }
+            restAttributes.add(key);
+        }
+
+        boolean removeRestAttribute(BString key) {
+            return restAttributes != null && restAttributes.remove(key);
+        }
+    }
+}
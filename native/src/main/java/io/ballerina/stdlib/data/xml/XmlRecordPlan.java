@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.xml;
+
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.UnionType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.data.utils.TypeCache;
+import io.ballerina.stdlib.data.utils.XmlAnnotations;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps the names of the XML elements and attributes to the fields of a record or a map type.
+ * <p>
+ * A field is matched by its name, or by the value of its `xml:Name` annotation. A field with an `xml:Namespace`
+ * annotation matches only the names of that namespace, and a field with an `xml:Attribute` annotation matches only an
+ * attribute. The annotations are read from the {@link XmlAnnotations} of the type. A plan is created once per type
+ * and reused by all conversions to that type.
+ *
+ * @since 0.1.0
+ */
+public class XmlRecordPlan {
+
+    /**
+     * A simple value converted from the text content of an element or the value of an attribute.
+     */
+    static final int TEXT = 0;
+    /**
+     * A record or a map converted from the attributes and the child elements of an element.
+     */
+    static final int RECORD = 1;
+    /**
+     * An `anydata` or `json` value, which is a simple value or a map depending on the content of the element.
+     */
+    static final int INFER = 2;
+    static final int UNSUPPORTED = 3;
+
+    private static final TypeCache<XmlRecordPlan> PLANS = new TypeCache<>(XmlRecordPlan::new);
+
+    private final Map<String, FieldPlan> elements = new HashMap<>();
+    private final Map<String, FieldPlan> attributes = new HashMap<>();
+    private final Map<String, FieldPlan> fields = new HashMap<>();
+    final BString[] requiredFields;
+    // Plan of the values which don't match a field, `null` if they are ignored.
+    final FieldPlan restPlan;
+
+    private XmlRecordPlan(Type type) {
+        if (type.getTag() == TypeTags.MAP_TAG) {
+            this.requiredFields = new BString[0];
+            this.restPlan = FieldPlan.create(null, ((MapType) type).getConstrainedType());
+            return;
+        }
+        RecordType recordType = (RecordType) type;
+        XmlAnnotations annotations = XmlAnnotations.get(recordType);
+        List<BString> required = new ArrayList<>();
+        for (Field field : recordType.getFields().values()) {
+            String fieldName = field.getFieldName();
+            FieldPlan plan = FieldPlan.create(StringUtils.fromString(fieldName), field.getFieldType());
+            fields.put(fieldName, plan);
+            if (SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.REQUIRED)) {
+                required.add(plan.key);
+            }
+            addField(plan, fieldName, annotations.getField(fieldName));
+        }
+        this.requiredFields = required.toArray(new BString[0]);
+        this.restPlan = recordType.isSealed() ? null : FieldPlan.create(null, recordType.getRestFieldType());
+    }
+
+    /**
+     * Returns the plan of a record or a map type.
+     */
+    static XmlRecordPlan get(Type type) {
+        return PLANS.get(type);
+    }
+
+    FieldPlan getElement(String localName, String namespaceUri) {
+        return match(elements.get(localName), namespaceUri);
+    }
+
+    FieldPlan getAttribute(String localName, String namespaceUri) {
+        return match(attributes.get(localName), namespaceUri);
+    }
+
+    FieldPlan getField(String fieldName) {
+        return fields.get(fieldName);
+    }
+
+    private static FieldPlan match(FieldPlan plan, String namespaceUri) {
+        if (plan == null || plan.namespaceUri == null) {
+            return plan;
+        }
+        return plan.namespaceUri.equals(namespaceUri) ? plan : null;
+    }
+
+    private void addField(FieldPlan plan, String fieldName, XmlAnnotations.FieldAnnotations fieldAnnotations) {
+        String name = fieldAnnotations.name == null ? fieldName : fieldAnnotations.name;
+        if (!fieldAnnotations.isNamed() && plan.kind == RECORD && plan.valueType.getTag() == TypeTags.RECORD_TYPE_TAG) {
+            // an element of a record type is named by the `xml:Name` annotation of the record type
+            String typeName = XmlAnnotations.get((RecordType) plan.valueType).name;
+            name = typeName == null ? name : typeName;
+        }
+        plan.namespaceUri = fieldAnnotations.uri;
+        if (!fieldAnnotations.attribute) {
+            elements.put(name, plan);
+        }
+        if (plan.kind == TEXT && plan.arrayType == null) {
+            attributes.put(name, plan);
+        }
+    }
+
+    /**
+     * Describes how the value of a field is converted from XML.
+     */
+    static final class FieldPlan {
+
+        // Key of the field, `null` for the plan of the values which don't match a field.
+        final BString key;
+        // Declared type of the value, the element type for an array.
+        final Type type;
+        // `type` without the type references and `()`, i.e. the record or map type of a `RECORD` value.
+        final Type valueType;
+        final int kind;
+        // Array type of the field, if the repeated elements are collected to an array.
+        final ArrayType arrayType;
+        // Whether an empty element is converted to `()`.
+        final boolean nilable;
+        // Whether the surrounding white spaces of the text are ignored, i.e. the type doesn't include `string`.
+        final boolean trimText;
+        String namespaceUri;
+
+        private FieldPlan(BString key, Type type, Type valueType, int kind, ArrayType arrayType, boolean nilable) {
+            this.key = key;
+            this.type = type;
+            this.valueType = valueType;
+            this.kind = kind;
+            this.arrayType = arrayType;
+            this.nilable = nilable;
+            this.trimText = kind != TEXT || !includesString(valueType);
+        }
+
+        static FieldPlan create(BString key, Type type) {
+            Type referredType = TypeUtils.getReferredType(type);
+            if (referredType.getTag() == TypeTags.ARRAY_TAG) {
+                ArrayType arrayType = (ArrayType) referredType;
+                FieldPlan element = create(key, arrayType.getElementType());
+                if (element.arrayType != null) {
+                    return new FieldPlan(key, type, referredType, UNSUPPORTED, null, false);
+                }
+                return new FieldPlan(key, element.type, element.valueType, element.kind, arrayType, element.nilable);
+            }
+            boolean nilable = false;
+            if (referredType.getTag() == TypeTags.UNION_TAG) {
+                // `T?` is converted as `T`, where an empty element is `()`
+                Type nonNilType = null;
+                int nonNilCount = 0;
+                for (Type memberType : ((UnionType) referredType).getMemberTypes()) {
+                    if (TypeUtils.getReferredType(memberType).getTag() == TypeTags.NULL_TAG) {
+                        nilable = true;
+                    } else {
+                        nonNilType = memberType;
+                        nonNilCount++;
+                    }
+                }
+                if (nonNilCount == 1) {
+                    FieldPlan member = create(key, nonNilType);
+                    if (member.kind != TEXT) {
+                        return new FieldPlan(key, type, member.valueType, member.kind, member.arrayType, nilable);
+                    }
+                }
+            }
+            return new FieldPlan(key, type, referredType, getKind(referredType), null, nilable);
+        }
+
+        private static int getKind(Type type) {
+            switch (type.getTag()) {
+                case TypeTags.RECORD_TYPE_TAG:
+                case TypeTags.MAP_TAG:
+                    return RECORD;
+                case TypeTags.ANYDATA_TAG:
+                case TypeTags.JSON_TAG:
+                    return INFER;
+                default:
+                    return isSimpleType(type) ? TEXT : UNSUPPORTED;
+            }
+        }
+
+        private static boolean isSimpleType(Type type) {
+            switch (type.getTag()) {
+                case TypeTags.INT_TAG:
+                case TypeTags.FLOAT_TAG:
+                case TypeTags.DECIMAL_TAG:
+                case TypeTags.STRING_TAG:
+                case TypeTags.BOOLEAN_TAG:
+                case TypeTags.NULL_TAG:
+                    return true;
+                case TypeTags.UNION_TAG:
+                    for (Type memberType : ((UnionType) type).getMemberTypes()) {
+                        if (!isSimpleType(TypeUtils.getReferredType(memberType))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        private static boolean includesString(Type type) {
+            if (type.getTag() == TypeTags.UNION_TAG) {
+                for (Type memberType : ((UnionType) type).getMemberTypes()) {
+                    if (includesString(TypeUtils.getReferredType(memberType))) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            return type.getTag() == TypeTags.STRING_TAG;
+        }
+    }
+}
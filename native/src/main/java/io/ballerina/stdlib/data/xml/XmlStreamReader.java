@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.xml;
+
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.Future;
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.async.Callback;
+import io.ballerina.runtime.api.async.StrandMetadata;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BStream;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.data.utils.DataUtils;
+import io.ballerina.stdlib.data.utils.ModuleUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads XML content from a Ballerina `stream<byte[], error?>`.
+ *
+ * @since 0.1.0
+ */
+public class XmlStreamReader {
+
+    private static final String NEXT_METHOD = "next";
+    private static final BString VALUE = StringUtils.fromString("value");
+
+    /**
+     * Reads the complete source stream and converts it to the expected type asynchronously.
+     * <p>
+     * The StAX reader pulls the content, while the chunks of a Ballerina stream can only be received by a callback.
+     * Therefore, the chunks are kept as they are received, without being copied, and are parsed at the end.
+     */
+    static void readValue(Environment env, BStream source, XmlConfig config, Type type) {
+        new ChunkCollector(env, source.getIteratorObj(), config, type).readNext();
+    }
+
+    /**
+     * Pulls the chunks from the source stream one after the other and completes the strand at the end.
+     */
+    private static class ChunkCollector implements Callback {
+
+        private final Environment env;
+        private final Future future;
+        private final BObject iterator;
+        private final XmlConfig config;
+        private final Type type;
+        private final StrandMetadata metadata;
+        private final List<InputStream> chunks = new ArrayList<>();
+
+        ChunkCollector(Environment env, BObject iterator, XmlConfig config, Type type) {
+            Module module = ModuleUtils.getXmlModule();
+            this.env = env;
+            this.future = env.markAsync();
+            this.iterator = iterator;
+            this.config = config;
+            this.type = type;
+            this.metadata = new StrandMetadata(module.getOrg(), module.getName(), module.getMajorVersion(),
+                    NEXT_METHOD);
+        }
+
+        void readNext() {
+            env.getRuntime().invokeMethodAsyncSequentially(iterator, NEXT_METHOD, null, metadata, this, null,
+                    PredefinedTypes.TYPE_ANY);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void notifySuccess(Object result) {
+            if (result instanceof BError) {
+                notifyFailure((BError) result);
+                return;
+            }
+            try {
+                if (result == null) {
+                    future.complete(XmlParser.parse(new SequenceInputStream(Collections.enumeration(chunks)),
+                            config, type));
+                    return;
+                }
+                BArray bytes = (BArray) ((BMap<BString, Object>) result).get(VALUE);
+                chunks.add(new ByteArrayInputStream(bytes.getBytes(), 0, bytes.size()));
+            } catch (XmlParser.XmlParserException e) {
+                fail(DataUtils.getXmlError(e.getMessage(), e.line, e.column));
+                return;
+            } catch (RuntimeException e) {
+                fail(DataUtils.getXmlError(e.getMessage() == null ? e.toString() : e.getMessage(), 0, 0));
+                return;
+            }
+            readNext();
+        }
+
+        @Override
+        public void notifyFailure(BError error) {
+            fail(DataUtils.getXmlError("error reading XML stream: " + error.getMessage(), 0, 0));
+        }
+
+        /**
+         * Closes the source stream, which is not read to the end, and completes the strand with the error.
+         */
+        private void fail(BError error) {
+            DataUtils.closeIterator(env, iterator, ModuleUtils.getXmlModule(), () -> future.complete(error));
+        }
+    }
+}
@@ -0,0 +1,381 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.xml;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.data.utils.Constants;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Writes a record as XML content.
+ * <p>
+ * The record is walked once and the elements, the attributes and the namespace declarations are written directly to
+ * an {@link XmlOutput}, using the names resolved once per record type by {@link XmlWriterPlan}. The open elements are
+ * kept in an explicit stack instead of the call stack, so the writing can be stopped at any point and continued for
+ * the next chunk of a stream.
+ *
+ * @since 0.1.0
+ */
+public class XmlWriter {
+
+    // Minimum size of a chunk of `toXmlStream`.
+    static final int CHUNK_SIZE = 64 * 1024;
+    private static final String WRITER = "writer";
+    private static final String OUTPUT = "output";
+    private static final String XMLNS = "xmlns";
+    private static final String XMLNS_PREFIX = XMLNS + Constants.COLON;
+    private static final byte[] XMLNS_ATTRIBUTE = " xmlns".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ATTRIBUTE_VALUE_START = "=\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EMPTY_ELEMENT_END = "/>".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+
+    private final XmlWriterConfig config;
+    private final BMap<BString, Object> root;
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    // Namespaces declared by the open elements, the innermost declaration of a prefix is the last.
+    private String[] prefixes = new String[8];
+    private String[] uris = new String[8];
+    private int namespaceCount = 0;
+    private boolean started = false;
+
+    @SuppressWarnings("unchecked")
+    XmlWriter(Object value, XmlWriterConfig config) throws XmlParser.XmlParserException {
+        if (!(value instanceof BMap)) {
+            throw new XmlParser.XmlParserException("unsupported value of type '" + TypeUtils.getType(value) +
+                    "' for the root element", 0, 0);
+        }
+        if (config.rootTag != null && !XmlWriterPlan.isName(config.rootTag)) {
+            throw new XmlParser.XmlParserException("invalid XML name '" + config.rootTag + "'", 0, 0);
+        }
+        this.config = config;
+        this.root = (BMap<BString, Object>) value;
+    }
+
+    /**
+     * Writes the complete record to the output.
+     */
+    void writeAll(XmlOutput out) throws XmlParser.XmlParserException {
+        write(out, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the next chunk of the content, or `null` if the complete record is written.
+     */
+    byte[] nextChunk(XmlOutput out) throws XmlParser.XmlParserException {
+        if (!hasNext()) {
+            return null;
+        }
+        write(out, CHUNK_SIZE);
+        return out.flush();
+    }
+
+    boolean hasNext() {
+        return !started || !frames.isEmpty();
+    }
+
+    /**
+     * Writes the content not written yet until the output has at least {@code limit} bytes.
+     */
+    private void write(XmlOutput out, int limit) throws XmlParser.XmlParserException {
+        if (!started) {
+            started = true;
+            Type type = TypeUtils.getReferredType(TypeUtils.getType(root));
+            XmlWriterPlan plan = XmlWriterPlan.get(type);
+            startElement(out, config.rootTag == null ? plan.rootName : plan.getRootName(config.rootTag), root, plan);
+        }
+        while (!frames.isEmpty() && out.size() < limit) {
+            writeNext(out);
+        }
+    }
+
+    /**
+     * Writes the next child element of the innermost open element, or closes the element if all the child elements
+     * are written.
+     */
+    private void writeNext(XmlOutput out) throws XmlParser.XmlParserException {
+        Frame frame = frames.peek();
+        if (frame.array != null) {
+            if (frame.arrayIndex < frame.array.size()) {
+                writeElement(out, frame.arrayField, frame.array.get(frame.arrayIndex++));
+                return;
+            }
+            frame.array = null;
+        }
+        while (frame.next < frame.keys.length) {
+            BString key = frame.keys[frame.next++];
+            XmlWriterPlan.FieldPlan field = frame.plan.getField(key.getValue());
+            if (!isElement(field)) {
+                continue;
+            }
+            Object value = frame.value.get(key);
+            if (value instanceof BArray) {
+                // the members are written as repeated elements of the same name
+                frame.array = (BArray) value;
+                frame.arrayIndex = 0;
+                frame.arrayField = field;
+                return;
+            }
+            writeElement(out, field, value);
+            return;
+        }
+        frames.pop();
+        out.write(frame.name.endTag);
+        namespaceCount = frame.namespaceMark;
+    }
+
+    private boolean isElement(XmlWriterPlan.FieldPlan field) {
+        return !field.attribute && !field.key.equals(config.textFieldName) &&
+                !(field.rest && config.isAttribute(field.key));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeElement(XmlOutput out, XmlWriterPlan.FieldPlan field, Object value)
+            throws XmlParser.XmlParserException {
+        if (!field.validName) {
+            throw new XmlParser.XmlParserException("invalid XML name '" + field.key + "'", 0, 0);
+        }
+        if (value instanceof BMap) {
+            Type type = TypeUtils.getReferredType(TypeUtils.getType(value));
+            startElement(out, field.getElement(type), (BMap<BString, Object>) value, XmlWriterPlan.get(type));
+            return;
+        }
+        if (value != null && !isSimpleValue(value)) {
+            throw unsupportedValue(value, field.key);
+        }
+        XmlWriterPlan.ElementName name = field.element;
+        int namespaceMark = namespaceCount;
+        out.write(name.startTag);
+        declareNamespace(out, name.prefix, name.uri);
+        if (value == null) {
+            // `()` is an empty element
+            out.write(EMPTY_ELEMENT_END);
+        } else {
+            out.write((byte) '>');
+            writeSimpleValue(out, value, false);
+            out.write(name.endTag);
+        }
+        namespaceCount = namespaceMark;
+    }
+
+    /**
+     * Writes the start tag with the attributes and the text content of a record or a map value. The element is kept
+     * open only if the value has child elements.
+     */
+    private void startElement(XmlOutput out, XmlWriterPlan.ElementName name, BMap<BString, Object> value,
+                              XmlWriterPlan plan) throws XmlParser.XmlParserException {
+        int namespaceMark = namespaceCount;
+        out.write(name.startTag);
+        declareNamespace(out, name.prefix, name.uri);
+        BString[] keys = value.getKeys();
+        Object text = null;
+        boolean hasChildElements = false;
+        for (BString key : keys) {
+            XmlWriterPlan.FieldPlan field = plan.getField(key.getValue());
+            if (field.key.equals(config.textFieldName)) {
+                text = value.get(key);
+            } else if (field.attribute) {
+                writeAttribute(out, field, value.get(key));
+            } else if (field.rest && config.isAttribute(field.key)) {
+                writeRestAttribute(out, field.key.substring(config.attributePrefix.length()), value.get(key));
+            } else {
+                hasChildElements = true;
+            }
+        }
+        if (!hasChildElements && text == null) {
+            out.write(EMPTY_ELEMENT_END);
+            namespaceCount = namespaceMark;
+            return;
+        }
+        out.write((byte) '>');
+        if (text != null) {
+            if (!isSimpleValue(text)) {
+                throw unsupportedValue(text, config.textFieldName);
+            }
+            writeSimpleValue(out, text, false);
+        }
+        if (!hasChildElements) {
+            out.write(name.endTag);
+            namespaceCount = namespaceMark;
+            return;
+        }
+        frames.push(new Frame(value, plan, keys, name, namespaceMark));
+    }
+
+    private void writeAttribute(XmlOutput out, XmlWriterPlan.FieldPlan field, Object value)
+            throws XmlParser.XmlParserException {
+        if (value == null) {
+            // an attribute of `()` is not written
+            return;
+        }
+        if (!isSimpleValue(value)) {
+            throw unsupportedValue(value, field.key);
+        }
+        if (!field.validName) {
+            throw new XmlParser.XmlParserException("invalid XML name '" + field.key + "'", 0, 0);
+        }
+        declareNamespace(out, field.attributePrefix, field.attributeUri);
+        out.write(field.attributeStart);
+        writeSimpleValue(out, value, true);
+        out.write((byte) '"');
+    }
+
+    /**
+     * Writes a rest field with the attribute prefix as an attribute, where `xmlns` attributes are namespace
+     * declarations.
+     */
+    private void writeRestAttribute(XmlOutput out, String name, Object value) throws XmlParser.XmlParserException {
+        if (value == null) {
+            return;
+        }
+        if (!isSimpleValue(value)) {
+            throw unsupportedValue(value, name);
+        }
+        if (name.equals(XMLNS)) {
+            declareNamespace(out, "", StringUtils.getStringValue(value));
+            return;
+        } else if (name.startsWith(XMLNS_PREFIX) && XmlWriterPlan.isName(name.substring(XMLNS_PREFIX.length()))) {
+            declareNamespace(out, name.substring(XMLNS_PREFIX.length()), StringUtils.getStringValue(value));
+            return;
+        } else if (!XmlWriterPlan.isName(name)) {
+            throw new XmlParser.XmlParserException("invalid XML name '" + name + "'", 0, 0);
+        }
+        out.write((byte) ' ');
+        out.write(name);
+        out.write(ATTRIBUTE_VALUE_START);
+        writeSimpleValue(out, value, true);
+        out.write((byte) '"');
+    }
+
+    /**
+     * Declares the namespace of a prefix, unless an open element has already declared it.
+     */
+    private void declareNamespace(XmlOutput out, String prefix, String uri) {
+        if (uri == null) {
+            return;
+        }
+        for (int i = namespaceCount - 1; i >= 0; i--) {
+            if (prefixes[i].equals(prefix)) {
+                if (uris[i].equals(uri)) {
+                    return;
+                }
+                break;
+            }
+        }
+        if (namespaceCount == prefixes.length) {
+            prefixes = Arrays.copyOf(prefixes, namespaceCount * 2);
+            uris = Arrays.copyOf(uris, namespaceCount * 2);
+        }
+        prefixes[namespaceCount] = prefix;
+        uris[namespaceCount++] = uri;
+        out.write(XMLNS_ATTRIBUTE);
+        if (!prefix.isEmpty()) {
+            out.write((byte) ':');
+            out.write(prefix);
+        }
+        out.write(ATTRIBUTE_VALUE_START);
+        out.writeAttributeValue(uri);
+        out.write((byte) '"');
+    }
+
+    private static boolean isSimpleValue(Object value) {
+        return value instanceof BString || value instanceof Long || value instanceof Boolean ||
+                value instanceof Double || value instanceof BDecimal || value instanceof Integer;
+    }
+
+    private static void writeSimpleValue(XmlOutput out, Object value, boolean attribute) {
+        if (value instanceof BString) {
+            String string = ((BString) value).getValue();
+            if (attribute) {
+                out.writeAttributeValue(string);
+            } else {
+                out.writeText(string);
+            }
+        } else if (value instanceof Long) {
+            out.write((long) value);
+        } else if (value instanceof Integer) {
+            out.write((long) (int) value);
+        } else if (value instanceof Boolean) {
+            out.write((Boolean) value ? TRUE : FALSE);
+        } else {
+            out.write(StringUtils.getStringValue(value));
+        }
+    }
+
+    private static XmlParser.XmlParserException unsupportedValue(Object value, String name) {
+        return new XmlParser.XmlParserException("unsupported value of type '" + TypeUtils.getType(value) +
+                "' for XML element '" + name + "'", 0, 0);
+    }
+
+    /**
+     * Keeps the writer of a `toXmlStream` call as the native data of the stream iterator.
+     */
+    static void initChunkStream(BObject chunkStream, XmlWriter writer) {
+        chunkStream.addNativeData(WRITER, writer);
+        chunkStream.addNativeData(OUTPUT, new XmlOutput(CHUNK_SIZE * 2));
+    }
+
+    /**
+     * Returns the next chunk of a `toXmlStream` call, or `null` if the complete record is written.
+     */
+    static Object nextChunk(BObject chunkStream) throws XmlParser.XmlParserException {
+        XmlWriter writer = (XmlWriter) chunkStream.getNativeData(WRITER);
+        byte[] chunk = writer.nextChunk((XmlOutput) chunkStream.getNativeData(OUTPUT));
+        return chunk == null ? null : ValueCreator.createArrayValue(chunk);
+    }
+
+    /**
+     * An open element of a record or a map value, with the position of the next child element.
+     */
+    private static class Frame {
+
+        final BMap<BString, Object> value;
+        final XmlWriterPlan plan;
+        final BString[] keys;
+        final XmlWriterPlan.ElementName name;
+        // Number of the namespaces declared before the element.
+        final int namespaceMark;
+        int next = 0;
+        // Array of the repeated elements being written, `null` if none.
+        BArray array;
+        int arrayIndex;
+        XmlWriterPlan.FieldPlan arrayField;
+
+        Frame(BMap<BString, Object> value, XmlWriterPlan plan, BString[] keys, XmlWriterPlan.ElementName name,
+              int namespaceMark) {
+            this.value = value;
+            this.plan = plan;
+            this.keys = keys;
+            this.name = name;
+            this.namespaceMark = namespaceMark;
+        }
+    }
+}
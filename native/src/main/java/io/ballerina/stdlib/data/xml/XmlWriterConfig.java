@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.xml;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.data.utils.Constants;
+
+/**
+ * Holds the `xml:ToOptions` given for writing a record as XML.
+ *
+ * @since 0.1.0
+ */
+public class XmlWriterConfig {
+
+    private static final BString ROOT_TAG = StringUtils.fromString("rootTag");
+    private static final BString ATTRIBUTE_PREFIX = StringUtils.fromString(Constants.OPTIONS_ATTRIBUTE_PREFIX);
+    private static final BString TEXT_FIELD_NAME = StringUtils.fromString("textFieldName");
+    private static final String DEFAULT_TEXT_FIELD_NAME = "#content";
+
+    // Name of the root element given by the user, `null` if the name is taken from the record type.
+    final String rootTag;
+    // Prefix of the keys of the rest fields which are written as attributes, empty if none are.
+    final String attributePrefix;
+    // Key of the field which is written as the text content of an element.
+    final String textFieldName;
+
+    private XmlWriterConfig(String rootTag, String attributePrefix, String textFieldName) {
+        this.rootTag = rootTag;
+        this.attributePrefix = attributePrefix;
+        this.textFieldName = textFieldName;
+    }
+
+    static XmlWriterConfig fromOptions(BMap<BString, Object> options) {
+        if (options == null) {
+            return new XmlWriterConfig(null, "", DEFAULT_TEXT_FIELD_NAME);
+        }
+        return new XmlWriterConfig(getString(options, ROOT_TAG, null), getString(options, ATTRIBUTE_PREFIX, ""),
+                getString(options, TEXT_FIELD_NAME, DEFAULT_TEXT_FIELD_NAME));
+    }
+
+    /**
+     * Returns whether a rest field is written as an attribute of the element of the record.
+     */
+    boolean isAttribute(String key) {
+        return !attributePrefix.isEmpty() && key.startsWith(attributePrefix) && key.length() > attributePrefix.length();
+    }
+
+    private static String getString(BMap<BString, Object> options, BString key, String defaultValue) {
+        Object value = options.get(key);
+        return value == null ? defaultValue : value.toString();
+    }
+}
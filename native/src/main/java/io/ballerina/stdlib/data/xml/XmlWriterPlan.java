@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.xml;
+
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.stdlib.data.utils.Constants;
+import io.ballerina.stdlib.data.utils.TypeCache;
+import io.ballerina.stdlib.data.utils.XmlAnnotations;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Names of the XML elements and attributes written for the fields of a record or a map type.
+ * <p>
+ * It is the counterpart of {@link XmlRecordPlan} for writing, so that the XML written for a record is converted back
+ * to the same record. Both plans are built on the {@link XmlAnnotations} of the type, and the names are encoded as the
+ * bytes of the tags once per type.
+ *
+ * @since 0.1.0
+ */
+class XmlWriterPlan {
+
+    private static final String DEFAULT_ROOT_NAME = "root";
+    // Maximum number of the names of the rest fields cached for a type, e.g. the keys of a `map<json>`.
+    private static final int MAX_REST_FIELDS = 1024;
+    private static final TypeCache<XmlWriterPlan> PLANS = new TypeCache<>(XmlWriterPlan::new);
+
+    // Name of the element of a value of the type, `null` if the type doesn't have an `xml:Name` annotation.
+    private final String typeName;
+    private final String typePrefix;
+    private final String typeUri;
+    // Element of a value of the type when it is the root element.
+    final ElementName rootName;
+    private final Map<String, FieldPlan> fields = new HashMap<>();
+    private final Map<String, FieldPlan> restFields = new ConcurrentHashMap<>();
+
+    private XmlWriterPlan(Type type) {
+        if (type.getTag() != TypeTags.RECORD_TYPE_TAG) {
+            this.typeName = null;
+            this.typePrefix = "";
+            this.typeUri = null;
+            this.rootName = new ElementName(DEFAULT_ROOT_NAME, "", null);
+            return;
+        }
+        RecordType recordType = (RecordType) type;
+        XmlAnnotations annotations = XmlAnnotations.get(recordType);
+        this.typeName = annotations.name;
+        this.typePrefix = annotations.prefix;
+        this.typeUri = annotations.uri;
+        String rootName = typeName;
+        if (rootName == null) {
+            // an anonymous record type doesn't have a name usable as an element name
+            rootName = isName(recordType.getName()) ? recordType.getName() : DEFAULT_ROOT_NAME;
+        }
+        this.rootName = new ElementName(rootName, typePrefix, typeUri);
+        for (Field field : recordType.getFields().values()) {
+            String fieldName = field.getFieldName();
+            fields.put(fieldName, new FieldPlan(fieldName, annotations.getField(fieldName), false));
+        }
+    }
+
+    /**
+     * Returns the plan of a record or a map type.
+     */
+    static XmlWriterPlan get(Type type) {
+        return PLANS.get(type);
+    }
+
+    /**
+     * Returns the root element named by the user, with the namespace of the type.
+     */
+    ElementName getRootName(String name) {
+        return new ElementName(name, typePrefix, typeUri);
+    }
+
+    /**
+     * Returns the plan of a field, a rest field is written as an element named by its key.
+     */
+    FieldPlan getField(String key) {
+        FieldPlan field = fields.get(key);
+        if (field != null) {
+            return field;
+        }
+        field = restFields.get(key);
+        if (field == null) {
+            field = new FieldPlan(key, XmlAnnotations.FieldAnnotations.NONE, true);
+            if (restFields.size() < MAX_REST_FIELDS) {
+                restFields.put(key, field);
+            }
+        }
+        return field;
+    }
+
+    /**
+     * Returns whether a name can be written as the name of an element or an attribute without a prefix.
+     */
+    static boolean isName(String name) {
+        if (name == null || name.isEmpty() || !isNameStart(name.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < name.length(); i++) {
+            char ch = name.charAt(i);
+            if (!isNameStart(ch) && !(ch >= '0' && ch <= '9') && ch != '-' && ch != '.' && ch != '\u00B7') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isNameStart(char ch) {
+        return ch >= 'a' && ch <= 'z' || ch >= 'A' && ch <= 'Z' || ch == '_' || ch >= '\u00C0' && ch != '\u00D7' &&
+                ch != '\u00F7';
+    }
+
+    private static byte[] toBytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Describes how the value of a field is written.
+     */
+    static final class FieldPlan {
+
+        final String key;
+        final boolean attribute;
+        // Whether the field is not a field of the record type.
+        final boolean rest;
+        // Whether the key can be written as the local name of an element or an attribute.
+        final boolean validName;
+        // Element of a simple value, or of a record value when the element is named by the field.
+        final ElementName element;
+        // ` name="` of an attribute, `null` if the field is an element.
+        final byte[] attributeStart;
+        final String attributePrefix;
+        final String attributeUri;
+        // Element names of the record values, which are named by the `xml:Name` annotation of the record type unless
+        // the field is annotated.
+        private final TypeCache<ElementName> recordElements;
+
+        private FieldPlan(String key, XmlAnnotations.FieldAnnotations annotations, boolean rest) {
+            String localName = annotations.name == null ? key : annotations.name;
+            String prefix = annotations.prefix;
+            String uri = annotations.uri;
+            this.key = key;
+            this.attribute = annotations.attribute;
+            this.rest = rest;
+            this.validName = isName(localName);
+            this.element = new ElementName(localName, prefix, uri);
+            if (annotations.attribute) {
+                // an attribute without a prefix doesn't have a namespace
+                boolean qualified = !prefix.isEmpty();
+                this.attributePrefix = qualified ? prefix : "";
+                this.attributeUri = qualified ? uri : null;
+                this.attributeStart = toBytes(" " + element.qualifiedName + "=\"");
+            } else {
+                this.attributePrefix = null;
+                this.attributeUri = null;
+                this.attributeStart = null;
+            }
+            this.recordElements = annotations.isNamed() ? null : new TypeCache<>(type -> {
+                XmlWriterPlan plan = XmlWriterPlan.get(type);
+                return new ElementName(plan.typeName == null ? localName : plan.typeName, plan.typePrefix,
+                        plan.typeUri);
+            });
+        }
+
+        /**
+         * Returns the element of a record or a map value of the given type.
+         */
+        ElementName getElement(Type valueType) {
+            return recordElements == null ? element : recordElements.get(valueType);
+        }
+    }
+
+    /**
+     * The tags of an element and the namespace declared for its prefix.
+     */
+    static final class ElementName {
+
+        final String qualifiedName;
+        // Prefix of the name, empty for the default namespace.
+        final String prefix;
+        // Namespace of the element, `null` if the element is not qualified by the annotations.
+        final String uri;
+        final byte[] startTag;
+        final byte[] endTag;
+
+        ElementName(String localName, String prefix, String uri) {
+            this.qualifiedName = prefix.isEmpty() ? localName : prefix + Constants.COLON + localName;
+            this.prefix = prefix;
+            this.uri = uri;
+            this.startTag = toBytes("<" + qualifiedName);
+            this.endTag = toBytes("</" + qualifiedName + ">");
+        }
+    }
+}
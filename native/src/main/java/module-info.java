@@ -19,8 +19,14 @@
 module io.ballerina.stdlib.data {
     requires io.ballerina.runtime;
     requires io.ballerina.lang.value;
+    requires java.management;
     requires java.xml;
+    requires jdk.jfr;
+    requires jdk.management;
     requires junit;
     requires org.apache.commons.lang3;
+    exports io.ballerina.stdlib.data.csv;
     exports io.ballerina.stdlib.data.json;
+    exports io.ballerina.stdlib.data.metrics;
+    exports io.ballerina.stdlib.data.xml;
 }
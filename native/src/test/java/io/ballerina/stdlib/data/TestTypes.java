@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+
+package io.ballerina.stdlib.data;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import org.junit.Assert;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Types and values of the tests of the native code, created in a test module as done by the compiler.
+ *
+ * @since 0.1.0
+ */
+public final class TestTypes {
+
+    public static final Module MODULE = new Module("test", "data", "1");
+
+    private TestTypes() {
+    }
+
+    /**
+     * Returns a builder of a record type of the given name, which is closed unless a rest type is given.
+     */
+    public static RecordTypeBuilder record(String name) {
+        return new RecordTypeBuilder(name);
+    }
+
+    /**
+     * Creates a `map<json>` of the given keys and values.
+     */
+    public static BMap<BString, Object> createJsonObject(Object... members) {
+        BMap<BString, Object> object = ValueCreator.createMapValue(
+                TypeCreator.createMapType(PredefinedTypes.TYPE_JSON));
+        for (int i = 0; i < members.length; i += 2) {
+            object.put(StringUtils.fromString((String) members[i]), members[i + 1]);
+        }
+        return object;
+    }
+
+    /**
+     * Asserts that a feature of a test is enabled by the given system property, e.g.
+     * `ballerina.data.metrics.enabled=true`, which is set by the Gradle task of the test.
+     */
+    public static void assertEnabled(String property, boolean enabled) {
+        Assert.assertTrue("run with -D" + property, enabled);
+    }
+
+    /**
+     * Builder of a record type of the {@link #MODULE}.
+     */
+    public static final class RecordTypeBuilder {
+
+        private final String name;
+        private final Map<String, Field> fields = new LinkedHashMap<>();
+        private Type restType;
+
+        private RecordTypeBuilder(String name) {
+            this.name = name;
+        }
+
+        public RecordTypeBuilder required(String fieldName, Type type) {
+            fields.put(fieldName, TypeCreator.createField(type, fieldName, SymbolFlags.REQUIRED));
+            return this;
+        }
+
+        public RecordTypeBuilder optional(String fieldName, Type type) {
+            fields.put(fieldName, TypeCreator.createField(type, fieldName, SymbolFlags.OPTIONAL));
+            return this;
+        }
+
+        public RecordTypeBuilder rest(Type type) {
+            this.restType = type;
+            return this;
+        }
+
+        public RecordType build() {
+            return TypeCreator.createRecordType(name, MODULE, 0, fields, restType, restType == null, 0);
+        }
+    }
+}
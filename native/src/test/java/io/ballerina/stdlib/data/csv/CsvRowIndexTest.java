@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.data.csv;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.values.BArray;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * Tests the reading of a page of a CSV file with the {@link CsvRowIndex}.
+ *
+ * @since 0.1.0
+ */
+public class CsvRowIndexTest {
+
+    private static final Type ROWS_TYPE = TypeCreator.createArrayType(
+            TypeCreator.createArrayType(PredefinedTypes.TYPE_STRING));
+    // more rows than a stride, so a page is found from an indexed offset
+    private static final int ROWS = 3 * CsvRowIndex.STRIDE;
+
+    @Test
+    public void readPageOfRewrittenFile() throws IOException, CsvParser.CsvParserException {
+        Path path = Files.createTempFile("page", ".csv");
+        try {
+            // the same size and the same tail, but the rows after the first line are moved by a row
+            write(path, "abc\n");
+            Assert.assertEquals("row149", readRow(path, 150, false));
+
+            FileTime modified = Files.getLastModifiedTime(path);
+            write(path, "a\nb\n");
+            Files.setLastModifiedTime(path, FileTime.fromMillis(modified.toMillis() + 2000));
+            Assert.assertEquals("row148", readRow(path, 150, false));
+            Assert.assertEquals("b", readRow(path, 1, false));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void readPageOfGrownFile() throws IOException, CsvParser.CsvParserException {
+        Path path = Files.createTempFile("page", ".csv");
+        try {
+            write(path, "abc\n");
+            Assert.assertEquals("row149", readRow(path, 150, false));
+
+            Files.write(path, "last\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+            Assert.assertEquals("row149", readRow(path, 150, false));
+            Assert.assertEquals("last", readRow(path, ROWS + 1, false));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void readPageWhenIndexCantBeSaved() throws IOException, CsvParser.CsvParserException {
+        Path path = Files.createTempFile("page", ".csv");
+        // the index file can't be written or read, as it is a directory
+        Path indexPath = Files.createDirectory(Paths.get(path + ".idx"));
+        try {
+            write(path, "abc\n");
+            Assert.assertEquals("row149", readRow(path, 150, true));
+            Assert.assertEquals("row9", readRow(path, 10, true));
+        } finally {
+            Files.deleteIfExists(indexPath);
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private static void write(Path path, String firstLines) throws IOException {
+        StringBuilder content = new StringBuilder(firstLines);
+        for (int i = 0; i < ROWS; i++) {
+            content.append("row").append(i).append('\n');
+        }
+        Files.write(path, content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readRow(Path path, long row, boolean persist) throws CsvParser.CsvParserException {
+        BArray rows = (BArray) CsvRowIndex.readPage(path, row, 1, CsvConfig.fromOptions(null), ROWS_TYPE, persist);
+        Assert.assertEquals(1, rows.size());
+        return ((BArray) rows.get(0)).getBString(0).getValue();
+    }
+}
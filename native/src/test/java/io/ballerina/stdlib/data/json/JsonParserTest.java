@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.data.json;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.stdlib.data.TestTypes;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the buffers of the state machines of the {@link JsonParser}, which are reused from a pool.
+ *
+ * @since 0.1.0
+ */
+public class JsonParserTest {
+
+    // record {| string name; string city; |}
+    private static final RecordType PERSON = TestTypes.record("Person").required("name", PredefinedTypes.TYPE_STRING)
+            .required("city", PredefinedTypes.TYPE_STRING).build();
+
+    @Test
+    public void trimCharBuffAfterLargeDocument() throws JsonParser.JsonParserException {
+        JsonParser.StateMachine sm = new JsonParser.StateMachine();
+        String name = "a".repeat(JsonParser.StateMachine.MAX_RETAINED_CHAR_BUFF_SIZE + 1);
+        BMap<?, ?> person = (BMap<?, ?>) sm.execute(JsonSource.of(person(name, "x")), PERSON);
+        Assert.assertEquals(name, person.get(StringUtils.fromString("name")).toString());
+        Assert.assertTrue(sm.charBuff.length > JsonParser.StateMachine.MAX_RETAINED_CHAR_BUFF_SIZE);
+        sm.reset();
+        Assert.assertEquals(JsonParser.StateMachine.CHAR_BUFF_SIZE, sm.charBuff.length);
+
+        // a buffer up to the limit is kept
+        name = "b".repeat(JsonParser.StateMachine.MAX_RETAINED_CHAR_BUFF_SIZE / 2);
+        sm.execute(JsonSource.of(person(name, "y")), PERSON);
+        int length = sm.charBuff.length;
+        Assert.assertTrue(length > JsonParser.StateMachine.CHAR_BUFF_SIZE);
+        sm.reset();
+        Assert.assertEquals(length, sm.charBuff.length);
+    }
+
+    private static String person(String name, String city) {
+        return "{\"name\": \"" + name + "\", \"city\": \"" + city + "\"}";
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.data.json;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.stdlib.data.TestTypes;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tests the decoding of the content of the {@link JsonSource}s.
+ *
+ * @since 0.1.0
+ */
+public class JsonSourceTest {
+
+    // record {| string text; |}
+    private static final RecordType TEXT = TestTypes.record("Text").required("text", PredefinedTypes.TYPE_STRING)
+            .build();
+    private static final String PREFIX = "{\"text\": \"";
+    // 2, 3 and 4 byte characters, where the last one is a surrogate pair
+    private static final String NON_ASCII = "\u00e9\u20ac\u0dc1\u0dca\u200d\u0dbb\u0dd3\ud83d\ude00";
+
+    @Test
+    public void decodeAcrossReadBufferBoundary() throws JsonParser.JsonParserException {
+        int boundary = JsonParser.StateMachine.READ_BUFF_SIZE - PREFIX.length();
+        // moves each character of the text over the end of the first chunk
+        for (int padding = boundary - NON_ASCII.length() - 1; padding <= boundary + 1; padding++) {
+            String text = "a".repeat(padding) + NON_ASCII + "z";
+            String json = PREFIX + text + "\"}";
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+            Assert.assertEquals(text, parseText(JsonSource.of(bytes)));
+            Assert.assertEquals(text, parseText(JsonSource.of(ByteBuffer.wrap(bytes))));
+            Assert.assertEquals(text, parseText(JsonSource.of(toDirectBuffer(bytes))));
+            Assert.assertEquals(text, parseText(JsonSource.of(json)));
+            Assert.assertEquals(text, parseText(JsonSource.of(new StringReader(json))));
+        }
+    }
+
+    @Test
+    public void replaceMalformedBytes() throws JsonParser.JsonParserException {
+        byte[] text = "a#b\u20ac".getBytes(StandardCharsets.UTF_8);
+        // an invalid byte, and a character truncated at the end of the text
+        text[1] = (byte) 0xff;
+        byte[] truncated = new byte[text.length - 1];
+        System.arraycopy(text, 0, truncated, 0, truncated.length);
+        byte[] json = concat(PREFIX.getBytes(StandardCharsets.UTF_8), truncated,
+                "\"}".getBytes(StandardCharsets.UTF_8));
+
+        // the same as decoding the bytes to a string, or reading them with a reader
+        String expected = new String(truncated, StandardCharsets.UTF_8);
+        Assert.assertEquals("a\ufffdb\ufffd", expected);
+        Assert.assertEquals(expected, parseText(JsonSource.of(json)));
+        Assert.assertEquals(expected, parseText(JsonSource.of(toDirectBuffer(json))));
+    }
+
+    @Test
+    public void consumeRemainingBytesOfBuffer() throws JsonParser.JsonParserException {
+        String json = PREFIX + NON_ASCII + "\"}";
+        byte[] content = json.getBytes(StandardCharsets.UTF_8);
+        // a heap buffer over a part of an array, and a direct buffer after a header
+        ByteBuffer heap = ByteBuffer.wrap(concat(new byte[]{'x', 'y'}, content, new byte[]{'[', '1'}), 2,
+                content.length);
+        Assert.assertEquals(NON_ASCII, parseText(JsonSource.of(heap)));
+        Assert.assertFalse(heap.hasRemaining());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(content.length + 4);
+        direct.putInt(42).put(content).flip();
+        direct.getInt();
+        Assert.assertEquals(NON_ASCII, parseText(JsonSource.of(direct)));
+        Assert.assertFalse(direct.hasRemaining());
+    }
+
+    private static String parseText(JsonSource source) throws JsonParser.JsonParserException {
+        BMap<?, ?> value = (BMap<?, ?>) JsonParser.parse(source, TEXT);
+        return value.get(StringUtils.fromString("text")).toString();
+    }
+
+    private static ByteBuffer toDirectBuffer(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        return buffer;
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        for (byte[] part : parts) {
+            System.arraycopy(part, 0, bytes, offset, part.length);
+            offset += part.length;
+        }
+        return bytes;
+    }
+}
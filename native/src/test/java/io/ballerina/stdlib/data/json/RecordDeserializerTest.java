@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+
+package io.ballerina.stdlib.data.json;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.data.TestTypes;
+import io.ballerina.stdlib.data.metrics.ConversionMetrics;
+import io.ballerina.stdlib.data.metrics.ConversionRecorder;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests that the values and the errors of the {@link RecordDeserializer} are the same as those of the interpretive
+ * traversal of the {@link JsonTraverse}.
+ * <p>
+ * Run by the `specializeTest` task, with the `ballerina.data.json.specialize` and `ballerina.data.metrics.enabled`
+ * system properties set to `true`.
+ *
+ * @since 0.1.0
+ */
+public class RecordDeserializerTest {
+
+    // record {| string name; decimal? discount; |}
+    private static final RecordType CUSTOMER = TestTypes.record("Customer")
+            .required("name", PredefinedTypes.TYPE_STRING)
+            .required("discount", TypeCreator.createUnionType(PredefinedTypes.TYPE_DECIMAL, PredefinedTypes.TYPE_NULL))
+            .build();
+    // record {| string id; Customer customer; int[] quantities; string? note?; float total; |}
+    private static final RecordType ORDER = TestTypes.record("Order")
+            .required("id", PredefinedTypes.TYPE_STRING)
+            .required("customer", CUSTOMER)
+            .required("quantities", TypeCreator.createArrayType(PredefinedTypes.TYPE_INT))
+            .optional("note", TypeCreator.createUnionType(PredefinedTypes.TYPE_STRING, PredefinedTypes.TYPE_NULL))
+            .required("total", PredefinedTypes.TYPE_FLOAT)
+            .build();
+
+    @BeforeClass
+    public static void checkEnabled() {
+        TestTypes.assertEnabled("ballerina.data.json.specialize=true", RecordDeserializer.ENABLED);
+        TestTypes.assertEnabled("ballerina.data.metrics.enabled=true", ConversionMetrics.ENABLED);
+    }
+
+    @Test
+    public void readNestedRecords() {
+        BMap<BString, Object> order = createOrder();
+        assertDeserialized(order, ORDER);
+
+        BMap<?, ?> value = (BMap<?, ?>) JsonTraverse.traverse(order, ORDER);
+        BMap<?, ?> customer = (BMap<?, ?>) value.get(StringUtils.fromString("customer"));
+        Assert.assertEquals(CUSTOMER, TypeUtils.getType(customer));
+        Assert.assertEquals("a", customer.get(StringUtils.fromString("name")).toString());
+        BArray quantities = (BArray) value.get(StringUtils.fromString("quantities"));
+        Assert.assertEquals(ORDER.getFields().get("quantities").getFieldType(), TypeUtils.getType(quantities));
+        Assert.assertEquals(2L, quantities.get(1));
+    }
+
+    @Test
+    public void readRestFields() {
+        // record {| string code; int...; |}, a rest value of another type is not added
+        RecordType item = TestTypes.record("Item").required("code", PredefinedTypes.TYPE_STRING)
+                .rest(PredefinedTypes.TYPE_INT).build();
+        BMap<BString, Object> json = TestTypes.createJsonObject("code", StringUtils.fromString("c"), "count", 3L,
+                "label", StringUtils.fromString("x"));
+        assertDeserialized(json, item);
+        Assert.assertEquals(2, ((BMap<?, ?>) JsonTraverse.traverse(json, item)).size());
+
+        // an open record, where any value is a rest value
+        RecordType open = TestTypes.record("OpenItem").required("code", PredefinedTypes.TYPE_STRING)
+                .rest(PredefinedTypes.TYPE_ANYDATA).build();
+        assertDeserialized(json, open);
+        Assert.assertEquals(3, ((BMap<?, ?>) JsonTraverse.traverse(json, open)).size());
+    }
+
+    @Test
+    public void countSkippedFields() {
+        BMap<BString, Object> order = createOrder();
+        order.put(StringUtils.fromString("extra"), TestTypes.createJsonObject("a", 1L));
+        ((BMap<BString, Object>) order.get(StringUtils.fromString("customer")))
+                .put(StringUtils.fromString("city"), StringUtils.fromString("x"));
+
+        JsonTraverse.JsonTree tree = new JsonTraverse.JsonTree();
+        Assert.assertNotSame(RecordDeserializer.FALLBACK, RecordDeserializer.deserialize(tree, order, ORDER));
+        JsonTraverse.JsonTree interpretiveTree = new JsonTraverse.JsonTree();
+        interpretiveTree.traverseJson(order, ORDER);
+        Assert.assertEquals(2, interpretiveTree.skippedFields);
+        Assert.assertEquals(interpretiveTree.skippedFields, tree.skippedFields);
+    }
+
+    @Test
+    public void readWithMetrics() {
+        // the metrics don't collect the summary of a document, which is read only by the interpretive traversal
+        ConversionRecorder recorder = ConversionRecorder.start("json:testSpecialize",
+                ValueCreator.createTypedescValue(ORDER), 0);
+        Assert.assertTrue(recorder.isRecording());
+        Assert.assertNull(recorder.getSummary());
+
+        BMap<BString, Object> order = createOrder();
+        Object value = Native.fromJsonWithType(order, null, ValueCreator.createTypedescValue(ORDER));
+        assertSameValue(new JsonTraverse.JsonTree().traverseJson(order, ORDER), value);
+    }
+
+    @Test
+    public void fallBackOnMissingRequiredField() {
+        BMap<BString, Object> order = createOrder();
+        order.put(StringUtils.fromString("extra"), 1L);
+        ((BMap<BString, Object>) order.get(StringUtils.fromString("customer")))
+                .remove(StringUtils.fromString("name"));
+
+        // the fallback is decided before a value is read
+        JsonTraverse.JsonTree tree = new JsonTraverse.JsonTree();
+        Assert.assertSame(RecordDeserializer.FALLBACK, RecordDeserializer.deserialize(tree, order, ORDER));
+        Assert.assertEquals(0, tree.skippedFields);
+        Assert.assertNull(tree.currentJsonNode);
+
+        BError error = assertError(order, ORDER);
+        Assert.assertEquals("required field 'name' not present in JSON", error.getMessage());
+    }
+
+    @Test
+    public void fallBackOnIncompatibleValue() {
+        BMap<BString, Object> order = createOrder();
+        ((BMap<BString, Object>) order.get(StringUtils.fromString("customer")))
+                .put(StringUtils.fromString("name"), 1L);
+        Assert.assertSame(RecordDeserializer.FALLBACK,
+                RecordDeserializer.deserialize(new JsonTraverse.JsonTree(), order, ORDER));
+
+        BError error = assertError(order, ORDER);
+        Assert.assertTrue(error.getMessage(), error.getMessage().endsWith("in field 'customer.name"));
+    }
+
+    @Test
+    public void fallBackOnConvertedValue() {
+        // an `int` of a `float` field is converted by the interpretive traversal
+        BMap<BString, Object> order = createOrder();
+        order.put(StringUtils.fromString("total"), 3L);
+        Assert.assertSame(RecordDeserializer.FALLBACK,
+                RecordDeserializer.deserialize(new JsonTraverse.JsonTree(), order, ORDER));
+        Object value = JsonTraverse.traverse(order, ORDER);
+        assertSameValue(new JsonTraverse.JsonTree().traverseJson(order, ORDER), value);
+        Assert.assertEquals(3.0, ((BMap<?, ?>) value).get(StringUtils.fromString("total")));
+
+        // a record with a field of a union type, which is not specialized
+        RecordType code = TestTypes.record("Code")
+                .required("value", TypeCreator.createUnionType(PredefinedTypes.TYPE_INT, PredefinedTypes.TYPE_STRING))
+                .build();
+        BMap<BString, Object> json = TestTypes.createJsonObject("value", StringUtils.fromString("c"));
+        Assert.assertSame(RecordDeserializer.FALLBACK,
+                RecordDeserializer.deserialize(new JsonTraverse.JsonTree(), json, code));
+        assertSameValue(new JsonTraverse.JsonTree().traverseJson(json, code), JsonTraverse.traverse(json, code));
+    }
+
+    /**
+     * Asserts that the json is read by the deserializer, to the value of the interpretive traversal.
+     */
+    private static void assertDeserialized(BMap<BString, Object> json, RecordType type) {
+        Object value = RecordDeserializer.deserialize(new JsonTraverse.JsonTree(), json, type);
+        Assert.assertNotSame(RecordDeserializer.FALLBACK, value);
+        Object expected = new JsonTraverse.JsonTree().traverseJson(json, type);
+        assertSameValue(expected, value);
+        assertSameValue(expected, JsonTraverse.traverse(json, type));
+    }
+
+    /**
+     * Asserts that the conversion fails with the error of the interpretive traversal, and returns the error.
+     */
+    private static BError assertError(BMap<BString, Object> json, RecordType type) {
+        BError expected = null;
+        try {
+            new JsonTraverse.JsonTree().traverseJson(json, type);
+        } catch (BError e) {
+            expected = e;
+        }
+        Assert.assertNotNull(expected);
+        try {
+            JsonTraverse.traverse(json, type);
+            Assert.fail("converted " + json);
+        } catch (BError e) {
+            Assert.assertEquals(expected.getMessage(), e.getMessage());
+        }
+        return expected;
+    }
+
+    private static void assertSameValue(Object expected, Object actual) {
+        if (expected instanceof BMap) {
+            Assert.assertTrue(actual instanceof BMap);
+            BMap<?, ?> expectedMap = (BMap<?, ?>) expected;
+            BMap<?, ?> actualMap = (BMap<?, ?>) actual;
+            Assert.assertEquals(TypeUtils.getType(expected), TypeUtils.getType(actual));
+            Assert.assertArrayEquals(expectedMap.getKeys(), actualMap.getKeys());
+            for (Object key : expectedMap.getKeys()) {
+                assertSameValue(expectedMap.get(key), actualMap.get(key));
+            }
+        } else if (expected instanceof BArray) {
+            Assert.assertTrue(actual instanceof BArray);
+            BArray expectedArray = (BArray) expected;
+            BArray actualArray = (BArray) actual;
+            Assert.assertEquals(TypeUtils.getType(expected), TypeUtils.getType(actual));
+            Assert.assertEquals(expectedArray.size(), actualArray.size());
+            for (int i = 0; i < expectedArray.size(); i++) {
+                assertSameValue(expectedArray.get(i), actualArray.get(i));
+            }
+        } else {
+            Assert.assertEquals(expected, actual);
+        }
+    }
+
+    // {"id": "o1", "customer": {"name": "a", "discount": 0.1d}, "quantities": [1, 2], "note": null, "total": 2.5}
+    private static BMap<BString, Object> createOrder() {
+        BArray quantities = ValueCreator.createArrayValue(TypeCreator.createArrayType(PredefinedTypes.TYPE_JSON));
+        quantities.append(1L);
+        quantities.append(2L);
+        return TestTypes.createJsonObject("id", StringUtils.fromString("o1"),
+                "customer", TestTypes.createJsonObject("name", StringUtils.fromString("a"),
+                        "discount", ValueCreator.createDecimalValue("0.1")),
+                "quantities", quantities, "note", null, "total", 2.5);
+    }
+}
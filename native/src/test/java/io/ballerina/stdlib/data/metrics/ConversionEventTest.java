@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.data.metrics;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.stdlib.data.TestTypes;
+import io.ballerina.stdlib.data.json.JsonParser;
+import io.ballerina.stdlib.data.json.JsonSource;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests the {@link ConversionEvent}s of the conversions, read back from a JFR recording.
+ * <p>
+ * Run by the `jfrTest` task, without the metrics, so a conversion is recorded only while the recording is running.
+ * The recording is started after the {@link ConversionRecorder} is loaded, as done by `jcmd JFR.start`.
+ *
+ * @since 0.1.0
+ */
+public class ConversionEventTest {
+
+    // record {| int id; int[][][] items; |}
+    private static final RecordType ROW = TestTypes.record("EventRow").required("id", PredefinedTypes.TYPE_INT)
+            .required("items", TypeCreator.createArrayType(TypeCreator.createArrayType(
+                    TypeCreator.createArrayType(PredefinedTypes.TYPE_INT)))).build();
+    private static final String DOCUMENT = "{\"id\": 1, \"items\": [[[1, 2, 3]], [[4], [5]]]}";
+    private static final Duration THRESHOLD = Duration.ofMillis(100);
+
+    private static Recording recording;
+
+    @BeforeClass
+    public static void startRecording() {
+        Assert.assertFalse(ConversionRecorder.start("json:testWarmUp", ValueCreator.createTypedescValue(ROW), 0)
+                .isRecording());
+        recording = new Recording();
+        recording.enable(ConversionEvent.class).withThreshold(THRESHOLD);
+        recording.start();
+        Assert.assertTrue(ConversionRecorder.start("json:testWarmUp", ValueCreator.createTypedescValue(ROW), 0)
+                .isRecording());
+        // loads the parser, so the fast conversion is below the threshold
+        convert("json:testWarmUp", Duration.ZERO);
+    }
+
+    @AfterClass
+    public static void closeRecording() {
+        recording.close();
+    }
+
+    @Test
+    public void commitAboveThreshold() throws IOException {
+        convert("json:testFast", Duration.ZERO);
+        convert("json:testSlow", THRESHOLD.multipliedBy(2));
+
+        List<RecordedEvent> events = readEvents();
+        Assert.assertTrue(getEvents(events, "json:testFast").isEmpty());
+        List<RecordedEvent> slow = getEvents(events, "json:testSlow");
+        Assert.assertEquals(1, slow.size());
+        RecordedEvent event = slow.get(0);
+        Assert.assertTrue(event.getDuration().compareTo(THRESHOLD) >= 0);
+        Assert.assertEquals("json", event.getString("format"));
+        Assert.assertEquals(TypeUtils.getReferredType(ROW).toString(), event.getString("targetType"));
+        Assert.assertEquals(DOCUMENT.length(), event.getLong("inputSize"));
+        Assert.assertEquals(1, event.getLong("values"));
+        // the object, the list of items, an item and a list of an item
+        Assert.assertEquals(4, event.getInt("maxDepth"));
+        Assert.assertEquals(3, event.getLong("largestArray"));
+        // the key `items`
+        Assert.assertEquals(5, event.getLong("longestString"));
+        Assert.assertEquals(2, event.getLong("keys"));
+        Assert.assertEquals("success", event.getString("outcome"));
+    }
+
+    @Test
+    public void commitFailedConversion() throws IOException {
+        ConversionRecorder recorder = ConversionRecorder.start("csv:testError", ValueCreator.createTypedescValue(ROW),
+                10);
+        sleep(THRESHOLD.multipliedBy(2));
+        recorder.recordError(new IOException("closed"));
+
+        List<RecordedEvent> events = getEvents(readEvents(), "csv:testError");
+        Assert.assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        Assert.assertEquals("csv", event.getString("format"));
+        Assert.assertEquals(0, event.getLong("values"));
+        Assert.assertEquals(0, event.getInt("maxDepth"));
+        Assert.assertEquals("io", event.getString("outcome"));
+    }
+
+    /**
+     * Converts the document, where the conversion takes at least the given duration.
+     */
+    private static void convert(String entryPoint, Duration duration) {
+        ConversionRecorder recorder = ConversionRecorder.start(entryPoint, ValueCreator.createTypedescValue(ROW),
+                DOCUMENT.length());
+        try {
+            Object value = JsonParser.parse(JsonSource.of(StringUtils.fromString(DOCUMENT)), ROW, recorder);
+            sleep(duration);
+            recorder.recordValue(value);
+        } catch (JsonParser.JsonParserException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(e);
+        }
+    }
+
+    private static List<RecordedEvent> readEvents() throws IOException {
+        Path path = Files.createTempFile("conversions", ".jfr");
+        try {
+            // a copy of the recording up to now, the recording keeps running for the other tests
+            recording.dump(path);
+            return RecordingFile.readAllEvents(path);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private static List<RecordedEvent> getEvents(List<RecordedEvent> events, String entryPoint) {
+        List<RecordedEvent> matched = new ArrayList<>();
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals(ConversionEvent.NAME) &&
+                    entryPoint.equals(event.getString("entryPoint"))) {
+                matched.add(event);
+            }
+        }
+        return matched;
+    }
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.data.metrics;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.data.TestTypes;
+import io.ballerina.stdlib.data.csv.Native;
+import io.ballerina.stdlib.data.json.JsonParser;
+import io.ballerina.stdlib.data.json.JsonSource;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Tests the statistics of the conversions when the metrics are enabled, which are returned by
+ * `data:getConversionMetrics()`.
+ * <p>
+ * Run by the `metricsTest` task, with the `ballerina.data.metrics.enabled` system property set to `true`.
+ *
+ * @since 0.1.0
+ */
+public class ConversionMetricsTest {
+
+    // record {| int id; string name; |}, the other fields of the documents are skipped
+    private static final RecordType ROW = createRowType("MetricsRow");
+    private static final String DOCUMENT = "{\"id\": 1, \"name\": \"a\", \"score\": 2.5, \"extra\": \"x\"}";
+
+    @BeforeClass
+    public static void checkEnabled() {
+        TestTypes.assertEnabled("ballerina.data.metrics.enabled=true", ConversionMetrics.ENABLED);
+    }
+
+    @Test
+    public void recordValues() throws JMException {
+        String entryPoint = "json:testValues";
+        for (int i = 0; i < 3; i++) {
+            Assert.assertNotNull(convert(entryPoint, DOCUMENT, ROW));
+        }
+        Type ids = TypeCreator.createArrayType(PredefinedTypes.TYPE_INT);
+        Assert.assertNotNull(convert(entryPoint, "[1, 2]", ids));
+
+        ConversionStats stats = ConversionMetrics.getEntryPointStats(entryPoint);
+        Assert.assertEquals(4, stats.getDocuments());
+        Assert.assertEquals(3 * DOCUMENT.length() + 6, stats.getInputSize());
+        // a document of a record is a value, and the members of a list are values
+        Assert.assertEquals(5, stats.getValues());
+        Assert.assertEquals(0L, (long) stats.getErrors().get("conversion"));
+
+        ConversionStats rowStats = ConversionMetrics.getTargetTypeStats(ROW);
+        Assert.assertEquals(3, rowStats.getDocuments());
+        Assert.assertEquals(3 * DOCUMENT.length(), rowStats.getInputSize());
+        Assert.assertEquals(3, rowStats.getValues());
+        Assert.assertEquals(6, rowStats.getSkippedFields());
+        Assert.assertEquals(2, ConversionMetrics.getTargetTypeStats(ids).getValues());
+        Assert.assertEquals(0, ConversionMetrics.getTargetTypeStats(ids).getSkippedFields());
+
+        ObjectName name = new ObjectName(ConversionMetrics.JMX_DOMAIN + ":type=ConversionStats,scope=entryPoint," +
+                "name=" + ObjectName.quote(entryPoint));
+        Assert.assertEquals(4L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Documents"));
+        Assert.assertEquals(5L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Values"));
+    }
+
+    @Test
+    public void recordErrors() {
+        String entryPoint = "json:testErrors";
+        RecordType type = createRowType("ErrorRow");
+        Assert.assertTrue(convert(entryPoint, "{\"id\": 2}", type) instanceof BError);
+        Assert.assertTrue(convert(entryPoint, "{\"name\": \"b\"}", type) instanceof BError);
+        ConversionRecorder.start(entryPoint, ValueCreator.createTypedescValue(type), 0)
+                .recordError(new IOException("closed"));
+        ConversionRecorder.start(entryPoint, ValueCreator.createTypedescValue(type), 0)
+                .recordError(new IllegalStateException("unexpected"));
+        Assert.assertNotNull(convert(entryPoint, "{\"id\": 2, \"name\": \"c\"}", type));
+
+        for (ConversionStats stats : new ConversionStats[]{ConversionMetrics.getEntryPointStats(entryPoint),
+                ConversionMetrics.getTargetTypeStats(type)}) {
+            Assert.assertEquals(5, stats.getDocuments());
+            Assert.assertEquals(1, stats.getValues());
+            Map<String, Long> errors = stats.getErrors();
+            Assert.assertEquals(2L, (long) errors.get("conversion"));
+            Assert.assertEquals(1L, (long) errors.get("io"));
+            Assert.assertEquals(1L, (long) errors.get("internal"));
+        }
+    }
+
+    @Test
+    public void recordWrites() {
+        Type rowType = TypeCreator.createArrayType(PredefinedTypes.TYPE_STRING);
+        BArray rows = ValueCreator.createArrayValue(TypeCreator.createArrayType(rowType));
+        rows.append(ValueCreator.createArrayValue(new BString[]{StringUtils.fromString("a"),
+                StringUtils.fromString("b")}));
+        rows.append(ValueCreator.createArrayValue(new BString[]{StringUtils.fromString("c"),
+                StringUtils.fromString("d")}));
+        Assert.assertEquals("a,b\nc,d\n", Native.toString(rows, null).toString());
+        Assert.assertEquals(8, ((BArray) Native.toCsvBytes(rows, null)).size());
+
+        for (String entryPoint : new String[]{"csv:toString", "csv:toCsvBytes"}) {
+            ConversionStats stats = ConversionMetrics.getEntryPointStats(entryPoint);
+            Assert.assertEquals(1, stats.getDocuments());
+            // the size of a conversion to CSV is the size of the written CSV, and the rows are the values
+            Assert.assertEquals(8, stats.getInputSize());
+            Assert.assertEquals(2, stats.getValues());
+        }
+        Assert.assertEquals(4, ConversionMetrics.getTargetTypeStats(rowType).getValues());
+    }
+
+    @Test
+    public void recordLatencies() {
+        ConversionStats stats = new ConversionStats();
+        Assert.assertEquals(0, stats.getP50LatencyMicros());
+        Assert.assertEquals(0, stats.getP99LatencyMicros());
+        for (int i = 0; i < 98; i++) {
+            stats.recordValue(10, 1, 1_000_000);
+        }
+        stats.recordValue(10, 1, 50_000_000);
+        stats.recordError(ConversionMetrics.ErrorCategory.CONVERSION, 50_000_000);
+        // a percentile is reported within 12.5% of the recorded latency
+        assertWithin(1000, stats.getP50LatencyMicros());
+        assertWithin(50_000, stats.getP99LatencyMicros());
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        Assert.assertTrue("latency " + actual + " for " + expected, actual >= expected && actual <= expected * 1.125);
+    }
+
+    /**
+     * Converts a document as `json:fromJsonStringWithType` does, without creating the Ballerina error of a failure.
+     */
+    private static Object convert(String entryPoint, String json, Type type) {
+        ConversionRecorder recorder = ConversionRecorder.start(entryPoint, ValueCreator.createTypedescValue(type),
+                json.length());
+        Assert.assertTrue(recorder.isRecording());
+        try {
+            Object value = JsonParser.parse(JsonSource.of(StringUtils.fromString(json)), type, recorder);
+            recorder.recordValue(value);
+            return value;
+        } catch (Exception e) {
+            recorder.recordError(e);
+            return e;
+        }
+    }
+
+    private static RecordType createRowType(String name) {
+        return TestTypes.record(name).required("id", PredefinedTypes.TYPE_INT)
+                .required("name", PredefinedTypes.TYPE_STRING).build();
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.data.metrics;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.data.TestTypes;
+import io.ballerina.stdlib.data.json.JsonParser;
+import io.ballerina.stdlib.data.json.JsonSource;
+import io.ballerina.stdlib.data.json.JsonTraverse;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Tests the field paths and the report of the {@link FieldProfiler}.
+ * <p>
+ * Run by the `profileTest` task, with the `ballerina.data.profile.sampleRate` system property set to `1`, so every
+ * conversion is sampled.
+ *
+ * @since 0.1.0
+ */
+public class FieldProfilerTest {
+
+    private static final RecordType LINE = TestTypes.record("Line").optional("price", PredefinedTypes.TYPE_FLOAT)
+            .optional("sku", PredefinedTypes.TYPE_STRING).build();
+    private static final RecordType CUSTOMER = TestTypes.record("Customer")
+            .optional("name", PredefinedTypes.TYPE_STRING).build();
+    // record {| string id?; Customer customer?; Line[] lines?; |}
+    private static final RecordType ORDER = TestTypes.record("Order").optional("id", PredefinedTypes.TYPE_STRING)
+            .optional("customer", CUSTOMER).optional("lines", TypeCreator.createArrayType(LINE)).build();
+
+    @BeforeClass
+    public static void checkEnabled() {
+        TestTypes.assertEnabled("ballerina.data.profile.sampleRate=1", FieldProfiler.SAMPLE_RATE == 1);
+    }
+
+    @Before
+    public void reset() {
+        FieldProfiler.reset();
+    }
+
+    @Test
+    public void nameFieldPaths() throws JsonParser.JsonParserException, JMException {
+        String order = "{\"id\": \"o1\", \"customer\": {\"name\": \"John\"}}";
+        JsonParser.parse(JsonSource.of(order), ORDER, null);
+        JsonParser.parse(JsonSource.of(order), ORDER, null);
+
+        Assert.assertEquals(2, FieldProfiler.getSampledDocuments());
+        Map<String, Long> values = getReportedValues(FieldProfiler.getReport(Integer.MAX_VALUE));
+        Assert.assertEquals(3, values.size());
+        Assert.assertEquals(2L, (long) values.get("Order.id"));
+        Assert.assertEquals(2L, (long) values.get("Order.customer"));
+        Assert.assertEquals(2L, (long) values.get("Order.customer.name"));
+
+        ObjectName name = new ObjectName(ConversionMetrics.JMX_DOMAIN + ":type=FieldProfiler");
+        Assert.assertEquals(2L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "SampledDocuments"));
+    }
+
+    @Test
+    public void nameFieldPathsOfListMembers() {
+        BMap<BString, Object> order = TestTypes.createJsonObject("id", StringUtils.fromString("o1"));
+        BArray lines = ValueCreator.createArrayValue(TypeCreator.createArrayType(PredefinedTypes.TYPE_JSON));
+        lines.append(TestTypes.createJsonObject("price", 1.5, "sku", StringUtils.fromString("a")));
+        lines.append(TestTypes.createJsonObject("price", 2.5, "sku", StringUtils.fromString("b")));
+        order.put(StringUtils.fromString("lines"), lines);
+        JsonTraverse.traverse(order, ORDER);
+
+        Map<String, Long> values = getReportedValues(FieldProfiler.getReport(Integer.MAX_VALUE));
+        Assert.assertEquals(4, values.size());
+        Assert.assertEquals(1L, (long) values.get("Order.id"));
+        Assert.assertEquals(1L, (long) values.get("Order.lines"));
+        // a field of the members of a list
+        Assert.assertEquals(2L, (long) values.get("Order.lines[].price"));
+        Assert.assertEquals(2L, (long) values.get("Order.lines[].sku"));
+    }
+
+    @Test
+    public void rankByTotalTime() throws InterruptedException {
+        Type type = TestTypes.record("Rank").build();
+        FieldProfiler.Sample reused = FieldProfiler.createSample();
+        for (int i = 0; i < 3; i++) {
+            // a profile is reused by the conversions of its owner
+            FieldProfiler.Sample sample = FieldProfiler.sample(type, reused);
+            Assert.assertSame(reused, sample);
+            sample.startContainer(1, false);
+            sample.startField(1, "fast");
+            sample.startField(1, "slow");
+            Thread.sleep(5);
+            sample.startField(1, "medium");
+            Thread.sleep(1);
+            sample.endContainer(1);
+            sample.end();
+        }
+
+        String report = FieldProfiler.getReport(Integer.MAX_VALUE);
+        Assert.assertEquals(List.of("Rank.slow", "Rank.medium", "Rank.fast"),
+                new ArrayList<>(getReportedValues(report).keySet()));
+        Assert.assertEquals(List.of("Rank.slow", "Rank.medium"),
+                new ArrayList<>(getReportedValues(FieldProfiler.getReport(2)).keySet()));
+    }
+
+    @Test
+    public void countFieldPathsBeyondLimit() {
+        FieldProfiler.Sample sample = FieldProfiler.sample(TestTypes.record("Wide").build(),
+                FieldProfiler.createSample());
+        sample.startContainer(1, false);
+        for (int i = 0; i < FieldProfiler.MAX_FIELD_PATHS + 10; i++) {
+            sample.startField(1, "f" + i);
+        }
+        // a field path recorded before the limit is still counted by itself
+        sample.startField(1, "f0");
+        sample.endContainer(1);
+        sample.end();
+
+        Map<String, Long> values = getReportedValues(FieldProfiler.getReport(Integer.MAX_VALUE));
+        Assert.assertEquals(FieldProfiler.MAX_FIELD_PATHS + 1, values.size());
+        Assert.assertEquals(10L, (long) values.get("<other>"));
+        Assert.assertEquals(2L, (long) values.get("Wide.f0"));
+        Assert.assertEquals(1L, (long) values.get("Wide.f" + (FieldProfiler.MAX_FIELD_PATHS - 1)));
+        Assert.assertFalse(values.containsKey("Wide.f" + FieldProfiler.MAX_FIELD_PATHS));
+    }
+
+    /**
+     * Returns the number of values of each field path of the report, in the order of the report.
+     */
+    private static Map<String, Long> getReportedValues(String report) {
+        Map<String, Long> values = new LinkedHashMap<>();
+        String[] lines = report.split("\\R");
+        Assert.assertTrue(lines[0].startsWith("field"));
+        for (int i = 1; i < lines.length; i++) {
+            String[] columns = lines[i].trim().split("\\s+");
+            values.put(columns[0], Long.parseLong(columns[1]));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.data.metrics;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.stdlib.data.TestTypes;
+import io.ballerina.stdlib.data.json.JsonParser;
+import io.ballerina.stdlib.data.json.JsonSource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Tests the summaries of the conversions logged by the {@link SlowDocumentCapture}.
+ * <p>
+ * Run by the `slowDocumentTest` task, with the `ballerina.data.slowDocument.thresholdMillis` system property set to
+ * `100` and the `ballerina.data.slowDocument.inputSize` system property set to `1000`.
+ *
+ * @since 0.1.0
+ */
+public class SlowDocumentCaptureTest {
+
+    // record {| int id; string name; int[][][] items; |}
+    private static final RecordType ROW = TestTypes.record("SlowRow").required("id", PredefinedTypes.TYPE_INT)
+            .required("name", PredefinedTypes.TYPE_STRING)
+            .required("items", TypeCreator.createArrayType(TypeCreator.createArrayType(
+                    TypeCreator.createArrayType(PredefinedTypes.TYPE_INT)))).build();
+    private static final String SECRET = "secret-";
+
+    private final List<LogRecord> records = new ArrayList<>();
+    private final Handler handler = new Handler() {
+        @Override
+        public void publish(LogRecord record) {
+            records.add(record);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    @BeforeClass
+    public static void checkEnabled() throws JsonParser.JsonParserException {
+        TestTypes.assertEnabled("ballerina.data.slowDocument.thresholdMillis=100",
+                SlowDocumentCapture.THRESHOLD_NANOS == 100_000_000);
+        TestTypes.assertEnabled("ballerina.data.slowDocument.inputSize=1000",
+                SlowDocumentCapture.INPUT_SIZE_THRESHOLD == 1000);
+        // loads the parser, so a small conversion is below the time threshold
+        JsonParser.parse(JsonSource.of("{\"id\": 1, \"name\": \"a\", \"items\": [[[1]]]}"), ROW, null);
+    }
+
+    @Before
+    public void addHandler() {
+        Logger.getLogger(ConversionMetrics.JMX_DOMAIN).addHandler(handler);
+    }
+
+    @After
+    public void removeHandler() {
+        Logger.getLogger(ConversionMetrics.JMX_DOMAIN).removeHandler(handler);
+    }
+
+    @Test
+    public void captureLargeDocument() throws JsonParser.JsonParserException {
+        String name = SECRET.repeat(200);
+        String document = "{\"id\": 1, \"name\": \"" + name + "\", \"items\": [[[1, 2, 3]], [[4], [5]]]}";
+        convert("json:testLarge", document);
+
+        Assert.assertEquals(1, records.size());
+        LogRecord record = records.get(0);
+        Assert.assertEquals(Level.WARNING, record.getLevel());
+        String message = record.getMessage();
+        Assert.assertTrue(message, message.startsWith("slow conversion of json:testLarge to '" +
+                TypeUtils.getReferredType(ROW) + "'"));
+        Assert.assertTrue(message, message.contains("input size " + document.length() + ","));
+        // the object, the list of items, an item and a list of an item
+        Assert.assertTrue(message, message.contains("max depth 4,"));
+        Assert.assertTrue(message, message.contains("largest array 3,"));
+        Assert.assertTrue(message, message.contains("longest string " + name.length() + ","));
+        Assert.assertTrue(message, message.contains("keys 3,"));
+        Assert.assertTrue(message, message.endsWith("outcome success"));
+        Assert.assertFalse(message, message.contains(SECRET));
+    }
+
+    @Test
+    public void captureSlowConversion() throws InterruptedException {
+        ConversionRecorder recorder = ConversionRecorder.start("csv:testSlow", ValueCreator.createTypedescValue(ROW),
+                10);
+        Thread.sleep(150);
+        recorder.recordValue(null);
+
+        Assert.assertEquals(1, records.size());
+        String message = records.get(0).getMessage();
+        Assert.assertTrue(message, message.startsWith("slow conversion of csv:testSlow"));
+        Assert.assertTrue(message, message.contains("input size 10,"));
+        Assert.assertTrue(message, message.contains("max depth 0,"));
+    }
+
+    @Test
+    public void captureFailedConversion() {
+        // the message of the error has the content of the input
+        String document = "{\"name\": \"" + SECRET.repeat(200) + "\"}";
+        try {
+            convert("json:testError", document);
+            Assert.fail("converted a document without the required fields");
+        } catch (Exception e) {
+            Assert.assertEquals(1, records.size());
+            String message = records.get(0).getMessage();
+            Assert.assertTrue(message, message.contains("keys 1,"));
+            Assert.assertTrue(message, message.endsWith("outcome conversion"));
+            Assert.assertFalse(message, message.contains(SECRET));
+        }
+    }
+
+    @Test
+    public void skipDocumentBelowThresholds() throws JsonParser.JsonParserException {
+        convert("json:testSmall", "{\"id\": 1, \"name\": \"" + SECRET + "\", \"items\": []}");
+        Assert.assertTrue(records.isEmpty());
+    }
+
+    private static void convert(String entryPoint, String document) throws JsonParser.JsonParserException {
+        ConversionRecorder recorder = ConversionRecorder.start(entryPoint, ValueCreator.createTypedescValue(ROW),
+                document.length());
+        try {
+            Object value = JsonParser.parse(JsonSource.of(StringUtils.fromString(document)), ROW, recorder);
+            recorder.recordValue(value);
+        } catch (RuntimeException | JsonParser.JsonParserException e) {
+            recorder.recordError(e);
+            throw e;
+        }
+    }
+
+}
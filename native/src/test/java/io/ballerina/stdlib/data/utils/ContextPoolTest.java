@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.data.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests the reuse of the contexts of a {@link ContextPool}.
+ *
+ * @since 0.1.0
+ */
+public class ContextPoolTest {
+
+    @Test
+    public void countHitsMissesAndDiscards() {
+        AtomicInteger created = new AtomicInteger();
+        ContextPool<Object> pool = new ContextPool<>(() -> {
+            created.incrementAndGet();
+            return new Object();
+        }, 2);
+
+        Object first = pool.acquire();
+        Object second = pool.acquire();
+        Object third = pool.acquire();
+        Assert.assertEquals(3, created.get());
+        Assert.assertEquals(0, pool.getHits());
+        Assert.assertEquals(3, pool.getMisses());
+
+        pool.release(first);
+        pool.release(second);
+        // the pool is full
+        pool.release(third);
+        Assert.assertEquals(1, pool.getDiscards());
+        Assert.assertEquals(2, pool.getIdle());
+
+        Set<Object> reused = new HashSet<>();
+        reused.add(pool.acquire());
+        reused.add(pool.acquire());
+        Assert.assertEquals(Set.of(first, second), reused);
+        Assert.assertEquals(2, pool.getHits());
+        Assert.assertEquals(0, pool.getIdle());
+
+        // the pool is exhausted
+        Assert.assertNotNull(pool.acquire());
+        Assert.assertEquals(4, created.get());
+        Assert.assertEquals(4, pool.getMisses());
+    }
+
+    @Test
+    public void reuseReleasedContext() {
+        ContextPool<Object> pool = new ContextPool<>(Object::new, 0);
+        Assert.assertEquals(1, pool.getCapacity());
+        Object context = pool.acquire();
+        pool.release(context);
+        Assert.assertSame(context, pool.acquire());
+        Assert.assertEquals(1, pool.getHits());
+    }
+}
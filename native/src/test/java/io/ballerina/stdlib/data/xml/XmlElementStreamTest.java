@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+
+package io.ballerina.stdlib.data.xml;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.stdlib.data.TestTypes;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tests the reader thread of the {@link XmlElementStream}.
+ *
+ * @since 0.1.0
+ */
+public class XmlElementStreamTest {
+
+    @Test
+    public void cancelAbandonedStream() throws Exception {
+        RecordType item = TestTypes.record("Item").required("name", PredefinedTypes.TYPE_STRING).build();
+        XmlElementStream.ElementReader reader = new XmlElementStream.ElementReader(new String[]{"items", "item"},
+                XmlConfig.fromOptions(null), item);
+        Object elementStream = new Object();
+        reader.cancelWhenUnreachable(elementStream);
+
+        // the content ends in an element, the reader thread waits for the next chunk
+        reader.feed("<items><item><name>a</name></item><item><name>b</name></item><item><na"
+                .getBytes(StandardCharsets.UTF_8));
+        BMap<?, ?> first = (BMap<?, ?>) reader.next();
+        Assert.assertEquals("a", first.get(StringUtils.fromString("name")).toString());
+        Assert.assertFalse(reader.isCompleted());
+
+        // dropped by the consumer without closing it
+        elementStream = null;
+        for (int i = 0; i < 100 && !reader.isCompleted(); i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        Assert.assertTrue(reader.isCompleted());
+    }
+}